@@ -0,0 +1,9 @@
+echo off
+
+REM Build the executable benchmark JAR and run all model benchmarks; the results go to jmh-result.json
+REM Arguments are passed to JMH, e.g. RunBenchmarks.cmd LocationBenchmark -p laneDepth=1000
+
+call mvn -B package -pl SimpleWarehouseBenchmark -am -DskipTests
+java -jar SimpleWarehouseBenchmark\target\benchmarks.jar %*
+
+pause
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.home.simplewarehouse.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the model benchmarks.
+ * <p>
+ * Accepts the usual JMH command line, e.g. <code>java -jar benchmarks.jar LocationBenchmark -p laneDepth=1000</code>.
+ * The GC profiler is always added, so every result carries the allocation rate per operation. Unless given otherwise
+ * the results are written as JSON to <code>jmh-result.json</code> to be compared from release to release.
+ */
+public final class BenchmarkRunner {
+	private static final String DEFAULT_RESULT = "jmh-result.json";
+
+	private BenchmarkRunner() {
+		super();
+	}
+
+	/**
+	 * Run the benchmarks
+	 *
+	 * @param args the JMH command line arguments
+	 *
+	 * @throws CommandLineOptionException in case of invalid arguments
+	 * @throws RunnerException in case of a failed run
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.parent(commandLine)
+				.addProfiler(GCProfiler.class);
+
+		if (!commandLine.getResult().hasValue()) {
+			options.result(DEFAULT_RESULT);
+		}
+		if (!commandLine.getResultFormat().hasValue()) {
+			options.resultFormat(ResultFormatType.JSON);
+		}
+
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,106 @@
+package com.home.simplewarehouse.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the id based equals and hashCode of the entities in large HashSets.
+ * <p>
+ * The lookups use fresh instances with the same id, as the entities loaded by another persistence context are.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EqualsHashCodeBenchmark {
+	private static final int PROBES = 1024;
+
+	@Param({ "1000", "100000" })
+	private int size;
+
+	private List<HandlingUnit> handlingUnits;
+	private Set<HandlingUnit> handlingUnitSet;
+	private Set<Location> locationSet;
+
+	private HandlingUnit[] handlingUnitProbes;
+	private Location[] locationProbes;
+	private int next;
+
+	/**
+	 * Fill the sets and prepare the probes; every second probe is a miss
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		handlingUnits = new ArrayList<>(size);
+		locationSet = new HashSet<>();
+
+		for (int i = 0; i < size; ++i) {
+			handlingUnits.add(new HandlingUnit("HU" + i));
+			locationSet.add(new RandomLocation("LOC" + i));
+		}
+		handlingUnitSet = new HashSet<>(handlingUnits);
+
+		handlingUnitProbes = new HandlingUnit[PROBES];
+		locationProbes = new Location[PROBES];
+
+		for (int i = 0; i < PROBES; ++i) {
+			int id = (i % 2 == 0) ? i * 7919 % size : size + i;
+
+			handlingUnitProbes[i] = new HandlingUnit("HU" + id);
+			locationProbes[i] = new RandomLocation("LOC" + id);
+		}
+	}
+
+	/**
+	 * Look up a HandlingUnit
+	 *
+	 * @return true if found
+	 */
+	@Benchmark
+	public boolean containsHandlingUnit() {
+		next = (next + 1) & (PROBES - 1);
+
+		return handlingUnitSet.contains(handlingUnitProbes[next]);
+	}
+
+	/**
+	 * Look up a Location
+	 *
+	 * @return true if found
+	 */
+	@Benchmark
+	public boolean containsLocation() {
+		next = (next + 1) & (PROBES - 1);
+
+		return locationSet.contains(locationProbes[next]);
+	}
+
+	/**
+	 * Build a set of all HandlingUnits
+	 *
+	 * @return the set
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Set<HandlingUnit> buildHandlingUnitSet() {
+		return new HashSet<>(handlingUnits);
+	}
+}
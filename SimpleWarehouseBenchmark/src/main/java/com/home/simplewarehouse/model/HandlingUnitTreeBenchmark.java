@@ -0,0 +1,101 @@
+package com.home.simplewarehouse.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of HandlingUnit containment.
+ * <p>
+ * The trees are built the same way the HandlingUnit service assigns a HandlingUnit to a base, only without the
+ * persistence around it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandlingUnitTreeBenchmark {
+	@Param({ "2", "8" })
+	private int fanout;
+
+	@Param({ "2", "4" })
+	private int depth;
+
+	private HandlingUnit tree;
+
+	/**
+	 * Build the tree walked by the traversal benchmark
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		tree = build("ROOT", depth, fanout);
+	}
+
+	static HandlingUnit build(String id, int depth, int fanout) {
+		HandlingUnit base = new HandlingUnit(id);
+
+		if (depth > 0) {
+			for (int i = 1; i <= fanout; ++i) {
+				HandlingUnit child = build(id + '.' + i, depth - 1, fanout);
+
+				child.setBaseHU(base);
+				base.getContains().add(child);
+			}
+		}
+		return base;
+	}
+
+	/**
+	 * Build a complete tree
+	 *
+	 * @return the root
+	 */
+	@Benchmark
+	public HandlingUnit buildTree() {
+		return build("ROOT", depth, fanout);
+	}
+
+	/**
+	 * Collect all HandlingUnits below the root like a flat contains
+	 *
+	 * @return the number of HandlingUnits below the root
+	 */
+	@Benchmark
+	public int flatContains() {
+		int ret = 0;
+
+		Deque<HandlingUnit> open = new ArrayDeque<>(tree.getContains());
+		while (!open.isEmpty()) {
+			HandlingUnit current = open.pop();
+
+			++ret;
+			open.addAll(current.getContains());
+		}
+		return ret;
+	}
+
+	/**
+	 * Collect the contained ids of the root as done for JAXB
+	 *
+	 * @return the number of ids
+	 */
+	@Benchmark
+	public int containsId() {
+		return tree.getContainsId().size();
+	}
+}
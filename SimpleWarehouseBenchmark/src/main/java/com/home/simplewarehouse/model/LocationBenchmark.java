@@ -0,0 +1,110 @@
+package com.home.simplewarehouse.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the Location lane operations.
+ * <p>
+ * A Location of each access limit is filled to the lane depth once per trial. Every operation leaves the lane at the
+ * same depth, so the measured cost belongs to exactly this depth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LocationBenchmark {
+	@Param({ "FIFO", "LIFO", "RANDOM" })
+	private AccessLimit accessLimit;
+
+	@Param({ "1", "10", "100", "1000", "10000" })
+	private int laneDepth;
+
+	private Location location;
+	private HandlingUnit extra;
+
+	/**
+	 * Fill the lane
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		location = newLocation(accessLimit, "BENCH");
+
+		for (int i = 0; i < laneDepth; ++i) {
+			location.addHandlingUnit(new HandlingUnit("HU" + i));
+		}
+		extra = new HandlingUnit("EXTRA");
+	}
+
+	static Location newLocation(AccessLimit accessLimit, String id) {
+		switch (accessLimit) {
+		case FIFO:
+			return new FifoLocation(id);
+		case LIFO:
+			return new LifoLocation(id);
+		default:
+			return new RandomLocation(id);
+		}
+	}
+
+	/**
+	 * Add a HandlingUnit at the end of the lane and remove it again
+	 *
+	 * @return the remove result
+	 */
+	@Benchmark
+	public boolean addAndRemove() {
+		location.addHandlingUnit(extra);
+
+		return location.removeHandlingUnit(extra);
+	}
+
+	/**
+	 * Pick the HandlingUnit at the pick face and put it back
+	 *
+	 * @return the add result
+	 */
+	@Benchmark
+	public boolean pickAndRestock() {
+		HandlingUnit picked = location.getAvailablePicks().get(0);
+
+		location.removeHandlingUnit(picked);
+
+		return location.addHandlingUnit(picked);
+	}
+
+	/**
+	 * Determine the HandlingUnits possible to pick
+	 *
+	 * @return the picks
+	 */
+	@Benchmark
+	public List<HandlingUnit> getAvailablePicks() {
+		return location.getAvailablePicks();
+	}
+
+	/**
+	 * Render the lane as done by every Location toString
+	 *
+	 * @return the lane text
+	 */
+	@Benchmark
+	public String toStringHandlingUnits() {
+		return location.toString(location.getHandlingUnits());
+	}
+}
@@ -0,0 +1,103 @@
+package com.home.simplewarehouse.putaway;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.WidthCategory;
+
+/**
+ * Benchmarks of the free slot index used by the putaway.
+ * <p>
+ * The index is filled once per trial with Locations spread over a fixed number of Zones. A suggestion walks the
+ * ranked slots until enough fit, so its cost must stay flat while the number of Locations grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FreeSlotIndexBenchmark {
+	private static final int ZONES = 100;
+	private static final int RESULTS = 10;
+
+	@Param({ "1000", "10000", "100000" })
+	private int locations;
+
+	private FreeSlotIndex index;
+	private HandlingUnit handlingUnit;
+	private int next;
+
+	/**
+	 * Fill the index
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		index = new FreeSlotIndex();
+
+		List<FreeSlot> all = new ArrayList<>(locations);
+
+		for (int i = 0; i < locations; ++i) {
+			all.add(slot(i, 0));
+		}
+		index.replaceAll(all);
+
+		handlingUnit = new HandlingUnit("BENCH", 10, 1.0F, HeightCategory.HIGH);
+	}
+
+	private static FreeSlot slot(int i, int currentCapacity) {
+		return new FreeSlot("L" + i, 1 + i % 10, 0, HeightCategory.values()[i % HeightCategory.values().length]
+				, LengthCategory.NOT_RELEVANT, WidthCategory.NOT_RELEVANT, currentCapacity, 0
+				, Collections.singletonMap("Z" + (i % ZONES), i % ZONES));
+	}
+
+	/**
+	 * Suggest Locations of a preferred Zone
+	 *
+	 * @return the suggested Location ids
+	 */
+	@Benchmark
+	public List<String> suggestPreferredZone() {
+		next = (next + 1) % ZONES;
+
+		return index.suggest(handlingUnit, "Z" + next, RESULTS);
+	}
+
+	/**
+	 * Suggest Locations of any Zone
+	 *
+	 * @return the suggested Location ids
+	 */
+	@Benchmark
+	public List<String> suggestAnyZone() {
+		return index.suggest(handlingUnit, null, RESULTS);
+	}
+
+	/**
+	 * Replace the slot of a Location as done after a committed drop or pick
+	 */
+	@Benchmark
+	public void put() {
+		next = (next + 1) % locations;
+
+		index.put("L" + next, slot(next, next % 2));
+	}
+}
@@ -0,0 +1,104 @@
+package com.home.simplewarehouse.utils.telemetryprovider.requestcounter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.DiagnosticCounters;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Diagnostics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+
+/**
+ * Benchmarks of the per request overhead of the request counter.
+ * <p>
+ * <code>events</code> replays the former <code>Index.onNewRequest</code>: a Diagnostics and a Samples event, each
+ * merged into the maps of the monitoring, and a throwaway Guava cache refusing its null value. The CDI dispatch and
+ * the printed stack trace are left out, so it is a lower bound. <code>counter</code> is the diagnostic counter used
+ * now. Both run single threaded and with four threads sharing the state; the GC profiler added by the
+ * runner gives the allocation per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestCounterBenchmark {
+	private final AtomicLong requestCounter = new AtomicLong();
+	private final ConcurrentHashMap<String, String> diagnostics = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Double> samples = new ConcurrentHashMap<>();
+	private final DiagnosticCounters.Counter requests = DiagnosticCounters.getInstance()
+			.register("request", "simplewarehouse_requests_total");
+
+	/**
+	 * Count a request by events as done before
+	 *
+	 * @return the Guava cache, to keep it alive
+	 */
+	@Benchmark
+	public Object events() {
+		return onNewRequestByEvents();
+	}
+
+	/**
+	 * Count a request by events as done before with four threads
+	 *
+	 * @return the Guava cache, to keep it alive
+	 */
+	@Benchmark
+	@Threads(4)
+	public Object eventsContended() {
+		return onNewRequestByEvents();
+	}
+
+	/**
+	 * Count a request by the diagnostic counter
+	 */
+	@Benchmark
+	public void counter() {
+		requests.increment();
+	}
+
+	/**
+	 * Count a request by the diagnostic counter with four threads
+	 */
+	@Benchmark
+	@Threads(4)
+	public void counterContended() {
+		requests.increment();
+	}
+
+	private Object onNewRequestByEvents() {
+		final long count = requestCounter.incrementAndGet();
+
+		// The observers of the monitoring
+		Map<String, String> diagnosticsMap = Diagnostics.with("request", count).asMap();
+		diagnostics.putAll(diagnosticsMap);
+		Map<String, Double> samplesMap = Samples.with("simplewarehouse_requests_total", count).asMap();
+		samples.putAll(samplesMap);
+
+		Cache<String, Logger> cache = CacheBuilder.newBuilder().build();
+		try {
+			cache.put("", null);
+		}
+		catch (NullPointerException e) {
+			// Refused as before; the stack trace is not printed here
+		}
+		return cache;
+	}
+}
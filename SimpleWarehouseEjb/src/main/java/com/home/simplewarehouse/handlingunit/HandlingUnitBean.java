@@ -1,7 +1,11 @@
 package com.home.simplewarehouse.handlingunit;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -11,25 +15,37 @@ import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.interceptor.Interceptors;
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.persistence.config.CacheUsage;
+import org.eclipse.persistence.config.QueryHints;
 
 import com.home.simplewarehouse.location.CapacityExceededException;
+import com.home.simplewarehouse.location.DimensionException;
+import com.home.simplewarehouse.location.FitEvaluator;
 import com.home.simplewarehouse.location.LocationService;
 import com.home.simplewarehouse.location.OverheightException;
 import com.home.simplewarehouse.location.OverlengthException;
 import com.home.simplewarehouse.location.OverwidthException;
 import com.home.simplewarehouse.location.WeightExceededException;
+import com.home.simplewarehouse.model.AccessLimit;
 import com.home.simplewarehouse.model.ErrorStatus;
 import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HandlingUnitClosure;
+import com.home.simplewarehouse.model.HandlingUnitClosureId;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.WarehouseOperationEvent;
 
 /**
  * Bean class for HandlingUnit usage. 
+ * <p>
+ * Drop, pick, assign, remove and move emit a Flight Recorder {@link WarehouseOperationEvent}.
  */
 @Stateless
 @TransactionAttribute(TransactionAttributeType.REQUIRED)
@@ -53,6 +69,9 @@ public class HandlingUnitBean implements HandlingUnitService {
 	@EJB
 	private LocationService locationService;
 	
+	@EJB
+	private FreeCapacityIndex freeCapacityIndex;
+	
 	/**
 	 * Default constructor is mandatory
 	 */
@@ -64,15 +83,23 @@ public class HandlingUnitBean implements HandlingUnitService {
 
 	@Override
 	public HandlingUnit createOrUpdate(final HandlingUnit handlingUnit) {
+		return createOrUpdate(handlingUnit, null);
+	}
+
+	/**
+	 * Create or update the HandlingUnit; see {@link #createOrUpdate(HandlingUnit)}
+	 */
+	private HandlingUnit createOrUpdate(final HandlingUnit handlingUnit, final Batch batch) {
 		LOG.trace("--> create");
 		
 		if (getById(handlingUnit.getId()) == null) {
 			em.persist(handlingUnit);
+			handlingUnit.updateRoot();
 		}
 		else {
-			em.merge(handlingUnit);
+			em.merge(handlingUnit).updateRoot();
 		}
-		em.flush();
+		flush(batch);
 
 		LOG.trace("<-- create");
 		
@@ -89,13 +116,17 @@ public class HandlingUnitBean implements HandlingUnitService {
 			hu = getById(handlingUnit.getId());
 			
 			if (hu.getLocation() != null) {
-			    hu.getLocation().removeHandlingUnit(hu);
+				Location lo = hu.getLocation();
+				
+			    lo.removeHandlingUnit(hu);
+			    freeCapacityIndex.changed(lo);
 			}
 			
 			free(hu);
 			
 			if (hu.getBaseHU() != null) {
 				hu.getBaseHU().getContains().remove(hu);
+				unlinkClosure(hu, null);
 			}
 			
 			em.remove(hu);
@@ -180,6 +211,30 @@ public class HandlingUnitBean implements HandlingUnitService {
 	
 	@Override
 	public void pickFrom(final Location location, final HandlingUnit handlingUnit) throws LocationIsEmptyException, HandlingUnitNotOnLocationException {
+		pickFrom(location, handlingUnit, null);
+	}
+
+	private void pickFrom(final Location location, final HandlingUnit handlingUnit, final Batch batch)
+			throws LocationIsEmptyException, HandlingUnitNotOnLocationException {
+		WarehouseOperationEvent event = WarehouseOperationEvent.start(WarehouseOperationEvent.PICK);
+		
+		try {
+			pickFromLocation(location, handlingUnit, batch);
+		}
+		catch (RuntimeException | LocationIsEmptyException | HandlingUnitNotOnLocationException e) {
+			event.failed(e);
+			throw e;
+		}
+		finally {
+			event.end(location, handlingUnit);
+		}
+	}
+
+	/**
+	 * Pick the given HandlingUnit; see {@link #pickFrom(Location, HandlingUnit)}
+	 */
+	private void pickFromLocation(final Location location, final HandlingUnit handlingUnit, final Batch batch)
+			throws LocationIsEmptyException, HandlingUnitNotOnLocationException {
 		LOG.trace("--> pickFrom({}, {})", location, handlingUnit);
 
 		checkIllegalArgument(location, handlingUnit);
@@ -200,13 +255,13 @@ public class HandlingUnitBean implements HandlingUnitService {
 		}
 		// End
 		
-		HandlingUnit hu = persistOrMerge(handlingUnit);
+		HandlingUnit hu = persistOrMerge(handlingUnit, batch);
 		
 		lo = em.find(Location.class, lo.getLocationId());
 		
 		if ((lo.getHandlingUnits()).isEmpty()) {
 			// Check handlingUnitService is already stored elsewhere
-			List<Location> locations = locationService.getAllContainingExceptLocation(hu, lo);
+			List<Location> locations = getAllContainingExceptLocation(hu, lo, batch);
 			
 			boolean storedElseWhere = false;
 			
@@ -230,7 +285,9 @@ public class HandlingUnitBean implements HandlingUnitService {
 				hu.setLocationId(null);
 			}
 			
-			em.flush();
+			hu.updateRoot();
+			
+			flush(batch);
 			
 			// ATTENTION: Location error status does not need to be changed because the locationService was EMPTY!
 			//            NO manual adjustment is needed in this case!
@@ -242,23 +299,23 @@ public class HandlingUnitBean implements HandlingUnitService {
 			if (baseLocation == null) {
 				lo.getLocationStatus().setErrorStatus(ErrorStatus.ERROR);
 				
-				em.flush();
+				flush(batch);
 				
 				throw new HandlingUnitNotOnLocationException("Handling unit not on any Location!");
 			}
 			else if (baseLocation.equals(lo)) {
 				if (lo.getHandlingUnits().contains(hu)) {
-					// Pick it now
-					hu.setLocation(null);
-					hu.setLocaPos(null);
-					
+					// Pick it now; the Location resets the location and the sequence number
 					lo.removeHandlingUnit(hu);
+					changed(lo, batch);
 					
-					em.flush();
+					hu.updateRoot();
+					
+					flush(batch);
 				}
 				else {
 					// The hu is part of an other hu; remove only
-					remove(hu, getById(hu.getBaseHU().getId()));
+					remove(hu, getById(hu.getBaseHU().getId()), batch);
 				}
 			}
 			else {
@@ -269,7 +326,7 @@ public class HandlingUnitBean implements HandlingUnitService {
 				
 				lo.getLocationStatus().setErrorStatus(ErrorStatus.ERROR);
 				
-				em.flush();
+				flush(batch);
 								
 				throw new HandlingUnitNotOnLocationException("Handling unit not on Location [" + lo.getLocationId() + ']');
 			}
@@ -293,28 +350,56 @@ public class HandlingUnitBean implements HandlingUnitService {
 	
 	@Override
 	public HandlingUnit pickFrom(final Location location) throws LocationIsEmptyException {
+		return pickNext(location, null);
+	}
+
+	private HandlingUnit pickNext(final Location location, final Batch batch) throws LocationIsEmptyException {
+		WarehouseOperationEvent event = WarehouseOperationEvent.start(WarehouseOperationEvent.PICK);
+		HandlingUnit result = null;
+		
+		try {
+			result = pickNextFromLocation(location, batch);
+			
+			return result;
+		}
+		catch (RuntimeException | LocationIsEmptyException e) {
+			event.failed(e);
+			throw e;
+		}
+		finally {
+			event.end(location, result);
+		}
+	}
+
+	/**
+	 * Pick the next HandlingUnit; see {@link #pickFrom(Location)}
+	 */
+	private HandlingUnit pickNextFromLocation(final Location location, final Batch batch) throws LocationIsEmptyException {
 		LOG.trace("--> pickFrom({})", location);
 
 		checkIllegalArgument(location);
 		
 		Location lo = persistOrMerge(location);
 		
-		List<HandlingUnit> picksAvailable = lo.getAvailablePicks();
+		HandlingUnit picked = nextPick(lo, batch);
 		
-		if (picksAvailable.isEmpty()) {
+		if (picked == null) {
 			// ATTENTION: Location error status does not need to be changed because the locationService was EMPTY!
 			//            NO manual adjustment is needed in this case!
 			throw new LocationIsEmptyException("Location [" + lo.getLocationId() + "] is EMPTY");
 		}
 		
 		// Pick it now
-		lo.removeHandlingUnit(picksAvailable.get(0));
+		lo.removeHandlingUnit(picked);
+		changed(lo, batch);
 		
-		em.flush();
+		picked.updateRoot();
+		
+		flush(batch);
 		
 		LOG.trace(END_PICK_FROM);
 
-		return getById(picksAvailable.get(0).getId());
+		return getById(picked.getId());
 	}
 
 	@Override
@@ -334,6 +419,34 @@ public class HandlingUnitBean implements HandlingUnitService {
 	public void dropTo(final Location location, final HandlingUnit handlingUnit)
 			throws CapacityExceededException, WeightExceededException, OverheightException
 			, OverlengthException, OverwidthException
+	{
+		dropTo(location, handlingUnit, null);
+	}
+
+	private void dropTo(final Location location, final HandlingUnit handlingUnit, final Batch batch)
+			throws CapacityExceededException, WeightExceededException, OverheightException
+			, OverlengthException, OverwidthException
+	{
+		WarehouseOperationEvent event = WarehouseOperationEvent.start(WarehouseOperationEvent.DROP);
+		
+		try {
+			dropToLocation(location, handlingUnit, batch);
+		}
+		catch (RuntimeException | DimensionException e) {
+			event.failed(e);
+			throw e;
+		}
+		finally {
+			event.end(location, handlingUnit);
+		}
+	}
+
+	/**
+	 * Drop the HandlingUnit; see {@link #dropTo(Location, HandlingUnit)}
+	 */
+	private void dropToLocation(final Location location, final HandlingUnit handlingUnit, final Batch batch)
+			throws CapacityExceededException, WeightExceededException, OverheightException
+			, OverlengthException, OverwidthException
 	{
 		LOG.trace("--> dropTo({}, {})", location, handlingUnit);
 
@@ -344,19 +457,20 @@ public class HandlingUnitBean implements HandlingUnitService {
 			return;
 		}
 		
-		HandlingUnit hu = persistOrMerge(handlingUnit);
-
 		Location lo = persistOrMerge(location);
 		
-		locationService.checkDimensionLimitExceeds(lo, hu);
+		// Check the fit first; a rejected drop of a new HandlingUnit stores nothing
+		checkDimensionLimitExceeds(lo, handlingUnit, batch);
 		
-		List<Location> locations = locationService.getAllContainingExceptLocation(hu, lo);
+		HandlingUnit hu = persistOrMerge(handlingUnit, batch);
+		
+		List<Location> locations = getAllContainingExceptLocation(hu, lo, batch);
 		
 		for (Location other : locations) {
 			// HandlingUnit is already stored elsewhere
 			try {
 				LOG.warn(HU_IS_HERE_FORMATTER, hu.getId(), other);
-				pickFrom(other, hu);
+				pickFrom(other, hu, batch);
 					
 				other.getLocationStatus().setErrorStatus(ErrorStatus.ERROR);
 			}
@@ -367,7 +481,7 @@ public class HandlingUnitBean implements HandlingUnitService {
 
 		// HandlingUnit is on top of other; so remove first
 		if (hu.getBaseHU() != null) {
-			remove(hu, hu.getBaseHU());
+			remove(hu, hu.getBaseHU(), batch);
 			// And reread changed HandlingUnit
 			hu = getById(hu.getId());
 		}
@@ -376,7 +490,9 @@ public class HandlingUnitBean implements HandlingUnitService {
 		lo.addHandlingUnit(hu);
 		em.merge(hu);
 		em.merge(lo);
-		em.flush();
+		changed(lo, batch);
+		hu.updateRoot();
+		flush(batch);
 		
 		LOG.trace("<-- dropTo()");
 	}
@@ -414,15 +530,37 @@ public class HandlingUnitBean implements HandlingUnitService {
 	
 	@Override
 	public HandlingUnit assign(final HandlingUnit handlingUnit, final HandlingUnit base) {
+		return assign(handlingUnit, base, null);
+	}
+
+	private HandlingUnit assign(final HandlingUnit handlingUnit, final HandlingUnit base, final Batch batch) {
+		WarehouseOperationEvent event = WarehouseOperationEvent.start(WarehouseOperationEvent.ASSIGN);
+		
+		try {
+			return assignToBase(handlingUnit, base, batch);
+		}
+		catch (RuntimeException e) {
+			event.failed(e);
+			throw e;
+		}
+		finally {
+			event.end(null, handlingUnit);
+		}
+	}
+
+	/**
+	 * Assign the HandlingUnit; see {@link #assign(HandlingUnit, HandlingUnit)}
+	 */
+	private HandlingUnit assignToBase(final HandlingUnit handlingUnit, final HandlingUnit base, final Batch batch) {
 		LOG.trace("--> assign() hu={} base={}", handlingUnit, base);
 
 		checkIllegalArgument(handlingUnit, HU_IS_NULL_MSG);
 
 		checkIllegalArgument(base, BASE_IS_NULL_MSG);
 		
-		HandlingUnit hu = persistOrMerge(handlingUnit);
+		HandlingUnit hu = persistOrMerge(handlingUnit, batch);
 		
-		HandlingUnit ba = persistOrMerge(base);
+		HandlingUnit ba = persistOrMerge(base, batch);
 		
 		if (hu.getId().equals(ba.getId())) {
 			LOG.info(HU_ID_BASE_ID_ARE_EQUAL);
@@ -431,8 +569,8 @@ public class HandlingUnitBean implements HandlingUnitService {
 			return ba;
 		}
 		
-		// Avoid a direct loop
-		if (hu.getContains().contains(ba)) {
+		// Avoid a loop
+		if (isInside(ba, hu)) {
 			LOG.info("Invalid assign because {} contains {}", hu.getId(), ba.getId());
 			LOG.trace(END_ASSIGN_BASE, ba);
 			
@@ -440,27 +578,33 @@ public class HandlingUnitBean implements HandlingUnitService {
 		}
 		
 		if (hu.getBaseHU() != null) {
-			persistOrMerge(remove(hu, hu.getBaseHU()));			
+			persistOrMerge(remove(hu, hu.getBaseHU(), batch), batch);
 		}
 				
 		hu.setBaseHU(ba);
 		boolean ret = ba.getContains().add(hu);
 		LOG.info("assign result is: {}", ret);
 		
+		if (ret) {
+			linkClosure(hu, ba, batch);
+		}
+		
 		ba.setContains(ba.getContains());
 		
 		if (hu.getLocation() != null) {
 			try {
-			    pickFrom(hu.getLocation());
+			    pickNext(hu.getLocation(), batch);
 			}
 			catch (LocationIsEmptyException lemp) {
 				LOG.warn("Location {} is EMPTY!", hu.getLocation());
 			}
 		}
 		
+		hu.updateRoot();
+		
 		LOG.trace(END_ASSIGN_BASE, ba);
 		
-		em.flush();
+		flush(batch);
 		
 		return ba;
 	}
@@ -482,15 +626,37 @@ public class HandlingUnitBean implements HandlingUnitService {
 	
 	@Override
 	public HandlingUnit remove(final HandlingUnit handlingUnit, final HandlingUnit base) {
+		return remove(handlingUnit, base, null);
+	}
+
+	private HandlingUnit remove(final HandlingUnit handlingUnit, final HandlingUnit base, final Batch batch) {
+		WarehouseOperationEvent event = WarehouseOperationEvent.start(WarehouseOperationEvent.REMOVE);
+		
+		try {
+			return removeFromBase(handlingUnit, base, batch);
+		}
+		catch (RuntimeException e) {
+			event.failed(e);
+			throw e;
+		}
+		finally {
+			event.end(null, handlingUnit);
+		}
+	}
+
+	/**
+	 * Remove the HandlingUnit; see {@link #remove(HandlingUnit, HandlingUnit)}
+	 */
+	private HandlingUnit removeFromBase(final HandlingUnit handlingUnit, final HandlingUnit base, final Batch batch) {
 		LOG.trace("--> remove() hu={} base={}", handlingUnit, base);
 		
 		checkIllegalArgument(handlingUnit, HU_IS_NULL_MSG);
 
 		checkIllegalArgument(base, BASE_IS_NULL_MSG);
 		
-		HandlingUnit hu = persistOrMerge(handlingUnit);
+		HandlingUnit hu = persistOrMerge(handlingUnit, batch);
 		
-		HandlingUnit ba = persistOrMerge(base);
+		HandlingUnit ba = persistOrMerge(base, batch);
 		
 		if (hu.getId().equals(ba.getId())) {
 			LOG.info(HU_ID_BASE_ID_ARE_EQUAL);
@@ -503,6 +669,7 @@ public class HandlingUnitBean implements HandlingUnitService {
 		boolean ret = ba.getContains().remove(hu);
 		if (ret) {
 			LOG.info("hu={} removed from base={}", hu.getId(), ba.getId());
+			unlinkClosure(hu, batch);
 		}
 		else {
 			LOG.warn("base={} does not contain hu={}; NO REMOVE", ba.getId(), hu.getId());
@@ -510,9 +677,11 @@ public class HandlingUnitBean implements HandlingUnitService {
 		
 		ba.setContains(ba.getContains());
 		
+		hu.updateRoot();
+		
 		LOG.trace(END_REMOVE_BASE, ba);
 		
-		em.flush();
+		flush(batch);
 		
 		return ba;
 	}
@@ -534,15 +703,38 @@ public class HandlingUnitBean implements HandlingUnitService {
 	
 	@Override
 	public HandlingUnit move(final HandlingUnit handlingUnit, final HandlingUnit destHandlingUnit) {
+		return move(handlingUnit, destHandlingUnit, null);
+	}
+
+	private HandlingUnit move(final HandlingUnit handlingUnit, final HandlingUnit destHandlingUnit, final Batch batch) {
+		WarehouseOperationEvent event = WarehouseOperationEvent.start(WarehouseOperationEvent.MOVE);
+		
+		try {
+			return moveToDestination(handlingUnit, destHandlingUnit, batch);
+		}
+		catch (RuntimeException e) {
+			event.failed(e);
+			throw e;
+		}
+		finally {
+			event.end(null, handlingUnit);
+		}
+	}
+
+	/**
+	 * Move the HandlingUnit; see {@link #move(HandlingUnit, HandlingUnit)}
+	 */
+	private HandlingUnit moveToDestination(final HandlingUnit handlingUnit, final HandlingUnit destHandlingUnit
+			, final Batch batch) {
 		LOG.trace("--> move() hu={} destHu={}", handlingUnit, destHandlingUnit);
 		
 		checkIllegalArgument(handlingUnit, HU_IS_NULL_MSG);
 
 		checkIllegalArgument(destHandlingUnit, HU_IS_NULL_MSG);
 		
-		HandlingUnit hu = persistOrMerge(handlingUnit);
+		HandlingUnit hu = persistOrMerge(handlingUnit, batch);
 		
-		HandlingUnit dest = persistOrMerge(destHandlingUnit);
+		HandlingUnit dest = persistOrMerge(destHandlingUnit, batch);
 		
 		if (hu.getId().equals(dest.getId())) {
 			LOG.info(HU_ID_BASE_ID_ARE_EQUAL);
@@ -552,15 +744,15 @@ public class HandlingUnitBean implements HandlingUnitService {
 
 		if (hu.getBaseHU() != null) {
 			LOG.info("Remove {} from base {}", hu.getId(), hu);
-			HandlingUnit base = remove(hu, hu.getBaseHU());
+			HandlingUnit base = remove(hu, hu.getBaseHU(), batch);
 			LOG.info("Base now {}", base);
 		}
 		LOG.info("Assign {} to destination {}", hu.getId(), dest);
-		dest = assign(getById(hu.getId()), dest);
+		dest = assign(getById(hu.getId()), dest, batch);
 		
 		LOG.trace("<-- moved() hu={} destHu={}", hu, dest);
 		
-		em.flush();
+		flush(batch);
 		
 		return getById(hu.getId());
 	}
@@ -584,7 +776,7 @@ public class HandlingUnitBean implements HandlingUnitService {
 
 		checkIllegalArgument(base, BASE_IS_NULL_MSG);
 
-		HandlingUnit ba = persistOrMerge(base);
+		HandlingUnit ba = persistOrMerge(base, null);
 		
 		Set<HandlingUnit> ret;			
 		Set<HandlingUnit> huList = new HashSet<>(); 
@@ -594,6 +786,8 @@ public class HandlingUnitBean implements HandlingUnitService {
 			ret = huList;
 			for (HandlingUnit hu : ret) {
 				hu.setBaseHU(null);
+				unlinkClosure(hu, null);
+				hu.updateRoot();
 			}
 		}
 		else {
@@ -612,16 +806,53 @@ public class HandlingUnitBean implements HandlingUnitService {
 	}
 
 	@Override
-	public Set<HandlingUnit> flatContains(HandlingUnit base) {
-		final Set<HandlingUnit> onBase = new HashSet<>(base.getContains());
-		final Set<HandlingUnit> dummy = new HashSet<>();
+	public List<MoveResult> executeBatch(final List<MoveCommand> commands) {
+		LOG.trace("--> executeBatch({})", commands == null ? 0 : commands.size());
 		
-		for (HandlingUnit item : onBase) {
-			dummy.addAll(flatContains(item));
+		List<MoveResult> results = new ArrayList<>();
+		
+		if (commands == null || commands.isEmpty()) {
+			LOG.trace("<-- executeBatch() nothing to do");
+			return results;
 		}
-		onBase.addAll(dummy);
+
+		Batch batch = new Batch();
+		FlushModeType flushMode = em.getFlushMode();
+		
+		// No query of the batch may flush; the changes are written once at the end
+		em.setFlushMode(FlushModeType.COMMIT);
+		
+		try {
+			for (MoveCommand command : commands) {
+				MoveResult result = execute(command, batch);
+				
+				if (!result.isOk()) {
+					LOG.info("Batch command failed: {}", result);
+				}
+				results.add(result);
+			}
+		}
+		finally {
+			em.setFlushMode(flushMode);
+		}
+		
+		em.flush();
+		
+		batch.changedLocations.values().forEach(freeCapacityIndex::changed);
+		
+		LOG.trace("<-- executeBatch()");
 		
- 		return onBase;
+		return results;
+	}
+	
+	@Override
+	public Set<HandlingUnit> flatContains(HandlingUnit base) {
+		checkIllegalArgument(base, BASE_IS_NULL_MSG);
+		
+		TypedQuery<HandlingUnit> query = em.createNamedQuery("findAllHandlingUnitsInside", HandlingUnit.class);
+		query.setParameter(1, base.getId());
+		
+ 		return new HashSet<>(query.getResultList());
 	}
 	
 	@Override
@@ -645,6 +876,386 @@ public class HandlingUnitBean implements HandlingUnitService {
 				);
 	}
 	
+	/**
+	 * Execute a single batch command.<br>
+	 * All checks are done against the current persistence context, so the changes of the commands
+	 * executed before in the same batch are already considered. Every precondition of a command is checked
+	 * before the command changes anything, so a failed command leaves nothing behind; the failure is reported in
+	 * the result. An unexpected runtime failure is thrown and rolls back the whole batch, because the changes the
+	 * command did before can not be undone in the shared persistence context.
+	 * 
+	 * @param command the command
+	 * @param batch the running batch
+	 * 
+	 * @return the result of the command
+	 */
+	private MoveResult execute(final MoveCommand command, final Batch batch) {
+		if (command == null || command.getOperation() == null) {
+			return MoveResult.failed(command, MoveResult.Status.INVALID, null);
+		}
+		
+		try {
+			switch (command.getOperation()) {
+			case DROP:
+				return executeDrop(command, batch);
+			case PICK:
+				return executePick(command, batch);
+			default:
+				return executeCompose(command, batch);
+			}
+		}
+		catch (DimensionException dimex) {
+			return MoveResult.failed(command, MoveResult.Status.DIMENSION_EXCEEDED, dimex);
+		}
+		catch (LocationIsEmptyException lemp) {
+			return MoveResult.failed(command, MoveResult.Status.LOCATION_IS_EMPTY, lemp);
+		}
+		catch (HandlingUnitNotOnLocationException notOn) {
+			return MoveResult.failed(command, MoveResult.Status.NOT_ON_LOCATION, notOn);
+		}
+	}
+	
+	private MoveResult executeDrop(final MoveCommand command, final Batch batch) throws DimensionException {
+		if (command.getLocationId() == null || command.getHandlingUnitId() == null) {
+			return MoveResult.failed(command, MoveResult.Status.INVALID, null);
+		}
+		
+		Location location = initLocation(command.getLocationId());
+		
+		if (location == null) {
+			return MoveResult.failed(command, MoveResult.Status.NOT_FOUND, null);
+		}
+		
+		HandlingUnit handlingUnit = initHandlingUnit(command.getHandlingUnitId());
+		
+		if (handlingUnit == null) {
+			// A new HandlingUnit is received
+			handlingUnit = new HandlingUnit(command.getHandlingUnitId());
+		}
+		
+		dropTo(location, handlingUnit, batch);
+		
+		return MoveResult.ok(command, command.getHandlingUnitId());
+	}
+	
+	private MoveResult executePick(final MoveCommand command, final Batch batch)
+			throws LocationIsEmptyException, HandlingUnitNotOnLocationException {
+		if (command.getLocationId() == null) {
+			return MoveResult.failed(command, MoveResult.Status.INVALID, null);
+		}
+		
+		Location location = initLocation(command.getLocationId());
+		
+		if (location == null) {
+			return MoveResult.failed(command, MoveResult.Status.NOT_FOUND, null);
+		}
+		
+		if (command.getHandlingUnitId() == null) {
+			HandlingUnit picked = pickNext(location, batch);
+			
+			return MoveResult.ok(command, picked.getId());
+		}
+
+		HandlingUnit handlingUnit = initHandlingUnit(command.getHandlingUnitId());
+		
+		if (handlingUnit == null) {
+			return MoveResult.failed(command, MoveResult.Status.NOT_FOUND, null);
+		}
+		
+		checkPickable(location, handlingUnit);
+		
+		pickFrom(location, handlingUnit, batch);
+		
+		return MoveResult.ok(command, command.getHandlingUnitId());
+	}
+	
+	private MoveResult executeCompose(final MoveCommand command, final Batch batch) {
+		if (command.getHandlingUnitId() == null || command.getBaseId() == null) {
+			return MoveResult.failed(command, MoveResult.Status.INVALID, null);
+		}
+		
+		HandlingUnit handlingUnit = initHandlingUnit(command.getHandlingUnitId());
+		HandlingUnit base = initHandlingUnit(command.getBaseId());
+		
+		if (handlingUnit == null || base == null) {
+			return MoveResult.failed(command, MoveResult.Status.NOT_FOUND, null);
+		}
+		
+		switch (command.getOperation()) {
+		case ASSIGN:
+			assign(handlingUnit, base, batch);
+			break;
+		case REMOVE:
+			remove(handlingUnit, base, batch);
+			break;
+		default:
+			move(handlingUnit, base, batch);
+			break;
+		}
+		
+		return MoveResult.ok(command, command.getHandlingUnitId());
+	}
+	
+	/**
+	 * Check a pick of the HandlingUnit from the Location without changing anything.<br>
+	 * A single pick marks the Locations in error and corrects the Location of the HandlingUnit before it fails;
+	 * a batch command must fail before, so nothing of it is flushed at the end of the batch.
+	 * 
+	 * @param location the managed Location
+	 * @param handlingUnit the managed HandlingUnit
+	 * 
+	 * @throws LocationIsEmptyException in case the Location is empty
+	 * @throws HandlingUnitNotOnLocationException in case the HandlingUnit is not on the Location
+	 */
+	private void checkPickable(final Location location, final HandlingUnit handlingUnit)
+			throws LocationIsEmptyException, HandlingUnitNotOnLocationException {
+		if (location.getHandlingUnits().isEmpty()) {
+			throw new LocationIsEmptyException("Location [" + location.getLocationId() + "] is EMPTY");
+		}
+		
+		Location baseLocation = getDeepBaseLocation(handlingUnit);
+		
+		if (baseLocation == null) {
+			throw new HandlingUnitNotOnLocationException("Handling unit not on any Location!");
+		}
+		
+		if (!baseLocation.equals(location)) {
+			throw new HandlingUnitNotOnLocationException("Handling unit not on Location [" + location.getLocationId() + ']');
+		}
+	}
+	
+	/**
+	 * Gets the next HandlingUnit to pick from the Location.<br>
+	 * For FIFO / LIFO the lowest / highest sequence number is read with an indexed query. During a batch the
+	 * query would not see the unflushed changes, so the pick face of the Location itself is taken.
+	 * 
+	 * @param location the Location
+	 * @param batch the running batch or <code>null</code>
+	 * 
+	 * @return the HandlingUnit or <code>null</code> if the Location is empty
+	 */
+	private HandlingUnit nextPick(final Location location, final Batch batch) {
+		String queryName;
+		
+		switch (batch == null ? location.getAccessLimit() : AccessLimit.RANDOM) {
+		case FIFO:
+			queryName = "findHandlingUnitsInLocationBySeq";
+			break;
+		case LIFO:
+			queryName = "findHandlingUnitsInLocationBySeqDesc";
+			break;
+		default:
+			List<HandlingUnit> picksAvailable = location.getAvailablePicks();
+			
+			return picksAvailable.isEmpty() ? null : picksAvailable.get(0);
+		}
+		
+		List<HandlingUnit> picks = em.createNamedQuery(queryName, HandlingUnit.class)
+				.setParameter(1, location.getLocationId())
+				.setMaxResults(1)
+				.getResultList();
+		
+		return picks.isEmpty() ? null : picks.get(0);
+	}
+	
+	/**
+	 * Check if the HandlingUnit is placed on base directly or nested
+	 * 
+	 * @param handlingUnit the HandlingUnit
+	 * @param base the base HandlingUnit
+	 * 
+	 * @return true if base contains the HandlingUnit over all levels else false
+	 */
+	private boolean isInside(final HandlingUnit handlingUnit, final HandlingUnit base) {
+		return em.find(HandlingUnitClosure.class, new HandlingUnitClosureId(base.getId(), handlingUnit.getId())) != null;
+	}
+	
+	/**
+	 * Add the closure entries for a HandlingUnit placed on base.<br>
+	 * Every ancestor of base (and base itself) gets the HandlingUnit and all its descendants.
+	 * 
+	 * @param handlingUnit the HandlingUnit placed on base
+	 * @param base the base HandlingUnit
+	 */
+	private void linkClosure(final HandlingUnit handlingUnit, final HandlingUnit base, final Batch batch) {
+		// Outside of a batch the queries flush pending removes of unlinkClosure before the new entries are persisted
+		List<HandlingUnitClosure> ancestors = findClosures("findClosureAncestors", base.getId(), batch);
+		List<HandlingUnitClosure> descendants = findClosures("findClosureDescendants", handlingUnit.getId(), batch);
+		
+		List<HandlingUnitClosure> upper = new ArrayList<>(ancestors);
+		upper.add(new HandlingUnitClosure(base.getId(), base.getId(), 0));
+		
+		List<HandlingUnitClosure> lower = new ArrayList<>(descendants);
+		lower.add(new HandlingUnitClosure(handlingUnit.getId(), handlingUnit.getId(), 0));
+		
+		for (HandlingUnitClosure up : upper) {
+			for (HandlingUnitClosure low : lower) {
+				persistClosure(up.getAncestor(), low.getDescendant(), up.getDepth() + low.getDepth() + 1, batch);
+			}
+		}
+	}
+	
+	/**
+	 * Persist a closure entry.<br>
+	 * During a batch an entry removed before by the same batch is not deleted yet; it is persisted again
+	 * instead of a new one with the same id.
+	 * 
+	 * @param ancestor the ancestor id
+	 * @param descendant the descendant id
+	 * @param depth the depth
+	 * @param batch the running batch or <code>null</code>
+	 */
+	private void persistClosure(final String ancestor, final String descendant, final int depth, final Batch batch) {
+		HandlingUnitClosure removed = batch == null ? null
+				: batch.removedClosures.remove(new HandlingUnitClosureId(ancestor, descendant));
+		
+		if (removed == null) {
+			em.persist(new HandlingUnitClosure(ancestor, descendant, depth));
+		}
+		else {
+			removed.setDepth(depth);
+			em.persist(removed);
+		}
+	}
+	
+	/**
+	 * Remove the closure entries of a HandlingUnit taken from its base.<br>
+	 * All entries leading from an ancestor of the HandlingUnit to the HandlingUnit or to one of its
+	 * descendants are removed; the entries inside the HandlingUnit itself stay.
+	 * 
+	 * @param handlingUnit the HandlingUnit taken from its base
+	 */
+	private void unlinkClosure(final HandlingUnit handlingUnit, final Batch batch) {
+		List<HandlingUnitClosure> paths;
+		
+		if (batch == null) {
+			paths = findClosures("findClosurePathsThrough", handlingUnit.getId(), null);
+		}
+		else {
+			// The subqueries can not be conformed; combine each ancestor with the HandlingUnit and its descendants
+			paths = new ArrayList<>();
+			
+			List<HandlingUnitClosure> descendants = findClosures("findClosureDescendants", handlingUnit.getId(), batch);
+			
+			for (HandlingUnitClosure up : findClosures("findClosureAncestors", handlingUnit.getId(), batch)) {
+				paths.add(up);
+				
+				for (HandlingUnitClosure low : descendants) {
+					HandlingUnitClosure path = em.find(HandlingUnitClosure.class
+							, new HandlingUnitClosureId(up.getAncestor(), low.getDescendant()));
+					
+					if (path != null) {
+						paths.add(path);
+					}
+				}
+			}
+		}
+		
+		for (HandlingUnitClosure path : paths) {
+			em.remove(path);
+			
+			if (batch != null) {
+				batch.removedClosures.put(new HandlingUnitClosureId(path.getAncestor(), path.getDescendant()), path);
+			}
+		}
+	}
+	
+	/**
+	 * Read closure entries by a named query with the HandlingUnit id as parameter.<br>
+	 * During a batch nothing is flushed, so the result is conformed with the entries the batch has persisted
+	 * and removed.
+	 * 
+	 * @param queryName the query name
+	 * @param handlingUnitId the HandlingUnit id
+	 * @param batch the running batch or <code>null</code>
+	 * 
+	 * @return the closure entries
+	 */
+	private List<HandlingUnitClosure> findClosures(final String queryName, final String handlingUnitId, final Batch batch) {
+		TypedQuery<HandlingUnitClosure> query = em.createNamedQuery(queryName, HandlingUnitClosure.class)
+				.setParameter(1, handlingUnitId);
+		
+		if (batch != null) {
+			query.setHint(QueryHints.CACHE_USAGE, CacheUsage.ConformResultsInUnitOfWork);
+		}
+		
+		return query.getResultList();
+	}
+	
+	/**
+	 * Check the dimension limits of the Location for the HandlingUnit.<br>
+	 * During a batch the evaluation is done here; a runtime failure inside the Location bean would mark the
+	 * transaction of the whole batch for rollback.
+	 * 
+	 * @param location the Location
+	 * @param handlingUnit the HandlingUnit to drop
+	 * @param batch the running batch or <code>null</code>
+	 * 
+	 * @throws DimensionException in case a dimension limit is exceeded
+	 */
+	private void checkDimensionLimitExceeds(final Location location, final HandlingUnit handlingUnit, final Batch batch)
+			throws CapacityExceededException, WeightExceededException, OverheightException
+			, OverlengthException, OverwidthException
+	{
+		if (batch == null) {
+			locationService.checkDimensionLimitExceeds(location, handlingUnit);
+		}
+		else {
+			FitEvaluator.evaluate(location, handlingUnit).throwIfExceeded();
+		}
+	}
+	
+	/**
+	 * Gets the other Locations holding the HandlingUnit.<br>
+	 * During a batch the query would not see the unflushed changes, so the managed HandlingUnit is asked.
+	 * 
+	 * @param handlingUnit the HandlingUnit
+	 * @param location the Location to skip
+	 * @param batch the running batch or <code>null</code>
+	 * 
+	 * @return the Locations
+	 */
+	private List<Location> getAllContainingExceptLocation(final HandlingUnit handlingUnit, final Location location
+			, final Batch batch) {
+		if (batch == null) {
+			return locationService.getAllContainingExceptLocation(handlingUnit, location);
+		}
+		
+		List<Location> ret = new ArrayList<>();
+		
+		if (handlingUnit.getLocation() != null && !handlingUnit.getLocation().equals(location)) {
+			ret.add(handlingUnit.getLocation());
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Flush the persistence context unless a batch is running; the batch flushes once at its end
+	 * 
+	 * @param batch the running batch or <code>null</code>
+	 */
+	private void flush(final Batch batch) {
+		if (batch == null) {
+			em.flush();
+		}
+	}
+	
+	/**
+	 * Notify the free capacity index of a changed Location; a batch notifies once after its flush
+	 * 
+	 * @param location the changed Location
+	 * @param batch the running batch or <code>null</code>
+	 */
+	private void changed(final Location location, final Batch batch) {
+		if (batch == null) {
+			freeCapacityIndex.changed(location);
+		}
+		else {
+			batch.changedLocations.put(location.getLocationId(), location);
+		}
+	}
+	
 	private void checkIllegalArgument(final Location location, final HandlingUnit handlingUnit) {
 		if (location == null) {
 			throw new IllegalArgumentException(LOCATION_IS_NULL_MSG);
@@ -667,23 +1278,22 @@ public class HandlingUnitBean implements HandlingUnitService {
 		}
 	}
 	
+	/**
+	 * Gets the Location the HandlingUnit is physically on from the stored root Location; no traversal of the base chain
+	 * 
+	 * @param handlingUnit the HandlingUnit
+	 * 
+	 * @return the Location or <code>null</code>
+	 */
 	private Location getDeepBaseLocation(final HandlingUnit handlingUnit) {
-		Location ret = null;
-		
-		HandlingUnit hu = getById(handlingUnit.getId());
+		String rootLocationId = handlingUnit.getRootLocationId();
 		
-		if (hu.getBaseHU() == null) {
-			ret = hu.getLocation();
-		}
-		else {
-			ret = getDeepBaseLocation(hu.getBaseHU());
-		}
-		
-		return ret;
+		return rootLocationId == null ? null : em.find(Location.class, rootLocationId);
 	}
 	
 	private Location persistOrMerge(final Location location) {
-		Location lo = locationService.getById(location.getLocationId());
+		// No call of the Location bean for an existing Location; a batch never creates a Location
+		Location lo = em.find(Location.class, location.getLocationId());
 		
 		if (lo == null) {
 			lo = locationService.createOrUpdate(location);
@@ -695,11 +1305,11 @@ public class HandlingUnitBean implements HandlingUnitService {
 		return lo;
 	}
 	
-	private HandlingUnit persistOrMerge(final HandlingUnit handlingUnit) {
+	private HandlingUnit persistOrMerge(final HandlingUnit handlingUnit, final Batch batch) {
 		HandlingUnit hu = getById(handlingUnit.getId());
 		
 		if (hu == null) {
-			hu = createOrUpdate(handlingUnit);
+			hu = createOrUpdate(handlingUnit, batch);
 		}
 	    else if (!em.contains(handlingUnit)) {
 	        hu = em.merge(handlingUnit);
@@ -715,7 +1325,7 @@ public class HandlingUnitBean implements HandlingUnitService {
 			location = null;
 		}
 		else {
-			location = locationService.getById(locationId);
+			location = em.find(Location.class, locationId);
 		}
 		
 		return location;
@@ -733,4 +1343,19 @@ public class HandlingUnitBean implements HandlingUnitService {
 		
 		return handlingUnit;
 	}
+
+	/**
+	 * The state of a running batch. It is passed to every operation of the batch; <code>null</code> outside of a
+	 * batch, then each operation flushes.
+	 */
+	private static final class Batch {
+		/**
+		 * The closure entries removed by the batch; they are deleted at the final flush only
+		 */
+		private final Map<HandlingUnitClosureId, HandlingUnitClosure> removedClosures = new HashMap<>();
+		/**
+		 * The Locations changed by the batch by id; the free capacity index is notified after the final flush
+		 */
+		private final Map<String, Location> changedLocations = new LinkedHashMap<>();
+	}
 }
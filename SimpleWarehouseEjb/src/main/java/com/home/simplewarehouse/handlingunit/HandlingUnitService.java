@@ -207,7 +207,8 @@ public interface HandlingUnitService {
 	 */
 	public Set<HandlingUnit> free(final String baseId);
 	/**
-	 * Return a Set of HandlingUnits places on base from a flat point of view
+	 * Return a Set of HandlingUnits places on base from a flat point of view<br>
+	 * The HandlingUnits are read with one query from the containment closure table.
 	 * 
 	 * @param base the base HandlingUnit
 	 * 
@@ -226,4 +227,19 @@ public interface HandlingUnitService {
 	 * @param base the base HandlingUnit
 	 */
 	public void logFlatContains(final HandlingUnit base);
+	/**
+	 * Execute a batch of drop, pick, assign, remove and move commands in one persistence context.<br>
+	 * <br>
+	 * The commands are executed in the given order and the persistence context is flushed once at
+	 * the end of the batch; no query of the batch flushes. Dimension and capacity checks consider the
+	 * changes done by the commands executed before. A failing command changes nothing and does not roll
+	 * back the other commands; the failure is reported in the related result. An unexpected runtime failure
+	 * rolls back the whole batch.<br>
+	 * A drop of an unknown HandlingUnit id creates the HandlingUnit unless the drop is rejected.
+	 * 
+	 * @param commands the commands to execute
+	 * 
+	 * @return the results in the same order as the commands
+	 */
+	public List<MoveResult> executeBatch(final List<MoveCommand> commands);
 }
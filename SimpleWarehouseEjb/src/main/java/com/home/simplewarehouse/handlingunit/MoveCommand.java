@@ -0,0 +1,187 @@
+package com.home.simplewarehouse.handlingunit;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A single command for a batch of HandlingUnit movements.
+ * <p>
+ * Use the static factory methods to create a command for the needed operation.
+ */
+public class MoveCommand implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The supported operations
+	 */
+	public enum Operation {
+		/**
+		 * Drop a HandlingUnit on a Location
+		 */
+		DROP,
+		/**
+		 * Pick a HandlingUnit from a Location; without HandlingUnit pick by access limit (FIFO / LIFO)
+		 */
+		PICK,
+		/**
+		 * Assign a HandlingUnit to a base HandlingUnit
+		 */
+		ASSIGN,
+		/**
+		 * Remove a HandlingUnit from a base HandlingUnit
+		 */
+		REMOVE,
+		/**
+		 * Move a HandlingUnit to a destination HandlingUnit
+		 */
+		MOVE
+	}
+
+	private final Operation operation;
+	private final String locationId;
+	private final String handlingUnitId;
+	private final String baseId;
+
+	private MoveCommand(Operation operation, String locationId, String handlingUnitId, String baseId) {
+		super();
+		this.operation = operation;
+		this.locationId = locationId;
+		this.handlingUnitId = handlingUnitId;
+		this.baseId = baseId;
+	}
+
+	/**
+	 * Create a drop command
+	 *
+	 * @param locationId the Location id to drop on
+	 * @param handlingUnitId the HandlingUnit id to drop
+	 *
+	 * @return the command
+	 */
+	public static MoveCommand drop(String locationId, String handlingUnitId) {
+		return new MoveCommand(Operation.DROP, locationId, handlingUnitId, null);
+	}
+
+	/**
+	 * Create a pick command for a given HandlingUnit
+	 *
+	 * @param locationId the Location id to pick from
+	 * @param handlingUnitId the HandlingUnit id to pick
+	 *
+	 * @return the command
+	 */
+	public static MoveCommand pick(String locationId, String handlingUnitId) {
+		return new MoveCommand(Operation.PICK, locationId, handlingUnitId, null);
+	}
+
+	/**
+	 * Create a pick command for a FIFO / LIFO Location
+	 *
+	 * @param locationId the Location id to pick from
+	 *
+	 * @return the command
+	 */
+	public static MoveCommand pick(String locationId) {
+		return new MoveCommand(Operation.PICK, locationId, null, null);
+	}
+
+	/**
+	 * Create an assign command
+	 *
+	 * @param handlingUnitId the HandlingUnit id to assign
+	 * @param baseId the base HandlingUnit id
+	 *
+	 * @return the command
+	 */
+	public static MoveCommand assign(String handlingUnitId, String baseId) {
+		return new MoveCommand(Operation.ASSIGN, null, handlingUnitId, baseId);
+	}
+
+	/**
+	 * Create a remove command
+	 *
+	 * @param handlingUnitId the HandlingUnit id to remove
+	 * @param baseId the base HandlingUnit id
+	 *
+	 * @return the command
+	 */
+	public static MoveCommand remove(String handlingUnitId, String baseId) {
+		return new MoveCommand(Operation.REMOVE, null, handlingUnitId, baseId);
+	}
+
+	/**
+	 * Create a move command
+	 *
+	 * @param handlingUnitId the HandlingUnit id to move
+	 * @param destHandlingUnitId the destination HandlingUnit id
+	 *
+	 * @return the command
+	 */
+	public static MoveCommand move(String handlingUnitId, String destHandlingUnitId) {
+		return new MoveCommand(Operation.MOVE, null, handlingUnitId, destHandlingUnitId);
+	}
+
+	/**
+	 * Gets the operation
+	 *
+	 * @return the operation
+	 */
+	public Operation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Gets the Location id (DROP, PICK only)
+	 *
+	 * @return the Location id
+	 */
+	public String getLocationId() {
+		return locationId;
+	}
+
+	/**
+	 * Gets the HandlingUnit id
+	 *
+	 * @return the HandlingUnit id
+	 */
+	public String getHandlingUnitId() {
+		return handlingUnitId;
+	}
+
+	/**
+	 * Gets the base or destination HandlingUnit id (ASSIGN, REMOVE, MOVE only)
+	 *
+	 * @return the base HandlingUnit id
+	 */
+	public String getBaseId() {
+		return baseId;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(operation, locationId, handlingUnitId, baseId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof MoveCommand))
+			return false;
+		MoveCommand other = (MoveCommand) obj;
+		return operation == other.operation && Objects.equals(locationId, other.locationId)
+				&& Objects.equals(handlingUnitId, other.handlingUnitId) && Objects.equals(baseId, other.baseId);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MoveCommand [operation=").append(operation)
+		    .append(", locationId=").append(locationId)
+		    .append(", handlingUnitId=").append(handlingUnitId)
+		    .append(", baseId=").append(baseId)
+		    .append("]");
+
+		return builder.toString();
+	}
+}
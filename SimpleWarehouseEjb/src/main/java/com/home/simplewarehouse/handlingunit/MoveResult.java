@@ -0,0 +1,148 @@
+package com.home.simplewarehouse.handlingunit;
+
+import java.io.Serializable;
+
+/**
+ * The result of a single MoveCommand executed in a batch.
+ */
+public class MoveResult implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The result status of a MoveCommand
+	 */
+	public enum Status {
+		/**
+		 * Command executed
+		 */
+		OK,
+		/**
+		 * A Dimension limit of the Location does not allow the drop
+		 */
+		DIMENSION_EXCEEDED,
+		/**
+		 * The Location to pick from is empty
+		 */
+		LOCATION_IS_EMPTY,
+		/**
+		 * The HandlingUnit to pick is not on the Location
+		 */
+		NOT_ON_LOCATION,
+		/**
+		 * The Location or HandlingUnit does not exist
+		 */
+		NOT_FOUND,
+		/**
+		 * The command is incomplete
+		 */
+		INVALID
+	}
+
+	private final MoveCommand command;
+	private final Status status;
+	private final String handlingUnitId;
+	private final Exception exception;
+
+	private MoveResult(MoveCommand command, Status status, String handlingUnitId, Exception exception) {
+		super();
+		this.command = command;
+		this.status = status;
+		this.handlingUnitId = handlingUnitId;
+		this.exception = exception;
+	}
+
+	/**
+	 * Create a successful result
+	 *
+	 * @param command the executed command
+	 * @param handlingUnitId the id of the HandlingUnit moved by the command
+	 *
+	 * @return the result
+	 */
+	public static MoveResult ok(MoveCommand command, String handlingUnitId) {
+		return new MoveResult(command, Status.OK, handlingUnitId, null);
+	}
+
+	/**
+	 * Create a failed result
+	 *
+	 * @param command the executed command
+	 * @param status the failure status
+	 * @param exception the exception that caused the failure, may be <code>null</code>
+	 *
+	 * @return the result
+	 */
+	public static MoveResult failed(MoveCommand command, Status status, Exception exception) {
+		return new MoveResult(command, status, command == null ? null : command.getHandlingUnitId(), exception);
+	}
+
+	/**
+	 * Gets the executed command
+	 *
+	 * @return the command
+	 */
+	public MoveCommand getCommand() {
+		return command;
+	}
+
+	/**
+	 * Gets the status
+	 *
+	 * @return the status
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Check if the command succeeded
+	 *
+	 * @return true if status is OK else false
+	 */
+	public boolean isOk() {
+		return status == Status.OK;
+	}
+
+	/**
+	 * Gets the HandlingUnit id; for a FIFO / LIFO pick this is the picked HandlingUnit
+	 *
+	 * @return the HandlingUnit id
+	 */
+	public String getHandlingUnitId() {
+		return handlingUnitId;
+	}
+
+	/**
+	 * Gets the exception in case of failure, e.g. a DimensionException or LocationIsEmptyException
+	 *
+	 * @return the exception or <code>null</code>
+	 */
+	public Exception getException() {
+		return exception;
+	}
+
+	/**
+	 * Gets the failure message
+	 *
+	 * @return the message or an empty String
+	 */
+	public String getMessage() {
+		if (exception == null || exception.getMessage() == null) {
+			return "";
+		}
+
+		return exception.getMessage();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MoveResult [command=").append(command)
+		    .append(", status=").append(status)
+		    .append(", handlingUnitId=").append(handlingUnitId)
+		    .append(", message=").append(getMessage())
+		    .append("]");
+
+		return builder.toString();
+	}
+}
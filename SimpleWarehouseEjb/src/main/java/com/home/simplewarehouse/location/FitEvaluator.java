@@ -0,0 +1,249 @@
+package com.home.simplewarehouse.location;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.home.simplewarehouse.model.Dimension;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LocationOccupancy;
+import com.home.simplewarehouse.model.WidthCategory;
+
+/**
+ * Single pass evaluation of the Dimension limits of a Location for a HandlingUnit.
+ * <p>
+ * For every maximum height, length and width category a bitmask of the allowed categories is precomputed
+ * from the enum ordinals. A category check is then one AND operation instead of a chain of equals.<br>
+ * The limits are checked in the priority order of {@link FitResult}.
+ */
+public final class FitEvaluator {
+	private static final int[] HEIGHT_MASKS = heightMasks();
+	private static final int[] LENGTH_MASKS = lengthMasks();
+	private static final int[] WIDTH_MASKS = widthMasks();
+
+	private FitEvaluator() {
+		super();
+	}
+
+	private static int bit(Enum<?> category) {
+		return 1 << category.ordinal();
+	}
+
+	private static int[] heightMasks() {
+		HeightCategory[] values = HeightCategory.values();
+		int[] masks = new int[values.length];
+		int all = (1 << values.length) - 1;
+
+		for (HeightCategory max : values) {
+			int mask = all;
+
+			if (max != HeightCategory.NOT_RELEVANT) {
+				mask &= ~(bit(HeightCategory.UNKNOWN) | bit(HeightCategory.TOO_HIGH));
+
+				if (max == HeightCategory.MIDDLE) {
+					mask &= ~bit(HeightCategory.HIGH);
+				}
+				else if (max == HeightCategory.LOW) {
+					mask &= ~(bit(HeightCategory.HIGH) | bit(HeightCategory.MIDDLE));
+				}
+			}
+			masks[max.ordinal()] = mask;
+		}
+		return masks;
+	}
+
+	private static int[] lengthMasks() {
+		LengthCategory[] values = LengthCategory.values();
+		int[] masks = new int[values.length];
+		int all = (1 << values.length) - 1;
+
+		for (LengthCategory max : values) {
+			int mask = all;
+
+			if (max != LengthCategory.NOT_RELEVANT) {
+				mask &= ~(bit(LengthCategory.UNKNOWN) | bit(LengthCategory.TOO_LONG));
+
+				if (max == LengthCategory.MIDDLE) {
+					mask &= ~bit(LengthCategory.LONG);
+				}
+				else if (max == LengthCategory.SHORT) {
+					mask &= ~(bit(LengthCategory.LONG) | bit(LengthCategory.MIDDLE));
+				}
+			}
+			masks[max.ordinal()] = mask;
+		}
+		return masks;
+	}
+
+	private static int[] widthMasks() {
+		WidthCategory[] values = WidthCategory.values();
+		int[] masks = new int[values.length];
+		int all = (1 << values.length) - 1;
+
+		for (WidthCategory max : values) {
+			int mask = all;
+
+			if (max != WidthCategory.NOT_RELEVANT) {
+				mask &= ~(bit(WidthCategory.UNKNOWN) | bit(WidthCategory.TOO_WIDE));
+
+				if (max == WidthCategory.MIDDLE) {
+					mask &= ~bit(WidthCategory.WIDE);
+				}
+				else if (max == WidthCategory.NARROW) {
+					mask &= ~(bit(WidthCategory.WIDE) | bit(WidthCategory.MIDDLE));
+				}
+			}
+			masks[max.ordinal()] = mask;
+		}
+		return masks;
+	}
+
+	/**
+	 * Gets the bit of a height, length or width category to check against a mask
+	 *
+	 * @param category the category
+	 *
+	 * @return the bit
+	 */
+	public static int categoryBit(final Enum<?> category) {
+		return bit(category);
+	}
+
+	/**
+	 * Gets the mask of the heights allowed for a maximum height
+	 *
+	 * @param maxHeight the maximum height of the Location
+	 *
+	 * @return the mask
+	 */
+	public static int heightMask(final HeightCategory maxHeight) {
+		return HEIGHT_MASKS[maxHeight.ordinal()];
+	}
+
+	/**
+	 * Gets the mask of the lengths allowed for a maximum length; all lengths are allowed for a Location with a
+	 * maximum capacity greater than one
+	 *
+	 * @param maxLength the maximum length of the Location
+	 * @param maxCapacity the maximum capacity of the Location
+	 *
+	 * @return the mask
+	 */
+	public static int lengthMask(final LengthCategory maxLength, final int maxCapacity) {
+		return maxCapacity > 1 ? LENGTH_MASKS[LengthCategory.NOT_RELEVANT.ordinal()] : LENGTH_MASKS[maxLength.ordinal()];
+	}
+
+	/**
+	 * Gets the mask of the widths allowed for a maximum width
+	 *
+	 * @param maxWidth the maximum width of the Location
+	 *
+	 * @return the mask
+	 */
+	public static int widthMask(final WidthCategory maxWidth) {
+		return WIDTH_MASKS[maxWidth.ordinal()];
+	}
+
+	/**
+	 * Check the height
+	 *
+	 * @param maxHeight the maximum height of the Location
+	 * @param height the height of the HandlingUnit
+	 *
+	 * @return true if the height fits else false
+	 */
+	public static boolean heightFits(final HeightCategory maxHeight, final HeightCategory height) {
+		return (HEIGHT_MASKS[maxHeight.ordinal()] & bit(height)) != 0;
+	}
+
+	/**
+	 * Check the length; the length is only relevant for a Location with a maximum capacity of one or less
+	 *
+	 * @param maxLength the maximum length of the Location
+	 * @param maxCapacity the maximum capacity of the Location
+	 * @param length the length of the HandlingUnit
+	 *
+	 * @return true if the length fits else false
+	 */
+	public static boolean lengthFits(final LengthCategory maxLength, final int maxCapacity, final LengthCategory length) {
+		return maxCapacity > 1 || (LENGTH_MASKS[maxLength.ordinal()] & bit(length)) != 0;
+	}
+
+	/**
+	 * Check the width
+	 *
+	 * @param maxWidth the maximum width of the Location
+	 * @param width the width of the HandlingUnit
+	 *
+	 * @return true if the width fits else false
+	 */
+	public static boolean widthFits(final WidthCategory maxWidth, final WidthCategory width) {
+		return (WIDTH_MASKS[maxWidth.ordinal()] & bit(width)) != 0;
+	}
+
+	/**
+	 * Evaluate all Dimension limits of the Location for the HandlingUnit in one pass
+	 *
+	 * @param location the Location with its Dimension and occupancy already loaded
+	 * @param handlingUnit the HandlingUnit to drop
+	 *
+	 * @return the first limit exceeded or FITS
+	 */
+	public static FitResult evaluate(final Location location, final HandlingUnit handlingUnit) {
+		return evaluate(location, handlingUnit.getWeight(), bit(handlingUnit.getHeight())
+				, bit(handlingUnit.getLength()), bit(handlingUnit.getWidth()));
+	}
+
+	/**
+	 * Evaluate one HandlingUnit against many candidate Locations.<br>
+	 * The HandlingUnit values are read once; the single checks do not allocate.
+	 *
+	 * @param candidates the candidate Locations with their Dimension and occupancy already loaded
+	 * @param handlingUnit the HandlingUnit to drop
+	 *
+	 * @return the candidates the HandlingUnit fits on in the given order
+	 */
+	public static List<Location> canFit(final Collection<? extends Location> candidates, final HandlingUnit handlingUnit) {
+		int weight = handlingUnit.getWeight();
+		int heightBit = bit(handlingUnit.getHeight());
+		int lengthBit = bit(handlingUnit.getLength());
+		int widthBit = bit(handlingUnit.getWidth());
+
+		List<Location> ret = new ArrayList<>();
+
+		for (Location location : candidates) {
+			if (evaluate(location, weight, heightBit, lengthBit, widthBit) == FitResult.FITS) {
+				ret.add(location);
+			}
+		}
+		return ret;
+	}
+
+	private static FitResult evaluate(final Location location, final int weight, final int heightBit
+			, final int lengthBit, final int widthBit) {
+		Dimension dimension = location.getDimension();
+		LocationOccupancy occupancy = location.getOccupancy();
+
+		int maxCapacity = dimension.getMaxCapacity();
+
+		if (maxCapacity > 0 && occupancy.getCurrentCapacity() >= maxCapacity) {
+			return FitResult.CAPACITY_EXCEEDED;
+		}
+		if (dimension.getMaxWeight() > 0 && occupancy.getCurrentWeight() + weight >= dimension.getMaxWeight()) {
+			return FitResult.WEIGHT_EXCEEDED;
+		}
+		if ((HEIGHT_MASKS[dimension.getMaxHeight().ordinal()] & heightBit) == 0) {
+			return FitResult.OVERHEIGHT;
+		}
+		if (maxCapacity <= 1 && (LENGTH_MASKS[dimension.getMaxLength().ordinal()] & lengthBit) == 0) {
+			return FitResult.OVERLENGTH;
+		}
+		if ((WIDTH_MASKS[dimension.getMaxWidth().ordinal()] & widthBit) == 0) {
+			return FitResult.OVERWIDTH;
+		}
+		return FitResult.FITS;
+	}
+}
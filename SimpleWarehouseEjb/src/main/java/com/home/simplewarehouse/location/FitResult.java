@@ -0,0 +1,70 @@
+package com.home.simplewarehouse.location;
+
+/**
+ * The result of evaluating if a HandlingUnit fits on a Location.
+ * <p>
+ * The values are declared in the priority order the Dimension limits are checked; only the first limit
+ * exceeded is reported.
+ */
+public enum FitResult {
+	/**
+	 * The HandlingUnit fits
+	 */
+	FITS,
+	/**
+	 * The Location has no more capacity
+	 */
+	CAPACITY_EXCEEDED,
+	/**
+	 * The Location will become overweighted
+	 */
+	WEIGHT_EXCEEDED,
+	/**
+	 * The HandlingUnit does not fit in the Location (height)
+	 */
+	OVERHEIGHT,
+	/**
+	 * The HandlingUnit does not fit in the Location (length)
+	 */
+	OVERLENGTH,
+	/**
+	 * The HandlingUnit does not fit in the Location (width)
+	 */
+	OVERWIDTH;
+
+	/**
+	 * Check if the HandlingUnit fits
+	 *
+	 * @return true if FITS else false
+	 */
+	public boolean fits() {
+		return this == FITS;
+	}
+
+	/**
+	 * Throw the DimensionException related to this result
+	 *
+	 * @throws CapacityExceededException in case of CAPACITY_EXCEEDED
+	 * @throws WeightExceededException in case of WEIGHT_EXCEEDED
+	 * @throws OverheightException in case of OVERHEIGHT
+	 * @throws OverlengthException in case of OVERLENGTH
+	 * @throws OverwidthException in case of OVERWIDTH
+	 */
+	public void throwIfExceeded() throws CapacityExceededException, WeightExceededException, OverheightException
+			, OverlengthException, OverwidthException {
+		switch (this) {
+		case CAPACITY_EXCEEDED:
+			throw new CapacityExceededException("Location has no more capacity");
+		case WEIGHT_EXCEEDED:
+			throw new WeightExceededException("Location will become overweighted");
+		case OVERHEIGHT:
+			throw new OverheightException("HandlingUnit does not fit in Location (height)");
+		case OVERLENGTH:
+			throw new OverlengthException("HandlingUnit does not fit in Location (length)");
+		case OVERWIDTH:
+			throw new OverwidthException("HandlingUnit does not fit in Location (width)");
+		default:
+			break;
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package com.home.simplewarehouse.location;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -20,12 +23,19 @@ import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.HeightCategory;
 import com.home.simplewarehouse.model.LengthCategory;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LockStatus;
+import com.home.simplewarehouse.model.LtosStatus;
+import com.home.simplewarehouse.model.LocationOccupancy;
 import com.home.simplewarehouse.model.WidthCategory;
 import com.home.simplewarehouse.model.Zone;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.WarehouseOperationEvent;
 
 /**
  * Bean class for Location usage. 
+ * <p>
+ * The capacity checks emit a Flight Recorder {@link WarehouseOperationEvent}.
  */
 @Stateless
 @TransactionAttribute(TransactionAttributeType.REQUIRED)
@@ -53,6 +63,9 @@ public class LocationBean implements LocationService {
 	@PersistenceContext
 	private EntityManager em;
 	
+	@EJB
+	private FreeCapacityIndex freeCapacityIndex;
+	
 	/**
 	 * Default constructor is mandatory
 	 */
@@ -98,9 +111,13 @@ public class LocationBean implements LocationService {
 		}
 		em.flush();
 
+		Location ret = getById(location.getLocationId());
+		
+		freeCapacityIndex.changed(ret);
+		
 		LOG.trace("<-- create");
 		
-		return getById(location.getLocationId());
+		return ret;
 	}
 
 	@Override
@@ -131,15 +148,21 @@ public class LocationBean implements LocationService {
 			List<HandlingUnit> handlingUnitsCopy = new ArrayList<>(lo.getHandlingUnits());
 			for (HandlingUnit handlingUnit : handlingUnitsCopy) {
 				handlingUnit.setLocation(null);
-				handlingUnit.setLocaPos(null);		
+				handlingUnit.setLocaSeq(null);		
 				em.flush();
 			}
 			
+			// HandlingUnits placed on a base on this Location are not physically on it any more
+			em.createNamedQuery("findHandlingUnitsByRootLocation", HandlingUnit.class)
+					.setParameter(1, lo.getLocationId()).getResultList().forEach(HandlingUnit::clearRootLocation);
+			
 			// No need to    em.remove(locationStatusService)  because it is done by  cascade = CascadeType.ALL
 			// Same for      dimensionService
 			em.remove(lo);
 			em.flush();
 			em.clear();
+			
+			freeCapacityIndex.removed(lo.getLocationId());
 
 			LOG.debug("deleted: {}", lo);
 		} 
@@ -221,15 +244,16 @@ public class LocationBean implements LocationService {
 	public List<Location> getAllContaining(final HandlingUnit handlingUnit) {
 		LOG.trace("--> getAllContaining({})", handlingUnit);
 		
-		List<Location> ret = new ArrayList<>();
+		if (handlingUnit == null || handlingUnit.getId() == null) {
+			LOG.trace("<-- getAllContaining() HandlingUnit == null or Id == null");
+			return new ArrayList<>();
+		}
 
-		List<Location> locations = getAll();
+		// Use the index on HANDLING_UNIT.LOCATION_ID instead of scanning all Locations
+		TypedQuery<Location> query = em.createNamedQuery("findAllLocationsContaining", Location.class);
+		query.setParameter(1, handlingUnit.getId());
 		
-		for (Location location : locations) {
-			if (location.getHandlingUnits().contains(handlingUnit)) {
-				ret.add(location);
-			}
-		}
+		List<Location> ret = query.getResultList();
 
 		LOG.trace("<-- getAllContaining()");
 
@@ -239,19 +263,26 @@ public class LocationBean implements LocationService {
 	@Override
 	public List<Location> getAllContainingExceptLocation(final HandlingUnit handlingUnit,
 			final Location exceptLocation) {
-		LOG.trace("--> getAllContaining({})", handlingUnit);
+		LOG.trace("--> getAllContainingExceptLocation({}, {})", handlingUnit, exceptLocation);
 		
-		List<Location> ret = new ArrayList<>();
+		if (exceptLocation == null || exceptLocation.getLocationId() == null) {
+			LOG.trace("<-- getAllContainingExceptLocation() no exceptLocation");
+			return getAllContaining(handlingUnit);
+		}
 
-		List<Location> locations = getAll();
-		
-		for (Location location : locations) {
-			if (! location.equals(exceptLocation) && location.getHandlingUnits().contains(handlingUnit)) {
-				ret.add(location);
-			}
+		if (handlingUnit == null || handlingUnit.getId() == null) {
+			LOG.trace("<-- getAllContainingExceptLocation() HandlingUnit == null or Id == null");
+			return new ArrayList<>();
 		}
 
-		LOG.trace("<-- getAllContaining()");
+		// Use the index on HANDLING_UNIT.LOCATION_ID instead of scanning all Locations
+		TypedQuery<Location> query = em.createNamedQuery("findAllLocationsContainingExcept", Location.class);
+		query.setParameter(1, handlingUnit.getId());
+		query.setParameter(2, exceptLocation.getLocationId());
+		
+		List<Location> ret = query.getResultList();
+
+		LOG.trace("<-- getAllContainingExceptLocation()");
 
 		return ret;
 	}
@@ -260,20 +291,189 @@ public class LocationBean implements LocationService {
 	public List<Location> getAllInErrorStatus(final ErrorStatus errorStatus) {
 		LOG.trace("--> getAllInErrorStatus({})", errorStatus);
 		
-		List<Location> ret = new ArrayList<>();
+		List<Location> ret = getAllWithStatus("findAllLocationWithErrorStatus", errorStatus, 0, 0);
 
-		List<Location> locations = getAll();
+		LOG.trace("<-- getAllInErrorStatus()");
+
+		return ret;
+	}
+	
+	@Override
+	public List<Location> getAllInErrorStatus(final ErrorStatus errorStatus, int offset, int count) {
+		LOG.trace("--> getAllInErrorStatus({}, {}, {})", errorStatus, offset, count);
 		
-		for (Location location : locations) {
-			if (location.getLocationStatus().getErrorStatus().equals(errorStatus)) {
-				ret.add(location);
-			}
-		}
+		checkPaging(offset, count);
+		
+		List<Location> ret = getAllWithStatus("findAllLocationWithErrorStatus", errorStatus, offset, count);
 
 		LOG.trace("<-- getAllInErrorStatus()");
 
 		return ret;
 	}
+	
+	@Override
+	public int countInErrorStatus(final ErrorStatus errorStatus) {
+		return countWithStatus("countLocationWithErrorStatus", errorStatus);
+	}
+	
+	@Override
+	public List<Location> getAllInLtosStatus(final LtosStatus ltosStatus) {
+		LOG.trace("--> getAllInLtosStatus({})", ltosStatus);
+		
+		List<Location> ret = getAllWithStatus("findAllLocationWithLtosStatus", ltosStatus, 0, 0);
+
+		LOG.trace("<-- getAllInLtosStatus()");
+
+		return ret;
+	}
+	
+	@Override
+	public List<Location> getAllInLtosStatus(final LtosStatus ltosStatus, int offset, int count) {
+		LOG.trace("--> getAllInLtosStatus({}, {}, {})", ltosStatus, offset, count);
+		
+		checkPaging(offset, count);
+		
+		List<Location> ret = getAllWithStatus("findAllLocationWithLtosStatus", ltosStatus, offset, count);
+
+		LOG.trace("<-- getAllInLtosStatus()");
+
+		return ret;
+	}
+	
+	@Override
+	public int countInLtosStatus(final LtosStatus ltosStatus) {
+		return countWithStatus("countLocationWithLtosStatus", ltosStatus);
+	}
+	
+	@Override
+	public List<Location> getAllInLockStatus(final LockStatus lockStatus) {
+		LOG.trace("--> getAllInLockStatus({})", lockStatus);
+		
+		List<Location> ret = getAllWithStatus("findAllLocationWithLockStatus", lockStatus, 0, 0);
+
+		LOG.trace("<-- getAllInLockStatus()");
+
+		return ret;
+	}
+	
+	@Override
+	public List<Location> getAllInLockStatus(final LockStatus lockStatus, int offset, int count) {
+		LOG.trace("--> getAllInLockStatus({}, {}, {})", lockStatus, offset, count);
+		
+		checkPaging(offset, count);
+		
+		List<Location> ret = getAllWithStatus("findAllLocationWithLockStatus", lockStatus, offset, count);
+
+		LOG.trace("<-- getAllInLockStatus()");
+
+		return ret;
+	}
+	
+	@Override
+	public int countInLockStatus(final LockStatus lockStatus) {
+		return countWithStatus("countLocationWithLockStatus", lockStatus);
+	}
+	
+	@Override
+	public List<Location> getAllInStatus(final ErrorStatus errorStatus, final LtosStatus ltosStatus
+			, final LockStatus lockStatus, int offset, int count) {
+		LOG.trace("--> getAllInStatus({}, {}, {}, {}, {})", errorStatus, ltosStatus, lockStatus, offset, count);
+		
+		checkPaging(offset, count);
+		
+		TypedQuery<Location> query = em.createQuery("select l.location from LocationStatus l"
+				+ statusCondition(errorStatus, ltosStatus, lockStatus) + " order by l.locationId", Location.class);
+		setStatusParameters(query, errorStatus, ltosStatus, lockStatus);
+		query.setFirstResult(offset);
+		query.setMaxResults(count);
+		
+		List<Location> ret = query.getResultList();
+
+		LOG.trace("<-- getAllInStatus()");
+
+		return ret;
+	}
+	
+	@Override
+	public int countInStatus(final ErrorStatus errorStatus, final LtosStatus ltosStatus, final LockStatus lockStatus) {
+		TypedQuery<Number> query = em.createQuery("select count(l) from LocationStatus l"
+				+ statusCondition(errorStatus, ltosStatus, lockStatus), Number.class);
+		setStatusParameters(query, errorStatus, ltosStatus, lockStatus);
+		
+		return query.getSingleResult().intValue();
+	}
+	
+	private static void checkPaging(int offset, int count) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset < 0");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("count < 1");
+        }
+	}
+	
+	/**
+	 * Get the Locations by one of the status named queries; a count of 0 means all
+	 */
+	private List<Location> getAllWithStatus(final String queryName, final Enum<?> status, int offset, int count) {
+		if (status == null) {
+			return new ArrayList<>();
+		}
+		
+		TypedQuery<Location> query = em.createNamedQuery(queryName, Location.class);
+		query.setParameter(1, status.name());
+		if (count > 0) {
+			query.setFirstResult(offset);
+			query.setMaxResults(count);
+		}
+		
+		return query.getResultList();
+	}
+	
+	private int countWithStatus(final String queryName, final Enum<?> status) {
+		if (status == null) {
+			return 0;
+		}
+		
+		TypedQuery<Number> query = em.createNamedQuery(queryName, Number.class);
+		query.setParameter(1, status.name());
+		
+		return query.getSingleResult().intValue();
+	}
+	
+	/**
+	 * Build the where clause for the given statuses; only the given statuses are part of the condition
+	 * so that the LOCATION_STATUS indexes can be used
+	 */
+	private static String statusCondition(final ErrorStatus errorStatus, final LtosStatus ltosStatus
+			, final LockStatus lockStatus) {
+		List<String> conditions = new ArrayList<>();
+		
+		if (errorStatus != null) {
+			conditions.add("l.errorStatus = :errorStatus");
+		}
+		if (ltosStatus != null) {
+			conditions.add("l.ltosStatus = :ltosStatus");
+		}
+		if (lockStatus != null) {
+			conditions.add("l.lockStatus = :lockStatus");
+		}
+		
+		return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+	}
+	
+	private static void setStatusParameters(final TypedQuery<?> query, final ErrorStatus errorStatus
+			, final LtosStatus ltosStatus, final LockStatus lockStatus) {
+		if (errorStatus != null) {
+			query.setParameter("errorStatus", errorStatus.name());
+		}
+		if (ltosStatus != null) {
+			query.setParameter("ltosStatus", ltosStatus.name());
+		}
+		if (lockStatus != null) {
+			query.setParameter("lockStatus", lockStatus.name());
+		}
+	}
 
 	@Override
 	public boolean isFull(final Location location) {
@@ -286,10 +486,10 @@ public class LocationBean implements LocationService {
 			return false;
 		}
 		
-		boolean full = loc.getHandlingUnits().size() >= loc.getDimension().getMaxCapacity();
+		boolean full = loc.getOccupancy().getCurrentCapacity() >= loc.getDimension().getMaxCapacity();
 		
 		if (full) {
-			LOG.info("Location already contains {}, maxCapacity is {}", loc.getHandlingUnits().size()
+			LOG.info("Location already contains {}, maxCapacity is {}", loc.getOccupancy().getCurrentCapacity()
 					, loc.getDimension().getMaxCapacity());
 		}
 		
@@ -302,38 +502,91 @@ public class LocationBean implements LocationService {
 	public List<Location> getAllFull() {
 		LOG.trace("--> getAllFull()");
 		
-		List<Location> ret = new ArrayList<>();
-
-		List<Location> locations = getAll();
-		
-		for (Location location : locations) {
-			if (isFull(location)) {
-				ret.add(location);
-			}
-		}
+		TypedQuery<Location> query = em.createNamedQuery("findAllFullLocations", Location.class);
+		List<Location> ret = query.getResultList();
 
 		LOG.trace("<-- getAllFull()");
 
 		return ret;
 	}
 
+	@Override
+	public int countFull() {
+		final TypedQuery<Number> query = em.createNamedQuery("countFullLocations", Number.class);
+
+		return query.getSingleResult().intValue();
+	}
+
 	@Override
 	public List<Location> getAllWithFreeCapacity() {
 		LOG.trace("--> getAllWithFreeCapacity()");
 		
-		List<Location> ret = new ArrayList<>();
+		TypedQuery<Location> query = em.createNamedQuery("findAllLocationsWithFreeCapacity", Location.class);
+		List<Location> ret = query.getResultList();
 
-		List<Location> locations = getAll();
-		
-		for (Location location : locations) {
-			if (!isFull(location)) {
-				ret.add(location);
+		LOG.trace("<-- getAllWithFreeCapacity()");
+
+		return ret;
+	}
+
+	@Override
+	public int repairOccupancy() {
+		LOG.trace("--> repairOccupancy()");
+
+		Map<String, Object[]> actual = new HashMap<>();
+
+		TypedQuery<Object[]> occupancy = em.createNamedQuery("findHandlingUnitOccupancy", Object[].class);
+		occupancy.getResultList().forEach(row -> actual.put((String) row[0], row));
+
+		TypedQuery<LocationOccupancy> query = em.createNamedQuery("findAllLocationOccupancies", LocationOccupancy.class);
+
+		int repaired = 0;
+
+		for (LocationOccupancy stored : query.getResultList()) {
+			Object[] row = actual.get(stored.getLocationId());
+
+			int capacity = capacity(row);
+			int weight = weight(row);
+			float volume = volume(row);
+
+			if (!stored.matches(capacity, weight, volume)) {
+				LOG.warn("Repair occupancy of Location {}: capacity {}->{}, weight {}->{}, volume {}->{}"
+						, stored.getLocationId(), stored.getCurrentCapacity(), capacity
+						, stored.getCurrentWeight(), weight, stored.getCurrentVolume(), volume);
+
+				stored.repair(capacity, weight, volume);
+				++repaired;
 			}
 		}
 
-		LOG.trace("<-- getAllWithFreeCapacity()");
+		// Locations stored before the occupancy was introduced
+		TypedQuery<Location> missing = em.createNamedQuery("findLocationsWithoutOccupancy", Location.class);
 
-		return ret;
+		for (Location location : missing.getResultList()) {
+			Object[] row = actual.get(location.getLocationId());
+
+			LocationOccupancy created = location.createOccupancy(capacity(row), weight(row), volume(row));
+			em.persist(created);
+
+			LOG.warn("Create missing occupancy of Location {}: {}", location.getLocationId(), created);
+			++repaired;
+		}
+
+		LOG.trace("<-- repairOccupancy() {}", repaired);
+
+		return repaired;
+	}
+
+	private static int capacity(final Object[] row) {
+		return row == null ? 0 : ((Number) row[1]).intValue();
+	}
+
+	private static int weight(final Object[] row) {
+		return row == null || row[2] == null ? 0 : ((Number) row[2]).intValue();
+	}
+
+	private static float volume(final Object[] row) {
+		return row == null || row[3] == null ? 0.0F : ((Number) row[3]).floatValue();
 	}
 
 	@Override
@@ -348,14 +601,13 @@ public class LocationBean implements LocationService {
 		}
 		
 		// Expected total weight
-		int expSum = loc.getHandlingUnits().stream().mapToInt(HandlingUnit::getWeight).sum() + weight;
+		int expSum = loc.getOccupancy().getCurrentWeight() + weight;
 		
 		boolean overweight = expSum >= loc.getDimension().getMaxWeight();
 		
 		if (overweight) {
 			LOG.info("Location already has weight {} and to add {}, maxWeight is {}"
-					, loc.getHandlingUnits().stream().mapToInt(HandlingUnit::getWeight).sum()
-					, weight, loc.getDimension().getMaxWeight());
+					, loc.getOccupancy().getCurrentWeight(), weight, loc.getDimension().getMaxWeight());
 		}
 		
 		LOG.trace("<-- overweight() {}", overweight);
@@ -374,22 +626,7 @@ public class LocationBean implements LocationService {
 			return false;
 		}
 		
-		boolean overheight;
-		
-		if (height.equals(HeightCategory.TOO_HIGH) || height.equals(HeightCategory.UNKNOWN)) {
-			overheight = true;
-		}
-		else if (loc.getDimension().getMaxHeight().equals(HeightCategory.MIDDLE)
-				&& (height.equals(HeightCategory.HIGH))) {
-			overheight = true;
-		}
-		else if (loc.getDimension().getMaxHeight().equals(HeightCategory.LOW)
-				&& (height.equals(HeightCategory.HIGH) || height.equals(HeightCategory.MIDDLE))) {
-			overheight = true;
-		}
-		else {
-			overheight = false;
-		}
+		boolean overheight = !FitEvaluator.heightFits(loc.getDimension().getMaxHeight(), height);
 		
 		if (overheight) {
 			LOG.info(HEIGHT_DOES_NOT_FIT, loc.getDimension().getMaxHeight()
@@ -413,22 +650,8 @@ public class LocationBean implements LocationService {
 			return false;
 		}
 		
-		boolean overlength;
-		
-		if (length.equals(LengthCategory.TOO_LONG) || length.equals(LengthCategory.UNKNOWN)) {
-			overlength = true;
-		}
-		else if (loc.getDimension().getMaxLength().equals(LengthCategory.MIDDLE)
-				&& (length.equals(LengthCategory.LONG))) {
-			overlength = true;
-		}
-		else if (loc.getDimension().getMaxLength().equals(LengthCategory.SHORT)
-				&& (length.equals(LengthCategory.LONG) || length.equals(LengthCategory.MIDDLE))) {
-			overlength = true;
-		}
-		else {
-			overlength = false;
-		}
+		boolean overlength = !FitEvaluator.lengthFits(loc.getDimension().getMaxLength()
+				, loc.getDimension().getMaxCapacity(), length);
 		
 		if (overlength) {
 			LOG.info(LENGTH_DOES_NOT_FIT, loc.getDimension().getMaxLength()
@@ -451,22 +674,7 @@ public class LocationBean implements LocationService {
 			return false;
 		}
 		
-		boolean overwidth;
-		
-		if (width.equals(WidthCategory.TOO_WIDE) || width.equals(WidthCategory.UNKNOWN)) {
-			overwidth = true;
-		}
-		else if (loc.getDimension().getMaxWidth().equals(WidthCategory.MIDDLE)
-				&& (width.equals(WidthCategory.WIDE))) {
-			overwidth = true;
-		}
-		else if (loc.getDimension().getMaxWidth().equals(WidthCategory.NARROW)
-				&& (width.equals(WidthCategory.WIDE) || width.equals(WidthCategory.MIDDLE))) {
-			overwidth = true;
-		}
-		else {
-			overwidth = false;
-		}
+		boolean overwidth = !FitEvaluator.widthFits(loc.getDimension().getMaxWidth(), width);
 		
 		if (overwidth) {
 			LOG.info(WIDTH_DOES_NOT_FIT, loc.getDimension().getMaxWidth()
@@ -484,27 +692,55 @@ public class LocationBean implements LocationService {
 			, OverlengthException, OverwidthException {
 		LOG.trace("--> checkDimensionLimitExceeds({}, {})", location.getLocationId(), handlingUnit.getId());
 
-		if (isFull(location)) {
-			throw new CapacityExceededException("Location has no more capacity");
-		}
+		evaluateFit(location, handlingUnit).throwIfExceeded();
+
+		LOG.trace("<-- checkDimensionLimitExceeds()");
+	}
+
+	@Override
+	public FitResult evaluateFit(final Location location, final HandlingUnit handlingUnit) {
+		LOG.trace("--> evaluateFit({}, {})", location.getLocationId(), handlingUnit.getId());
+
+		WarehouseOperationEvent event = WarehouseOperationEvent.start(WarehouseOperationEvent.CHECK_CAPACITY);
 		
-		if (overweight(location, handlingUnit.getWeight())) {
-			throw new WeightExceededException("Location will become overweighted");
+		try {
+			Location loc = getById(location.getLocationId());
+			
+			FitResult fit = FitEvaluator.evaluate(loc, handlingUnit);
+			event.setOutcome(fit.name());
+			
+			if (!fit.fits()) {
+				LOG.info("HandlingUnit {} does not fit on {}: {} {}", handlingUnit.getId(), fit, loc.getDimension()
+						, loc.getOccupancy());
+			}
+			
+			LOG.trace("<-- evaluateFit() {}", fit);
+			
+			return fit;
 		}
-		
-		if (overheight(location, handlingUnit.getHeight())) {
-			throw new OverheightException("HandlingUnit does not fit in Location (height)");
+		catch (RuntimeException e) {
+			event.failed(e);
+			throw e;
 		}
-		
-		if (overlength(location, handlingUnit.getLength())) {
-			throw new OverlengthException("HandlingUnit does not fit in Location (length)");
+		finally {
+			event.end(location, handlingUnit);
 		}
+	}
 
-		if (overwidth(location, handlingUnit.getWidth())) {
-			throw new OverwidthException("HandlingUnit does not fit in Location (width)");
-		}
+	@Override
+	public boolean canFit(final Location location, final HandlingUnit handlingUnit) {
+		return evaluateFit(location, handlingUnit).fits();
+	}
 
-		LOG.trace("<-- checkDimensionLimitExceeds()");
+	@Override
+	public List<Location> canFit(final List<Location> candidates, final HandlingUnit handlingUnit) {
+		LOG.trace("--> canFit({}, {})", candidates.size(), handlingUnit.getId());
+
+		List<Location> ret = FitEvaluator.canFit(candidates, handlingUnit);
+
+		LOG.trace("<-- canFit() {}", ret.size());
+
+		return ret;
 	}
 
 	@Override
@@ -8,6 +8,8 @@ import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.HeightCategory;
 import com.home.simplewarehouse.model.LengthCategory;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LockStatus;
+import com.home.simplewarehouse.model.LtosStatus;
 import com.home.simplewarehouse.model.WidthCategory;
 
 /**
@@ -96,6 +98,101 @@ public interface LocationService {
 	 * @return the Location list
 	 */
 	public List<Location> getAllInErrorStatus(final ErrorStatus errorStatus);
+	/**
+	 * Get a list of Location items with the given ErrorStatus ordered by Location id
+	 * 
+	 * @param errorStatus the errorStatus to search for
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+	 * 
+	 * @return the Location list based on offset and count
+	 */
+	public List<Location> getAllInErrorStatus(final ErrorStatus errorStatus, int offset, int count);
+	/**
+	 * Count the Location items with the given ErrorStatus
+	 * 
+	 * @param errorStatus the errorStatus to search for
+	 * 
+	 * @return the number of Location items
+	 */
+	public int countInErrorStatus(final ErrorStatus errorStatus);
+	/**
+	 * Get a list of all Location items with the given LtosStatus
+	 * 
+	 * @param ltosStatus the ltosStatus to search for
+	 * 
+	 * @return the Location list
+	 */
+	public List<Location> getAllInLtosStatus(final LtosStatus ltosStatus);
+	/**
+	 * Get a list of Location items with the given LtosStatus ordered by Location id
+	 * 
+	 * @param ltosStatus the ltosStatus to search for
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+	 * 
+	 * @return the Location list based on offset and count
+	 */
+	public List<Location> getAllInLtosStatus(final LtosStatus ltosStatus, int offset, int count);
+	/**
+	 * Count the Location items with the given LtosStatus
+	 * 
+	 * @param ltosStatus the ltosStatus to search for
+	 * 
+	 * @return the number of Location items
+	 */
+	public int countInLtosStatus(final LtosStatus ltosStatus);
+	/**
+	 * Get a list of all Location items with the given LockStatus
+	 * 
+	 * @param lockStatus the lockStatus to search for
+	 * 
+	 * @return the Location list
+	 */
+	public List<Location> getAllInLockStatus(final LockStatus lockStatus);
+	/**
+	 * Get a list of Location items with the given LockStatus ordered by Location id
+	 * 
+	 * @param lockStatus the lockStatus to search for
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+	 * 
+	 * @return the Location list based on offset and count
+	 */
+	public List<Location> getAllInLockStatus(final LockStatus lockStatus, int offset, int count);
+	/**
+	 * Count the Location items with the given LockStatus
+	 * 
+	 * @param lockStatus the lockStatus to search for
+	 * 
+	 * @return the number of Location items
+	 */
+	public int countInLockStatus(final LockStatus lockStatus);
+	/**
+	 * Get a list of Location items matching a combination of statuses ordered by Location id.<br>
+	 * A status given as <code>null</code> matches any value.
+	 * 
+	 * @param errorStatus the errorStatus to search for or <code>null</code>
+	 * @param ltosStatus the ltosStatus to search for or <code>null</code>
+	 * @param lockStatus the lockStatus to search for or <code>null</code>
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+	 * 
+	 * @return the Location list based on offset and count
+	 */
+	public List<Location> getAllInStatus(final ErrorStatus errorStatus, final LtosStatus ltosStatus
+			, final LockStatus lockStatus, int offset, int count);
+	/**
+	 * Count the Location items matching a combination of statuses.<br>
+	 * A status given as <code>null</code> matches any value.
+	 * 
+	 * @param errorStatus the errorStatus to search for or <code>null</code>
+	 * @param ltosStatus the ltosStatus to search for or <code>null</code>
+	 * @param lockStatus the lockStatus to search for or <code>null</code>
+	 * 
+	 * @return the number of Location items
+	 */
+	public int countInStatus(final ErrorStatus errorStatus, final LtosStatus ltosStatus, final LockStatus lockStatus);
 	/**
 	 * Check if a Location is fully occupied related to its capacity
 	 * 
@@ -110,12 +207,26 @@ public interface LocationService {
 	 * @return the Location list
 	 */
 	public List<Location> getAllFull();
+	/**
+	 * Count the full Locations
+	 * 
+	 * @return the number of full Locations
+	 */
+	public int countFull();
 	/**
 	 * Get a list of all Locations with free capacity
 	 * 
 	 * @return the Location list
 	 */
 	public List<Location> getAllWithFreeCapacity();
+	/**
+	 * Recompute the current occupancy (number of HandlingUnits, total weight and total volume) of all
+	 * Locations from the HandlingUnits stored on them and repair the persisted values that differ.<br>
+	 * A missing occupancy is created.
+	 * 
+	 * @return the number of repaired or created occupancies
+	 */
+	public int repairOccupancy();
 	/**
 	 * Check if a Location will be overweighted related to its maximum weight
 	 * 
@@ -167,6 +278,34 @@ public interface LocationService {
 	public void checkDimensionLimitExceeds(final Location location, final HandlingUnit handlingUnit)
 			throws CapacityExceededException, WeightExceededException, OverheightException
 				, OverlengthException, OverwidthException;
+	/**
+	 * Evaluate all Dimension limits of a Location for a HandlingUnit in one pass
+	 * 
+	 * @param location the location to check
+	 * @param handlingUnit the HandlingUnit to drop
+	 * 
+	 * @return the first limit exceeded in the priority order of {@link FitResult} or FITS
+	 */
+	public FitResult evaluateFit(final Location location, final HandlingUnit handlingUnit);
+	/**
+	 * Check if a HandlingUnit fits on a Location
+	 * 
+	 * @param location the location to check
+	 * @param handlingUnit the HandlingUnit to drop
+	 * 
+	 * @return true if no Dimension limit will be exceeded else false
+	 */
+	public boolean canFit(final Location location, final HandlingUnit handlingUnit);
+	/**
+	 * Check one HandlingUnit against many candidate Locations.<br>
+	 * The candidates are evaluated as given and not read again.
+	 * 
+	 * @param candidates the candidate locations
+	 * @param handlingUnit the HandlingUnit to drop
+	 * 
+	 * @return the candidates the HandlingUnit fits on in the given order
+	 */
+	public List<Location> canFit(final List<Location> candidates, final HandlingUnit handlingUnit);
 	/**
 	 * Gets all the HandlingUnits possible to Pick from the Location
 	 * 
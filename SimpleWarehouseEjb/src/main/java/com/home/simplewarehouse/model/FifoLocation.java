@@ -3,10 +3,8 @@ package com.home.simplewarehouse.model;
 import java.io.Serializable;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.persistence.DiscriminatorValue;
 import javax.persistence.Entity;
@@ -65,46 +63,27 @@ public class FifoLocation extends Location implements Serializable {
     	super(id, user, timestamp);
     }
 
-	@Override
+	@Override
+	public AccessLimit getAccessLimit() {
+		return AccessLimit.FIFO;
+	}
+
+	@Override
 	public boolean addHandlingUnit(HandlingUnit handlingUnit) {
 		LOG.trace("--> addHandlingUnit()");
 
-		handlingUnit.setLocation(this);
-
-		HandlingUnit max = getHandlingUnits().stream()
-				.max(Comparator.comparing(HandlingUnit::getLocaPos))
-				.orElse(null);
-
-		if (max == null) {
-			handlingUnit.setLocaPos(1);
-		}
-		else {
-			handlingUnit.setLocaPos(max.getLocaPos() + 1);
-		}
-		
-		Set<HandlingUnit> list = getHandlingUnits();
-		boolean ret = list.add(handlingUnit);
-		setHandlingUnits(list);
+		boolean ret = addToLane(handlingUnit);
 		
 		LOG.trace("<-- addHandlingUnit()");
 		
 		return ret;
 	}
 	
-	@Override
+	@Override
 	public boolean removeHandlingUnit(HandlingUnit handlingUnit) {
 		LOG.trace("--> removeHandlingUnit()");
 		
-		Set<HandlingUnit> list = getHandlingUnits();
-		boolean b = list.remove( handlingUnit );
-		setHandlingUnits(list);
-	    
-		if ( b ) {
-			handlingUnit.setLocation(null);
-			handlingUnit.setLocaPos(null);
-			
-			getHandlingUnits().forEach(h -> h.setLocaPos(h.getLocaPos() - 1));
-		}
+		boolean b = removeFromLane(handlingUnit);
 
 		LOG.trace("<-- removeHandlingUnit()");
 
@@ -117,9 +96,9 @@ public class FifoLocation extends Location implements Serializable {
 
 		List<HandlingUnit> ret = new ArrayList<>();
 		
-		if (! getHandlingUnits().isEmpty()) {
-			ret = getHandlingUnits().stream().filter(hu -> hu.getLocaPos() == 1)
-					.collect(Collectors.toList());
+		HandlingUnit face = pickFace(true);
+		if (face != null) {
+			ret.add(face);
 		}
 		
 		LOG.trace("<-- getAvailablePicks()");
@@ -127,6 +106,14 @@ public class FifoLocation extends Location implements Serializable {
 		return ret;
 	}
 
+	@Override
+	public Integer getLocaPos(HandlingUnit handlingUnit) {
+		if (handlingUnit.getLocaSeq() == null) {
+			return null;
+		}
+		return lanePosition(handlingUnit, true);
+	}
+
 	@Override
 	protected String toString(Set<HandlingUnit> list) {
 		StringBuilder builder = new StringBuilder();
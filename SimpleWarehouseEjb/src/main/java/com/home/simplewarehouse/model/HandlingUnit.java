@@ -13,6 +13,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToOne;
@@ -34,8 +35,20 @@ import org.apache.logging.log4j.Logger;
 @XmlRootElement(name = "HandlingUnit")
 @XmlAccessorType(XmlAccessType.PUBLIC_MEMBER)
 @Entity
-@Table(name="HANDLING_UNIT")
+@Table(name="HANDLING_UNIT", indexes = {
+		@Index(name = "IX_HANDLING_UNIT_LOCATION_SEQ", columnList = "LOCATION_ID, LOCA_SEQ"),
+		@Index(name = "IX_HANDLING_UNIT_ROOT_LOCATION_ID", columnList = "ROOT_LOCATION_ID")
+})
 @NamedQuery(name = "findAllHandlingUnits", query = "select h from HandlingUnit h", lockMode = NONE)
+@NamedQuery(name = "findHandlingUnitOccupancy"
+		, query = "select h.location.locationId, count(h), sum(h.weight), sum(h.volume) from HandlingUnit h"
+		+ " where h.location is not null group by h.location.locationId", lockMode = NONE)
+@NamedQuery(name = "findHandlingUnitsInLocationBySeq"
+        , query = "select h from HandlingUnit h where h.location.locationId = ?1 and h.locaSeq is not null order by h.locaSeq asc", lockMode = NONE)
+@NamedQuery(name = "findHandlingUnitsInLocationBySeqDesc"
+        , query = "select h from HandlingUnit h where h.location.locationId = ?1 and h.locaSeq is not null order by h.locaSeq desc", lockMode = NONE)
+@NamedQuery(name = "findHandlingUnitsByRootLocation"
+        , query = "select h from HandlingUnit h where h.rootLocationId = ?1", lockMode = NONE)
 public class HandlingUnit extends EntityBase implements Serializable {
 	private static final long serialVersionUID = 1L;
     private static final Logger LOG = LogManager.getLogger(HandlingUnit.class);
@@ -66,10 +79,10 @@ public class HandlingUnit extends EntityBase implements Serializable {
     @Column(name = "ID", nullable = false, length = 80)
     private String id;
     /**
-     * The position of the HandlingUnit in a Location
+     * The sequence number of the HandlingUnit in a FIFO / LIFO Location
      */
-    @Column(name = "LOCAPOS", nullable = true)
-    private Integer locaPos = null;
+    @Column(name = "LOCA_SEQ", nullable = true)
+    private Long locaSeq = null;
     /**
      * The HandlingUnits weight
      */
@@ -131,6 +144,20 @@ public class HandlingUnit extends EntityBase implements Serializable {
     )
     private Set<HandlingUnit> contains = new HashSet<>();
     
+    /**
+     * The Location of the outermost base HandlingUnit (or of this one if it has no base).<br>
+     * Maintained by {@link #updateRoot()}.
+     */
+    @Column(name = "ROOT_LOCATION_ID", nullable = true, length = 80)
+    private String rootLocationId = null;
+    
+    /**
+     * The id of the outermost base HandlingUnit; <code>null</code> if this one has no base.<br>
+     * Maintained by {@link #updateRoot()}.
+     */
+    @Column(name = "ROOT_BASE_HU", nullable = true, length = 80)
+    private String rootBaseHuId = null;
+    
     /**
      * Default constructor
      */
@@ -462,21 +489,42 @@ public class HandlingUnit extends EntityBase implements Serializable {
 	}
 	
     /**
-     * Gets the HandlingUnits location position
+     * Gets the HandlingUnits location position counted from the pick face of a FIFO / LIFO Location
      * 
-     * @return the location position
+     * @return the location position or <code>null</code>
      */	
 	public Integer getLocaPos() {
-		return locaPos;
+		if (locaSeq == null || getLocation() == null) {
+			return null;
+		}
+		return getLocation().getLocaPos(this);
+	}
+
+	/**
+	 * Only needed for JAXB
+	 * 
+	 * @param locaPos the location position
+	 */
+	public void setLocaPos(Integer locaPos) {
+		// No code needed so far; the position is calculated from the sequence number
 	}
 
     /**
-     * Sets the HandlingUnits location position
+     * Gets the HandlingUnits sequence number in a FIFO / LIFO Location
      * 
-     * @param locaPos the location position
+     * @return the sequence number or <code>null</code>
      */	
-	public void setLocaPos(Integer locaPos) {
-		this.locaPos = locaPos;
+	public Long getLocaSeq() {
+		return locaSeq;
+	}
+
+    /**
+     * Sets the HandlingUnits sequence number in a FIFO / LIFO Location
+     * 
+     * @param locaSeq the sequence number
+     */	
+	public void setLocaSeq(Long locaSeq) {
+		this.locaSeq = locaSeq;
 	}
 
     /**
@@ -540,6 +588,72 @@ public class HandlingUnit extends EntityBase implements Serializable {
 		// No code needed so far
 	}
 
+	/**
+	 * Gets the id of the Location this HandlingUnit is physically on, also if it is placed on a base
+	 * 
+	 * @return the root Location id or <code>null</code>
+	 */
+	public String getRootLocationId() {
+		return rootLocationId;
+	}
+
+	/**
+	 * Only needed for JAXB
+	 * 
+	 * @param rootLocationId the root Location id of this Handling Unit
+	 */
+	public void setRootLocationId(String rootLocationId) {
+		// No code needed so far
+	}
+
+	/**
+	 * Gets the id of the outermost base HandlingUnit
+	 * 
+	 * @return the root base HandlingUnit id or <code>null</code> if this one has no base
+	 */
+	public String getRootBaseHuId() {
+		return rootBaseHuId;
+	}
+
+	/**
+	 * Only needed for JAXB
+	 * 
+	 * @param rootBaseHuId the root base Handling Unit id of this Handling Unit
+	 */
+	public void setRootBaseHuId(String rootBaseHuId) {
+		// No code needed so far
+	}
+
+	/**
+	 * Set the root Location and the root base HandlingUnit of this HandlingUnit and of all HandlingUnits inside it.<br>
+	 * They are taken from the base or, without a base, from the own Location. Call it after the base or the Location
+	 * has changed.
+	 */
+	public void updateRoot() {
+		if (baseHU == null) {
+			setRoot(location == null ? null : location.getLocationId(), null);
+		}
+		else {
+			setRoot(baseHU.rootLocationId, baseHU.rootBaseHuId == null ? baseHU.id : baseHU.rootBaseHuId);
+		}
+	}
+
+	/**
+	 * Clear the root Location of this HandlingUnit and of all HandlingUnits inside it
+	 */
+	public void clearRootLocation() {
+		setRoot(null, rootBaseHuId);
+	}
+
+	private void setRoot(final String rootLocationId, final String rootBaseHuId) {
+		this.rootLocationId = rootLocationId;
+		this.rootBaseHuId = rootBaseHuId;
+
+		String insideRootBaseHuId = rootBaseHuId == null ? id : rootBaseHuId;
+
+		contains.forEach(inside -> inside.setRoot(rootLocationId, insideRootBaseHuId));
+	}
+
 	@Override
 	public int hashCode() {
 		// Only id; this is a must. Otherwise stack overflow
@@ -576,8 +690,8 @@ public class HandlingUnit extends EntityBase implements Serializable {
 		    .append(length)		    
 		    .append(", width=")
 		    .append(width)		    
-		    .append(", locaPos=")
-		    .append(locaPos == null ? "null" : locaPos)		    
+		    .append(", locaSeq=")
+		    .append(locaSeq == null ? "null" : locaSeq)		    
 		    .append(", baseHU=")
 		    .append(baseHU == null ? "null" : baseHU.getId())
 		    .append(", version=")
@@ -0,0 +1,128 @@
+package com.home.simplewarehouse.model;
+
+import static javax.persistence.LockModeType.NONE;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Index;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+
+/**
+ * Closure table entry for the HandlingUnit containment.<br>
+ * <p>
+ * There is one entry for each pair of a HandlingUnit and any HandlingUnit it contains directly or
+ * nested (the descendant). The depth is 1 for a direct contained HandlingUnit, 2 for the next level and so on.
+ * The entries are maintained by the HandlingUnit bean next to HU_CONTAINS and give all nested HandlingUnits
+ * of a base with one indexed query.
+ */
+@Entity
+@IdClass(HandlingUnitClosureId.class)
+@Table(name = "HU_CLOSURE", indexes = {
+		@Index(name = "IX_HU_CLOSURE_DESCENDANT", columnList = "DESCENDANT")
+})
+@NamedQuery(name = "findClosureAncestors"
+		, query = "select c from HandlingUnitClosure c where c.descendant = ?1", lockMode = NONE)
+@NamedQuery(name = "findClosureDescendants"
+		, query = "select c from HandlingUnitClosure c where c.ancestor = ?1", lockMode = NONE)
+@NamedQuery(name = "findClosurePathsThrough"
+		, query = "select c from HandlingUnitClosure c"
+		+ " where c.ancestor in (select a.ancestor from HandlingUnitClosure a where a.descendant = ?1)"
+		+ " and (c.descendant = ?1 or c.descendant in (select d.descendant from HandlingUnitClosure d where d.ancestor = ?1))", lockMode = NONE)
+@NamedQuery(name = "findAllHandlingUnitsInside"
+		, query = "select h from HandlingUnit h, HandlingUnitClosure c where c.ancestor = ?1 and h.id = c.descendant", lockMode = NONE)
+public class HandlingUnitClosure implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The ancestor HandlingUnit id
+	 */
+	@Id
+	@Column(name = "ANCESTOR", nullable = false, length = 80)
+	private String ancestor;
+
+	/**
+	 * The descendant HandlingUnit id
+	 */
+	@Id
+	@Column(name = "DESCENDANT", nullable = false, length = 80)
+	private String descendant;
+
+	/**
+	 * The number of levels between ancestor and descendant
+	 */
+	@Column(name = "DEPTH", nullable = false)
+	private int depth;
+
+	/**
+	 * Default constructor
+	 */
+	public HandlingUnitClosure() {
+		super();
+	}
+
+	/**
+	 * Create this closure entry
+	 * 
+	 * @param ancestor the ancestor HandlingUnit id
+	 * @param descendant the descendant HandlingUnit id
+	 * @param depth the number of levels between ancestor and descendant
+	 */
+	public HandlingUnitClosure(String ancestor, String descendant, int depth) {
+		super();
+		this.ancestor = ancestor;
+		this.descendant = descendant;
+		this.depth = depth;
+	}
+
+	/**
+	 * Gets the ancestor HandlingUnit id
+	 * 
+	 * @return the ancestor id
+	 */
+	public String getAncestor() {
+		return ancestor;
+	}
+
+	/**
+	 * Gets the descendant HandlingUnit id
+	 * 
+	 * @return the descendant id
+	 */
+	public String getDescendant() {
+		return descendant;
+	}
+
+	/**
+	 * Gets the depth
+	 * 
+	 * @return the number of levels between ancestor and descendant
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Sets the depth
+	 *
+	 * @param depth the number of levels between ancestor and descendant
+	 */
+	public void setDepth(int depth) {
+		this.depth = depth;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("HandlingUnitClosure [ancestor=").append(ancestor)
+		    .append(", descendant=").append(descendant)
+		    .append(", depth=").append(depth)
+		    .append("]");
+
+		return builder.toString();
+	}
+}
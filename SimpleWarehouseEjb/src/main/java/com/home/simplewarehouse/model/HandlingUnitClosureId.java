@@ -0,0 +1,66 @@
+package com.home.simplewarehouse.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The primary key of a HandlingUnitClosure.
+ */
+public class HandlingUnitClosureId implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String ancestor;
+	private String descendant;
+
+	/**
+	 * Default constructor
+	 */
+	public HandlingUnitClosureId() {
+		super();
+	}
+
+	/**
+	 * Create this key
+	 * 
+	 * @param ancestor the ancestor HandlingUnit id
+	 * @param descendant the descendant HandlingUnit id
+	 */
+	public HandlingUnitClosureId(String ancestor, String descendant) {
+		super();
+		this.ancestor = ancestor;
+		this.descendant = descendant;
+	}
+
+	/**
+	 * Gets the ancestor HandlingUnit id
+	 * 
+	 * @return the ancestor id
+	 */
+	public String getAncestor() {
+		return ancestor;
+	}
+
+	/**
+	 * Gets the descendant HandlingUnit id
+	 * 
+	 * @return the descendant id
+	 */
+	public String getDescendant() {
+		return descendant;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ancestor, descendant);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof HandlingUnitClosureId))
+			return false;
+		HandlingUnitClosureId other = (HandlingUnitClosureId) obj;
+		return Objects.equals(ancestor, other.ancestor) && Objects.equals(descendant, other.descendant);
+	}
+}
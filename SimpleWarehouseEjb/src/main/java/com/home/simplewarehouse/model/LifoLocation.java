@@ -64,18 +64,16 @@ public class LifoLocation extends Location implements Serializable {
     	super(id, user, timestamp);
     }
 
+	@Override
+	public AccessLimit getAccessLimit() {
+		return AccessLimit.LIFO;
+	}
+
 	@Override
 	public boolean addHandlingUnit(HandlingUnit handlingUnit) {
 		LOG.trace("--> addHandlingUnit()");
-		
-		getHandlingUnits().forEach(h -> h.setLocaPos(h.getLocaPos() + 1));
-		
-		handlingUnit.setLocation(this);		
-		handlingUnit.setLocaPos(1);
-		
-		Set<HandlingUnit> list = getHandlingUnits();
-		boolean ret = list.add(handlingUnit);
-		setHandlingUnits(list);
+
+		boolean ret = addToLane(handlingUnit);
 		
 		LOG.trace("<-- addHandlingUnit()");
 		
@@ -86,17 +84,8 @@ public class LifoLocation extends Location implements Serializable {
 	public boolean removeHandlingUnit(HandlingUnit handlingUnit) {
 		LOG.trace("--> removeHandlingUnit()");
 		
-		Set<HandlingUnit> list = getHandlingUnits();
-		boolean b = list.remove( handlingUnit );
-		setHandlingUnits(list);
-	    
-		if ( b ) {
-			handlingUnit.setLocation(null);
-			handlingUnit.setLocaPos(null);
-			
-			getHandlingUnits().forEach(h -> h.setLocaPos(h.getLocaPos() - 1));
-		}
-	    
+		boolean b = removeFromLane(handlingUnit);
+
 		LOG.trace("<-- removeHandlingUnit()");
 
 		return b;
@@ -108,9 +97,9 @@ public class LifoLocation extends Location implements Serializable {
 
 		List<HandlingUnit> ret = new ArrayList<>();
 		
-		if (! getHandlingUnits().isEmpty()) {
-			ret = getHandlingUnits().stream().filter(hu -> hu.getLocaPos() == 1)
-					.collect(Collectors.toList());
+		HandlingUnit face = pickFace(false);
+		if (face != null) {
+			ret.add(face);
 		}
 		
 		LOG.trace("<-- getAvailablePicks()");
@@ -118,6 +107,14 @@ public class LifoLocation extends Location implements Serializable {
 		return ret;
 	}
 
+	@Override
+	public Integer getLocaPos(HandlingUnit handlingUnit) {
+		if (handlingUnit.getLocaSeq() == null) {
+			return null;
+		}
+		return lanePosition(handlingUnit, false);
+	}
+
 	@Override
 	protected String toString(Set<HandlingUnit> list) {
 		StringBuilder builder = new StringBuilder();
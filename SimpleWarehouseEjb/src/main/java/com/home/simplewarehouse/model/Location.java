@@ -4,10 +4,14 @@ import static javax.persistence.LockModeType.NONE;
 
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import javax.persistence.CascadeType;
@@ -17,6 +21,7 @@ import javax.persistence.DiscriminatorType;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
 import javax.persistence.JoinColumn;
@@ -45,11 +50,21 @@ import org.apache.logging.log4j.Logger;
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "ACCESS_LIMIT", discriminatorType = DiscriminatorType.STRING, length = 20)
 @NamedQuery(name = "findAllLocations", query = "select l from Location l", lockMode = NONE)
+@NamedQuery(name = "findAllLocationsContaining"
+		, query = "select l from Location l join l.handlingUnits h where h.id = ?1", lockMode = NONE)
+@NamedQuery(name = "findAllLocationsContainingExcept"
+		, query = "select l from Location l join l.handlingUnits h where h.id = ?1 and l.locationId <> ?2", lockMode = NONE)
+@NamedQuery(name = "findLocationsWithoutOccupancy"
+		, query = "select l from Location l where not exists"
+		+ " (select o from LocationOccupancy o where o.locationId = l.locationId)", lockMode = NONE)
 public abstract class Location extends EntityBase implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private static final Logger LOG = LogManager.getLogger(Location.class);
 
 	private static final String ID_FORMATTER = "locationId={0}";
+	
+	private static final long LOCA_SEQ_HEAD_DEFAULT = 1L;
+	private static final long LOCA_SEQ_TAIL_DEFAULT = 0L;
 
 	/**
 	 * The Location id
@@ -74,6 +89,13 @@ public abstract class Location extends EntityBase implements Serializable {
 	@OneToOne(mappedBy = "location", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
 	@PrimaryKeyJoinColumn(name = "LOCATION_ID")
 	protected Dimension dimension;
+	/**
+	 * The associated LocationOccupancy; no cascade MERGE so a stale Location never overwrites it
+	 */
+	@OneToOne(mappedBy = "location", cascade = { CascadeType.PERSIST, CascadeType.REMOVE, CascadeType.REFRESH,
+			CascadeType.DETACH }, fetch = FetchType.EAGER)
+	@PrimaryKeyJoinColumn(name = "LOCATION_ID")
+	protected LocationOccupancy occupancy;
 	/**
 	 * The associated Position
 	 */
@@ -93,13 +115,35 @@ public abstract class Location extends EntityBase implements Serializable {
     @JoinTable(
         name = "LOCATION_ZONE",
         joinColumns = @JoinColumn(name = "LOCATION_ID"),
-        inverseJoinColumns = @JoinColumn(name = "ZONE_ID")
+        inverseJoinColumns = @JoinColumn(name = "ZONE_ID"),
+        indexes = @Index(name = "IX_LOCATION_ZONE_ZONE_ID", columnList = "ZONE_ID, LOCATION_ID")
     )
     private Set<Zone> zones = new HashSet<>();
+    /**
+     * The lowest sequence number on the Location (FIFO pick face)
+     */
+    @Column(name = "LOCA_SEQ_HEAD", nullable = false)
+    private long locaSeqHead = LOCA_SEQ_HEAD_DEFAULT;
+    /**
+     * The highest sequence number on the Location (LIFO pick face)
+     */
+    @Column(name = "LOCA_SEQ_TAIL", nullable = false)
+    private long locaSeqTail = LOCA_SEQ_TAIL_DEFAULT;
+    /**
+     * The HandlingUnits of a FIFO / LIFO Location by sequence number; not persisted, built when needed
+     */
+    private transient NavigableMap<Long, HandlingUnit> lane = null;
+    private transient Set<HandlingUnit> laneSource = null;
+    private transient int laneSize = 0;
+    /**
+     * The rank of each sequence number on the lane counted from the lowest; built in one pass when needed
+     */
+    private transient Map<Long, Integer> laneRanks = null;
 
     private void initAssociated(Position pos) {
 		Dimension dim = new Dimension(this);
 		this.setDimension(dim);
+		this.setOccupancy(new LocationOccupancy(this));
 		LocationStatus ls = new LocationStatus(this);
 		this.setLocationStatus(ls);
 		
@@ -284,6 +328,42 @@ public abstract class Location extends EntityBase implements Serializable {
 		this.dimension = dimension;
 	}
 	
+	/**
+	 * Gets the current occupancy of this Location
+	 * 
+	 * @return the occupancy
+	 */
+	public LocationOccupancy getOccupancy() {
+		return occupancy;
+	}
+
+	private void setOccupancy(LocationOccupancy occupancy) {
+		this.occupancy = occupancy;
+	}
+
+	/**
+	 * Create the occupancy of a Location stored without one, e.g. before the occupancy was introduced
+	 * 
+	 * @param capacity the number of HandlingUnits on the Location
+	 * @param weight the total weight of the HandlingUnits on the Location
+	 * @param volume the total volume of the HandlingUnits on the Location
+	 * 
+	 * @return the new occupancy to persist
+	 * 
+	 * @throws IllegalStateException if the Location already has an occupancy
+	 */
+	public LocationOccupancy createOccupancy(int capacity, int weight, float volume) {
+		if (occupancy != null) {
+			throw new IllegalStateException("Location " + locationId + " already has an occupancy");
+		}
+		LocationOccupancy created = new LocationOccupancy(this);
+
+		created.repair(capacity, weight, volume);
+		setOccupancy(created);
+
+		return created;
+	}
+	
 	/**
 	 * Assigns the Dimension to this Location
 	 * 
@@ -352,6 +432,7 @@ public abstract class Location extends EntityBase implements Serializable {
 		if (handlingUnits != null) {
 			handlingUnits.forEach(this.handlingUnits::add);
 		}
+		this.lane = null;
 
 		LOG.trace("<-- setHandlingUnits()");
 	}
@@ -388,11 +469,14 @@ public abstract class Location extends EntityBase implements Serializable {
 
 		if (handlingUnit != null) {
 			handlingUnit.setLocation(this);
-			handlingUnit.setLocaPos(null);
+			handlingUnit.setLocaSeq(null);
 
 			Set<HandlingUnit> list = getHandlingUnits();
 			ret = list.add(handlingUnit);
 			setHandlingUnits(list);
+			if (ret) {
+				getOccupancy().occupy(handlingUnit);
+			}
 		}
 
 		LOG.trace("<-- addHandlingUnit()");
@@ -418,8 +502,9 @@ public abstract class Location extends EntityBase implements Serializable {
 			setHandlingUnits(list);
 
 			if (ret) {
+				getOccupancy().release(handlingUnit);
 				handlingUnit.setLocation(null);
-				handlingUnit.setLocaPos(null);
+				handlingUnit.setLocaSeq(null);
 			}
 		}
 
@@ -443,6 +528,239 @@ public abstract class Location extends EntityBase implements Serializable {
 		return ret;
 	}
 
+	/**
+	 * Gets the access limit of the Location
+	 * 
+	 * @return the access limit; RANDOM for this Location
+	 */
+	public AccessLimit getAccessLimit() {
+		return AccessLimit.RANDOM;
+	}
+
+	/**
+	 * Gets the position of the HandlingUnit on the Location counted from the pick face
+	 * 
+	 * @param handlingUnit the HandlingUnit on this Location
+	 * 
+	 * @return the position starting with 1 or <code>null</code> if the Location has no sequence
+	 */
+	public Integer getLocaPos(HandlingUnit handlingUnit) {
+		return null;
+	}
+
+	/**
+	 * Gets the lowest sequence number on the Location
+	 * 
+	 * @return the head sequence number
+	 */
+	public long getLocaSeqHead() {
+		return locaSeqHead;
+	}
+
+	/**
+	 * Sets the lowest sequence number on the Location
+	 * 
+	 * @param locaSeqHead the head sequence number
+	 */
+	protected void setLocaSeqHead(long locaSeqHead) {
+		this.locaSeqHead = locaSeqHead;
+	}
+
+	/**
+	 * Gets the highest sequence number on the Location
+	 * 
+	 * @return the tail sequence number
+	 */
+	public long getLocaSeqTail() {
+		return locaSeqTail;
+	}
+
+	/**
+	 * Sets the highest sequence number on the Location
+	 * 
+	 * @param locaSeqTail the tail sequence number
+	 */
+	protected void setLocaSeqTail(long locaSeqTail) {
+		this.locaSeqTail = locaSeqTail;
+	}
+
+	/**
+	 * Gives the next sequence number for a HandlingUnit added to the Location
+	 * 
+	 * @return the new tail sequence number
+	 */
+	protected long nextLocaSeq() {
+		return ++locaSeqTail;
+	}
+
+	/**
+	 * Reset the sequence counters; only valid if the Location is empty
+	 */
+	protected void resetLocaSeq() {
+		locaSeqHead = LOCA_SEQ_HEAD_DEFAULT;
+		locaSeqTail = LOCA_SEQ_TAIL_DEFAULT;
+	}
+
+	/**
+	 * Add the HandlingUnit at the end of the lane with the next sequence number
+	 * 
+	 * @param handlingUnit the HandlingUnit
+	 * 
+	 * @return true if add succeeded, else false
+	 */
+	protected boolean addToLane(HandlingUnit handlingUnit) {
+		NavigableMap<Long, HandlingUnit> current = lane();
+
+		handlingUnit.setLocation(this);
+		handlingUnit.setLocaSeq(nextLocaSeq());
+
+		boolean ret = handlingUnits.add(handlingUnit);
+
+		if (ret) {
+			current.put(handlingUnit.getLocaSeq(), handlingUnit);
+			laneSize = handlingUnits.size();
+			laneRanks = null;
+			getOccupancy().occupy(handlingUnit);
+		}
+		else {
+			// Already on the lane; its sequence number changed
+			lane = null;
+		}
+		return ret;
+	}
+
+	/**
+	 * Remove the HandlingUnit from anywhere in the lane.<br>
+	 * Head and tail move to the lowest and highest sequence number left, so a gap never reaches the pick face.
+	 * 
+	 * @param handlingUnit the HandlingUnit
+	 * 
+	 * @return true if remove succeeded, else false
+	 */
+	protected boolean removeFromLane(HandlingUnit handlingUnit) {
+		NavigableMap<Long, HandlingUnit> current = lane();
+
+		boolean ret = handlingUnits.remove(handlingUnit);
+
+		if (ret) {
+			Long seq = handlingUnit.getLocaSeq();
+
+			if (seq != null && handlingUnit.equals(current.remove(seq))) {
+				laneSize = handlingUnits.size();
+				laneRanks = null;
+			}
+			else {
+				// Sequence number not known on the lane
+				lane = null;
+			}
+			getOccupancy().release(handlingUnit);
+			handlingUnit.setLocation(null);
+			handlingUnit.setLocaSeq(null);
+
+			current = lane();
+			if (current.isEmpty()) {
+				resetLocaSeq();
+			}
+			else {
+				locaSeqHead = current.firstKey();
+				locaSeqTail = current.lastKey();
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Gets the HandlingUnit at the pick face of the lane
+	 * 
+	 * @param head true for the lowest sequence number (FIFO), false for the highest (LIFO)
+	 * 
+	 * @return the HandlingUnit or <code>null</code> if the lane is empty
+	 */
+	protected HandlingUnit pickFace(boolean head) {
+		Map.Entry<Long, HandlingUnit> face = head ? lane().firstEntry() : lane().lastEntry();
+
+		if (face != null
+				&& (!face.getKey().equals(face.getValue().getLocaSeq()) || !handlingUnits.contains(face.getValue()))) {
+			// Changed behind the lane
+			lane = null;
+			face = head ? lane().firstEntry() : lane().lastEntry();
+		}
+		return face == null ? null : face.getValue();
+	}
+
+	/**
+	 * Gets the rank of the HandlingUnit on the lane counted from the pick face.<br>
+	 * Without gaps between head and tail the rank follows from the sequence number. After a pick from the middle
+	 * the ranks of all HandlingUnits are taken in one ordered pass and kept until the lane changes, so listing
+	 * the Location stays linear.
+	 * 
+	 * @param handlingUnit the HandlingUnit with a sequence number
+	 * @param head true if the pick face is the lowest sequence number (FIFO), false for the highest (LIFO)
+	 * 
+	 * @return the position starting with 1 or <code>null</code> if the HandlingUnit is not on the lane
+	 */
+	protected Integer lanePosition(HandlingUnit handlingUnit, boolean head) {
+		NavigableMap<Long, HandlingUnit> current = lane();
+		Long seq = handlingUnit.getLocaSeq();
+
+		if (seq == null || !current.containsKey(seq)) {
+			return null;
+		}
+
+		int rank;
+
+		if (current.firstKey() == locaSeqHead && current.lastKey() == locaSeqTail
+				&& locaSeqTail - locaSeqHead + 1 == current.size()) {
+			rank = (int) (seq - locaSeqHead);
+		}
+		else {
+			rank = laneRanks(current).get(seq);
+		}
+
+		return head ? rank + 1 : current.size() - rank;
+	}
+
+	/**
+	 * Gets the ranks of the lane; built in one pass over the sequence numbers if not yet done
+	 * 
+	 * @param current the lane
+	 * 
+	 * @return the rank counted from 0 by sequence number
+	 */
+	private Map<Long, Integer> laneRanks(NavigableMap<Long, HandlingUnit> current) {
+		if (laneRanks == null) {
+			Map<Long, Integer> built = new HashMap<>();
+			int rank = 0;
+
+			for (Long seq : current.keySet()) {
+				built.put(seq, rank++);
+			}
+			laneRanks = built;
+		}
+		return laneRanks;
+	}
+
+	/**
+	 * Gets the lane; built from the HandlingUnits if not yet done or if they were replaced meanwhile
+	 * 
+	 * @return the HandlingUnits by sequence number
+	 */
+	private NavigableMap<Long, HandlingUnit> lane() {
+		if (lane == null || laneSource != handlingUnits || laneSize != handlingUnits.size()) {
+			NavigableMap<Long, HandlingUnit> built = new TreeMap<>();
+
+			handlingUnits.stream()
+					.filter(hu -> hu.getLocaSeq() != null)
+					.forEach(hu -> built.put(hu.getLocaSeq(), hu));
+
+			lane = built;
+			laneSource = handlingUnits;
+			laneSize = handlingUnits.size();
+			laneRanks = null;
+		}
+		return lane;
+	}
+
 	@Override
 	public int hashCode() {
 		// Only locationId; this is a must. Otherwise stack overflow
@@ -488,6 +806,7 @@ public abstract class Location extends EntityBase implements Serializable {
 		builder.append("Location [").append(System.lineSeparator() + "\tlocationId=").append(locationId)
 				.append(", version=").append(getVersion()).append(", " + System.lineSeparator() + '\t' + '\t')
 				.append(locationStatus).append(", " + System.lineSeparator() + '\t' + '\t').append(dimension)
+				.append(", " + System.lineSeparator() + '\t' + '\t').append(occupancy)
 				.append(", " + System.lineSeparator() + '\t' + '\t').append(position)
 				.append(", " + System.lineSeparator() + '\t' + '\t').append("HandlingUnits ")
 				.append(toString(getHandlingUnits())).append(", " + System.lineSeparator() + '\t' + '\t')
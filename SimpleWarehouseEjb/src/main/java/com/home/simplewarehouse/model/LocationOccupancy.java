@@ -0,0 +1,252 @@
+package com.home.simplewarehouse.model;
+
+import static javax.persistence.LockModeType.NONE;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.MapsId;
+import javax.persistence.NamedQuery;
+import javax.persistence.OneToOne;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+
+/**
+ * The current occupancy of a location.
+ * <p>
+ * Number of HandlingUnits, total weight and total volume are kept up to date incrementally when HandlingUnits
+ * are added to or removed from the location. The Location does not cascade MERGE to its occupancy, so merging
+ * a stale Location does not overwrite the current values.
+ */
+@XmlRootElement(name = "LocationOccupancy")
+@XmlAccessorType(XmlAccessType.FIELD)
+@Entity
+@Table(name="LOCATION_OCCUPANCY", indexes = {
+		@Index(name = "IX_LOCATION_OCCUPANCY_CAPACITY", columnList = "CURRENT_CAPACITY")
+})
+@NamedQuery(name = "findAllLocationOccupancies", query = "select o from LocationOccupancy o", lockMode = NONE)
+@NamedQuery(name = "findAllFullLocations"
+		, query = "select o.location from LocationOccupancy o, Dimension d where d.locationId = o.locationId"
+		+ " and d.maxCapacity > 0 and o.currentCapacity >= d.maxCapacity", lockMode = NONE)
+@NamedQuery(name = "countFullLocations"
+		, query = "select count(o) from LocationOccupancy o, Dimension d where d.locationId = o.locationId"
+		+ " and d.maxCapacity > 0 and o.currentCapacity >= d.maxCapacity", lockMode = NONE)
+@NamedQuery(name = "findAllLocationsWithFreeCapacity"
+		, query = "select o.location from LocationOccupancy o, Dimension d where d.locationId = o.locationId"
+		+ " and (d.maxCapacity <= 0 or o.currentCapacity < d.maxCapacity)", lockMode = NONE)
+@NamedQuery(name = "findFreeCapacitySlots"
+		, query = "select d.locationId, d.maxCapacity, d.maxWeight, d.maxHeight, d.maxLength, d.maxWidth"
+		+ ", o.currentCapacity, o.currentWeight from Dimension d, LocationOccupancy o, LocationStatus s"
+		+ " where o.locationId = d.locationId and s.locationId = d.locationId"
+		+ " and s.errorStatus = ?1 and s.ltosStatus = ?2 and s.lockStatus <> ?3 and s.lockStatus <> ?4"
+		+ " and (d.maxCapacity <= 0 or o.currentCapacity < d.maxCapacity)", lockMode = NONE)
+public class LocationOccupancy implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The location id
+	 */
+	@Id
+	private String locationId;
+
+	/**
+	 * The current number of HandlingUnits on the location
+	 */
+	@Basic(optional = false)
+	@Column(name = "CURRENT_CAPACITY", nullable = false)
+	private int currentCapacity;
+
+	/**
+	 * The current total weight of the HandlingUnits on the location
+	 */
+	@Basic(optional = false)
+	@Column(name = "CURRENT_WEIGHT", nullable = false)
+	private int currentWeight;
+
+	/**
+	 * The current total volume of the HandlingUnits on the location
+	 */
+	@Basic(optional = false)
+	@Column(name = "CURRENT_VOLUME", nullable = false)
+	private float currentVolume;
+
+	/**
+	 * The version number for optimistic locking
+	 */
+	@Version
+	private int version;
+
+	/**
+	 * The associated location
+	 */
+	@OneToOne
+	@MapsId
+	@JoinColumn(name = "LOCATION_ID")
+	@XmlTransient
+	private Location location;
+
+	/**
+	 * Default constructor
+	 */
+	public LocationOccupancy() {
+		super();
+	}
+
+	/**
+	 * Create this empty LocationOccupancy
+	 *
+	 * @param location the given Location
+	 */
+	public LocationOccupancy(Location location) {
+		super();
+
+		this.locationId = location.getLocationId();
+		this.location = location;
+	}
+
+	/**
+	 * Gets the location id
+	 *
+	 * @return the location id
+	 */
+	public String getLocationId() {
+		return locationId;
+	}
+
+	/**
+	 * Gets the current number of HandlingUnits on the location
+	 *
+	 * @return the current capacity
+	 */
+	public int getCurrentCapacity() {
+		return currentCapacity;
+	}
+
+	/**
+	 * Gets the current total weight of the HandlingUnits on the location
+	 *
+	 * @return the current weight
+	 */
+	public int getCurrentWeight() {
+		return currentWeight;
+	}
+
+	/**
+	 * Gets the current total volume of the HandlingUnits on the location
+	 *
+	 * @return the current volume
+	 */
+	public float getCurrentVolume() {
+		return currentVolume;
+	}
+
+	/**
+	 * Check if the current occupancy matches the given values
+	 *
+	 * @param capacity the number of HandlingUnits on the location
+	 * @param weight the total weight of the HandlingUnits on the location
+	 * @param volume the total volume of the HandlingUnits on the location
+	 *
+	 * @return true if all values match, else false
+	 */
+	public boolean matches(int capacity, int weight, float volume) {
+		return currentCapacity == capacity && currentWeight == weight && Float.compare(currentVolume, volume) == 0;
+	}
+
+	/**
+	 * Sets the current occupancy; used to repair the incrementally maintained values
+	 *
+	 * @param capacity the number of HandlingUnits on the location
+	 * @param weight the total weight of the HandlingUnits on the location
+	 * @param volume the total volume of the HandlingUnits on the location
+	 */
+	public void repair(int capacity, int weight, float volume) {
+		this.currentCapacity = capacity;
+		this.currentWeight = weight;
+		this.currentVolume = volume;
+	}
+
+	/**
+	 * Add the HandlingUnit to the current occupancy
+	 *
+	 * @param handlingUnit the HandlingUnit added to the location
+	 */
+	void occupy(HandlingUnit handlingUnit) {
+		++currentCapacity;
+		currentWeight += handlingUnit.getWeight();
+		currentVolume += handlingUnit.getVolume();
+	}
+
+	/**
+	 * Remove the HandlingUnit from the current occupancy
+	 *
+	 * @param handlingUnit the HandlingUnit removed from the location
+	 */
+	void release(HandlingUnit handlingUnit) {
+		if (currentCapacity <= 1) {
+			// The location is empty now; this also drops any accumulated float rounding error
+			repair(0, 0, 0.0F);
+		}
+		else {
+			--currentCapacity;
+			currentWeight -= handlingUnit.getWeight();
+			currentVolume -= handlingUnit.getVolume();
+		}
+	}
+
+	/**
+	 * Gets the related location
+	 *
+	 * @return the location
+	 */
+	public Location getLocation() {
+		return location;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(locationId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		LocationOccupancy other = (LocationOccupancy) obj;
+		return Objects.equals(locationId, other.locationId);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+
+		builder.append("LocationOccupancy [")
+		    .append("locationId=")
+		    .append(getLocationId())
+		    .append(", currentCapacity=")
+		    .append(getCurrentCapacity())
+		    .append(", currentWeight=")
+		    .append(getCurrentWeight())
+		    .append(", currentVolume=")
+		    .append(getCurrentVolume())
+		    .append(", version=")
+		    .append(version)
+		    .append("]");
+
+		return builder.toString();
+	}
+}
@@ -9,6 +9,7 @@ import javax.persistence.Basic;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.MapsId;
 import javax.persistence.NamedQuery;
@@ -29,11 +30,18 @@ import org.apache.logging.log4j.Logger;
 @XmlRootElement(name = "LocationStatus")
 @XmlAccessorType(XmlAccessType.FIELD)
 @Entity
-@Table(name="LOCATION_STATUS")
+@Table(name="LOCATION_STATUS", indexes = {
+		@Index(name = "IX_LOCATION_STATUS_ERROR", columnList = "ERROR_STATUS, LTOS_STATUS, LOCK_STATUS"),
+		@Index(name = "IX_LOCATION_STATUS_LTOS", columnList = "LTOS_STATUS"),
+		@Index(name = "IX_LOCATION_STATUS_LOCK", columnList = "LOCK_STATUS")
+})
 @NamedQuery(name = "findAllLocationStatuses", query = "select l from LocationStatus l", lockMode = NONE)
-@NamedQuery(name = "findAllLocationWithErrorStatus", query = "select l.location from LocationStatus l where l.errorStatus = ?1", lockMode = NONE) 
-@NamedQuery(name = "findAllLocationWithLtosStatus", query = "select l.location from LocationStatus l where l.ltosStatus = ?1", lockMode = NONE) 
-@NamedQuery(name = "findAllLocationWithLockStatus", query = "select l.location from LocationStatus l where l.lockStatus = ?1", lockMode = NONE) 
+@NamedQuery(name = "findAllLocationWithErrorStatus", query = "select l.location from LocationStatus l where l.errorStatus = ?1 order by l.locationId", lockMode = NONE) 
+@NamedQuery(name = "findAllLocationWithLtosStatus", query = "select l.location from LocationStatus l where l.ltosStatus = ?1 order by l.locationId", lockMode = NONE) 
+@NamedQuery(name = "findAllLocationWithLockStatus", query = "select l.location from LocationStatus l where l.lockStatus = ?1 order by l.locationId", lockMode = NONE) 
+@NamedQuery(name = "countLocationWithErrorStatus", query = "select count(l) from LocationStatus l where l.errorStatus = ?1", lockMode = NONE) 
+@NamedQuery(name = "countLocationWithLtosStatus", query = "select count(l) from LocationStatus l where l.ltosStatus = ?1", lockMode = NONE) 
+@NamedQuery(name = "countLocationWithLockStatus", query = "select count(l) from LocationStatus l where l.lockStatus = ?1", lockMode = NONE) 
 public class LocationStatus implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final Logger LOG = LogManager.getLogger(LocationStatus.class);
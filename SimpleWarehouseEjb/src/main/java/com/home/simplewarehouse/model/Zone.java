@@ -31,6 +31,23 @@ import org.apache.logging.log4j.Logger;
 @Entity
 @Table(name="ZONE")
 @NamedQuery(name = "findAllZones", query = "select zo from Zone zo", lockMode = NONE)
+@NamedQuery(name = "findAllLocationZoneRatings"
+		, query = "select l.locationId, zo.id, zo.rating from Zone zo join zo.locations l", lockMode = NONE)
+@NamedQuery(name = "findLocationsInZone"
+		, query = "select l from Location l join l.zones zo where zo.id = ?1 order by l.locationId", lockMode = NONE)
+@NamedQuery(name = "findLocationsInZoneAfter"
+		, query = "select l from Location l join l.zones zo where zo.id = ?1 and l.locationId > ?2 order by l.locationId"
+		, lockMode = NONE)
+@NamedQuery(name = "countLocationsInZone"
+		, query = "select count(l) from Location l join l.zones zo where zo.id = ?1", lockMode = NONE)
+@NamedQuery(name = "countLocationsPerZone"
+		, query = "select zo.id, count(l) from Zone zo left join zo.locations l group by zo.id", lockMode = NONE)
+@NamedQuery(name = "findHandlingUnitsInZone"
+		, query = "select h from HandlingUnit h join h.location l join l.zones zo where zo.id = ?1 order by h.id"
+		, lockMode = NONE)
+@NamedQuery(name = "countHandlingUnitsInZone"
+		, query = "select count(h) from HandlingUnit h join h.location l join l.zones zo where zo.id = ?1"
+		, lockMode = NONE)
 public class Zone extends EntityBase implements Serializable {
 	private static final long serialVersionUID = 1L;
     private static final Logger LOG = LogManager.getLogger(Zone.class);
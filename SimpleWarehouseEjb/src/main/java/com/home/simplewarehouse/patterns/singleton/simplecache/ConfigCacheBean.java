@@ -10,10 +10,15 @@ import javax.ejb.LockType;
 import javax.ejb.Schedule;
 import javax.ejb.Singleton;
 import javax.ejb.Startup;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.ConfigCacheRefreshEvent;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+
 /**
  * Config Cash access providing class.
  */
@@ -31,6 +36,9 @@ public class ConfigCacheBean implements ConfigCache {
 	@EJB
 	private CacheDataProvider cacheDataProvider;
 
+	@Inject
+	private Event<Samples> samples;
+
 	/**
 	 * Create the Configuration Cache Bean
 	 */
@@ -66,14 +74,27 @@ public class ConfigCacheBean implements ConfigCache {
 	}
 
 	/**
-	 * Load the data into the cache
+	 * Load the data into the cache; a Flight Recorder event is emitted while a recording runs
 	 *
 	 * @return the data map for the cache
 	 */
 	private Map<String, ValueSourceEntry> createFreshCache() {
 		LOG.trace("--> createFreshCache");
 
-		Map<String, ValueSourceEntry> map = cacheDataProvider.loadCacheData();
+		ConfigCacheRefreshEvent event = ConfigCacheRefreshEvent.start();
+		Map<String, ValueSourceEntry> map;
+
+		try {
+			map = cacheDataProvider.loadCacheData();
+			event.setEntries(map.size());
+		}
+		catch (RuntimeException e) {
+			event.failed(e);
+			throw e;
+		}
+		finally {
+			event.end();
+		}
 
 		LOG.debug("-------- ConfigCache data --------");
 		if (map.isEmpty()) {
@@ -83,6 +104,8 @@ public class ConfigCacheBean implements ConfigCache {
 			map.forEach((k,v) -> LOG.debug("Key=[{}] Value=[{}]", k, v));
 		}
 
+		samples.fire(Samples.with("simplewarehouse_config_cache_entries", map.size()));
+
 		LOG.trace("<-- createFreshCache");
 
 		return map;
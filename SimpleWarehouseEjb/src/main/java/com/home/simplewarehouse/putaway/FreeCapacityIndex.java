@@ -0,0 +1,51 @@
+package com.home.simplewarehouse.putaway;
+
+import java.util.List;
+
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+
+/**
+ * Service interface for the in memory index of all available Locations with free capacity.
+ */
+public interface FreeCapacityIndex {
+	/**
+	 * Take over the current state of a Location; called for every drop and pick.<br>
+	 * Inside a transaction the change becomes visible after commit.
+	 *
+	 * @param location the managed Location
+	 */
+	public void changed(final Location location);
+	/**
+	 * Remove a deleted Location.<br>
+	 * Inside a transaction the change becomes visible after commit.
+	 *
+	 * @param locationId the Location id
+	 */
+	public void removed(final String locationId);
+	/**
+	 * Suggest the best Locations for a HandlingUnit
+	 *
+	 * @param handlingUnit the HandlingUnit
+	 * @param preferredZoneId the id of the preferred Zone; may be <code>null</code>
+	 * @param maxResults the maximum number of Locations to suggest
+	 *
+	 * @return the ranked Location ids
+	 */
+	public List<String> suggest(final HandlingUnit handlingUnit, final String preferredZoneId, final int maxResults);
+	/**
+	 * Mark the index as outdated, e.g. after Zone changes; the next suggestion rebuilds it.<br>
+	 * Inside a transaction this happens after commit.
+	 */
+	public void invalidate();
+	/**
+	 * Rebuild the index from the committed state of the database; runs outside of the transaction of the caller
+	 */
+	public void rebuild();
+	/**
+	 * Gets the number of Locations in the index
+	 *
+	 * @return the number of available Locations with free capacity
+	 */
+	public int size();
+}
@@ -0,0 +1,230 @@
+package com.home.simplewarehouse.putaway;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Local;
+import javax.ejb.Schedule;
+import javax.ejb.SessionContext;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.home.simplewarehouse.model.ErrorStatus;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.LockStatus;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LtosStatus;
+import com.home.simplewarehouse.model.WidthCategory;
+
+/**
+ * Free capacity index providing class.
+ * <p>
+ * The index is built on first use and rebuilt periodically; in between it follows every drop and pick.
+ * Changes made inside a transaction are collected and applied after commit only, so a rollback never
+ * reaches the index. A rebuild reads outside of any transaction, so it sees committed data only; changes
+ * committed while it reads are applied again after the rebuilt slots.
+ */
+@Local(FreeCapacityIndex.class)
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class FreeCapacityIndexBean implements FreeCapacityIndex {
+	private static final Logger LOG = LogManager.getLogger(FreeCapacityIndexBean.class);
+
+	/**
+	 * Transaction resource key of the pending changes
+	 */
+	private static final String PENDING_KEY = FreeCapacityIndexBean.class.getName() + ".pending";
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Resource
+	private TransactionSynchronizationRegistry txRegistry;
+
+	@Resource
+	private SessionContext sessionContext;
+
+	private final FreeSlotIndex index = new FreeSlotIndex();
+
+	private volatile boolean built = false;
+
+	/**
+	 * Counts the invalidations; a rebuild overlapping one does not mark the index as built
+	 */
+	private final AtomicInteger invalidations = new AtomicInteger();
+
+	/**
+	 * Create the Free Capacity Index Bean
+	 */
+	public FreeCapacityIndexBean() {
+		super();
+		LOG.trace("--> FreeCapacityIndexBean");
+		LOG.trace("<-- FreeCapacityIndexBean");
+	}
+
+	@Override
+	public void changed(final Location location) {
+		LOG.trace("--> changed({})", location.getLocationId());
+
+		// Also before the first build; a rebuild may be reading already
+		apply(location.getLocationId(), FreeSlot.of(location));
+
+		LOG.trace("<-- changed()");
+	}
+
+	@Override
+	public void removed(final String locationId) {
+		LOG.trace("--> removed({})", locationId);
+
+		apply(locationId, null);
+
+		LOG.trace("<-- removed()");
+	}
+
+	@SuppressWarnings("unchecked")
+	private void apply(final String locationId, final FreeSlot slot) {
+		if (txRegistry == null || txRegistry.getTransactionKey() == null) {
+			index.put(locationId, slot);
+			return;
+		}
+
+		Map<String, FreeSlot> pending = (Map<String, FreeSlot>) txRegistry.getResource(PENDING_KEY);
+
+		if (pending == null) {
+			final Map<String, FreeSlot> changes = new LinkedHashMap<>();
+
+			txRegistry.putResource(PENDING_KEY, changes);
+			txRegistry.registerInterposedSynchronization(afterCommit(() -> changes.forEach(index::put)));
+			pending = changes;
+		}
+		// The last state of a Location in the transaction wins
+		pending.put(locationId, slot);
+	}
+
+	@Override
+	public void invalidate() {
+		LOG.trace("--> invalidate()");
+
+		if (txRegistry == null || txRegistry.getTransactionKey() == null) {
+			markOutdated();
+		}
+		else {
+			txRegistry.registerInterposedSynchronization(afterCommit(this::markOutdated));
+		}
+
+		LOG.trace("<-- invalidate()");
+	}
+
+	private void markOutdated() {
+		invalidations.incrementAndGet();
+		built = false;
+	}
+
+	private static Synchronization afterCommit(final Runnable action) {
+		return new Synchronization() {
+			@Override
+			public void beforeCompletion() {
+				// Nothing to do before completion
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				if (status == Status.STATUS_COMMITTED) {
+					action.run();
+				}
+			}
+		};
+	}
+
+	@Override
+	public List<String> suggest(final HandlingUnit handlingUnit, final String preferredZoneId, final int maxResults) {
+		LOG.trace("--> suggest({}, {}, {})", handlingUnit.getId(), preferredZoneId, maxResults);
+
+		if (!built) {
+			// Through the container to leave the transaction of the caller
+			sessionContext.getBusinessObject(FreeCapacityIndex.class).rebuild();
+		}
+
+		List<String> ret = index.suggest(handlingUnit, preferredZoneId, maxResults);
+
+		LOG.trace("<-- suggest() {}", ret);
+
+		return ret;
+	}
+
+	/**
+	 * Rebuild the index timer controlled; corrects changes not reported, e.g. Zone assignments
+	 */
+	@Override
+	@Schedule(hour="*", minute="*/10", persistent = false)
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void rebuild() {
+		LOG.trace("--> rebuild()");
+
+		index.startRebuild();
+		try {
+			rebuildIndex();
+		}
+		finally {
+			index.endRebuild();
+		}
+
+		LOG.trace("<-- rebuild()");
+	}
+
+	private void rebuildIndex() {
+		int invalidation = invalidations.get();
+		Map<String, Map<String, Integer>> zoneRatings = new HashMap<>();
+
+		List<Object[]> zoneRows = em.createNamedQuery("findAllLocationZoneRatings", Object[].class).getResultList();
+		for (Object[] row : zoneRows) {
+			zoneRatings.computeIfAbsent((String) row[0], k -> new HashMap<>()).put((String) row[1], (Integer) row[2]);
+		}
+
+		List<Object[]> rows = em.createNamedQuery("findFreeCapacitySlots", Object[].class)
+				.setParameter(1, ErrorStatus.NONE.name())
+				.setParameter(2, LtosStatus.NO.name())
+				.setParameter(3, LockStatus.LOCKED.name())
+				.setParameter(4, LockStatus.DROP_LOCKED.name())
+				.getResultList();
+
+		List<FreeSlot> all = new ArrayList<>(rows.size());
+		for (Object[] row : rows) {
+			String locationId = (String) row[0];
+
+			all.add(new FreeSlot(locationId, (Integer) row[1], (Integer) row[2]
+					, HeightCategory.valueOf((String) row[3]), LengthCategory.valueOf((String) row[4])
+					, WidthCategory.valueOf((String) row[5]), (Integer) row[6], (Integer) row[7]
+					, zoneRatings.get(locationId)));
+		}
+
+		index.replaceAll(all);
+		// An invalidation committed meanwhile may not be part of the read
+		built = invalidation == invalidations.get();
+
+		LOG.info("Free capacity index rebuilt: {} Locations", all.size());
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+}
@@ -0,0 +1,157 @@
+package com.home.simplewarehouse.putaway;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.home.simplewarehouse.location.FitEvaluator;
+import com.home.simplewarehouse.model.Dimension;
+import com.home.simplewarehouse.model.ErrorStatus;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.LockStatus;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LocationStatus;
+import com.home.simplewarehouse.model.LtosStatus;
+import com.home.simplewarehouse.model.WidthCategory;
+import com.home.simplewarehouse.model.Zone;
+
+/**
+ * Immutable snapshot of a Location with free capacity held in the free capacity index.
+ */
+final class FreeSlot {
+	/**
+	 * Ranking of the slots: best Zone rating first, then the tightest free capacity (fill partially used
+	 * Locations first), then the Location id
+	 */
+	static final Comparator<FreeSlot> RANKING = Comparator.comparingInt((FreeSlot s) -> -s.rating)
+			.thenComparingInt(FreeSlot::getFreeCapacity)
+			.thenComparing(FreeSlot::getLocationId);
+
+	private final String locationId;
+	private final int rating;
+	private final Set<String> zoneIds;
+	private final int maxCapacity;
+	private final int currentCapacity;
+	private final int maxWeight;
+	private final int currentWeight;
+	private final int heightMask;
+	private final int lengthMask;
+	private final int widthMask;
+
+	FreeSlot(String locationId, int maxCapacity, int maxWeight, HeightCategory maxHeight, LengthCategory maxLength
+			, WidthCategory maxWidth, int currentCapacity, int currentWeight, Map<String, Integer> zoneRatings) {
+		this.locationId = locationId;
+		this.maxCapacity = maxCapacity;
+		this.maxWeight = maxWeight;
+		this.currentCapacity = currentCapacity;
+		this.currentWeight = currentWeight;
+		this.heightMask = FitEvaluator.heightMask(maxHeight);
+		this.lengthMask = FitEvaluator.lengthMask(maxLength, maxCapacity);
+		this.widthMask = FitEvaluator.widthMask(maxWidth);
+
+		if (zoneRatings == null || zoneRatings.isEmpty()) {
+			this.zoneIds = Collections.emptySet();
+			this.rating = Zone.RATING_DEFAULT;
+		}
+		else {
+			this.zoneIds = Collections.unmodifiableSet(new HashSet<>(zoneRatings.keySet()));
+			this.rating = zoneRatings.values().stream().mapToInt(Integer::intValue).max().orElse(Zone.RATING_DEFAULT);
+		}
+	}
+
+	/**
+	 * Create the slot of a managed Location
+	 *
+	 * @param location the Location with Dimension, occupancy, status and Zones loaded
+	 *
+	 * @return the slot or <code>null</code> if the Location is not available or has no free capacity
+	 */
+	static FreeSlot of(Location location) {
+		if (!isAvailable(location.getLocationStatus())) {
+			return null;
+		}
+
+		Dimension dimension = location.getDimension();
+		Map<String, Integer> zoneRatings = new HashMap<>();
+
+		for (Zone zone : location.getZones()) {
+			zoneRatings.put(zone.getId(), zone.getRating());
+		}
+
+		FreeSlot slot = new FreeSlot(location.getLocationId(), dimension.getMaxCapacity(), dimension.getMaxWeight()
+				, dimension.getMaxHeight(), dimension.getMaxLength(), dimension.getMaxWidth()
+				, location.getOccupancy().getCurrentCapacity(), location.getOccupancy().getCurrentWeight(), zoneRatings);
+
+		return slot.getFreeCapacity() > 0 ? slot : null;
+	}
+
+	/**
+	 * Check if a Location with this status accepts drops: no error, not long time out of service and neither
+	 * locked nor drop locked
+	 *
+	 * @param status the LocationStatus
+	 *
+	 * @return true if available else false
+	 */
+	static boolean isAvailable(LocationStatus status) {
+		return status != null
+				&& status.getErrorStatus() == ErrorStatus.NONE
+				&& status.getLtosStatus() == LtosStatus.NO
+				&& status.getLockStatus() != LockStatus.LOCKED
+				&& status.getLockStatus() != LockStatus.DROP_LOCKED;
+	}
+
+	/**
+	 * Check if a HandlingUnit fits; the category bits are taken from {@link FitEvaluator#categoryBit(Enum)}
+	 *
+	 * @param weight the HandlingUnit weight
+	 * @param heightBit the HandlingUnit height bit
+	 * @param lengthBit the HandlingUnit length bit
+	 * @param widthBit the HandlingUnit width bit
+	 *
+	 * @return true if the HandlingUnit fits else false
+	 */
+	boolean fits(int weight, int heightBit, int lengthBit, int widthBit) {
+		return (maxWeight <= 0 || currentWeight + weight < maxWeight)
+				&& (heightMask & heightBit) != 0
+				&& (lengthMask & lengthBit) != 0
+				&& (widthMask & widthBit) != 0;
+	}
+
+	String getLocationId() {
+		return locationId;
+	}
+
+	int getRating() {
+		return rating;
+	}
+
+	Set<String> getZoneIds() {
+		return zoneIds;
+	}
+
+	/**
+	 * Gets the free capacity
+	 *
+	 * @return the number of HandlingUnits that can still be dropped; Integer.MAX_VALUE if not limited
+	 */
+	int getFreeCapacity() {
+		return maxCapacity <= 0 ? Integer.MAX_VALUE : maxCapacity - currentCapacity;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FreeSlot [locationId=").append(locationId)
+		    .append(", rating=").append(rating)
+		    .append(", zoneIds=").append(zoneIds)
+		    .append(", freeCapacity=").append(getFreeCapacity())
+		    .append("]");
+
+		return builder.toString();
+	}
+}
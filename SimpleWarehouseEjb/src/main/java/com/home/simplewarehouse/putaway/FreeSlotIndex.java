@@ -0,0 +1,154 @@
+package com.home.simplewarehouse.putaway;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.home.simplewarehouse.location.FitEvaluator;
+import com.home.simplewarehouse.model.HandlingUnit;
+
+/**
+ * In memory index of all available Locations with free capacity.
+ * <p>
+ * The slots are kept sorted by {@link FreeSlot#RANKING} overall and per Zone. A suggestion walks the sorted
+ * slots and stops as soon as enough fitting slots are found, so its time depends on the number of results
+ * and not on the number of Locations.<br>
+ * Reads are lock free; updates are serialized. While a rebuild reads the database every update is journaled too and
+ * applied again on top of the rebuilt slots, so an update is never overwritten by an older read.
+ */
+class FreeSlotIndex {
+	private final Map<String, FreeSlot> slots = new ConcurrentHashMap<>();
+	private final NavigableSet<FreeSlot> ranked = new ConcurrentSkipListSet<>(FreeSlot.RANKING);
+	private final Map<String, NavigableSet<FreeSlot>> rankedByZone = new ConcurrentHashMap<>();
+	private final Map<String, FreeSlot> journal = new HashMap<>();
+	private int rebuilds = 0;
+
+	/**
+	 * Replace the slot of a Location
+	 *
+	 * @param locationId the Location id
+	 * @param slot the new slot or <code>null</code> if the Location is not available or full
+	 */
+	synchronized void put(String locationId, FreeSlot slot) {
+		if (rebuilds > 0) {
+			journal.put(locationId, slot);
+		}
+		update(locationId, slot);
+	}
+
+	private void update(String locationId, FreeSlot slot) {
+		FreeSlot old = slot == null ? slots.remove(locationId) : slots.put(locationId, slot);
+
+		if (old != null) {
+			ranked.remove(old);
+			for (String zoneId : old.getZoneIds()) {
+				NavigableSet<FreeSlot> zoneSlots = rankedByZone.get(zoneId);
+				if (zoneSlots != null) {
+					zoneSlots.remove(old);
+				}
+			}
+		}
+
+		if (slot != null) {
+			ranked.add(slot);
+			for (String zoneId : slot.getZoneIds()) {
+				rankedByZone.computeIfAbsent(zoneId, k -> new ConcurrentSkipListSet<>(FreeSlot.RANKING)).add(slot);
+			}
+		}
+	}
+
+	/**
+	 * Start journaling the updates; call before the slots of a rebuild are read
+	 */
+	synchronized void startRebuild() {
+		++rebuilds;
+	}
+
+	/**
+	 * Stop journaling the updates once the last running rebuild has ended
+	 */
+	synchronized void endRebuild() {
+		if (rebuilds > 0 && --rebuilds == 0) {
+			journal.clear();
+		}
+	}
+
+	/**
+	 * Replace all slots; the updates journaled since {@link #startRebuild()} are newer and applied again
+	 *
+	 * @param all the new slots
+	 */
+	synchronized void replaceAll(Collection<FreeSlot> all) {
+		slots.clear();
+		ranked.clear();
+		rankedByZone.clear();
+
+		all.forEach(s -> update(s.getLocationId(), s));
+		journal.forEach(this::update);
+	}
+
+	/**
+	 * Suggest the best Locations for a HandlingUnit
+	 *
+	 * @param handlingUnit the HandlingUnit
+	 * @param preferredZoneId the id of the preferred Zone; its Locations are ranked first. May be <code>null</code>
+	 * @param maxResults the maximum number of Locations to suggest
+	 *
+	 * @return the ranked Location ids
+	 */
+	List<String> suggest(HandlingUnit handlingUnit, String preferredZoneId, int maxResults) {
+		int weight = handlingUnit.getWeight();
+		int heightBit = FitEvaluator.categoryBit(handlingUnit.getHeight());
+		int lengthBit = FitEvaluator.categoryBit(handlingUnit.getLength());
+		int widthBit = FitEvaluator.categoryBit(handlingUnit.getWidth());
+
+		List<String> ret = new ArrayList<>(maxResults);
+		Set<String> taken = null;
+
+		if (preferredZoneId != null) {
+			NavigableSet<FreeSlot> zoneSlots = rankedByZone.get(preferredZoneId);
+
+			if (zoneSlots != null) {
+				taken = new HashSet<>();
+
+				for (FreeSlot slot : zoneSlots) {
+					if (ret.size() >= maxResults) {
+						return ret;
+					}
+					if (slot.fits(weight, heightBit, lengthBit, widthBit)) {
+						ret.add(slot.getLocationId());
+						taken.add(slot.getLocationId());
+					}
+				}
+			}
+		}
+
+		for (FreeSlot slot : ranked) {
+			if (ret.size() >= maxResults) {
+				break;
+			}
+			if ((taken == null || !taken.contains(slot.getLocationId()))
+					&& slot.fits(weight, heightBit, lengthBit, widthBit)) {
+				ret.add(slot.getLocationId());
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Gets the number of Locations in the index
+	 *
+	 * @return the number of available Locations with free capacity
+	 */
+	int size() {
+		return slots.size();
+	}
+}
@@ -0,0 +1,126 @@
+package com.home.simplewarehouse.putaway;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.ejb.EJB;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.interceptor.Interceptors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.home.simplewarehouse.location.FitEvaluator;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+
+/**
+ * Bean class for putaway usage.
+ */
+@Stateless
+@TransactionAttribute(TransactionAttributeType.REQUIRED)
+@Interceptors(PerformanceAuditor.class)
+public class PutawayBean implements PutawayService {
+	private static final Logger LOG = LogManager.getLogger(PutawayBean.class);
+
+	/**
+	 * Default maximum number of suggested Locations
+	 */
+	public static final int DEFAULT_MAX_RESULTS = 10;
+
+	@EJB
+	private FreeCapacityIndex freeCapacityIndex;
+
+	@EJB
+	private LocationService locationService;
+
+	/**
+	 * Default constructor is mandatory
+	 */
+	public PutawayBean() {
+		super();
+		LOG.trace("--> PutawayBean()");
+		LOG.trace("<-- PutawayBean()");
+	}
+
+	@Override
+	public List<Location> suggest(final HandlingUnit handlingUnit) {
+		return suggest(handlingUnit, null, DEFAULT_MAX_RESULTS);
+	}
+
+	@Override
+	public List<Location> suggest(final HandlingUnit handlingUnit, final String preferredZoneId, final int maxResults) {
+		LOG.trace("--> suggest({}, {}, {})", handlingUnit, preferredZoneId, maxResults);
+
+		if (handlingUnit == null) {
+			throw new IllegalArgumentException("HandlingUnit is null");
+		}
+		if (maxResults <= 0) {
+			throw new IllegalArgumentException("maxResults must be greater than 0");
+		}
+
+		List<Location> ret = new ArrayList<>();
+		Set<String> verified = new HashSet<>();
+		int requested = maxResults;
+
+		while (true) {
+			List<String> candidates = freeCapacityIndex.suggest(handlingUnit, preferredZoneId, requested);
+
+			for (String locationId : candidates) {
+				// A larger request returns the candidates verified before again
+				if (verified.add(locationId) && ret.size() < maxResults) {
+					Location location = verify(locationId, handlingUnit);
+
+					if (location != null) {
+						ret.add(location);
+					}
+				}
+			}
+
+			if (ret.size() >= maxResults || candidates.size() < requested) {
+				break;
+			}
+
+			// Corrections become visible in the index after commit only; ask for more to pass the stale candidates
+			requested = requested > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : requested * 2;
+		}
+
+		LOG.trace("<-- suggest() {}", ret.size());
+
+		return ret;
+	}
+
+	/**
+	 * Verify a candidate of the index against the current Location.<br>
+	 * The index may lag behind changes not reported to it; a stale candidate is corrected in the index.
+	 *
+	 * @param locationId the Location id suggested by the index
+	 * @param handlingUnit the HandlingUnit
+	 *
+	 * @return the Location or <code>null</code> if it is gone or does not accept the HandlingUnit
+	 */
+	private Location verify(final String locationId, final HandlingUnit handlingUnit) {
+		Location location = locationService.getById(locationId);
+
+		if (location == null) {
+			freeCapacityIndex.removed(locationId);
+
+			return null;
+		}
+
+		if (!FreeSlot.isAvailable(location.getLocationStatus())
+				|| !FitEvaluator.evaluate(location, handlingUnit).fits()) {
+			freeCapacityIndex.changed(location);
+
+			return null;
+		}
+
+		return location;
+	}
+}
@@ -0,0 +1,33 @@
+package com.home.simplewarehouse.putaway;
+
+import java.util.List;
+
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+
+/**
+ * Service interface for putaway usage.
+ */
+public interface PutawayService {
+	/**
+	 * Suggest the best Locations for a HandlingUnit
+	 *
+	 * @param handlingUnit the HandlingUnit to drop
+	 *
+	 * @return at most {@link PutawayBean#DEFAULT_MAX_RESULTS} ranked Locations
+	 */
+	public List<Location> suggest(final HandlingUnit handlingUnit);
+	/**
+	 * Suggest the best Locations for a HandlingUnit.<br>
+	 * All suggested Locations satisfy the Dimension limits and have free capacity. They are not in error, not
+	 * long time out of service and neither locked nor drop locked. Locations of the preferred Zone come first;
+	 * then the Locations are ranked by their best Zone rating and the tightest free capacity.
+	 *
+	 * @param handlingUnit the HandlingUnit to drop
+	 * @param preferredZoneId the id of the preferred Zone; may be <code>null</code>
+	 * @param maxResults the maximum number of Locations to suggest
+	 *
+	 * @return the ranked Locations
+	 */
+	public List<Location> suggest(final HandlingUnit handlingUnit, final String preferredZoneId, final int maxResults);
+}
@@ -0,0 +1,15 @@
+/**
+ * Putaway related classes.
+ * 
+ * <h2>Concepts</h2>
+ * The putaway suggests the best free Locations for a HandlingUnit to drop.
+ * 
+ * <h3>Free capacity index</h3>
+ * An in memory index of all Locations that are available for a drop and have free capacity. The index is
+ * built on first use, follows every drop and pick after commit and is rebuilt periodically.
+ * 
+ * <h3>Ranking</h3>
+ * Locations of the preferred Zone come first. Then the Locations are ranked by their best Zone rating,
+ * the tightest free capacity and the Location id. Locations without a capacity limit come last.
+ */
+package com.home.simplewarehouse.putaway;
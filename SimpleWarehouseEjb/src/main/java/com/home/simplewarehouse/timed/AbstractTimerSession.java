@@ -1,14 +1,19 @@
 package com.home.simplewarehouse.timed;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.Resource;
 import javax.ejb.Timer;
 import javax.ejb.TimerService;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+
 /**
  * Abstraction for timer controlled session beans.
  */
@@ -17,9 +22,14 @@ public abstract class AbstractTimerSession {
 
 	private Date lastProgrammaticTimeout;
 	private Date lastAutomaticTimeout;
+	private final AtomicLong programmaticTimeouts = new AtomicLong();
+	private final AtomicLong automaticTimeouts = new AtomicLong();
 	
 	@Resource
 	private TimerService timerService;
+
+	@Inject
+	private Event<Samples> samples;
 	
 	/**
 	 * Default constructor
@@ -63,6 +73,8 @@ public abstract class AbstractTimerSession {
 		LOG.trace("setLastProgrammaticTimeout {}", lastTimeout);
 		
 		this.lastProgrammaticTimeout = lastTimeout;
+		publishTimeout("simplewarehouse_timer_programmatic_timeouts_total", programmaticTimeouts.incrementAndGet()
+				, "simplewarehouse_timer_last_programmatic_timeout_timestamp_seconds", lastTimeout);
 	}
 
 	/**
@@ -88,5 +100,35 @@ public abstract class AbstractTimerSession {
 		LOG.trace("setLastAutomaticTimeout {}", lastAutomaticTimeout);
 
 		this.lastAutomaticTimeout = lastAutomaticTimeout;
+		publishTimeout("simplewarehouse_timer_automatic_timeouts_total", automaticTimeouts.incrementAndGet()
+				, "simplewarehouse_timer_last_automatic_timeout_timestamp_seconds", lastAutomaticTimeout);
+	}
+
+	/**
+	 * Publish the timer activity to the monitoring
+	 * 
+	 * @param counter the name of the timeout counter
+	 * @param count the number of timeouts
+	 * @param timestamp the name of the timeout timestamp gauge
+	 * @param timeout the timeout value
+	 */
+	private void publishTimeout(String counter, long count, String timestamp, Date timeout) {
+		if (timeout != null) {
+			String timer = getClass().getSimpleName();
+
+			publish(Samples.with(counter, "timer", timer, count)
+					.and(timestamp, "timer", timer, timeout.getTime() / 1000.0));
+		}
+	}
+
+	/**
+	 * Publish samples to the monitoring
+	 * 
+	 * @param samples the samples
+	 */
+	protected void publish(Samples samples) {
+		if (this.samples != null) {
+			this.samples.fire(samples);
+		}
 	}
 }
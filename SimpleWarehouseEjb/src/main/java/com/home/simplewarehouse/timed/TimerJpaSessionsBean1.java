@@ -11,7 +11,8 @@ import javax.ejb.Timer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.home.simplewarehouse.timed.scenarios.DropPickRandomLocationLocal1;
+import com.home.simplewarehouse.timed.scenarios.ScenarioDefinition;
+import com.home.simplewarehouse.timed.scenarios.ScenarioEngine;
 import com.home.simplewarehouse.utils.configurator.base.Configurator;
 
 /**
@@ -23,11 +24,16 @@ import com.home.simplewarehouse.utils.configurator.base.Configurator;
 public class TimerJpaSessionsBean1 extends AbstractTimerSession {
 	private static final Logger LOG = LogManager.getLogger(TimerJpaSessionsBean1.class);
 
+	/**
+	 * Scenario run when no configuration entry Scenario1 exists
+	 */
+	private static final String DEFAULT_SCENARIO = "name=Timer1;mix=DROP:50,PICK:50;duration=3000";
+
 	@EJB
 	private Configurator configurator;
 	
 	@EJB
-	private DropPickRandomLocationLocal1 dropPickRandomLocation1;
+	private ScenarioEngine scenarioEngine;
 	
 	/**
 	 * Default constructor
@@ -41,7 +47,7 @@ public class TimerJpaSessionsBean1 extends AbstractTimerSession {
 	 * 
 	 * @param timer the time to use
 	 */
-	@Override
+	@Override
 	@Timeout
 	public void programmaticTimeout(Timer timer) {
 		this.setLastProgrammaticTimeout(new Date());
@@ -60,8 +66,8 @@ public class TimerJpaSessionsBean1 extends AbstractTimerSession {
 		
 		// Only when configuration for key Timer1 is UP
 		if (configurator.getEntry("Timer1", "DOWN").equals("UP")) {
-			// Add the session beans here
-			dropPickRandomLocation1.processScenario();
+			// The scenario is declared by configuration key Scenario1
+			scenarioEngine.run(ScenarioDefinition.parse(configurator.getEntry("Scenario1", DEFAULT_SCENARIO)));
 		}
 		
 		LOG.trace("<-- automaticTimeout()");
@@ -11,7 +11,8 @@ import javax.ejb.Timer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.home.simplewarehouse.timed.scenarios.DropPickRandomLocationLocal2;
+import com.home.simplewarehouse.timed.scenarios.ScenarioDefinition;
+import com.home.simplewarehouse.timed.scenarios.ScenarioEngine;
 import com.home.simplewarehouse.utils.configurator.base.Configurator;
 
 /**
@@ -23,11 +24,16 @@ import com.home.simplewarehouse.utils.configurator.base.Configurator;
 public class TimerJpaSessionsBean2 extends AbstractTimerSession {
 	private static final Logger LOG = LogManager.getLogger(TimerJpaSessionsBean2.class);
 
+	/**
+	 * Scenario run when no configuration entry Scenario2 exists
+	 */
+	private static final String DEFAULT_SCENARIO = "name=Timer2;mix=DROP:30,PICK:30,ASSIGN:20,MOVE:20;duration=3000";
+
 	@EJB
 	private Configurator configurator;
 
 	@EJB
-	private DropPickRandomLocationLocal2 dropPickRandomLocation2;
+	private ScenarioEngine scenarioEngine;
 	
 	/**
 	 * Default constructor
@@ -60,8 +66,8 @@ public class TimerJpaSessionsBean2 extends AbstractTimerSession {
 		
 		// Only when configuration for key Timer2 is UP
 		if (configurator.getEntry("Timer2", "DOWN").equals("UP")) {
-			// Add the session beans here
-			dropPickRandomLocation2.processScenario();
+			// The scenario is declared by configuration key Scenario2
+			scenarioEngine.run(ScenarioDefinition.parse(configurator.getEntry("Scenario2", DEFAULT_SCENARIO)));
 		}
 		
 		LOG.trace("<-- automaticTimeout()");
@@ -11,7 +11,8 @@ import javax.ejb.Timer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.home.simplewarehouse.timed.scenarios.DropPickRandomLocationLocal3;
+import com.home.simplewarehouse.timed.scenarios.ScenarioDefinition;
+import com.home.simplewarehouse.timed.scenarios.ScenarioEngine;
 import com.home.simplewarehouse.utils.configurator.base.Configurator;
 
 /**
@@ -23,11 +24,16 @@ import com.home.simplewarehouse.utils.configurator.base.Configurator;
 public class TimerJpaSessionsBean3 extends AbstractTimerSession {
 	private static final Logger LOG = LogManager.getLogger(TimerJpaSessionsBean3.class);
 
+	/**
+	 * Scenario run when no configuration entry Scenario3 exists
+	 */
+	private static final String DEFAULT_SCENARIO = "name=Timer3;keys=ZIPF:1.2;duration=3000";
+
 	@EJB
 	private Configurator configurator;
 
 	@EJB
-	private DropPickRandomLocationLocal3 dropPickRandomLocation3;
+	private ScenarioEngine scenarioEngine;
 	
 	/**
 	 * Default constructor
@@ -60,8 +66,8 @@ public class TimerJpaSessionsBean3 extends AbstractTimerSession {
 		
 		// Only when configuration for key Timer3 is UP
 		if (configurator.getEntry("Timer3", "DOWN").equals("UP")) {
-			// Add the session beans here
-			dropPickRandomLocation3.processScenario();
+			// The scenario is declared by configuration key Scenario3
+			scenarioEngine.run(ScenarioDefinition.parse(configurator.getEntry("Scenario3", DEFAULT_SCENARIO)));
 		}
 		
 		LOG.trace("<-- automaticTimeout()");
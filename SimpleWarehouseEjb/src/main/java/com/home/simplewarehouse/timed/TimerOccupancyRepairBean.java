@@ -0,0 +1,72 @@
+package com.home.simplewarehouse.timed;
+
+import java.util.Date;
+
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.utils.configurator.base.Configurator;
+
+/**
+ * Implementation of a timer controlled bean<br>
+ * <p>
+ * Repair the incrementally maintained Location occupancy periodically.
+ */
+@Singleton
+public class TimerOccupancyRepairBean extends AbstractTimerSession {
+	private static final Logger LOG = LogManager.getLogger(TimerOccupancyRepairBean.class);
+
+	@EJB
+	private Configurator configurator;
+	
+	@EJB
+	private LocationService locationService;
+	
+	/**
+	 * Default constructor
+	 */
+	public TimerOccupancyRepairBean() {
+		super();
+	}
+
+	/**
+	 * Do a programmatic timeout
+	 * 
+	 * @param timer the time to use
+	 */
+	@Override
+	@Timeout
+	public void programmaticTimeout(Timer timer) {
+		this.setLastProgrammaticTimeout(new Date());
+		LOG.trace("Programmatic timeout occurred.");
+	}
+
+	/**
+	 * Recompute the occupancy of all Locations periodically
+	 */
+	@Override
+	@Schedule(minute="*/15", hour="*", persistent = false)
+	public void automaticTimeout() {
+		LOG.trace("--> automaticTimeout()");
+
+		this.setLastAutomaticTimeout(new Date());
+
+		// Only when configuration for key OccupancyRepair is UP
+		if (configurator.getEntry("OccupancyRepair", "DOWN").equals("UP")) {
+			int repaired = locationService.repairOccupancy();
+			
+			if (repaired > 0) {
+				LOG.warn("Occupancy of {} Locations repaired", repaired);
+			}
+		}
+		
+		LOG.trace("<-- automaticTimeout()");
+	}
+}
@@ -0,0 +1,148 @@
+package com.home.simplewarehouse.timed;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.ejb.EJB;
+import javax.ejb.Schedule;
+import javax.ejb.Singleton;
+import javax.ejb.Timeout;
+import javax.ejb.Timer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.utils.configurator.base.Configurator;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Implementation of a timer controlled bean<br>
+ * <p>
+ * Publish the warehouse gauges (Location, HandlingUnit and Zone counts, occupancy) to the monitoring periodically.
+ * Only the largest Zones get a Location count series of their own, at most <code>WarehouseGaugesMaxZones</code>;
+ * the other Zones are summed up in the series of zone {@value #OTHER_ZONES}.
+ */
+@Singleton
+public class TimerWarehouseGaugesBean extends AbstractTimerSession {
+	private static final Logger LOG = LogManager.getLogger(TimerWarehouseGaugesBean.class);
+
+	/**
+	 * Default for the number of Zones with a series of their own
+	 */
+	public static final int DEFAULT_MAX_ZONES = 20;
+	/**
+	 * Zone label value of the series summing up the other Zones
+	 */
+	public static final String OTHER_ZONES = "_other";
+
+	@EJB
+	private Configurator configurator;
+
+	@EJB
+	private LocationService locationService;
+
+	@EJB
+	private HandlingUnitService handlingUnitService;
+
+	@EJB
+	private ZoneService zoneService;
+
+	@EJB
+	private FreeCapacityIndex freeCapacityIndex;
+
+	/**
+	 * Default constructor
+	 */
+	public TimerWarehouseGaugesBean() {
+		super();
+	}
+
+	/**
+	 * Do a programmatic timeout
+	 *
+	 * @param timer the time to use
+	 */
+	@Override
+	@Timeout
+	public void programmaticTimeout(Timer timer) {
+		this.setLastProgrammaticTimeout(new Date());
+		LOG.trace("Programmatic timeout occurred.");
+	}
+
+	/**
+	 * Count the warehouse content periodically
+	 */
+	@Override
+	@Schedule(hour="*", minute="*", second="*/30", persistent = false)
+	public void automaticTimeout() {
+		LOG.trace("--> automaticTimeout()");
+
+		this.setLastAutomaticTimeout(new Date());
+
+		// Only when configuration for key WarehouseGauges is UP
+		if (configurator.getEntry("WarehouseGauges", "DOWN").equals("UP")) {
+			int locations = locationService.count();
+			int full = locationService.countFull();
+			Map<String, Integer> perZone = zoneService.countLocationsPerZone();
+
+			Samples gauges = Samples.with("simplewarehouse_locations", locations)
+					.and("simplewarehouse_locations_full", full)
+					.and("simplewarehouse_location_occupancy_ratio", locations > 0 ? (double) full / locations : 0.0)
+					.and("simplewarehouse_locations_free_capacity_indexed", freeCapacityIndex.size())
+					.and("simplewarehouse_handling_units", handlingUnitService.count())
+					.and("simplewarehouse_zones", perZone.size());
+
+			addZoneLocations(gauges, perZone, maxZones());
+
+			publish(gauges);
+		}
+
+		LOG.trace("<-- automaticTimeout()");
+	}
+
+	private int maxZones() {
+		String value = configurator.getEntry("WarehouseGaugesMaxZones", String.valueOf(DEFAULT_MAX_ZONES));
+
+		try {
+			return Math.max(0, Integer.parseInt(value.trim()));
+		}
+		catch (NumberFormatException ex) {
+			LOG.warn("WarehouseGaugesMaxZones {} is not a number; use {}", value, DEFAULT_MAX_ZONES);
+			return DEFAULT_MAX_ZONES;
+		}
+	}
+
+	/**
+	 * Add the Location count series of the largest Zones and one series summing up the others
+	 *
+	 * @param gauges the gauges to add to
+	 * @param perZone the number of Locations per Zone id
+	 * @param maxZones the number of Zones with a series of their own
+	 *
+	 * @return the gauges
+	 */
+	static Samples addZoneLocations(final Samples gauges, final Map<String, Integer> perZone, final int maxZones) {
+		List<Map.Entry<String, Integer>> largest = perZone.entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+						.thenComparing(Map.Entry.comparingByKey()))
+				.collect(Collectors.toList());
+
+		for (int i = 0; i < largest.size() && i < maxZones; ++i) {
+			gauges.and("simplewarehouse_zone_locations", "zone", largest.get(i).getKey(), largest.get(i).getValue());
+		}
+		if (largest.size() > maxZones) {
+			int others = largest.subList(maxZones, largest.size()).stream().mapToInt(Map.Entry::getValue).sum();
+
+			gauges.and("simplewarehouse_zone_locations", "zone", OTHER_ZONES, others);
+		}
+
+		return gauges;
+	}
+}
@@ -10,6 +10,7 @@
  * <p>
  * Call TimerJpaSessionsBeanN (N=1,2, ...) for all JPA related test runs in the application server.<br>
  * Call TimerOtherSessionsBean for all other test runs in the application server.<br>
+ * TimerWarehouseGaugesBean publishes the warehouse gauges to the monitoring.<br>
  * <p>
  * This is a sample for a timed bean injecting \@Resource TimeService.
  */
@@ -1,11 +0,0 @@
-package com.home.simplewarehouse.timed.scenarios;
-
-/**
- * Local interface for scenario usage.
- */
-public interface DropPickRandomLocationLocal2 {
-	/**
-	 * Do the scenario
-	 */
-	public void processScenario();
-}
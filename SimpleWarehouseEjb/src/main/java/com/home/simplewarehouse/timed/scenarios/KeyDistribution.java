@@ -0,0 +1,15 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+/**
+ * The distribution of the keys a scenario works on.
+ */
+public enum KeyDistribution {
+	/**
+	 * Every key with the same probability
+	 */
+	UNIFORM,
+	/**
+	 * Zipf distributed; a few hot keys get most of the operations
+	 */
+	ZIPF
+}
@@ -0,0 +1,72 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws key indexes from 0 to size - 1 in the given distribution.
+ * <p>
+ * For Zipf the cumulative distribution is computed once; a draw is a binary search. Index 0 is the hottest key.
+ */
+public class KeySampler {
+	private final int size;
+	private final double[] cumulative;
+
+	/**
+	 * Create the sampler
+	 *
+	 * @param size the number of keys
+	 * @param distribution the key distribution
+	 * @param exponent the Zipf exponent; ignored for a uniform distribution
+	 */
+	public KeySampler(int size, KeyDistribution distribution, double exponent) {
+		super();
+
+		if (size < 1) {
+			throw new IllegalArgumentException("size < 1");
+		}
+		this.size = size;
+
+		if (distribution == KeyDistribution.ZIPF) {
+			cumulative = new double[size];
+
+			double sum = 0.0;
+			for (int i = 0; i < size; ++i) {
+				sum += 1.0 / Math.pow(i + 1.0, exponent);
+				cumulative[i] = sum;
+			}
+			for (int i = 0; i < size; ++i) {
+				cumulative[i] /= sum;
+			}
+		}
+		else {
+			cumulative = null;
+		}
+	}
+
+	/**
+	 * Draw the next key index
+	 *
+	 * @param random the random source of the calling thread
+	 *
+	 * @return the key index
+	 */
+	public int next(Random random) {
+		if (cumulative == null) {
+			return random.nextInt(size);
+		}
+
+		int pos = Arrays.binarySearch(cumulative, random.nextDouble());
+
+		return Math.min(pos < 0 ? -pos - 1 : pos, size - 1);
+	}
+
+	/**
+	 * Gets the number of keys
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+}
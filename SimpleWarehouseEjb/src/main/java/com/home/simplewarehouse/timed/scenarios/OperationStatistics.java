@@ -0,0 +1,129 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe statistics of one scenario operation.
+ * <p>
+ * Counts are exact. The latencies are kept in a fixed size reservoir sample, so the percentiles stay
+ * representative for long runs at constant memory.
+ */
+public class OperationStatistics {
+	/**
+	 * Number of latencies kept at most
+	 */
+	public static final int RESERVOIR_SIZE = 10_000;
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+
+	private final long[] reservoir = new long[RESERVOIR_SIZE];
+	private long seen = 0;
+
+	/**
+	 * Create empty statistics
+	 */
+	public OperationStatistics() {
+		super();
+	}
+
+	/**
+	 * Record a successful operation
+	 *
+	 * @param latencyMicros the latency in microseconds
+	 */
+	public void success(long latencyMicros) {
+		count.increment();
+		sample(latencyMicros);
+	}
+
+	/**
+	 * Record an operation rejected by a business rule, e.g. a pick from an empty Location
+	 *
+	 * @param latencyMicros the latency in microseconds
+	 */
+	public void rejected(long latencyMicros) {
+		count.increment();
+		rejected.increment();
+		sample(latencyMicros);
+	}
+
+	/**
+	 * Record a failed operation, e.g. an optimistic lock conflict
+	 *
+	 * @param latencyMicros the latency in microseconds
+	 */
+	public void error(long latencyMicros) {
+		count.increment();
+		errors.increment();
+		sample(latencyMicros);
+	}
+
+	private synchronized void sample(long latencyMicros) {
+		if (seen < RESERVOIR_SIZE) {
+			reservoir[(int) seen] = latencyMicros;
+		}
+		else {
+			long pos = ThreadLocalRandom.current().nextLong(seen + 1);
+			if (pos < RESERVOIR_SIZE) {
+				reservoir[(int) pos] = latencyMicros;
+			}
+		}
+		++seen;
+	}
+
+	/**
+	 * Gets the number of operations
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Gets the number of rejected operations
+	 *
+	 * @return the rejected count
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Gets the number of failed operations
+	 *
+	 * @return the error count
+	 */
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * Gets the latency percentiles
+	 *
+	 * @param percentiles the percentiles in the range 0 to 100
+	 *
+	 * @return the latencies in microseconds in the order of the percentiles; 0 if nothing was recorded
+	 */
+	public long[] percentiles(double... percentiles) {
+		long[] sorted;
+
+		synchronized (this) {
+			sorted = Arrays.copyOf(reservoir, (int) Math.min(seen, RESERVOIR_SIZE));
+		}
+		Arrays.sort(sorted);
+
+		long[] ret = new long[percentiles.length];
+		for (int i = 0; i < percentiles.length; ++i) {
+			if (sorted.length > 0) {
+				int rank = (int) Math.ceil(percentiles[i] / 100.0 * sorted.length);
+				ret[i] = sorted[Math.max(0, Math.min(rank, sorted.length) - 1)];
+			}
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,421 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Declarative definition of a load scenario.
+ * <p>
+ * A definition can be written as text, e.g. for a configuration entry:<br>
+ * <code>name=S1;mix=DROP:40,PICK:40,ASSIGN:10,MOVE:10;ops=50;threads=2;duration=3000;keys=ZIPF:1.2;locations=20;handlingUnits=200;fill=50</code><br>
+ * Missing keys keep their default. All data of a scenario lives in its own id namespace, so scenarios running at the
+ * same time never touch each other's Locations and HandlingUnits.
+ */
+public class ScenarioDefinition implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9]+");
+
+	private String name = "Scenario";
+	private Map<ScenarioOperation, Integer> mix = new EnumMap<>(ScenarioOperation.class);
+	private int targetOpsPerSecond = 50;
+	private int concurrency = 2;
+	private long durationMillis = 3000L;
+	private KeyDistribution keyDistribution = KeyDistribution.UNIFORM;
+	private double zipfExponent = 1.0;
+	private int locations = 20;
+	private int handlingUnits = 200;
+	private int fillPercent = 50;
+	private boolean keepData = false;
+
+	/**
+	 * Create a definition with default values
+	 */
+	public ScenarioDefinition() {
+		super();
+
+		mix.put(ScenarioOperation.DROP, 40);
+		mix.put(ScenarioOperation.PICK, 40);
+		mix.put(ScenarioOperation.ASSIGN, 10);
+		mix.put(ScenarioOperation.MOVE, 10);
+	}
+
+	/**
+	 * Create a definition with the given name and default values otherwise
+	 *
+	 * @param name the scenario name
+	 */
+	public ScenarioDefinition(String name) {
+		this();
+		this.name = name;
+	}
+
+	/**
+	 * Parse a definition
+	 *
+	 * @param text the definition as <code>key=value</code> pairs separated by <code>;</code>
+	 *
+	 * @return the definition
+	 *
+	 * @throws IllegalArgumentException if the text is null or has an unknown key or an invalid value
+	 */
+	public static ScenarioDefinition parse(String text) {
+		if (text == null) {
+			throw new IllegalArgumentException("text is null");
+		}
+
+		ScenarioDefinition ret = new ScenarioDefinition();
+
+		for (String pair : text.split(";")) {
+			if (pair.trim().isEmpty()) {
+				continue;
+			}
+
+			String[] keyValue = pair.split("=", 2);
+			if (keyValue.length != 2) {
+				throw new IllegalArgumentException("No key=value: " + pair);
+			}
+
+			String key = keyValue[0].trim();
+			String value = keyValue[1].trim();
+
+			try {
+				ret.set(key, value);
+			}
+			catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("Invalid value for " + key + ": " + value, ex);
+			}
+		}
+		ret.validate();
+
+		return ret;
+	}
+
+	private void set(String key, String value) {
+		switch (key) {
+		case "name":
+			name = value;
+			break;
+		case "mix":
+			mix.clear();
+			for (String weight : value.split(",")) {
+				String[] opWeight = weight.split(":", 2);
+				mix.put(ScenarioOperation.valueOf(opWeight[0].trim())
+						, opWeight.length > 1 ? Integer.parseInt(opWeight[1].trim()) : 1);
+			}
+			break;
+		case "ops":
+			targetOpsPerSecond = Integer.parseInt(value);
+			break;
+		case "threads":
+			concurrency = Integer.parseInt(value);
+			break;
+		case "duration":
+			durationMillis = Long.parseLong(value);
+			break;
+		case "keys":
+			String[] distribution = value.split(":", 2);
+			keyDistribution = KeyDistribution.valueOf(distribution[0].trim());
+			if (distribution.length > 1) {
+				zipfExponent = Double.parseDouble(distribution[1].trim());
+			}
+			break;
+		case "locations":
+			locations = Integer.parseInt(value);
+			break;
+		case "handlingUnits":
+			handlingUnits = Integer.parseInt(value);
+			break;
+		case "fill":
+			fillPercent = Integer.parseInt(value);
+			break;
+		case "keep":
+			keepData = Boolean.parseBoolean(value);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown key: " + key);
+		}
+	}
+
+	/**
+	 * Check all values
+	 *
+	 * @throws IllegalArgumentException if a value is out of range
+	 */
+	public void validate() {
+		if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+			throw new IllegalArgumentException("name has to match " + NAME_PATTERN.pattern());
+		}
+		if (mix == null || mix.isEmpty() || mix.values().stream().anyMatch(w -> w == null || w < 0)
+				|| mix.values().stream().mapToInt(Integer::intValue).sum() < 1) {
+			throw new IllegalArgumentException("mix needs at least one positive weight");
+		}
+		if (targetOpsPerSecond < 0) {
+			throw new IllegalArgumentException("targetOpsPerSecond < 0");
+		}
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("concurrency < 1");
+		}
+		if (durationMillis < 1) {
+			throw new IllegalArgumentException("durationMillis < 1");
+		}
+		if (keyDistribution == null) {
+			throw new IllegalArgumentException("keyDistribution is null");
+		}
+		if (zipfExponent <= 0.0) {
+			throw new IllegalArgumentException("zipfExponent <= 0");
+		}
+		if (locations < 1) {
+			throw new IllegalArgumentException("locations < 1");
+		}
+		if (handlingUnits < 2) {
+			throw new IllegalArgumentException("handlingUnits < 2");
+		}
+		if (fillPercent < 0 || fillPercent > 100) {
+			throw new IllegalArgumentException("fillPercent not in [0, 100]");
+		}
+	}
+
+	/**
+	 * Gets the id namespace; all Location and HandlingUnit ids of the scenario start with it
+	 *
+	 * @return the namespace
+	 */
+	public String getNamespace() {
+		return name + "-";
+	}
+
+	/**
+	 * Gets the Location id
+	 *
+	 * @param index the Location index
+	 *
+	 * @return the Location id inside the namespace
+	 */
+	public String locationId(int index) {
+		return getNamespace() + "L" + index;
+	}
+
+	/**
+	 * Gets the HandlingUnit id
+	 *
+	 * @param index the HandlingUnit index
+	 *
+	 * @return the HandlingUnit id inside the namespace
+	 */
+	public String handlingUnitId(int index) {
+		return getNamespace() + "H" + index;
+	}
+
+	/**
+	 * Gets the scenario name
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Sets the scenario name; also the id namespace of the scenario
+	 *
+	 * @param name the name to set
+	 */
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Gets the operation mix as relative weights
+	 *
+	 * @return the mix
+	 */
+	public Map<ScenarioOperation, Integer> getMix() {
+		return mix;
+	}
+
+	/**
+	 * Sets the operation mix as relative weights
+	 *
+	 * @param mix the mix to set
+	 */
+	public void setMix(Map<ScenarioOperation, Integer> mix) {
+		this.mix = mix;
+	}
+
+	/**
+	 * Gets the target throughput of all threads together; 0 means as fast as possible
+	 *
+	 * @return the target operations per second
+	 */
+	public int getTargetOpsPerSecond() {
+		return targetOpsPerSecond;
+	}
+
+	/**
+	 * Sets the target throughput of all threads together; 0 means as fast as possible
+	 *
+	 * @param targetOpsPerSecond the target operations per second to set
+	 */
+	public void setTargetOpsPerSecond(int targetOpsPerSecond) {
+		this.targetOpsPerSecond = targetOpsPerSecond;
+	}
+
+	/**
+	 * Gets the number of concurrent threads
+	 *
+	 * @return the concurrency
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Sets the number of concurrent threads
+	 *
+	 * @param concurrency the concurrency to set
+	 */
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Gets the run time
+	 *
+	 * @return the duration in milliseconds
+	 */
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	/**
+	 * Sets the run time
+	 *
+	 * @param durationMillis the duration in milliseconds to set
+	 */
+	public void setDurationMillis(long durationMillis) {
+		this.durationMillis = durationMillis;
+	}
+
+	/**
+	 * Gets the key distribution
+	 *
+	 * @return the key distribution
+	 */
+	public KeyDistribution getKeyDistribution() {
+		return keyDistribution;
+	}
+
+	/**
+	 * Sets the key distribution
+	 *
+	 * @param keyDistribution the key distribution to set
+	 */
+	public void setKeyDistribution(KeyDistribution keyDistribution) {
+		this.keyDistribution = keyDistribution;
+	}
+
+	/**
+	 * Gets the Zipf exponent; the higher the more skewed
+	 *
+	 * @return the Zipf exponent
+	 */
+	public double getZipfExponent() {
+		return zipfExponent;
+	}
+
+	/**
+	 * Sets the Zipf exponent; the higher the more skewed
+	 *
+	 * @param zipfExponent the Zipf exponent to set
+	 */
+	public void setZipfExponent(double zipfExponent) {
+		this.zipfExponent = zipfExponent;
+	}
+
+	/**
+	 * Gets the number of Locations in the namespace
+	 *
+	 * @return the Locations
+	 */
+	public int getLocations() {
+		return locations;
+	}
+
+	/**
+	 * Sets the number of Locations in the namespace
+	 *
+	 * @param locations the Locations to set
+	 */
+	public void setLocations(int locations) {
+		this.locations = locations;
+	}
+
+	/**
+	 * Gets the number of HandlingUnits in the namespace
+	 *
+	 * @return the HandlingUnits
+	 */
+	public int getHandlingUnits() {
+		return handlingUnits;
+	}
+
+	/**
+	 * Sets the number of HandlingUnits in the namespace
+	 *
+	 * @param handlingUnits the HandlingUnits to set
+	 */
+	public void setHandlingUnits(int handlingUnits) {
+		this.handlingUnits = handlingUnits;
+	}
+
+	/**
+	 * Gets the percentage of HandlingUnits dropped on Locations before the run
+	 *
+	 * @return the fill percentage
+	 */
+	public int getFillPercent() {
+		return fillPercent;
+	}
+
+	/**
+	 * Sets the percentage of HandlingUnits dropped on Locations before the run
+	 *
+	 * @param fillPercent the fill percentage to set
+	 */
+	public void setFillPercent(int fillPercent) {
+		this.fillPercent = fillPercent;
+	}
+
+	/**
+	 * Keep the namespace data after the run?
+	 *
+	 * @return true if the data is kept, else false
+	 */
+	public boolean isKeepData() {
+		return keepData;
+	}
+
+	/**
+	 * Keep the namespace data after the run
+	 *
+	 * @param keepData true to keep the data
+	 */
+	public void setKeepData(boolean keepData) {
+		this.keepData = keepData;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ScenarioDefinition [name=").append(name).append(", mix=").append(mix)
+				.append(", targetOpsPerSecond=").append(targetOpsPerSecond).append(", concurrency=").append(concurrency)
+				.append(", durationMillis=").append(durationMillis).append(", keyDistribution=").append(keyDistribution)
+				.append(", zipfExponent=").append(zipfExponent).append(", locations=").append(locations)
+				.append(", handlingUnits=").append(handlingUnits).append(", fillPercent=").append(fillPercent)
+				.append(", keepData=").append(keepData).append("]");
+		return builder.toString();
+	}
+}
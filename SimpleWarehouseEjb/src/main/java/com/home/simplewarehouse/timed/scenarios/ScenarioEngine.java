@@ -0,0 +1,43 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import java.util.concurrent.Future;
+
+/**
+ * Local interface for the scenario engine.
+ */
+public interface ScenarioEngine {
+	/**
+	 * Run a scenario and wait for its end.<br>
+	 * The namespace of the scenario is prepared before and deleted afterwards unless the data is kept. The result
+	 * is also published as diagnostics to the monitoring.
+	 *
+	 * @param definition the scenario definition
+	 *
+	 * @return the result
+	 *
+	 * @throws IllegalArgumentException if the definition is null or invalid
+	 */
+	public ScenarioResult run(final ScenarioDefinition definition);
+	/**
+	 * Run a scenario asynchronously; several scenarios can run at the same time in their own namespaces
+	 *
+	 * @param definition the scenario definition
+	 *
+	 * @return the future result
+	 */
+	public Future<ScenarioResult> runAsync(final ScenarioDefinition definition);
+	/**
+	 * Create the Locations and HandlingUnits of the scenario namespace; existing namespace data is deleted before
+	 *
+	 * @param definition the scenario definition
+	 */
+	public void prepare(final ScenarioDefinition definition);
+	/**
+	 * Delete all data of the scenario namespace
+	 *
+	 * @param definition the scenario definition
+	 *
+	 * @return the number of deleted Locations
+	 */
+	public int release(final ScenarioDefinition definition);
+}
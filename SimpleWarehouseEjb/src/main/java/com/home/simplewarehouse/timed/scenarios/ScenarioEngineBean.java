@@ -0,0 +1,360 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Resource;
+import javax.ejb.AsyncResult;
+import javax.ejb.Asynchronous;
+import javax.ejb.EJB;
+import javax.ejb.Local;
+import javax.ejb.SessionContext;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.interceptor.Interceptors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.topology.SampleWarehouseService;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Diagnostics;
+
+/**
+ * Scenario engine providing class.
+ * <p>
+ * A run prepares the namespace of the scenario and then starts the configured number of workers on the managed
+ * executor. Every worker draws operations from the mix and keys from the key distribution and paces itself to its
+ * share of the target throughput. Each operation runs in its own transaction through the HandlingUnit service.
+ */
+@Stateless
+@Local(ScenarioEngine.class)
+@TransactionAttribute(TransactionAttributeType.REQUIRED)
+@Interceptors(PerformanceAuditor.class)
+public class ScenarioEngineBean implements ScenarioEngine {
+	private static final Logger LOG = LogManager.getLogger(ScenarioEngineBean.class);
+
+	private static final String USER = "ScenarioEngine";
+
+	/**
+	 * A worker running late by more than this does not try to catch up
+	 */
+	private static final long MAX_BACKLOG_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Resource
+	private SessionContext sessionContext;
+
+	@Resource
+	private ManagedExecutorService executor;
+
+	@Inject
+	private Event<Diagnostics> diagnostics;
+
+	@EJB
+	private HandlingUnitService handlingUnitService;
+
+	@EJB
+	private SampleWarehouseService sampleWarehouseService;
+
+	@EJB
+	private FreeCapacityIndex freeCapacityIndex;
+
+	/**
+	 * Default constructor
+	 */
+	public ScenarioEngineBean() {
+		super();
+		LOG.trace("--> ScenarioEngineBean()");
+		LOG.trace("<-- ScenarioEngineBean()");
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public ScenarioResult run(final ScenarioDefinition definition) {
+		LOG.trace("--> run({})", definition);
+
+		if (definition == null) {
+			throw new IllegalArgumentException("definition is null");
+		}
+		definition.validate();
+
+		ScenarioEngine self = sessionContext.getBusinessObject(ScenarioEngine.class);
+		self.prepare(definition);
+
+		ScenarioResult ret;
+
+		try {
+			Map<ScenarioOperation, OperationStatistics> statistics = new EnumMap<>(ScenarioOperation.class);
+			definition.getMix().forEach((op, weight) -> {
+				if (weight > 0) {
+					statistics.put(op, new OperationStatistics());
+				}
+			});
+
+			Workload workload = new Workload(definition, statistics);
+
+			long start = System.nanoTime();
+			long deadline = start + TimeUnit.MILLISECONDS.toNanos(definition.getDurationMillis());
+
+			List<Future<?>> workers = new ArrayList<>(definition.getConcurrency());
+			for (int i = 0; i < definition.getConcurrency(); ++i) {
+				workers.add(executor.submit(() -> work(workload, deadline)));
+			}
+			for (Future<?> worker : workers) {
+				await(worker);
+			}
+
+			ret = new ScenarioResult(definition.getName(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+					, statistics);
+		}
+		finally {
+			if (!definition.isKeepData()) {
+				self.release(definition);
+			}
+		}
+
+		publish(ret);
+
+		LOG.info("{}", ret);
+		LOG.trace("<-- run()");
+
+		return ret;
+	}
+
+	@Override
+	@Asynchronous
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public Future<ScenarioResult> runAsync(final ScenarioDefinition definition) {
+		return new AsyncResult<>(run(definition));
+	}
+
+	@Override
+	public void prepare(final ScenarioDefinition definition) {
+		LOG.trace("--> prepare({})", definition.getName());
+
+		sampleWarehouseService.cleanupPrefix(definition.getNamespace());
+
+		List<Location> locations = new ArrayList<>(definition.getLocations());
+		for (int i = 0; i < definition.getLocations(); ++i) {
+			Location location = new RandomLocation(definition.locationId(i), USER);
+
+			em.persist(location);
+			locations.add(location);
+		}
+
+		int filled = definition.getHandlingUnits() * definition.getFillPercent() / 100;
+		for (int i = 0; i < definition.getHandlingUnits(); ++i) {
+			HandlingUnit handlingUnit = new HandlingUnit(definition.handlingUnitId(i), USER);
+
+			if (i < filled) {
+				locations.get(i % locations.size()).addHandlingUnit(handlingUnit);
+			}
+			handlingUnit.updateRoot();
+			em.persist(handlingUnit);
+		}
+		em.flush();
+		em.clear();
+
+		freeCapacityIndex.invalidate();
+
+		LOG.trace("<-- prepare()");
+	}
+
+	@Override
+	public int release(final ScenarioDefinition definition) {
+		LOG.trace("--> release({})", definition.getName());
+
+		int ret = sampleWarehouseService.cleanupPrefix(definition.getNamespace());
+
+		LOG.trace("<-- release() {}", ret);
+
+		return ret;
+	}
+
+	private static void await(Future<?> worker) {
+		try {
+			worker.get();
+		}
+		catch (InterruptedException ex) {
+			LOG.warn("Interrupted while waiting for a worker");
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException ex) {
+			LOG.error("Worker failed: {}", ex.getCause().getMessage());
+		}
+	}
+
+	private void work(final Workload workload, final long deadline) {
+		Random random = ThreadLocalRandom.current();
+		long interval = workload.getIntervalNanos();
+		long next = System.nanoTime();
+
+		while (System.nanoTime() < deadline) {
+			if (interval > 0) {
+				long now = System.nanoTime();
+
+				if (now - next > MAX_BACKLOG_NANOS) {
+					next = now;
+				}
+				if (next > now) {
+					try {
+						TimeUnit.NANOSECONDS.sleep(next - now);
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				next += interval;
+			}
+
+			ScenarioOperation op = workload.nextOperation(random);
+			OperationStatistics statistics = workload.getStatistics(op);
+			long start = System.nanoTime();
+
+			try {
+				execute(workload, op, random);
+				statistics.success(micros(start));
+			}
+			catch (RuntimeException ex) {
+				statistics.error(micros(start));
+				LOG.debug("{} failed: {}", op, ex.getMessage());
+			}
+			catch (Exception ex) {
+				statistics.rejected(micros(start));
+				LOG.debug("{} rejected: {}", op, ex.getMessage());
+			}
+		}
+	}
+
+	private void execute(final Workload workload, final ScenarioOperation op, final Random random) throws Exception {
+		ScenarioDefinition definition = workload.getDefinition();
+
+		switch (op) {
+		case DROP:
+			handlingUnitService.dropTo(definition.locationId(workload.nextLocation(random))
+					, definition.handlingUnitId(workload.nextHandlingUnit(random)));
+			break;
+		case PICK:
+			handlingUnitService.pickFrom(definition.locationId(workload.nextLocation(random)));
+			break;
+		case ASSIGN:
+			int[] assign = workload.nextHandlingUnitPair(random);
+			handlingUnitService.assign(definition.handlingUnitId(assign[0]), definition.handlingUnitId(assign[1]));
+			break;
+		case MOVE:
+			int[] move = workload.nextHandlingUnitPair(random);
+			handlingUnitService.move(definition.handlingUnitId(move[0]), definition.handlingUnitId(move[1]));
+			break;
+		default:
+			throw new IllegalStateException("Unknown operation " + op);
+		}
+	}
+
+	private static long micros(long startNanos) {
+		return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+	}
+
+	private void publish(final ScenarioResult result) {
+		String prefix = "scenario." + result.getName();
+
+		Diagnostics event = Diagnostics.with(prefix, String.format("ops=%d, opsPerSecond=%.1f, errors=%d, elapsedMillis=%d"
+				, result.getTotalCount(), result.getOpsPerSecond(), result.getTotalErrors(), result.getElapsedMillis()));
+		result.getOperations().forEach((op, opResult) -> event.and(prefix + "." + op, opResult));
+
+		diagnostics.fire(event);
+	}
+
+	/**
+	 * Shared read only state of the workers of one run; the statistics are thread safe
+	 */
+	private static class Workload {
+		private final ScenarioDefinition definition;
+		private final Map<ScenarioOperation, OperationStatistics> statistics;
+		private final ScenarioOperation[] operations;
+		private final int[] cumulativeWeights;
+		private final KeySampler locations;
+		private final KeySampler handlingUnits;
+
+		Workload(ScenarioDefinition definition, Map<ScenarioOperation, OperationStatistics> statistics) {
+			this.definition = definition;
+			this.statistics = statistics;
+			this.operations = statistics.keySet().toArray(new ScenarioOperation[0]);
+			this.cumulativeWeights = new int[operations.length];
+
+			int sum = 0;
+			for (int i = 0; i < operations.length; ++i) {
+				sum += definition.getMix().get(operations[i]);
+				cumulativeWeights[i] = sum;
+			}
+
+			this.locations = new KeySampler(definition.getLocations(), definition.getKeyDistribution()
+					, definition.getZipfExponent());
+			this.handlingUnits = new KeySampler(definition.getHandlingUnits(), definition.getKeyDistribution()
+					, definition.getZipfExponent());
+		}
+
+		ScenarioDefinition getDefinition() {
+			return definition;
+		}
+
+		OperationStatistics getStatistics(ScenarioOperation op) {
+			return statistics.get(op);
+		}
+
+		long getIntervalNanos() {
+			return definition.getTargetOpsPerSecond() > 0
+					? TimeUnit.SECONDS.toNanos(definition.getConcurrency()) / definition.getTargetOpsPerSecond() : 0;
+		}
+
+		ScenarioOperation nextOperation(Random random) {
+			int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+
+			for (int i = 0; i < cumulativeWeights.length; ++i) {
+				if (draw < cumulativeWeights[i]) {
+					return operations[i];
+				}
+			}
+			return operations[operations.length - 1];
+		}
+
+		int nextLocation(Random random) {
+			return locations.next(random);
+		}
+
+		int nextHandlingUnit(Random random) {
+			return handlingUnits.next(random);
+		}
+
+		int[] nextHandlingUnitPair(Random random) {
+			int first = handlingUnits.next(random);
+			int second = handlingUnits.next(random);
+
+			if (first == second) {
+				second = (second + 1) % handlingUnits.size();
+			}
+			return new int[] { first, second };
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+/**
+ * The operations a scenario can mix.
+ */
+public enum ScenarioOperation {
+	/**
+	 * Drop a HandlingUnit on a Location
+	 */
+	DROP,
+	/**
+	 * Pick any HandlingUnit from a Location
+	 */
+	PICK,
+	/**
+	 * Assign a HandlingUnit to a base HandlingUnit
+	 */
+	ASSIGN,
+	/**
+	 * Move a HandlingUnit to another base HandlingUnit
+	 */
+	MOVE
+}
@@ -0,0 +1,193 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The result of a scenario run.
+ */
+public class ScenarioResult implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The result of one operation of the mix
+	 */
+	public static class OperationResult implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final long count;
+		private final long rejected;
+		private final long errors;
+		private final long p50Micros;
+		private final long p95Micros;
+		private final long p99Micros;
+
+		/**
+		 * Take over the statistics of an operation
+		 *
+		 * @param statistics the statistics
+		 */
+		public OperationResult(OperationStatistics statistics) {
+			super();
+
+			long[] percentiles = statistics.percentiles(50.0, 95.0, 99.0);
+
+			this.count = statistics.getCount();
+			this.rejected = statistics.getRejected();
+			this.errors = statistics.getErrors();
+			this.p50Micros = percentiles[0];
+			this.p95Micros = percentiles[1];
+			this.p99Micros = percentiles[2];
+		}
+
+		/**
+		 * Gets the number of operations
+		 *
+		 * @return the count
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * Gets the number of operations rejected by a business rule
+		 *
+		 * @return the rejected count
+		 */
+		public long getRejected() {
+			return rejected;
+		}
+
+		/**
+		 * Gets the number of failed operations
+		 *
+		 * @return the error count
+		 */
+		public long getErrors() {
+			return errors;
+		}
+
+		/**
+		 * Gets the median latency
+		 *
+		 * @return the latency in microseconds
+		 */
+		public long getP50Micros() {
+			return p50Micros;
+		}
+
+		/**
+		 * Gets the 95th percentile latency
+		 *
+		 * @return the latency in microseconds
+		 */
+		public long getP95Micros() {
+			return p95Micros;
+		}
+
+		/**
+		 * Gets the 99th percentile latency
+		 *
+		 * @return the latency in microseconds
+		 */
+		public long getP99Micros() {
+			return p99Micros;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder();
+			builder.append("count=").append(count).append(", rejected=").append(rejected).append(", errors=")
+					.append(errors).append(", p50=").append(p50Micros).append("us, p95=").append(p95Micros)
+					.append("us, p99=").append(p99Micros).append("us");
+			return builder.toString();
+		}
+	}
+
+	private final String name;
+	private final long elapsedMillis;
+	private final Map<ScenarioOperation, OperationResult> operations;
+
+	/**
+	 * Create the result
+	 *
+	 * @param name the scenario name
+	 * @param elapsedMillis the run time in milliseconds
+	 * @param statistics the statistics per operation
+	 */
+	public ScenarioResult(String name, long elapsedMillis, Map<ScenarioOperation, OperationStatistics> statistics) {
+		super();
+		this.name = name;
+		this.elapsedMillis = elapsedMillis;
+
+		Map<ScenarioOperation, OperationResult> results = new EnumMap<>(ScenarioOperation.class);
+		statistics.forEach((op, stat) -> results.put(op, new OperationResult(stat)));
+		this.operations = Collections.unmodifiableMap(results);
+	}
+
+	/**
+	 * Gets the scenario name
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the run time
+	 *
+	 * @return the elapsed milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * Gets the results per operation
+	 *
+	 * @return the operation results
+	 */
+	public Map<ScenarioOperation, OperationResult> getOperations() {
+		return operations;
+	}
+
+	/**
+	 * Gets the number of all operations
+	 *
+	 * @return the total count
+	 */
+	public long getTotalCount() {
+		return operations.values().stream().mapToLong(OperationResult::getCount).sum();
+	}
+
+	/**
+	 * Gets the number of all failed operations
+	 *
+	 * @return the total error count
+	 */
+	public long getTotalErrors() {
+		return operations.values().stream().mapToLong(OperationResult::getErrors).sum();
+	}
+
+	/**
+	 * Gets the achieved throughput
+	 *
+	 * @return the operations per second
+	 */
+	public double getOpsPerSecond() {
+		return elapsedMillis > 0 ? getTotalCount() * 1000.0 / elapsedMillis : 0.0;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ScenarioResult [name=").append(name).append(", elapsedMillis=").append(elapsedMillis)
+				.append(", ops=").append(getTotalCount()).append(", opsPerSecond=")
+				.append(String.format("%.1f", getOpsPerSecond())).append(", operations=").append(operations)
+				.append("]");
+		return builder.toString();
+	}
+}
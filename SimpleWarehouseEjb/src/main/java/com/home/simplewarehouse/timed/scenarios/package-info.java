@@ -1,4 +1,8 @@
 /**
  * Scenarios to run within a Timer.
+ * <p>
+ * The scenario engine runs declarative load scenarios: a mix of drop, pick, assign and move operations with a target
+ * throughput, a number of concurrent workers and a uniform or Zipf key distribution. Every scenario works in its own
+ * id namespace and reports throughput, latency percentiles and error counts per operation to the monitoring.
  */
 package com.home.simplewarehouse.timed.scenarios;
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.home.simplewarehouse.topology;
+
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.WidthCategory;
+
+/**
+ * Dimension profiles for generated Locations.
+ */
+public enum DimensionProfile {
+	/**
+	 * No limits at all
+	 */
+	UNLIMITED(0, 0, HeightCategory.NOT_RELEVANT, LengthCategory.NOT_RELEVANT, WidthCategory.NOT_RELEVANT),
+	/**
+	 * Bin for small parts
+	 */
+	SMALL_PARTS(10, 200, HeightCategory.LOW, LengthCategory.NOT_RELEVANT, WidthCategory.NARROW),
+	/**
+	 * Shelf for cartons
+	 */
+	SHELF(4, 400, HeightCategory.MIDDLE, LengthCategory.NOT_RELEVANT, WidthCategory.MIDDLE),
+	/**
+	 * Single pallet place
+	 */
+	PALLET(1, 1000, HeightCategory.HIGH, LengthCategory.LONG, WidthCategory.WIDE);
+
+	private final int maxCapacity;
+	private final int maxWeight;
+	private final HeightCategory maxHeight;
+	private final LengthCategory maxLength;
+	private final WidthCategory maxWidth;
+
+	private DimensionProfile(int maxCapacity, int maxWeight, HeightCategory maxHeight, LengthCategory maxLength
+			, WidthCategory maxWidth) {
+		this.maxCapacity = maxCapacity;
+		this.maxWeight = maxWeight;
+		this.maxHeight = maxHeight;
+		this.maxLength = maxLength;
+		this.maxWidth = maxWidth;
+	}
+
+	/**
+	 * Gets the maximum capacity; 0 means unlimited
+	 *
+	 * @return the maximum capacity
+	 */
+	public int getMaxCapacity() {
+		return maxCapacity;
+	}
+
+	/**
+	 * Gets the maximum weight; 0 means unlimited
+	 *
+	 * @return the maximum weight
+	 */
+	public int getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Gets the maximum height
+	 *
+	 * @return the maximum height
+	 */
+	public HeightCategory getMaxHeight() {
+		return maxHeight;
+	}
+
+	/**
+	 * Gets the maximum length
+	 *
+	 * @return the maximum length
+	 */
+	public LengthCategory getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * Gets the maximum width
+	 *
+	 * @return the maximum width
+	 */
+	public WidthCategory getMaxWidth() {
+		return maxWidth;
+	}
+}
@@ -8,6 +8,9 @@ import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.interceptor.Interceptors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -20,6 +23,7 @@ import com.home.simplewarehouse.model.LifoLocation;
 import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.model.Zone;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.zone.ZoneService;
 
@@ -32,6 +36,26 @@ import com.home.simplewarehouse.zone.ZoneService;
 public class SampleWarehouseBean implements SampleWarehouseService {
 	private static final Logger LOG = LogManager.getLogger(SampleWarehouseBean.class);
 	
+	/**
+	 * Maximum number of Location ids bound to one statement
+	 */
+	private static final int CLEANUP_CHUNK_SIZE = 500;
+	
+	/**
+	 * Tables depending on the Location in delete order
+	 */
+	private static final String[] LOCATION_TABLES = {
+			"LOCATION_OCCUPANCY", "POSITION", "DIMENSION", "LOCATION_STATUS", "LOCATION_ZONE", "LOCATION"
+	};
+	
+	/**
+	 * Escape character for LIKE patterns
+	 */
+	private static final char LIKE_ESCAPE = '!';
+	
+	@PersistenceContext
+	private EntityManager em;
+	
 	@EJB
 	LocationService locationService;
 	
@@ -41,6 +65,9 @@ public class SampleWarehouseBean implements SampleWarehouseService {
 	@EJB
 	ZoneService zoneService;
 	
+	@EJB
+	FreeCapacityIndex freeCapacityIndex;
+	
 	/**
 	 * Create the Sample Warehouse Bean
 	 */
@@ -103,16 +130,176 @@ public class SampleWarehouseBean implements SampleWarehouseService {
 	}
 	
 	/**
-	 * Delete all Locations and HandlingUnits
+	 * Delete all Locations, HandlingUnits and Zones
 	 */
 	@Override
 	public void cleanup() {
 		LOG.trace("--> cleanup()");
 		
-		locationService.getAll().forEach(l -> locationService.delete(l));
-		handlingUnitService.getAll().forEach(h -> handlingUnitService.delete(h));
-		zoneService.getAll().forEach(z -> zoneService.delete(z));
+		em.flush();
+		
+		deleteSelected(null, null);
+		em.createNativeQuery("DELETE FROM ZONE").executeUpdate();
+		
+		invalidate();
 		
 		LOG.trace("<-- cleanup()");
 	}
+	
+	@Override
+	public int cleanupLocations() {
+		LOG.trace("--> cleanupLocations()");
+		
+		em.flush();
+		
+		int ret = deleteSelected(null, null);
+		
+		invalidate();
+		
+		LOG.trace("<-- cleanupLocations() {}", ret);
+		
+		return ret;
+	}
+	
+	@Override
+	public int cleanupZone(final String zoneId) {
+		LOG.trace("--> cleanupZone({})", zoneId);
+		
+		if (zoneId == null) {
+			throw new IllegalArgumentException("zoneId is null");
+		}
+		
+		em.flush();
+		
+		// The membership is gone with the first chunk; fetch the ids before
+		@SuppressWarnings("unchecked")
+		List<String> locationIds = em.createNativeQuery("SELECT LOCATION_ID FROM LOCATION_ZONE WHERE ZONE_ID = ?1")
+				.setParameter(1, zoneId).getResultList();
+		int ret = 0;
+		
+		for (int from = 0; from < locationIds.size(); from += CLEANUP_CHUNK_SIZE) {
+			List<String> chunk = locationIds.subList(from, Math.min(from + CLEANUP_CHUNK_SIZE, locationIds.size()));
+			String placeholders = placeholders(chunk.size());
+			
+			ret += deleteSelected("LOCATION_ID IN (" + placeholders + ")", "ROOT_LOCATION_ID IN (" + placeholders + ")"
+					, chunk.toArray());
+		}
+		em.createNativeQuery("DELETE FROM LOCATION_ZONE WHERE ZONE_ID = ?1").setParameter(1, zoneId).executeUpdate();
+		em.createNativeQuery("DELETE FROM ZONE WHERE ID = ?1").setParameter(1, zoneId).executeUpdate();
+		
+		invalidate();
+		
+		LOG.trace("<-- cleanupZone() {}", ret);
+		
+		return ret;
+	}
+	
+	@Override
+	public int cleanupPrefix(final String idPrefix) {
+		LOG.trace("--> cleanupPrefix({})", idPrefix);
+		
+		if (idPrefix == null || idPrefix.isEmpty()) {
+			throw new IllegalArgumentException("idPrefix is null or empty");
+		}
+		
+		em.flush();
+		
+		String pattern = likePrefix(idPrefix);
+		String like = " LIKE ?1 ESCAPE '" + LIKE_ESCAPE + "'";
+		
+		// Whole trees only: on a matching Location or free with a matching root
+		int ret = deleteSelected("LOCATION_ID" + like
+				, "(ROOT_LOCATION_ID" + like + " OR (ROOT_LOCATION_ID IS NULL AND COALESCE(ROOT_BASE_HU, ID)"
+				+ like.replace("?1", "?2") + "))"
+				, pattern, pattern);
+		em.createNativeQuery("DELETE FROM LOCATION_ZONE WHERE ZONE_ID" + like).setParameter(1, pattern).executeUpdate();
+		em.createNativeQuery("DELETE FROM ZONE WHERE ID" + like).setParameter(1, pattern).executeUpdate();
+		
+		invalidate();
+		
+		LOG.trace("<-- cleanupPrefix() {}", ret);
+		
+		return ret;
+	}
+	
+	/**
+	 * Delete the selected HandlingUnits and Locations in foreign key order.<br>
+	 * The HandlingUnit condition has to select whole trees; a <code>null</code> condition selects all rows.
+	 * 
+	 * @param locationCondition the condition on the Location id column
+	 * @param handlingUnitCondition the condition on the HANDLING_UNIT columns
+	 * @param params the parameters of both conditions
+	 * 
+	 * @return the number of deleted Locations
+	 */
+	private int deleteSelected(String locationCondition, String handlingUnitCondition, Object... params) {
+		String handlingUnits = "SELECT ID FROM HANDLING_UNIT" + where(handlingUnitCondition);
+		
+		int closures = execute("DELETE FROM HU_CLOSURE" + (handlingUnitCondition == null ? ""
+				: " WHERE DESCENDANT IN (" + handlingUnits + ")"), params);
+		int contains = execute("DELETE FROM HU_CONTAINS" + (handlingUnitCondition == null ? ""
+				: " WHERE CONTAINS IN (" + handlingUnits + ")"), params);
+		// Release the self reference before the rows go
+		execute("UPDATE HANDLING_UNIT SET BASE_HU = NULL WHERE BASE_HU IS NOT NULL"
+				+ (handlingUnitCondition == null ? "" : " AND " + handlingUnitCondition), params);
+		int deleted = execute("DELETE FROM HANDLING_UNIT" + where(handlingUnitCondition), params);
+		
+		int ret = 0;
+		for (String table : LOCATION_TABLES) {
+			ret = execute("DELETE FROM " + table + where(locationCondition), params);
+		}
+		
+		LOG.debug("Deleted {} Locations, {} HandlingUnits, {} contains, {} closures", ret, deleted, contains, closures);
+		
+		return ret;
+	}
+	
+	private int execute(String sql, Object... params) {
+		Query query = em.createNativeQuery(sql);
+		
+		// Unused parameters are not bound
+		for (int pos = 1; pos <= params.length && sql.contains("?" + pos); ++pos) {
+			query.setParameter(pos, params[pos - 1]);
+		}
+		
+		return query.executeUpdate();
+	}
+	
+	private static String where(String condition) {
+		return condition == null ? "" : " WHERE " + condition;
+	}
+	
+	private static String placeholders(int count) {
+		StringBuilder builder = new StringBuilder();
+		
+		for (int i = 1; i <= count; ++i) {
+			if (i > 1) {
+				builder.append(", ");
+			}
+			builder.append('?').append(i);
+		}
+		return builder.toString();
+	}
+	
+	private static String likePrefix(String prefix) {
+		StringBuilder builder = new StringBuilder();
+		
+		for (char c : prefix.toCharArray()) {
+			if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+				builder.append(LIKE_ESCAPE);
+			}
+			builder.append(c);
+		}
+		return builder.append('%').toString();
+	}
+	
+	/**
+	 * Bulk statements bypass the persistence context and the shared cache
+	 */
+	private void invalidate() {
+		em.clear();
+		em.getEntityManagerFactory().getCache().evictAll();
+		
+		freeCapacityIndex.invalidate();
+	}
 }
@@ -18,7 +18,32 @@ public interface SampleWarehouseService {
 	 */
 	public void initialize();
 	/**
-	 * Cleanup the sample warehouse topology data.
+	 * Cleanup the sample warehouse topology data.<br>
+	 * Deletes all HandlingUnits, Locations and Zones with set based statements.
 	 */
 	public void cleanup();
+	/**
+	 * Delete all HandlingUnits and Locations; the Zones stay.
+	 * 
+	 * @return the number of deleted Locations
+	 */
+	public int cleanupLocations();
+	/**
+	 * Delete the Zone with all its Locations and the HandlingUnits on them.<br>
+	 * Locations of the Zone are deleted also if they belong to other Zones.
+	 * 
+	 * @param zoneId the Zone id
+	 * 
+	 * @return the number of deleted Locations
+	 */
+	public int cleanupZone(final String zoneId);
+	/**
+	 * Delete all Locations and Zones with ids starting with the prefix, all HandlingUnits on these Locations and
+	 * all free HandlingUnit trees with a root id starting with the prefix.
+	 * 
+	 * @param idPrefix the id prefix
+	 * 
+	 * @return the number of deleted Locations
+	 */
+	public int cleanupPrefix(final String idPrefix);
 }
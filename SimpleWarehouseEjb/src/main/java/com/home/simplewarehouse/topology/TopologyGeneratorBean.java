@@ -0,0 +1,304 @@
+package com.home.simplewarehouse.topology;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Resource;
+import javax.ejb.EJB;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionManagement;
+import javax.ejb.TransactionManagementType;
+import javax.interceptor.Interceptors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.Status;
+import javax.transaction.UserTransaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.home.simplewarehouse.model.AbsolutPosition;
+import com.home.simplewarehouse.model.FifoLocation;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HandlingUnitClosure;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.LifoLocation;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.model.WidthCategory;
+import com.home.simplewarehouse.model.Zone;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+
+/**
+ * Bean class for the generation of large warehouse topologies.
+ * <p>
+ * The bean manages its transactions: every chunk of Locations with their HandlingUnit trees is written in one
+ * transaction and the persistence context is cleared afterwards. Together with JDBC batch writing this keeps
+ * memory flat and the number of database round trips low. The root fields of the HandlingUnits are set by one
+ * set based update per chunk.
+ */
+@Stateless
+@TransactionManagement(TransactionManagementType.BEAN)
+@Interceptors(PerformanceAuditor.class)
+public class TopologyGeneratorBean implements TopologyGeneratorService {
+	private static final Logger LOG = LogManager.getLogger(TopologyGeneratorBean.class);
+
+	/**
+	 * Distance between two aisles
+	 */
+	private static final float AISLE_PITCH = 3.5F;
+	/**
+	 * Distance between two bins of a level
+	 */
+	private static final float BIN_PITCH = 1.2F;
+	/**
+	 * Distance between two levels
+	 */
+	private static final float LEVEL_PITCH = 1.5F;
+
+	private static final int ROOT_WEIGHT = 10;
+	private static final int NESTED_WEIGHT = 5;
+	private static final float HANDLING_UNIT_VOLUME = 0.1F;
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Resource
+	private UserTransaction utx;
+
+	@EJB
+	private FreeCapacityIndex freeCapacityIndex;
+
+	/**
+	 * Create the Topology Generator Bean
+	 */
+	public TopologyGeneratorBean() {
+		super();
+		LOG.trace("--> TopologyGeneratorBean()");
+		LOG.trace("<-- TopologyGeneratorBean()");
+	}
+
+	@Override
+	public TopologyResult generate(final TopologySpec spec) {
+		LOG.trace("--> generate({})", spec);
+
+		if (spec == null) {
+			throw new IllegalArgumentException("spec is null");
+		}
+		spec.validate();
+
+		long start = System.currentTimeMillis();
+
+		List<String> zoneIds = createZones(spec);
+
+		long locations = spec.getLocationCount();
+		long handlingUnits = 0;
+
+		try {
+			for (long from = 0; from < locations; from += spec.getChunkSize()) {
+				handlingUnits += writeChunk(spec, from, Math.min(from + spec.getChunkSize(), locations), zoneIds);
+			}
+		}
+		finally {
+			em.getEntityManagerFactory().getCache().evict(Zone.class);
+			em.getEntityManagerFactory().getCache().evict(Location.class);
+			em.getEntityManagerFactory().getCache().evict(HandlingUnit.class);
+
+			freeCapacityIndex.invalidate();
+		}
+
+		TopologyResult ret = new TopologyResult(zoneIds.size(), locations, handlingUnits
+				, System.currentTimeMillis() - start);
+
+		LOG.info("Topology generated: {}", ret);
+		LOG.trace("<-- generate()");
+
+		return ret;
+	}
+
+	private List<String> createZones(final TopologySpec spec) {
+		List<String> ret = new ArrayList<>(spec.getZones());
+
+		begin();
+		try {
+			if (em.find(Location.class, spec.locationId(0, 0, 0)) != null) {
+				throw new IllegalArgumentException("Location " + spec.locationId(0, 0, 0) + " already exists");
+			}
+			for (int zone = 0; zone < spec.getZones(); ++zone) {
+				String zoneId = spec.zoneId(zone);
+
+				if (em.find(Zone.class, zoneId) == null) {
+					em.persist(new Zone(zoneId, spec.getZones() - zone));
+				}
+				ret.add(zoneId);
+			}
+			commit();
+		}
+		catch (RuntimeException ex) {
+			rollback();
+			throw ex;
+		}
+		return ret;
+	}
+
+	private static Location createLocation(final TopologySpec spec, final long index, final int aisle
+			, final int level, final int bin) {
+		String locationId = spec.locationId(aisle, level, bin);
+		int mix = (int) (index % 100);
+		Location ret;
+
+		if (mix < spec.getFifoPercent()) {
+			ret = new FifoLocation(locationId, spec.getUser());
+		}
+		else if (mix < spec.getFifoPercent() + spec.getLifoPercent()) {
+			ret = new LifoLocation(locationId, spec.getUser());
+		}
+		else {
+			ret = new RandomLocation(locationId, spec.getUser());
+		}
+		ret.setPosition(new AbsolutPosition(aisle * AISLE_PITCH, bin * BIN_PITCH, level * LEVEL_PITCH));
+
+		DimensionProfile profile = spec.getProfiles().get(level % spec.getProfiles().size());
+		ret.setDimension(profile.getMaxCapacity(), profile.getMaxWeight(), profile.getMaxHeight()
+				, profile.getMaxLength(), profile.getMaxWidth());
+
+		return ret;
+	}
+
+	private long writeChunk(final TopologySpec spec, final long from, final long to, final List<String> zoneIds) {
+		long ret = 0;
+		String first = null;
+		String last = null;
+
+		begin();
+		try {
+			List<Zone> zones = new ArrayList<>(zoneIds.size());
+			zoneIds.forEach(id -> zones.add(em.find(Zone.class, id)));
+
+			for (long index = from; index < to; ++index) {
+				int bin = (int) (index % spec.getBins());
+				int level = (int) (index / spec.getBins() % spec.getLevels());
+				int aisle = (int) (index / spec.getBins() / spec.getLevels());
+
+				Location location = createLocation(spec, index, aisle, level, bin);
+				if (!zones.isEmpty()) {
+					location.getZones().add(zones.get(aisle % zones.size()));
+				}
+				em.persist(location);
+
+				// Spread the filled Locations evenly: 37 is coprime to 100
+				if (index * 37 % 100 < spec.getFillPercent()) {
+					ret += fill(spec, location);
+				}
+
+				if (first == null) {
+					first = location.getLocationId();
+				}
+				last = location.getLocationId();
+			}
+			em.flush();
+			commit();
+		}
+		catch (RuntimeException ex) {
+			rollback();
+			throw ex;
+		}
+		finally {
+			em.clear();
+		}
+
+		LOG.debug("Chunk {} .. {} written: {} HandlingUnits", first, last, ret);
+
+		return ret;
+	}
+
+	private long fill(final TopologySpec spec, final Location location) {
+		int maxCapacity = location.getDimension().getMaxCapacity();
+		int trees = maxCapacity > 0 ? Math.min(spec.getHandlingUnitsPerLocation(), maxCapacity)
+				: spec.getHandlingUnitsPerLocation();
+		long ret = 0;
+
+		for (int tree = 1; tree <= trees; ++tree) {
+			HandlingUnit root = createHandlingUnit(spec, location.getLocationId() + "/" + tree, ROOT_WEIGHT);
+
+			location.addHandlingUnit(root);
+			em.persist(root);
+
+			List<HandlingUnit> path = new ArrayList<>();
+			path.add(root);
+			ret += 1 + nest(spec, root, path);
+
+			// The whole tree is built; set the root values top down
+			root.updateRoot();
+		}
+		return ret;
+	}
+
+	private long nest(final TopologySpec spec, final HandlingUnit base, final List<HandlingUnit> path) {
+		if (path.size() > spec.getTreeDepth()) {
+			return 0;
+		}
+
+		long ret = 0;
+
+		for (int child = 1; child <= spec.getTreeFanout(); ++child) {
+			HandlingUnit handlingUnit = createHandlingUnit(spec, base.getId() + "." + child, NESTED_WEIGHT);
+
+			handlingUnit.setBaseHU(base);
+			base.getContains().add(handlingUnit);
+			em.persist(handlingUnit);
+
+			for (int i = 0; i < path.size(); ++i) {
+				em.persist(new HandlingUnitClosure(path.get(i).getId(), handlingUnit.getId(), path.size() - i));
+			}
+
+			path.add(handlingUnit);
+			ret += 1 + nest(spec, handlingUnit, path);
+			path.remove(path.size() - 1);
+		}
+		return ret;
+	}
+
+	private static HandlingUnit createHandlingUnit(final TopologySpec spec, final String id, final int weight) {
+		HandlingUnit ret = new HandlingUnit(id, spec.getUser());
+
+		ret.setWeight(weight);
+		ret.setVolume(HANDLING_UNIT_VOLUME);
+		ret.setHeight(HeightCategory.LOW);
+		ret.setLength(LengthCategory.SHORT);
+		ret.setWidth(WidthCategory.NARROW);
+
+		return ret;
+	}
+
+	private void begin() {
+		try {
+			utx.begin();
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Transaction begin failed", ex);
+		}
+	}
+
+	private void commit() {
+		try {
+			utx.commit();
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Transaction commit failed", ex);
+		}
+	}
+
+	private void rollback() {
+		try {
+			if (utx.getStatus() != Status.STATUS_NO_TRANSACTION) {
+				utx.rollback();
+			}
+		}
+		catch (Exception ex) {
+			LOG.error("Transaction rollback failed: {}", ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.home.simplewarehouse.topology;
+
+/**
+ * Local interface for the generation of large warehouse topologies.
+ */
+public interface TopologyGeneratorService {
+	/**
+	 * Generate Zones, Locations and HandlingUnit trees as described by the spec.<br>
+	 * The data is written in chunks of {@link TopologySpec#getChunkSize()} Locations, each in its own transaction.
+	 * The ids must not exist already.
+	 *
+	 * @param spec the topology spec
+	 *
+	 * @return the generation result
+	 *
+	 * @throws IllegalArgumentException if the spec is null or invalid
+	 */
+	public TopologyResult generate(final TopologySpec spec);
+}
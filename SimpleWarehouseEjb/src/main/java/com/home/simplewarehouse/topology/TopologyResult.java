@@ -0,0 +1,75 @@
+package com.home.simplewarehouse.topology;
+
+import java.io.Serializable;
+
+/**
+ * The result of a topology generation.
+ */
+public class TopologyResult implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final int zones;
+	private final long locations;
+	private final long handlingUnits;
+	private final long millis;
+
+	/**
+	 * Create the result
+	 *
+	 * @param zones the number of generated Zones
+	 * @param locations the number of generated Locations
+	 * @param handlingUnits the number of generated HandlingUnits
+	 * @param millis the elapsed time in milliseconds
+	 */
+	public TopologyResult(int zones, long locations, long handlingUnits, long millis) {
+		super();
+		this.zones = zones;
+		this.locations = locations;
+		this.handlingUnits = handlingUnits;
+		this.millis = millis;
+	}
+
+	/**
+	 * Gets the number of generated Zones
+	 *
+	 * @return the Zones
+	 */
+	public int getZones() {
+		return zones;
+	}
+
+	/**
+	 * Gets the number of generated Locations
+	 *
+	 * @return the Locations
+	 */
+	public long getLocations() {
+		return locations;
+	}
+
+	/**
+	 * Gets the number of generated HandlingUnits
+	 *
+	 * @return the HandlingUnits
+	 */
+	public long getHandlingUnits() {
+		return handlingUnits;
+	}
+
+	/**
+	 * Gets the elapsed time
+	 *
+	 * @return the milliseconds
+	 */
+	public long getMillis() {
+		return millis;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("TopologyResult [zones=").append(zones).append(", locations=").append(locations)
+				.append(", handlingUnits=").append(handlingUnits).append(", millis=").append(millis).append("]");
+		return builder.toString();
+	}
+}
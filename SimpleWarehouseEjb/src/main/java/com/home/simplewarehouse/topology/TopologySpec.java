@@ -0,0 +1,433 @@
+package com.home.simplewarehouse.topology;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parameters of a generated warehouse topology.
+ * <p>
+ * The Locations are laid out in aisles, levels and bins. Their ids are zero padded, so the generation order is
+ * also the lexicographic order of the ids. Everything is derived from the Location index; the same spec always
+ * generates the same topology.
+ */
+public class TopologySpec implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Maximum number of aisles
+	 */
+	public static final int MAX_AISLES = 9_999;
+	/**
+	 * Maximum number of levels per aisle
+	 */
+	public static final int MAX_LEVELS = 999;
+	/**
+	 * Maximum number of bins per level
+	 */
+	public static final int MAX_BINS = 99_999;
+	/**
+	 * Maximum number of Zones
+	 */
+	public static final int MAX_ZONES = 99;
+	/**
+	 * Maximum depth of the nested HandlingUnit trees
+	 */
+	public static final int MAX_TREE_DEPTH = 5;
+
+	private int aisles = 10;
+	private int levels = 5;
+	private int bins = 20;
+	private int fifoPercent = 30;
+	private int lifoPercent = 20;
+	private List<DimensionProfile> profiles = new ArrayList<>(Arrays.asList(DimensionProfile.values()));
+	private int zones = 4;
+	private int fillPercent = 50;
+	private int handlingUnitsPerLocation = 1;
+	private int treeDepth = 0;
+	private int treeFanout = 2;
+	private String idPrefix = "G";
+	private int chunkSize = 1000;
+	private String user = "TopologyGenerator";
+
+	/**
+	 * Create a spec with default values
+	 */
+	public TopologySpec() {
+		super();
+	}
+
+	/**
+	 * Create a spec with the given layout and default values otherwise
+	 *
+	 * @param aisles the number of aisles
+	 * @param levels the number of levels per aisle
+	 * @param bins the number of bins per level
+	 */
+	public TopologySpec(int aisles, int levels, int bins) {
+		super();
+		this.aisles = aisles;
+		this.levels = levels;
+		this.bins = bins;
+	}
+
+	/**
+	 * Check all values
+	 *
+	 * @throws IllegalArgumentException if a value is out of range
+	 */
+	public void validate() {
+		checkRange("aisles", aisles, 1, MAX_AISLES);
+		checkRange("levels", levels, 1, MAX_LEVELS);
+		checkRange("bins", bins, 1, MAX_BINS);
+		checkRange("fifoPercent", fifoPercent, 0, 100);
+		checkRange("lifoPercent", lifoPercent, 0, 100 - fifoPercent);
+		checkRange("zones", zones, 0, MAX_ZONES);
+		checkRange("fillPercent", fillPercent, 0, 100);
+		checkRange("handlingUnitsPerLocation", handlingUnitsPerLocation, 0, Integer.MAX_VALUE);
+		checkRange("treeDepth", treeDepth, 0, MAX_TREE_DEPTH);
+		checkRange("treeFanout", treeFanout, 0, Integer.MAX_VALUE);
+		checkRange("chunkSize", chunkSize, 1, Integer.MAX_VALUE);
+
+		if (profiles == null || profiles.isEmpty() || profiles.contains(null)) {
+			throw new IllegalArgumentException("profiles is null or empty");
+		}
+		if (idPrefix == null || idPrefix.isEmpty()) {
+			throw new IllegalArgumentException("idPrefix is null or empty");
+		}
+		if (user == null || user.isEmpty()) {
+			throw new IllegalArgumentException("user is null or empty");
+		}
+	}
+
+	private static void checkRange(String name, int value, int min, int max) {
+		if (value < min || value > max) {
+			throw new IllegalArgumentException(name + " not in [" + min + ", " + max + "]");
+		}
+	}
+
+	/**
+	 * Gets the number of Locations to generate
+	 *
+	 * @return the number of Locations
+	 */
+	public long getLocationCount() {
+		return (long) aisles * levels * bins;
+	}
+
+	/**
+	 * Gets the number of HandlingUnits in one tree
+	 *
+	 * @return the root and all nested HandlingUnits
+	 */
+	public long getTreeSize() {
+		long ret = 0;
+		long width = 1;
+
+		for (int depth = 0; depth <= treeDepth; ++depth) {
+			ret += width;
+			width *= treeFanout;
+		}
+		return ret;
+	}
+
+	/**
+	 * Build the Location id
+	 *
+	 * @param aisle the aisle index
+	 * @param level the level index
+	 * @param bin the bin index
+	 *
+	 * @return the zero padded Location id
+	 */
+	public String locationId(int aisle, int level, int bin) {
+		return idPrefix + "-A" + pad(aisle + 1, aisles) + "-L" + pad(level + 1, levels) + "-B" + pad(bin + 1, bins);
+	}
+
+	/**
+	 * Build the Zone id
+	 *
+	 * @param zone the Zone index
+	 *
+	 * @return the zero padded Zone id
+	 */
+	public String zoneId(int zone) {
+		return idPrefix + "-Z" + pad(zone + 1, zones);
+	}
+
+	private static String pad(int value, int max) {
+		StringBuilder builder = new StringBuilder(String.valueOf(value));
+
+		while (builder.length() < String.valueOf(max).length()) {
+			builder.insert(0, '0');
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Gets the number of aisles
+	 *
+	 * @return the aisles
+	 */
+	public int getAisles() {
+		return aisles;
+	}
+
+	/**
+	 * Sets the number of aisles
+	 *
+	 * @param aisles the aisles to set
+	 */
+	public void setAisles(int aisles) {
+		this.aisles = aisles;
+	}
+
+	/**
+	 * Gets the number of levels per aisle
+	 *
+	 * @return the levels
+	 */
+	public int getLevels() {
+		return levels;
+	}
+
+	/**
+	 * Sets the number of levels per aisle
+	 *
+	 * @param levels the levels to set
+	 */
+	public void setLevels(int levels) {
+		this.levels = levels;
+	}
+
+	/**
+	 * Gets the number of bins per level
+	 *
+	 * @return the bins
+	 */
+	public int getBins() {
+		return bins;
+	}
+
+	/**
+	 * Sets the number of bins per level
+	 *
+	 * @param bins the bins to set
+	 */
+	public void setBins(int bins) {
+		this.bins = bins;
+	}
+
+	/**
+	 * Gets the percentage of FIFO Locations
+	 *
+	 * @return the FIFO percentage
+	 */
+	public int getFifoPercent() {
+		return fifoPercent;
+	}
+
+	/**
+	 * Sets the percentage of FIFO Locations
+	 *
+	 * @param fifoPercent the FIFO percentage to set
+	 */
+	public void setFifoPercent(int fifoPercent) {
+		this.fifoPercent = fifoPercent;
+	}
+
+	/**
+	 * Gets the percentage of LIFO Locations; the rest are Random Locations
+	 *
+	 * @return the LIFO percentage
+	 */
+	public int getLifoPercent() {
+		return lifoPercent;
+	}
+
+	/**
+	 * Sets the percentage of LIFO Locations; the rest are Random Locations
+	 *
+	 * @param lifoPercent the LIFO percentage to set
+	 */
+	public void setLifoPercent(int lifoPercent) {
+		this.lifoPercent = lifoPercent;
+	}
+
+	/**
+	 * Gets the Dimension profiles; level n uses profile n modulo the number of profiles
+	 *
+	 * @return the profiles
+	 */
+	public List<DimensionProfile> getProfiles() {
+		return profiles;
+	}
+
+	/**
+	 * Sets the Dimension profiles; level n uses profile n modulo the number of profiles
+	 *
+	 * @param profiles the profiles to set
+	 */
+	public void setProfiles(List<DimensionProfile> profiles) {
+		this.profiles = profiles;
+	}
+
+	/**
+	 * Gets the number of Zones; aisle n belongs to Zone n modulo the number of Zones
+	 *
+	 * @return the zones
+	 */
+	public int getZones() {
+		return zones;
+	}
+
+	/**
+	 * Sets the number of Zones; aisle n belongs to Zone n modulo the number of Zones
+	 *
+	 * @param zones the zones to set
+	 */
+	public void setZones(int zones) {
+		this.zones = zones;
+	}
+
+	/**
+	 * Gets the percentage of Locations holding HandlingUnits
+	 *
+	 * @return the fill percentage
+	 */
+	public int getFillPercent() {
+		return fillPercent;
+	}
+
+	/**
+	 * Sets the percentage of Locations holding HandlingUnits
+	 *
+	 * @param fillPercent the fill percentage to set
+	 */
+	public void setFillPercent(int fillPercent) {
+		this.fillPercent = fillPercent;
+	}
+
+	/**
+	 * Gets the number of HandlingUnit trees per filled Location; limited by the maximum capacity
+	 *
+	 * @return the HandlingUnit trees per Location
+	 */
+	public int getHandlingUnitsPerLocation() {
+		return handlingUnitsPerLocation;
+	}
+
+	/**
+	 * Sets the number of HandlingUnit trees per filled Location; limited by the maximum capacity
+	 *
+	 * @param handlingUnitsPerLocation the HandlingUnit trees per Location to set
+	 */
+	public void setHandlingUnitsPerLocation(int handlingUnitsPerLocation) {
+		this.handlingUnitsPerLocation = handlingUnitsPerLocation;
+	}
+
+	/**
+	 * Gets the depth of the nested HandlingUnit trees; 0 means no nested HandlingUnits
+	 *
+	 * @return the tree depth
+	 */
+	public int getTreeDepth() {
+		return treeDepth;
+	}
+
+	/**
+	 * Sets the depth of the nested HandlingUnit trees; 0 means no nested HandlingUnits
+	 *
+	 * @param treeDepth the tree depth to set
+	 */
+	public void setTreeDepth(int treeDepth) {
+		this.treeDepth = treeDepth;
+	}
+
+	/**
+	 * Gets the number of HandlingUnits nested on each base
+	 *
+	 * @return the tree fanout
+	 */
+	public int getTreeFanout() {
+		return treeFanout;
+	}
+
+	/**
+	 * Sets the number of HandlingUnits nested on each base
+	 *
+	 * @param treeFanout the tree fanout to set
+	 */
+	public void setTreeFanout(int treeFanout) {
+		this.treeFanout = treeFanout;
+	}
+
+	/**
+	 * Gets the prefix of all generated ids
+	 *
+	 * @return the id prefix
+	 */
+	public String getIdPrefix() {
+		return idPrefix;
+	}
+
+	/**
+	 * Sets the prefix of all generated ids
+	 *
+	 * @param idPrefix the id prefix to set
+	 */
+	public void setIdPrefix(String idPrefix) {
+		this.idPrefix = idPrefix;
+	}
+
+	/**
+	 * Gets the number of Locations written per transaction
+	 *
+	 * @return the chunk size
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Sets the number of Locations written per transaction
+	 *
+	 * @param chunkSize the chunk size to set
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Gets the user written to all generated entities
+	 *
+	 * @return the user
+	 */
+	public String getUser() {
+		return user;
+	}
+
+	/**
+	 * Sets the user written to all generated entities
+	 *
+	 * @param user the user to set
+	 */
+	public void setUser(String user) {
+		this.user = user;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("TopologySpec [aisles=").append(aisles).append(", levels=").append(levels)
+				.append(", bins=").append(bins).append(", fifoPercent=").append(fifoPercent)
+				.append(", lifoPercent=").append(lifoPercent).append(", profiles=").append(profiles)
+				.append(", zones=").append(zones).append(", fillPercent=").append(fillPercent)
+				.append(", handlingUnitsPerLocation=").append(handlingUnitsPerLocation)
+				.append(", treeDepth=").append(treeDepth).append(", treeFanout=").append(treeFanout)
+				.append(", idPrefix=").append(idPrefix).append(", chunkSize=").append(chunkSize)
+				.append(", user=").append(user).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,252 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.CallSpan;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.SlowCall;
+
+/**
+ * The span tree of the intercepted calls of one thread.
+ * <p>
+ * The outermost intercepted call is the root; the nested intercepted calls of the same thread are recorded in call
+ * order with their depth. A call only writes its method name, start, arguments reference and duration into
+ * preallocated arrays, so a fast call costs next to nothing. Only when the root call is slower than the threshold
+ * the tree is turned into a {@link SlowCall} with argument summaries. Entities are summarized by their id only.
+ */
+public final class CallTracer {
+	/**
+	 * The maximum number of spans kept per root call; further nested calls are counted as dropped
+	 */
+	public static final int MAX_SPANS = 256;
+
+	private static final int MAX_ARGUMENT_LENGTH = 64;
+	private static final ThreadLocal<CallTracer> CURRENT = ThreadLocal.withInitial(CallTracer::new);
+	private static final ConcurrentMap<Class<?>, Optional<Method>> ID_GETTERS = new ConcurrentHashMap<>();
+
+	private static volatile long slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+			Long.getLong("simplewarehouse.slowCallThresholdMillis", 1000L));
+
+	private final String[] methodNames = new String[MAX_SPANS];
+	private final int[] depths = new int[MAX_SPANS];
+	private final long[] starts = new long[MAX_SPANS];
+	private final long[] durations = new long[MAX_SPANS];
+	private final boolean[] failures = new boolean[MAX_SPANS];
+	private final Object[][] arguments = new Object[MAX_SPANS][];
+	private int size;
+	private int depth;
+	private int dropped;
+
+	/**
+	 * Create a tracer; use {@link #current()}
+	 */
+	CallTracer() {
+		super();
+	}
+
+	/**
+	 * Gets the tracer of the current thread
+	 *
+	 * @return the tracer
+	 */
+	public static CallTracer current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Gets the threshold above which a root call is a slow call
+	 *
+	 * @return the threshold in nanoseconds
+	 */
+	public static long getSlowCallThresholdNanos() {
+		return slowCallThresholdNanos;
+	}
+
+	/**
+	 * Sets the threshold above which a root call is a slow call
+	 *
+	 * @param nanos the threshold in nanoseconds
+	 *
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public static void setSlowCallThresholdNanos(long nanos) {
+		if (nanos < 0) {
+			throw new IllegalArgumentException("threshold < 0");
+		}
+		slowCallThresholdNanos = nanos;
+	}
+
+	/**
+	 * Enter an intercepted call
+	 *
+	 * @param methodName the method name
+	 * @param parameters the call arguments, only referenced until the root call ends
+	 * @param startNanos the start as given by {@link System#nanoTime()}
+	 *
+	 * @return the span index; -1 if the span is dropped
+	 */
+	public int enter(String methodName, Object[] parameters, long startNanos) {
+		if (depth == 0) {
+			clear();
+		}
+		int current = depth++;
+
+		if (size == MAX_SPANS) {
+			++dropped;
+			return -1;
+		}
+		int span = size++;
+
+		methodNames[span] = methodName;
+		depths[span] = current;
+		starts[span] = startNanos;
+		durations[span] = -1L;
+		failures[span] = false;
+		arguments[span] = parameters;
+
+		return span;
+	}
+
+	/**
+	 * Exit an intercepted call
+	 *
+	 * @param span the span index given by {@link #enter(String, Object[], long)}
+	 * @param nanos the duration
+	 * @param failed true if the call ended by an exception
+	 *
+	 * @return true if the root call ended
+	 */
+	public boolean exit(int span, long nanos, boolean failed) {
+		if (span >= 0) {
+			durations[span] = nanos;
+			failures[span] = failed;
+		}
+		depth = Math.max(0, depth - 1);
+
+		return depth == 0;
+	}
+
+	/**
+	 * Turn the span tree of the ended root call into a slow call
+	 *
+	 * @param threadName the thread of the call
+	 *
+	 * @return the slow call, not yet numbered
+	 */
+	public SlowCall toSlowCall(String threadName) {
+		List<CallSpan> spans = new ArrayList<>(size);
+		long rootNanos = size > 0 ? durations[0] : 0L;
+
+		for (int i = 0; i < size; ++i) {
+			spans.add(new CallSpan(methodNames[i], depths[i], micros(starts[i] - starts[0]), micros(durations[i])
+					, failures[i], summarize(arguments[i])));
+		}
+		return new SlowCall(0L, System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(rootNanos), threadName
+				, micros(rootNanos), dropped, spans);
+	}
+
+	/**
+	 * Forget the spans and release the argument references
+	 */
+	public void clear() {
+		for (int i = 0; i < size; ++i) {
+			methodNames[i] = null;
+			arguments[i] = null;
+		}
+		size = 0;
+		dropped = 0;
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+	/**
+	 * Summarize call arguments; values by their text, entities by their id, collections by their size
+	 *
+	 * @param parameters the arguments
+	 *
+	 * @return the summary
+	 */
+	static String summarize(Object[] parameters) {
+		if (parameters == null) {
+			return "";
+		}
+		StringBuilder builder = new StringBuilder();
+
+		for (int i = 0; i < parameters.length; ++i) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(summarize(parameters[i]));
+		}
+		return builder.toString();
+	}
+
+	private static String summarize(Object parameter) {
+		if (parameter == null) {
+			return "null";
+		}
+		if (parameter instanceof CharSequence || parameter instanceof Number || parameter instanceof Boolean
+				|| parameter instanceof Character || parameter instanceof Enum) {
+			String text = parameter.toString();
+
+			return text.length() > MAX_ARGUMENT_LENGTH ? text.substring(0, MAX_ARGUMENT_LENGTH) + "..." : text;
+		}
+		String type = parameter.getClass().getSimpleName();
+
+		if (parameter instanceof Collection) {
+			return type + "[" + ((Collection<?>) parameter).size() + "]";
+		}
+		if (parameter instanceof Map) {
+			return type + "[" + ((Map<?, ?>) parameter).size() + "]";
+		}
+		if (parameter.getClass().isArray()) {
+			return type.replace("[]", "") + "[" + Array.getLength(parameter) + "]";
+		}
+
+		Optional<Method> idGetter = ID_GETTERS.computeIfAbsent(parameter.getClass(), CallTracer::idGetter);
+		if (idGetter.isPresent()) {
+			try {
+				return type + "(" + idGetter.get().invoke(parameter) + ")";
+			}
+			catch (ReflectiveOperationException | RuntimeException e) {
+				return type + "(?)";
+			}
+		}
+		return type;
+	}
+
+	/**
+	 * Find the id getter of an entity: getId() or get&lt;Class&gt;Id() of the class or a super class
+	 *
+	 * @param type the entity class
+	 *
+	 * @return the getter if any
+	 */
+	private static Optional<Method> idGetter(Class<?> type) {
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			for (String name : new String[] { "getId", "get" + c.getSimpleName() + "Id" }) {
+				try {
+					Method method = c.getMethod(name);
+
+					if (method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+						return Optional.of(method);
+					}
+				}
+				catch (NoSuchMethodException e) {
+					// Try the next one
+				}
+			}
+		}
+		return Optional.empty();
+	}
+}
@@ -0,0 +1,55 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+/**
+ * Flight Recorder event of a configuration cache refresh.
+ * <p>
+ * The event is only created if a recording runs with this event enabled and the Flight Recorder API is present;
+ * otherwise a shared instance doing nothing is returned.
+ */
+public class ConfigCacheRefreshEvent {
+	/**
+	 * The event doing nothing
+	 */
+	static final ConfigCacheRefreshEvent NONE = new ConfigCacheRefreshEvent();
+
+	/**
+	 * Create the event; use {@link #start()}
+	 */
+	ConfigCacheRefreshEvent() {
+		super();
+	}
+
+	/**
+	 * Create the event of a refresh and start timing
+	 *
+	 * @return the event
+	 */
+	public static ConfigCacheRefreshEvent start() {
+		return FlightRecorderSupport.isAvailable() ? FlightRecorderEvents.startConfigCacheRefresh() : NONE;
+	}
+
+	/**
+	 * Set the number of entries loaded
+	 *
+	 * @param entries the count
+	 */
+	public void setEntries(int entries) {
+		// Not recorded
+	}
+
+	/**
+	 * Set the outcome of a refresh ended by an exception
+	 *
+	 * @param exception the exception
+	 */
+	public void failed(Throwable exception) {
+		// Not recorded
+	}
+
+	/**
+	 * Stop timing and commit the event if recorded
+	 */
+	public void end() {
+		// Not recorded
+	}
+}
@@ -0,0 +1,200 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded registry of diagnostic counters for hot paths.
+ * <p>
+ * A counter is registered once, e.g. into a static field, and then only counted. Counting goes to a striped
+ * {@link LongAdder}, so it costs no allocation and no contention on the request path. The monitoring publishes the
+ * counter values at a fixed interval. The number of distinct keys is bounded; a key registered above the bound gets
+ * the shared overflow counter. The bound is taken from the system property
+ * <code>simplewarehouse.maxDiagnosticKeys</code>, 256 by default.
+ */
+public class DiagnosticCounters {
+	/**
+	 * The default number of distinct keys
+	 */
+	public static final int DEFAULT_MAX_KEYS = 256;
+	/**
+	 * The key of the counter shared by the keys above the bound
+	 */
+	public static final String OVERFLOW_KEY = "diagnostics.overflow";
+
+	private static final DiagnosticCounters INSTANCE = new DiagnosticCounters(
+			Integer.getInteger("simplewarehouse.maxDiagnosticKeys", DEFAULT_MAX_KEYS));
+
+	private final int maxKeys;
+	private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private final Counter overflow = new Counter(OVERFLOW_KEY, null);
+	private final AtomicLong rejectedKeys = new AtomicLong();
+
+	/**
+	 * Create a registry
+	 *
+	 * @param maxKeys the number of distinct keys
+	 *
+	 * @throws IllegalArgumentException if the number is less than 1
+	 */
+	DiagnosticCounters(int maxKeys) {
+		super();
+
+		if (maxKeys < 1) {
+			throw new IllegalArgumentException("maxKeys < 1");
+		}
+		this.maxKeys = maxKeys;
+	}
+
+	/**
+	 * Gets the registry shared by the request handling and the monitoring
+	 *
+	 * @return the registry
+	 */
+	public static DiagnosticCounters getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Gets the number of distinct keys
+	 *
+	 * @return the bound
+	 */
+	public int getMaxKeys() {
+		return maxKeys;
+	}
+
+	/**
+	 * Register a counter published as diagnostic only
+	 *
+	 * @param key the diagnostic key
+	 *
+	 * @return the counter; the overflow counter if the bound is reached
+	 */
+	public Counter register(String key) {
+		return register(key, null);
+	}
+
+	/**
+	 * Register a counter published as diagnostic and as OpenMetrics sample
+	 *
+	 * @param key the diagnostic key
+	 * @param sampleName the sample name; <code>null</code> for none
+	 *
+	 * @return the counter, the same for the same key; the overflow counter if the bound is reached
+	 *
+	 * @throws IllegalArgumentException if the key is <code>null</code> or empty
+	 */
+	public Counter register(String key, String sampleName) {
+		if (key == null || key.isEmpty()) {
+			throw new IllegalArgumentException("key is null or empty");
+		}
+		Counter counter = counters.get(key);
+
+		if (counter != null) {
+			return counter;
+		}
+		synchronized (counters) {
+			counter = counters.get(key);
+
+			if (counter == null) {
+				if (counters.size() >= maxKeys) {
+					rejectedKeys.incrementAndGet();
+					return overflow;
+				}
+				counter = new Counter(key, sampleName);
+				counters.put(key, counter);
+			}
+			return counter;
+		}
+	}
+
+	/**
+	 * Gets the number of registrations refused because the bound was reached
+	 *
+	 * @return the count
+	 */
+	public long getRejectedKeys() {
+		return rejectedKeys.get();
+	}
+
+	/**
+	 * Gets the registered counters and the overflow counter if used
+	 *
+	 * @return the counters
+	 */
+	public List<Counter> counters() {
+		List<Counter> list = new ArrayList<>(counters.values());
+
+		if (rejectedKeys.get() > 0) {
+			list.add(overflow);
+		}
+		return list;
+	}
+
+	/**
+	 * A registered counter
+	 */
+	public static final class Counter {
+		private final String key;
+		private final String sampleName;
+		private final LongAdder value = new LongAdder();
+
+		Counter(String key, String sampleName) {
+			super();
+			this.key = key;
+			this.sampleName = sampleName;
+		}
+
+		/**
+		 * Count one
+		 */
+		public void increment() {
+			value.increment();
+		}
+
+		/**
+		 * Count some
+		 *
+		 * @param amount the amount
+		 */
+		public void add(long amount) {
+			value.add(amount);
+		}
+
+		/**
+		 * Gets the diagnostic key
+		 *
+		 * @return the key
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * Gets the OpenMetrics sample name
+		 *
+		 * @return the name; <code>null</code> if published as diagnostic only
+		 */
+		public String getSampleName() {
+			return sampleName;
+		}
+
+		/**
+		 * Gets the counted value
+		 *
+		 * @return the sum
+		 */
+		public long sum() {
+			return value.sum();
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + sum();
+		}
+	}
+}
@@ -0,0 +1,288 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionFingerprint;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionRecord;
+
+/**
+ * Bounded lock free capture of exceptions.
+ * <p>
+ * The exceptions are counted per stack trace fingerprint: the exception class, the top stack frames and the classes
+ * of the causes. The latest captures are kept in a ring buffer that overwrites the oldest ones. Up to
+ * <code>sampleAfter</code> captures of a fingerprint enter the ring, after that only every
+ * <code>sampleEvery</code>th. So a flood of the same exception neither grows the memory nor pushes the rare
+ * exceptions out of the ring.
+ */
+public class ExceptionRecorder {
+	/**
+	 * The default ring buffer size
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+	/**
+	 * The default number of distinct fingerprints counted
+	 */
+	public static final int DEFAULT_MAX_FINGERPRINTS = 1000;
+	/**
+	 * The default number of captures of a fingerprint all kept in the ring
+	 */
+	public static final long DEFAULT_SAMPLE_AFTER = 10;
+	/**
+	 * The default sampling of the further captures of a fingerprint
+	 */
+	public static final long DEFAULT_SAMPLE_EVERY = 100;
+
+	private static final int FINGERPRINT_FRAMES = 8;
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final int mask;
+	private final AtomicReferenceArray<ExceptionRecord> ring;
+	private final AtomicLong next = new AtomicLong();
+	private final int maxFingerprints;
+	private final ConcurrentHashMap<String, Occurrences> fingerprints = new ConcurrentHashMap<>();
+	private final AtomicLong untracked = new AtomicLong();
+
+	private volatile long sampleAfter = DEFAULT_SAMPLE_AFTER;
+	private volatile long sampleEvery = DEFAULT_SAMPLE_EVERY;
+
+	/**
+	 * Create a recorder of the default size
+	 */
+	public ExceptionRecorder() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_FINGERPRINTS);
+	}
+
+	/**
+	 * Create a recorder
+	 *
+	 * @param capacity the ring buffer size, rounded up to a power of two
+	 * @param maxFingerprints the number of distinct fingerprints counted; further ones are counted together
+	 *
+	 * @throws IllegalArgumentException if a size is less than 1
+	 */
+	public ExceptionRecorder(int capacity, int maxFingerprints) {
+		super();
+
+		if (capacity < 1 || capacity > 1 << 20) {
+			throw new IllegalArgumentException("capacity not in [1, " + (1 << 20) + "]");
+		}
+		if (maxFingerprints < 1) {
+			throw new IllegalArgumentException("maxFingerprints < 1");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.mask = size - 1;
+		this.ring = new AtomicReferenceArray<>(size);
+		this.maxFingerprints = maxFingerprints;
+	}
+
+	/**
+	 * Set the sampling of the captures entering the ring
+	 *
+	 * @param sampleAfter the number of captures of a fingerprint all kept
+	 * @param sampleEvery keep every n-th of the further captures; 1 keeps all
+	 *
+	 * @throws IllegalArgumentException if a value is out of range
+	 */
+	public void setSampling(long sampleAfter, long sampleEvery) {
+		if (sampleAfter < 0 || sampleEvery < 1) {
+			throw new IllegalArgumentException("sampleAfter < 0 or sampleEvery < 1");
+		}
+		this.sampleAfter = sampleAfter;
+		this.sampleEvery = sampleEvery;
+	}
+
+	/**
+	 * Capture an exception
+	 *
+	 * @param methodName the method that throws the exception
+	 * @param e the exception
+	 */
+	public void record(String methodName, Throwable e) {
+		record(System.currentTimeMillis(), methodName, e);
+	}
+
+	/**
+	 * Capture an exception
+	 *
+	 * @param nowMillis the time of the capture
+	 * @param methodName the method that throws the exception
+	 * @param e the exception
+	 */
+	void record(long nowMillis, String methodName, Throwable e) {
+		String fingerprint = fingerprint(e);
+		Occurrences occurrences = fingerprints.get(fingerprint);
+
+		if (occurrences == null && fingerprints.size() < maxFingerprints) {
+			occurrences = fingerprints.computeIfAbsent(fingerprint
+					, key -> new Occurrences(key, methodName, e, nowMillis));
+		}
+
+		long count = occurrences != null ? occurrences.hit(nowMillis) : untracked.incrementAndGet();
+
+		if (count <= sampleAfter || count % sampleEvery == 0) {
+			long sequence = next.getAndIncrement();
+
+			ring.set((int) (sequence & mask), new ExceptionRecord(sequence, nowMillis, methodName
+					, e.getClass().getName(), e.getMessage(), fingerprint));
+		}
+	}
+
+	/**
+	 * Gets the latest captures, the newest first
+	 *
+	 * @param offset the number of matching captures to skip
+	 * @param count the maximum number of captures
+	 * @param methodName only captures of methods containing this text; <code>null</code> or empty for all
+	 * @param exceptionClass only captures of exception classes containing this text; <code>null</code> or empty for
+	 *            all
+	 *
+	 * @return the captures
+	 */
+	public List<ExceptionRecord> records(int offset, int count, String methodName, String exceptionClass) {
+		List<ExceptionRecord> list = new ArrayList<>();
+		long newest = next.get() - 1;
+		long oldest = Math.max(0L, newest - mask);
+		int skip = Math.max(0, offset);
+
+		for (long sequence = newest; sequence >= oldest && list.size() < count; --sequence) {
+			ExceptionRecord exceptionRecord = ring.get((int) (sequence & mask));
+
+			// Overwritten meanwhile or not yet written
+			if (exceptionRecord == null || exceptionRecord.getSequence() != sequence
+					|| !contains(exceptionRecord.getMethodName(), methodName)
+					|| !contains(exceptionRecord.getExceptionClass(), exceptionClass)) {
+				continue;
+			}
+			if (skip > 0) {
+				--skip;
+			}
+			else {
+				list.add(exceptionRecord);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Gets the counted fingerprints, the most frequent first
+	 *
+	 * @param offset the number of fingerprints to skip
+	 * @param count the maximum number of fingerprints
+	 *
+	 * @return the fingerprints
+	 */
+	public List<ExceptionFingerprint> fingerprints(int offset, int count) {
+		List<ExceptionFingerprint> list = new ArrayList<>();
+
+		fingerprints.values().forEach(occurrences -> list.add(occurrences.snapshot()));
+		list.sort(Comparator.comparingLong(ExceptionFingerprint::getCount).reversed()
+				.thenComparing(ExceptionFingerprint::getFingerprint));
+
+		int from = Math.min(Math.max(0, offset), list.size());
+		int to = (int) Math.min((long) from + Math.max(0, count), list.size());
+
+		return new ArrayList<>(list.subList(from, to));
+	}
+
+	/**
+	 * Gets the number of captures not counted by fingerprint because there were too many distinct ones
+	 *
+	 * @return the count
+	 */
+	public long getUntracked() {
+		return untracked.get();
+	}
+
+	/**
+	 * Forget all captures
+	 */
+	public void clear() {
+		for (int i = 0; i <= mask; ++i) {
+			ring.set(i, null);
+		}
+		fingerprints.clear();
+		untracked.set(0L);
+	}
+
+	/**
+	 * Gets the stack trace fingerprint of an exception; the message is not part of it
+	 *
+	 * @param e the exception
+	 *
+	 * @return the fingerprint as 16 hex digits
+	 */
+	static String fingerprint(Throwable e) {
+		long hash = hash(FNV_OFFSET, e.getClass().getName());
+		StackTraceElement[] frames = e.getStackTrace();
+
+		for (int i = 0; i < Math.min(FINGERPRINT_FRAMES, frames.length); ++i) {
+			hash = hash(hash, frames[i].getClassName());
+			hash = hash(hash, frames[i].getMethodName());
+			hash = (hash ^ frames[i].getLineNumber()) * FNV_PRIME;
+		}
+		for (Throwable cause = e.getCause(); cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+			hash = hash(hash, cause.getClass().getName());
+		}
+
+		String hex = Long.toHexString(hash);
+		return "0000000000000000".substring(hex.length()) + hex;
+	}
+
+	private static long hash(long hash, String text) {
+		long ret = hash;
+
+		for (int i = 0; i < text.length(); ++i) {
+			ret = (ret ^ text.charAt(i)) * FNV_PRIME;
+		}
+		return ret;
+	}
+
+	private static boolean contains(String value, String filter) {
+		return filter == null || filter.isEmpty() || (value != null && value.contains(filter));
+	}
+
+	/**
+	 * The captures of one fingerprint
+	 */
+	private static final class Occurrences {
+		private final String fingerprint;
+		private final String methodName;
+		private final String exceptionClass;
+		private final String message;
+		private final String topFrame;
+		private final long firstMillis;
+		private final AtomicLong count = new AtomicLong();
+		private volatile long lastMillis;
+
+		Occurrences(String fingerprint, String methodName, Throwable e, long firstMillis) {
+			StackTraceElement[] frames = e.getStackTrace();
+
+			this.fingerprint = fingerprint;
+			this.methodName = methodName;
+			this.exceptionClass = e.getClass().getName();
+			this.message = e.getMessage();
+			this.topFrame = frames.length > 0 ? frames[0].toString() : "";
+			this.firstMillis = firstMillis;
+			this.lastMillis = firstMillis;
+		}
+
+		long hit(long nowMillis) {
+			lastMillis = nowMillis;
+			return count.incrementAndGet();
+		}
+
+		ExceptionFingerprint snapshot() {
+			return new ExceptionFingerprint(fingerprint, methodName, exceptionClass, message, topFrame, count.get()
+					, firstMillis, lastMillis);
+		}
+	}
+}
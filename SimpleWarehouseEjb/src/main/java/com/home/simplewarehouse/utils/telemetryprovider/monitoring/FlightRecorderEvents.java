@@ -0,0 +1,212 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Flight Recorder event types and the recorded variants of the event facades.
+ * <p>
+ * This is the only class of the event facades using <code>jdk.jfr</code>; it is loaded only if
+ * {@link FlightRecorderSupport#isAvailable()}. An event is only created if its type is enabled in a running
+ * recording; otherwise the shared facade doing nothing is returned.
+ */
+final class FlightRecorderEvents {
+	private static final EventType WAREHOUSE_OPERATION = EventType.getEventType(WarehouseOperation.class);
+	private static final EventType INVOCATION = EventType.getEventType(Invocation.class);
+	private static final EventType CONFIG_CACHE_REFRESH = EventType.getEventType(ConfigCacheRefresh.class);
+
+	private FlightRecorderEvents() {
+		super();
+	}
+
+	/**
+	 * Enable the event types in a recording
+	 *
+	 * @param recording the recording
+	 */
+	static void enable(Recording recording) {
+		recording.enable(WarehouseOperation.class);
+		recording.enable(Invocation.class);
+		recording.enable(ConfigCacheRefresh.class);
+	}
+
+	/**
+	 * Start a warehouse operation event
+	 *
+	 * @param operation the operation
+	 *
+	 * @return the started event or the facade doing nothing if the type is not enabled
+	 */
+	static WarehouseOperationEvent startWarehouseOperation(String operation) {
+		return WAREHOUSE_OPERATION.isEnabled() ? new RecordedWarehouseOperation(operation) : WarehouseOperationEvent.NONE;
+	}
+
+	/**
+	 * Start an invocation event
+	 *
+	 * @return the started event or the facade doing nothing if the type is not enabled
+	 */
+	static InvocationEvent startInvocation() {
+		return INVOCATION.isEnabled() ? new RecordedInvocation() : InvocationEvent.NONE;
+	}
+
+	/**
+	 * Start a configuration cache refresh event
+	 *
+	 * @return the started event or the facade doing nothing if the type is not enabled
+	 */
+	static ConfigCacheRefreshEvent startConfigCacheRefresh() {
+		return CONFIG_CACHE_REFRESH.isEnabled() ? new RecordedConfigCacheRefresh() : ConfigCacheRefreshEvent.NONE;
+	}
+
+	/**
+	 * Flight Recorder event of a warehouse operation
+	 */
+	@Name("com.home.simplewarehouse.WarehouseOperation")
+	@Label("Warehouse Operation")
+	@Category("SimpleWarehouse")
+	@Description("A drop, pick, assign, remove, move or capacity check")
+	@StackTrace(false)
+	static class WarehouseOperation extends Event {
+		@Label("Operation")
+		String operation;
+
+		@Label("Location ID")
+		String locationId;
+
+		@Label("Handling Unit ID")
+		String handlingUnitId;
+
+		@Label("Location Type")
+		@Description("FIFO, LIFO or RANDOM")
+		String locationType;
+
+		@Label("Outcome")
+		@Description("OK, the fit result or the simple name of the exception")
+		String outcome;
+	}
+
+	/**
+	 * Flight Recorder event of an intercepted call
+	 */
+	@Name("com.home.simplewarehouse.Invocation")
+	@Label("Invocation")
+	@Category("SimpleWarehouse")
+	@Description("An intercepted EJB call")
+	@StackTrace(false)
+	static class Invocation extends Event {
+		@Label("Method")
+		String methodName;
+
+		@Label("Outcome")
+		@Description("OK or the simple name of the exception")
+		String outcome;
+	}
+
+	/**
+	 * Flight Recorder event of a configuration cache refresh
+	 */
+	@Name("com.home.simplewarehouse.ConfigCacheRefresh")
+	@Label("Config Cache Refresh")
+	@Category("SimpleWarehouse")
+	@Description("Reload of the configuration cache data")
+	@StackTrace(false)
+	static class ConfigCacheRefresh extends Event {
+		@Label("Entries")
+		int entries;
+
+		@Label("Outcome")
+		@Description("OK or the simple name of the exception")
+		String outcome = WarehouseOperationEvent.OK;
+	}
+
+	private static final class RecordedWarehouseOperation extends WarehouseOperationEvent {
+		private final WarehouseOperation event = new WarehouseOperation();
+
+		RecordedWarehouseOperation(String operation) {
+			super();
+			event.operation = operation;
+			event.outcome = OK;
+			event.begin();
+		}
+
+		@Override
+		public void setOutcome(String outcome) {
+			event.outcome = outcome;
+		}
+
+		@Override
+		public void failed(Throwable exception) {
+			event.outcome = exception.getClass().getSimpleName();
+		}
+
+		@Override
+		public void end(Location location, HandlingUnit handlingUnit) {
+			event.end();
+
+			if (event.shouldCommit()) {
+				Location lo = location == null && handlingUnit != null ? handlingUnit.getLocation() : location;
+
+				event.locationId = lo == null ? null : lo.getLocationId();
+				event.locationType = locationType(lo);
+				event.handlingUnitId = handlingUnit == null ? null : handlingUnit.getId();
+
+				event.commit();
+			}
+		}
+	}
+
+	private static final class RecordedInvocation extends InvocationEvent {
+		private final Invocation event = new Invocation();
+
+		RecordedInvocation() {
+			super();
+			event.begin();
+		}
+
+		@Override
+		public void end(String methodName, Throwable exception) {
+			event.end();
+
+			if (event.shouldCommit()) {
+				event.methodName = methodName;
+				event.outcome = exception == null ? WarehouseOperationEvent.OK : exception.getClass().getSimpleName();
+
+				event.commit();
+			}
+		}
+	}
+
+	private static final class RecordedConfigCacheRefresh extends ConfigCacheRefreshEvent {
+		private final ConfigCacheRefresh event = new ConfigCacheRefresh();
+
+		RecordedConfigCacheRefresh() {
+			super();
+			event.begin();
+		}
+
+		@Override
+		public void setEntries(int entries) {
+			event.entries = entries;
+		}
+
+		@Override
+		public void failed(Throwable exception) {
+			event.outcome = exception.getClass().getSimpleName();
+		}
+
+		@Override
+		public void end() {
+			event.commit();
+		}
+	}
+}
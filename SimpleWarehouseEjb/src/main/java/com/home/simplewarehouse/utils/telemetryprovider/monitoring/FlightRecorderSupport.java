@@ -0,0 +1,36 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+/**
+ * Tells if the Flight Recorder API is present.
+ * <p>
+ * The build targets Java 8, the Flight Recorder API <code>jdk.jfr</code> is part of Java 11 and later. The event
+ * facades {@link WarehouseOperationEvent}, {@link InvocationEvent} and {@link ConfigCacheRefreshEvent} only touch
+ * the classes using <code>jdk.jfr</code> if it is present; on Java 8 they do nothing.
+ */
+public final class FlightRecorderSupport {
+	private static final boolean AVAILABLE = available();
+
+	private FlightRecorderSupport() {
+		super();
+	}
+
+	/**
+	 * Check if the Flight Recorder API is present
+	 *
+	 * @return true if <code>jdk.jfr.Event</code> can be loaded else false
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	private static boolean available() {
+		try {
+			Class.forName("jdk.jfr.Event", false, FlightRecorderSupport.class.getClassLoader());
+
+			return true;
+		}
+		catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
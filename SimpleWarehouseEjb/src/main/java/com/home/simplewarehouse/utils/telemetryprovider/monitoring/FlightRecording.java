@@ -0,0 +1,146 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.RecordingStatus;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Controls one Flight Recorder recording at a time; needs the Flight Recorder API of Java 11 or later.
+ * <p>
+ * A stopped recording is dumped to <code>simplewarehouse-&lt;timestamp&gt;.jfr</code> in the directory given by the
+ * system property <code>simplewarehouse.recordingDir</code>, the temporary directory by default.
+ */
+public class FlightRecording {
+	/**
+	 * The settings used if none are given
+	 */
+	public static final String DEFAULT_SETTINGS = "default";
+
+	private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+	private final Path directory;
+	private Recording recording = null;
+	private String settings = null;
+	private Path lastFile = null;
+
+	/**
+	 * Create with the configured dump directory
+	 */
+	public FlightRecording() {
+		this(Paths.get(System.getProperty("simplewarehouse.recordingDir", System.getProperty("java.io.tmpdir"))));
+	}
+
+	/**
+	 * Create
+	 *
+	 * @param directory the dump directory
+	 */
+	public FlightRecording(Path directory) {
+		super();
+		this.directory = directory;
+	}
+
+	/**
+	 * Start a recording
+	 *
+	 * @param settings the JDK settings name, <code>default</code> or <code>profile</code>; <code>null</code> or
+	 *            empty for <code>default</code>
+	 *
+	 * @return the status; unchanged if a recording is running already
+	 *
+	 * @throws IllegalArgumentException if the settings are unknown
+	 * @throws UnsupportedOperationException if the Flight Recorder API is not present, i.e. on Java 8
+	 */
+	public synchronized RecordingStatus start(String settings) {
+		if (recording != null) {
+			return getStatus();
+		}
+		if (!FlightRecorderSupport.isAvailable()) {
+			throw new UnsupportedOperationException("The Flight Recorder needs Java 11 or later");
+		}
+		String name = settings == null || settings.isEmpty() ? DEFAULT_SETTINGS : settings;
+		Configuration configuration;
+
+		try {
+			configuration = Configuration.getConfiguration(name);
+		}
+		catch (IOException | ParseException e) {
+			throw new IllegalArgumentException("Unknown recording settings [" + name + "]", e);
+		}
+
+		Recording started = new Recording(configuration);
+		started.setName("SimpleWarehouse");
+		FlightRecorderEvents.enable(started);
+		started.start();
+
+		this.recording = started;
+		this.settings = name;
+
+		return getStatus();
+	}
+
+	/**
+	 * Stop the running recording and dump it
+	 *
+	 * @return the status with the dump file; unchanged if no recording is running
+	 *
+	 * @throws UncheckedIOException if the dump fails
+	 */
+	public synchronized RecordingStatus stop() {
+		if (recording == null) {
+			return getStatus();
+		}
+		Recording stopped = recording;
+
+		recording = null;
+		try {
+			stopped.stop();
+
+			Files.createDirectories(directory);
+			Path file = directory.resolve("simplewarehouse-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+			stopped.dump(file);
+
+			lastFile = file.toAbsolutePath();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		finally {
+			stopped.close();
+		}
+		return getStatus();
+	}
+
+	/**
+	 * Gets the status of the recording
+	 *
+	 * @return the status
+	 */
+	public synchronized RecordingStatus getStatus() {
+		if (recording == null) {
+			return new RecordingStatus(false, settings, null, lastFile == null ? null : lastFile.toString());
+		}
+		return new RecordingStatus(true, settings, recording.getStartTime() == null ? null
+				: recording.getStartTime().toEpochMilli(), lastFile == null ? null : lastFile.toString());
+	}
+
+	/**
+	 * Close a running recording without dump
+	 */
+	public synchronized void close() {
+		if (recording != null) {
+			recording.close();
+			recording = null;
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+/**
+ * Flight Recorder event of an intercepted call; emitted by the {@link PerformanceAuditor}.
+ * <p>
+ * The event is only created if a recording runs with this event enabled and the Flight Recorder API is present;
+ * otherwise a shared instance doing nothing is returned, so an intercepted call allocates nothing for it.
+ */
+public class InvocationEvent {
+	/**
+	 * The event doing nothing
+	 */
+	static final InvocationEvent NONE = new InvocationEvent();
+
+	/**
+	 * Create the event; use {@link #start()}
+	 */
+	InvocationEvent() {
+		super();
+	}
+
+	/**
+	 * Create the event of a call and start timing
+	 *
+	 * @return the event
+	 */
+	public static InvocationEvent start() {
+		return FlightRecorderSupport.isAvailable() ? FlightRecorderEvents.startInvocation() : NONE;
+	}
+
+	/**
+	 * Stop timing and commit the event if recorded
+	 *
+	 * @param methodName the method name
+	 * @param exception the exception ending the call; <code>null</code> if none
+	 */
+	public void end(String methodName, Throwable exception) {
+		// Not recorded
+	}
+}
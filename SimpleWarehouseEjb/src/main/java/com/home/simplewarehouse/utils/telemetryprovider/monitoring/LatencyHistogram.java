@@ -0,0 +1,216 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatistics;
+
+/**
+ * Lock free latency histogram of one method.
+ * <p>
+ * The buckets are log linear like in a HDR histogram: values below 64 ns have a bucket each, above that every power
+ * of two range is split into 32 buckets. So a percentile is off by 3 % at most at a fixed size of about 10 KB.
+ * Recording never blocks; a reset running at the same time as a recording may lose that recording.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 6;
+
+	/**
+	 * Latencies above are recorded as this value; about 19 hours
+	 */
+	public static final long MAX_TRACKABLE_NANOS = (1L << 46) - 1;
+
+	private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_NANOS) + 1;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong minNanos = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong maxNanos = new AtomicLong(0L);
+
+	private volatile long sinceMillis = System.currentTimeMillis();
+
+	/**
+	 * Create an empty histogram
+	 */
+	public LatencyHistogram() {
+		super();
+	}
+
+	static int bucketIndex(long value) {
+		return bucketIndex(value, SUB_BUCKET_BITS);
+	}
+
+	static long highestEquivalentValue(int index) {
+		return highestEquivalentValue(index, SUB_BUCKET_BITS);
+	}
+
+	/**
+	 * Gets the log linear bucket of a value
+	 *
+	 * @param value the value, not negative
+	 * @param subBucketBits the precision; every power of two range is split into 2^(subBucketBits - 1) buckets
+	 *
+	 * @return the bucket index
+	 */
+	static int bucketIndex(long value, int subBucketBits) {
+		int subBucketCount = 1 << subBucketBits;
+
+		if (value < subBucketCount) {
+			return (int) value;
+		}
+		int subBucketHalf = subBucketCount >> 1;
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (subBucketBits - 1);
+
+		return subBucketCount + (shift - 1) * subBucketHalf + (int) (value >>> shift) - subBucketHalf;
+	}
+
+	/**
+	 * Gets the highest value falling into a log linear bucket
+	 *
+	 * @param index the bucket index
+	 * @param subBucketBits the precision the index was computed with
+	 *
+	 * @return the highest value of the bucket
+	 */
+	static long highestEquivalentValue(int index, int subBucketBits) {
+		int subBucketCount = 1 << subBucketBits;
+
+		if (index < subBucketCount) {
+			return index;
+		}
+		int subBucketHalf = subBucketCount >> 1;
+		int shift = (index - subBucketCount) / subBucketHalf + 1;
+		long subBucket = (index - subBucketCount) % subBucketHalf + subBucketHalf;
+
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	/**
+	 * Record a call
+	 *
+	 * @param nanos the latency in nanoseconds
+	 * @param error true if the call failed
+	 */
+	public void record(long nanos, boolean error) {
+		long value = Math.max(0L, Math.min(nanos, MAX_TRACKABLE_NANOS));
+
+		buckets.incrementAndGet(bucketIndex(value));
+		count.increment();
+		totalNanos.add(value);
+		if (error) {
+			errors.increment();
+		}
+
+		long min = minNanos.get();
+		while (value < min && !minNanos.compareAndSet(min, value)) {
+			min = minNanos.get();
+		}
+		long max = maxNanos.get();
+		while (value > max && !maxNanos.compareAndSet(max, value)) {
+			max = maxNanos.get();
+		}
+	}
+
+	/**
+	 * Gets the number of calls
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Gets the highest latency
+	 *
+	 * @return the latency in nanoseconds; 0 if nothing was recorded
+	 */
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * Gets latency percentiles
+	 *
+	 * @param percentiles the percentiles in the range 0 to 100
+	 *
+	 * @return the latencies in nanoseconds in the order of the percentiles, never outside the recorded range; 0 if
+	 *         nothing was recorded
+	 */
+	public long[] percentiles(double... percentiles) {
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; ++i) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+
+		long[] ret = new long[percentiles.length];
+		if (total == 0) {
+			return ret;
+		}
+
+		long min = minNanos.get();
+		long max = maxNanos.get();
+		for (int p = 0; p < percentiles.length; ++p) {
+			if (percentiles[p] <= 0.0) {
+				ret[p] = min;
+				continue;
+			}
+			long rank = Math.max(1L, (long) Math.ceil(percentiles[p] / 100.0 * total));
+			long seen = 0;
+
+			for (int i = 0; i < BUCKET_COUNT; ++i) {
+				seen += counts[i];
+				if (seen >= rank) {
+					ret[p] = Math.max(min, Math.min(highestEquivalentValue(i), max));
+					break;
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Take a snapshot
+	 *
+	 * @param methodName the method name
+	 *
+	 * @return the statistics of the method
+	 */
+	public MethodStatistics snapshot(String methodName) {
+		long calls = count.sum();
+		long[] percentiles = percentiles(50.0, 90.0, 99.0, 99.9);
+		long elapsedMillis = Math.max(1L, System.currentTimeMillis() - sinceMillis);
+
+		return new MethodStatistics(methodName, calls, errors.sum()
+				, calls > 0 ? micros(minNanos.get()) : 0L, micros(maxNanos.get())
+				, calls > 0 ? totalNanos.sum() / 1000.0 / calls : 0.0
+				, micros(percentiles[0]), micros(percentiles[1]), micros(percentiles[2]), micros(percentiles[3])
+				, calls * 1000.0 / elapsedMillis, sinceMillis);
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+	/**
+	 * Forget all recorded calls
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; ++i) {
+			buckets.set(i, 0L);
+		}
+		count.reset();
+		errors.reset();
+		totalNanos.reset();
+		minNanos.set(Long.MAX_VALUE);
+		maxNanos.set(0L);
+		sinceMillis = System.currentTimeMillis();
+	}
+}
@@ -0,0 +1,142 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+
+/**
+ * Builds a text in the OpenMetrics exposition format.
+ * <p>
+ * A metric family is started with {@link #family(String, String, String)} and followed by its samples; the text
+ * ends with {@link #finish()}. Not thread safe, a writer builds one snapshot.
+ */
+public class OpenMetricsWriter {
+	/**
+	 * The media type of the text
+	 */
+	public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+	private static final String COUNTER_SUFFIX = "_total";
+
+	private final StringBuilder text = new StringBuilder(8192);
+
+	/**
+	 * Create an empty writer
+	 */
+	public OpenMetricsWriter() {
+		super();
+	}
+
+	/**
+	 * Start a metric family
+	 *
+	 * @param name the family name; a counter family has no <code>_total</code> suffix
+	 * @param type the type like counter, gauge or summary
+	 * @param help the description, may be <code>null</code>
+	 *
+	 * @return this writer
+	 */
+	public OpenMetricsWriter family(String name, String type, String help) {
+		text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+		if (help != null) {
+			text.append("# HELP ").append(name).append(' ')
+					.append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+		}
+		return this;
+	}
+
+	/**
+	 * Add a sample
+	 *
+	 * @param name the sample name
+	 * @param value the value
+	 * @param labels the label names and values in turn
+	 *
+	 * @return this writer
+	 */
+	public OpenMetricsWriter sample(String name, double value, String... labels) {
+		text.append(name);
+		if (labels.length > 0) {
+			text.append('{');
+			for (int i = 0; i + 1 < labels.length; i += 2) {
+				if (i > 0) {
+					text.append(',');
+				}
+				text.append(labels[i]).append("=\"").append(Samples.escape(labels[i + 1])).append('"');
+			}
+			text.append('}');
+		}
+		text.append(' ').append(format(value)).append('\n');
+		return this;
+	}
+
+	/**
+	 * Add pushed samples; the samples of one name form a family, a name ending with <code>_total</code> a counter
+	 *
+	 * @param samples the sample keys, like <code>name{label="value"}</code>, and their values
+	 *
+	 * @return this writer
+	 */
+	public OpenMetricsWriter samples(Map<String, Double> samples) {
+		// Grouped by name, the labels may sort between names otherwise
+		SortedMap<String, Double> sorted = new TreeMap<>(Comparator.comparing(OpenMetricsWriter::nameOf)
+				.thenComparing(Comparator.naturalOrder()));
+		sorted.putAll(samples);
+		String last = null;
+
+		for (Map.Entry<String, Double> entry : sorted.entrySet()) {
+			String key = entry.getKey();
+			String name = nameOf(key);
+
+			if (!name.equals(last)) {
+				if (name.endsWith(COUNTER_SUFFIX)) {
+					family(name.substring(0, name.length() - COUNTER_SUFFIX.length()), "counter", null);
+				}
+				else {
+					family(name, "gauge", null);
+				}
+				last = name;
+			}
+			text.append(key).append(' ').append(format(entry.getValue())).append('\n');
+		}
+		return this;
+	}
+
+	private static String nameOf(String key) {
+		int brace = key.indexOf('{');
+
+		return brace < 0 ? key : key.substring(0, brace);
+	}
+
+	/**
+	 * End the text
+	 *
+	 * @return the complete text
+	 */
+	public String finish() {
+		return text.append("# EOF\n").toString();
+	}
+
+	/**
+	 * Format a value; whole numbers without fraction
+	 *
+	 * @param value the value
+	 *
+	 * @return the text of the value
+	 */
+	static String format(double value) {
+		if (Double.isNaN(value)) {
+			return "NaN";
+		}
+		if (Double.isInfinite(value)) {
+			return value > 0 ? "+Inf" : "-Inf";
+		}
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return Long.toString((long) value);
+		}
+		return Double.toString(value);
+	}
+}
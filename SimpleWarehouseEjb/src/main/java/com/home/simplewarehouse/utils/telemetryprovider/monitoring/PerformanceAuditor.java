@@ -1,5 +1,9 @@
 package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import javax.inject.Inject;
 import javax.interceptor.AroundInvoke;
 import javax.interceptor.AroundTimeout;
@@ -9,8 +13,20 @@ import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.Moni
 
 /**
  * The Performance Auditor
+ * <p>
+ * Records the latency of every intercepted call in nanoseconds to the latency histogram of the method.<br>
+ * Traces the nested intercepted calls of a thread; a root call above the slow call threshold is handed to the
+ * monitoring with its call tree.<br>
+ * Emits a Flight Recorder {@link InvocationEvent} per call while a recording runs.<br>
+ * Marks the call for the {@link StatementRecorder} so the SQL statements are attributed to it.
  */
 public class PerformanceAuditor {
+    /**
+     * The method names are built once per method instead of on every call
+     */
+    private static final ConcurrentMap<Method, String> METHOD_NAMES = new ConcurrentHashMap<>();
+
+    private static final StatementRecorder STATEMENTS = StatementRecorder.getInstance();
 
     @Inject
     MonitoringResource monitoring;
@@ -34,19 +50,45 @@ public class PerformanceAuditor {
     @AroundTimeout
     @AroundInvoke
     public Object measurePerformance(InvocationContext context) throws Exception {
-        String methodName = context.getMethod().toString();
-        long start = System.currentTimeMillis();
+        String methodName = methodName(context.getMethod());
+        Exception failure = null;
+        InvocationEvent event = InvocationEvent.start();
+        CallTracer tracer = CallTracer.current();
+        long start = System.nanoTime();
+        int span = tracer.enter(methodName, context.getParameters(), start);
+        long statements = STATEMENTS.enter(methodName);
 
         try {
             return context.proceed();
         }
         catch (Exception e) {
+            failure = e;
             monitoring.exceptionOccurred(methodName, e);
             throw e;
         }
         finally {
-            long duration = System.currentTimeMillis() - start;
-            monitoring.add(methodName, duration);
+            long nanos = System.nanoTime() - start;
+            boolean failed = failure != null;
+
+            event.end(methodName, failure);
+            STATEMENTS.exit(methodName, statements);
+            monitoring.record(methodName, nanos, failed);
+            if (tracer.exit(span, nanos, failed)) {
+                if (nanos >= CallTracer.getSlowCallThresholdNanos()) {
+                    monitoring.slowCallOccurred(tracer.toSlowCall(Thread.currentThread().getName()));
+                }
+                tracer.clear();
+            }
+        }
+    }
+
+    private static String methodName(Method method) {
+        String ret = METHOD_NAMES.get(method);
+
+        if (ret == null) {
+            ret = method.toString();
+            METHOD_NAMES.putIfAbsent(method, ret);
         }
+        return ret;
     }
 }
\ No newline at end of file
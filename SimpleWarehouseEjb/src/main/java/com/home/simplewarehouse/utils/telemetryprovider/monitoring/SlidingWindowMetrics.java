@@ -0,0 +1,174 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.WindowStatistics;
+
+/**
+ * Rolling window metrics of one method.
+ * <p>
+ * The calls are counted in time slots: 1 second slots for windows up to 10 seconds and 10 second slots for windows
+ * up to 5 minutes. Every slot holds a count, an error count, the latency sum and a coarse log linear latency
+ * histogram (13 % error at most). A slot is reused when its time comes round again. Recording only increments atomic
+ * array elements and allocates nothing; a recording racing with the start of a new slot may get lost.
+ */
+public class SlidingWindowMetrics {
+	/**
+	 * The longest window
+	 */
+	public static final int MAX_WINDOW_SECONDS = 300;
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final long MAX_TRACKABLE_MICROS = (1L << 27) - 1;
+	private static final int BUCKET_COUNT = LatencyHistogram.bucketIndex(MAX_TRACKABLE_MICROS, SUB_BUCKET_BITS) + 1;
+
+	private static final int COUNT = 0;
+	private static final int ERRORS = 1;
+	private static final int SUM_MICROS = 2;
+	private static final int FIRST_BUCKET = 3;
+	private static final int STRIDE = FIRST_BUCKET + BUCKET_COUNT;
+
+	private final Ring fine = new Ring(TimeUnit.SECONDS.toNanos(1), 10);
+	private final Ring coarse = new Ring(TimeUnit.SECONDS.toNanos(10), MAX_WINDOW_SECONDS / 10);
+
+	/**
+	 * Create empty metrics
+	 */
+	public SlidingWindowMetrics() {
+		super();
+	}
+
+	/**
+	 * Record a call
+	 *
+	 * @param nowNanos the end of the call as given by {@link System#nanoTime()}
+	 * @param latencyNanos the latency in nanoseconds
+	 * @param error true if the call failed
+	 */
+	public void record(long nowNanos, long latencyNanos, boolean error) {
+		long micros = Math.max(0L, Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS));
+		int bucket = FIRST_BUCKET + LatencyHistogram.bucketIndex(micros, SUB_BUCKET_BITS);
+
+		fine.record(nowNanos, bucket, micros, error);
+		coarse.record(nowNanos, bucket, micros, error);
+	}
+
+	/**
+	 * Gets the statistics of the last seconds; the window is rounded up to whole slots
+	 *
+	 * @param methodName the method name
+	 * @param seconds the window length from 1 to {@link #MAX_WINDOW_SECONDS}
+	 * @param nowNanos the end of the window as given by {@link System#nanoTime()}
+	 *
+	 * @return the statistics
+	 *
+	 * @throws IllegalArgumentException if the window length is out of range
+	 */
+	public WindowStatistics snapshot(String methodName, int seconds, long nowNanos) {
+		if (seconds < 1 || seconds > MAX_WINDOW_SECONDS) {
+			throw new IllegalArgumentException("seconds not in [1, " + MAX_WINDOW_SECONDS + "]");
+		}
+		Ring ring = TimeUnit.SECONDS.toNanos(seconds) <= fine.getSpanNanos() ? fine : coarse;
+
+		return ring.snapshot(methodName, seconds, nowNanos);
+	}
+
+	/**
+	 * A ring of time slots, all slot data in one array
+	 */
+	private static final class Ring {
+		private static final long UNUSED = Long.MIN_VALUE;
+
+		private final long slotNanos;
+		private final int slots;
+		private final AtomicLongArray ticks;
+		private final AtomicLongArray data;
+
+		Ring(long slotNanos, int slots) {
+			this.slotNanos = slotNanos;
+			this.slots = slots;
+			this.ticks = new AtomicLongArray(slots);
+			this.data = new AtomicLongArray(slots * STRIDE);
+
+			for (int i = 0; i < slots; ++i) {
+				ticks.set(i, UNUSED);
+			}
+		}
+
+		long getSpanNanos() {
+			return slotNanos * slots;
+		}
+
+		void record(long nowNanos, int bucket, long micros, boolean error) {
+			long tick = Math.floorDiv(nowNanos, slotNanos);
+			int slot = (int) Math.floorMod(tick, (long) slots);
+			long current = ticks.get(slot);
+
+			if (current != tick) {
+				if (current < tick && ticks.compareAndSet(slot, current, tick)) {
+					// This call starts the slot
+					for (int i = slot * STRIDE; i < (slot + 1) * STRIDE; ++i) {
+						data.set(i, 0L);
+					}
+				}
+				else if (ticks.get(slot) != tick) {
+					// The slot is already reused for a later tick
+					return;
+				}
+			}
+
+			int base = slot * STRIDE;
+			data.incrementAndGet(base + COUNT);
+			data.addAndGet(base + SUM_MICROS, micros);
+			data.incrementAndGet(base + bucket);
+			if (error) {
+				data.incrementAndGet(base + ERRORS);
+			}
+		}
+
+		WindowStatistics snapshot(String methodName, int seconds, long nowNanos) {
+			long tick = Math.floorDiv(nowNanos, slotNanos);
+			int count = (int) Math.min(slots, (TimeUnit.SECONDS.toNanos(seconds) + slotNanos - 1) / slotNanos);
+			long[] merged = new long[STRIDE];
+
+			for (int i = 0; i < slots; ++i) {
+				long slotTick = ticks.get(i);
+
+				if (slotTick != UNUSED && slotTick > tick - count && slotTick <= tick) {
+					for (int j = 0; j < STRIDE; ++j) {
+						merged[j] += data.get(i * STRIDE + j);
+					}
+				}
+			}
+
+			// The current slot is only partly over
+			double spanSeconds = ((count - 1) * slotNanos + (nowNanos - tick * slotNanos)) / 1e9;
+			long calls = merged[COUNT];
+
+			return new WindowStatistics(methodName, seconds, calls, merged[ERRORS]
+					, spanSeconds > 0.0 ? calls / spanSeconds : 0.0
+					, calls > 0 ? (double) merged[SUM_MICROS] / calls : 0.0
+					, percentile(merged, 50.0), percentile(merged, 99.0));
+		}
+
+		private static long percentile(long[] merged, double percentile) {
+			long total = merged[COUNT];
+
+			if (total == 0) {
+				return 0L;
+			}
+
+			long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+			long seen = 0;
+
+			for (int i = 0; i < BUCKET_COUNT; ++i) {
+				seen += merged[FIRST_BUCKET + i];
+				if (seen >= rank) {
+					return LatencyHistogram.highestEquivalentValue(i, SUB_BUCKET_BITS);
+				}
+			}
+			return MAX_TRACKABLE_MICROS;
+		}
+	}
+}
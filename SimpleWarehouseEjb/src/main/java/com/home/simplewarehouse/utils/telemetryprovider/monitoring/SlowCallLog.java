@@ -0,0 +1,123 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.SlowCall;
+
+/**
+ * Bounded lock free log of the latest slow calls; the oldest are overwritten.
+ */
+public class SlowCallLog {
+	/**
+	 * The default log size
+	 */
+	public static final int DEFAULT_CAPACITY = 128;
+
+	private final int mask;
+	private final AtomicReferenceArray<SlowCall> ring;
+	private final AtomicLong next = new AtomicLong();
+
+	/**
+	 * Create a log of the default size
+	 */
+	public SlowCallLog() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a log
+	 *
+	 * @param capacity the log size, rounded up to a power of two
+	 *
+	 * @throws IllegalArgumentException if the size is out of range
+	 */
+	public SlowCallLog(int capacity) {
+		super();
+
+		if (capacity < 1 || capacity > 1 << 16) {
+			throw new IllegalArgumentException("capacity not in [1, " + (1 << 16) + "]");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.mask = size - 1;
+		this.ring = new AtomicReferenceArray<>(size);
+	}
+
+	/**
+	 * Add a slow call
+	 *
+	 * @param slowCall the slow call
+	 *
+	 * @return the slow call numbered by this log
+	 */
+	public SlowCall add(SlowCall slowCall) {
+		long sequence = next.getAndIncrement();
+		SlowCall numbered = new SlowCall(sequence, slowCall.getTimestampMillis(), slowCall.getThreadName()
+				, slowCall.getDurationMicros(), slowCall.getDroppedSpans(), slowCall.getSpans());
+
+		ring.set((int) (sequence & mask), numbered);
+
+		return numbered;
+	}
+
+	/**
+	 * Gets the number of slow calls added
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return next.get();
+	}
+
+	/**
+	 * Gets the latest slow calls, the newest first
+	 *
+	 * @param offset the number of matching slow calls to skip
+	 * @param count the maximum number of slow calls
+	 * @param methodName only slow calls with a span of a method containing this text; <code>null</code> or empty for
+	 *            all
+	 *
+	 * @return the slow calls
+	 */
+	public List<SlowCall> latest(int offset, int count, String methodName) {
+		List<SlowCall> list = new ArrayList<>();
+		long newest = next.get() - 1;
+		long oldest = Math.max(0L, newest - mask);
+		int skip = Math.max(0, offset);
+
+		for (long sequence = newest; sequence >= oldest && list.size() < count; --sequence) {
+			SlowCall slowCall = ring.get((int) (sequence & mask));
+
+			// Overwritten meanwhile, not yet written or not matching
+			if (slowCall == null || slowCall.getSequence() != sequence || !matches(slowCall, methodName)) {
+				continue;
+			}
+			if (skip > 0) {
+				--skip;
+			}
+			else {
+				list.add(slowCall);
+			}
+		}
+		return list;
+	}
+
+	private static boolean matches(SlowCall slowCall, String methodName) {
+		return methodName == null || methodName.isEmpty()
+				|| slowCall.getSpans().stream().anyMatch(span -> span.getMethodName().contains(methodName));
+	}
+
+	/**
+	 * Forget all slow calls
+	 */
+	public void clear() {
+		for (int i = 0; i <= mask; ++i) {
+			ring.set(i, null);
+		}
+	}
+}
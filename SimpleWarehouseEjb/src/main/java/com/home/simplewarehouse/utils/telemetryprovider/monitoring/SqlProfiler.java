@@ -0,0 +1,130 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.Collection;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.Record;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+
+/**
+ * EclipseLink session profiler handing every SQL statement execution to the {@link StatementRecorder}.
+ * <p>
+ * Installed by the persistence unit property <code>eclipselink.profiler</code>; it does nothing but a flag check
+ * while the recorder is disabled, see {@link StatementRecorder#setEnabled(boolean)}. The state of a thread is
+ * released when its outermost query ends. The execution time is the time of
+ * the JDBC execute. The rows are the rows read or written by the query issuing the statement; queries answered by
+ * the cache issue no statement and are not counted. A statement is named by the SQL text of its query; a query
+ * issuing several statements, e.g. for an inheritance hierarchy, counts all of them under its first SQL text.
+ */
+public class SqlProfiler extends SessionProfilerAdapter {
+	private static final int MAX_DEPTH = 64;
+
+	private final StatementRecorder recorder;
+	private final ThreadLocal<Queries> queries = new ThreadLocal<>();
+
+	/**
+	 * Create a profiler for the shared recorder
+	 */
+	public SqlProfiler() {
+		this(StatementRecorder.getInstance());
+	}
+
+	/**
+	 * Create a profiler
+	 *
+	 * @param recorder the recorder
+	 */
+	SqlProfiler(StatementRecorder recorder) {
+		super();
+		this.recorder = recorder;
+	}
+
+	@Override
+	public void startOperationProfile(String operationName, DatabaseQuery query, int weight) {
+		if (SessionProfiler.StatementExecute.equals(operationName)) {
+			recorder.statementStarted();
+		}
+	}
+
+	@Override
+	public void endOperationProfile(String operationName, DatabaseQuery query, int weight) {
+		if (SessionProfiler.StatementExecute.equals(operationName)) {
+			StatementRecorder.Executions executions = recorder.statementEnded(query == null ? null
+					: query.getSQLString());
+			Queries running = queries.get();
+
+			// The first statement of the innermost running query is the statement of that query
+			if (executions != null && running != null && running.depth > 0 && running.depth <= MAX_DEPTH && running.first[running.depth - 1] == null) {
+				running.first[running.depth - 1] = executions;
+			}
+		}
+	}
+
+	@Override
+	public Object profileExecutionOfQuery(DatabaseQuery query, Record row, AbstractSession session) {
+		Queries running = queries.get();
+
+		if (running == null) {
+			if (!recorder.isEnabled()) {
+				return super.profileExecutionOfQuery(query, row, session);
+			}
+			running = new Queries();
+			queries.set(running);
+		}
+		Object result = null;
+
+		if (++running.depth <= MAX_DEPTH) {
+			running.first[running.depth - 1] = null;
+		}
+		try {
+			result = super.profileExecutionOfQuery(query, row, session);
+
+			return result;
+		}
+		finally {
+			StatementRecorder.Executions executions = null;
+
+			if (running.depth <= MAX_DEPTH) {
+				executions = running.first[running.depth - 1];
+				running.first[running.depth - 1] = null;
+			}
+			if (--running.depth == 0) {
+				queries.remove();
+			}
+			if (executions != null) {
+				executions.addRows(rows(query, result));
+			}
+		}
+	}
+
+	/**
+	 * Gets the rows read or written by a query
+	 *
+	 * @param query the query
+	 * @param result the query result
+	 *
+	 * @return the number of rows
+	 */
+	static long rows(DatabaseQuery query, Object result) {
+		if (result == null) {
+			return 0L;
+		}
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		if (result instanceof Number && query.isModifyQuery()) {
+			return ((Number) result).longValue();
+		}
+		return 1L;
+	}
+
+	/**
+	 * The nested queries running on one thread with their first statement
+	 */
+	private static final class Queries {
+		private final StatementRecorder.Executions[] first = new StatementRecorder.Executions[MAX_DEPTH];
+		private int depth;
+	}
+}
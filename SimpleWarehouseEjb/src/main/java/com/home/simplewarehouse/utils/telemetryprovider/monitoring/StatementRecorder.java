@@ -0,0 +1,453 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatementStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.StatementStatistics;
+
+/**
+ * Aggregates the executed SQL statements per normalized SQL text and per calling method.
+ * <p>
+ * The {@link SqlProfiler} reports every statement execution of the persistence unit; the {@link PerformanceAuditor}
+ * reports the intercepted calls of the thread. A statement is attributed to the innermost intercepted call. Each
+ * call counts the statements issued by itself and its nested calls; a call above the statements per call threshold
+ * is flagged as N+1 suspect. The threshold is taken from the system property
+ * <code>simplewarehouse.statementsPerCallThreshold</code>, 20 by default.
+ * <p>
+ * A recorder is disabled when created and does nothing until it is enabled. The state of a thread is only kept
+ * while an intercepted call or a statement of the thread is running, so no state stays on pooled threads.
+ */
+public class StatementRecorder {
+	/**
+	 * The default number of distinct statements per method counted
+	 */
+	public static final int DEFAULT_MAX_STATEMENTS = 1000;
+	/**
+	 * The method name of statements outside of intercepted calls
+	 */
+	public static final String NO_METHOD = "<none>";
+	/**
+	 * The mark of a call entered while the recorder is disabled
+	 */
+	public static final long NOT_RECORDED = -1L;
+
+	private static final int MAX_DEPTH = 64;
+	private static final int MAX_NORMALIZED = 4096;
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+	private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private static final StatementRecorder INSTANCE = new StatementRecorder(DEFAULT_MAX_STATEMENTS
+			, Integer.getInteger("simplewarehouse.statementsPerCallThreshold", 20));
+
+	private final int maxStatements;
+	private final ConcurrentHashMap<String, Executions> executions = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Calls> methods = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, String> normalized = new ConcurrentHashMap<>();
+	private final AtomicLong untracked = new AtomicLong();
+	private final ThreadLocal<Context> contexts = new ThreadLocal<>();
+
+	private volatile int statementsPerCallThreshold;
+	private volatile boolean enabled;
+
+	/**
+	 * Create a recorder
+	 *
+	 * @param maxStatements the number of distinct statements per method counted; further ones are counted together
+	 * @param statementsPerCallThreshold the number of statements per call above which a call is flagged
+	 *
+	 * @throws IllegalArgumentException if a value is less than 1
+	 */
+	StatementRecorder(int maxStatements, int statementsPerCallThreshold) {
+		super();
+
+		if (maxStatements < 1) {
+			throw new IllegalArgumentException("maxStatements < 1");
+		}
+		this.maxStatements = maxStatements;
+		setStatementsPerCallThreshold(statementsPerCallThreshold);
+	}
+
+	/**
+	 * Gets the recorder shared by the profiler, the interceptor and the monitoring
+	 *
+	 * @return the recorder
+	 */
+	public static StatementRecorder getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Gets the number of statements per call above which a call is flagged as N+1 suspect
+	 *
+	 * @return the threshold
+	 */
+	public int getStatementsPerCallThreshold() {
+		return statementsPerCallThreshold;
+	}
+
+	/**
+	 * Sets the number of statements per call above which a call is flagged as N+1 suspect
+	 *
+	 * @param threshold the threshold
+	 *
+	 * @throws IllegalArgumentException if the threshold is less than 1
+	 */
+	public void setStatementsPerCallThreshold(int threshold) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("threshold < 1");
+		}
+		this.statementsPerCallThreshold = threshold;
+	}
+
+	/**
+	 * Gets if statements and calls are recorded
+	 *
+	 * @return true if enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enable or disable the recording of statements and calls; calls and statements already running are completed
+	 *
+	 * @param enabled true to enable
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Enter an intercepted call
+	 *
+	 * @param methodName the method name
+	 *
+	 * @return the mark to hand to {@link #exit(String, long)}; {@link #NOT_RECORDED} if the recorder is disabled
+	 */
+	public long enter(String methodName) {
+		if (!enabled) {
+			return NOT_RECORDED;
+		}
+		Context context = context();
+
+		if (context.depth < MAX_DEPTH) {
+			context.methods[context.depth] = methodName;
+		}
+		++context.depth;
+
+		return context.statements;
+	}
+
+	/**
+	 * Exit an intercepted call
+	 *
+	 * @param methodName the method name
+	 * @param mark the mark given by {@link #enter(String)}
+	 */
+	public void exit(String methodName, long mark) {
+		Context context = contexts.get();
+
+		if (mark == NOT_RECORDED || context == null) {
+			return;
+		}
+		if (context.depth > 0) {
+			--context.depth;
+			if (context.depth < MAX_DEPTH) {
+				context.methods[context.depth] = null;
+			}
+		}
+		if (context.depth == 0) {
+			contexts.remove();
+		}
+		methods.computeIfAbsent(methodName, key -> new Calls()).add(context.statements - mark
+				, statementsPerCallThreshold);
+	}
+
+	/**
+	 * A statement execution of the current thread starts
+	 */
+	public void statementStarted() {
+		if (enabled) {
+			context().start = System.nanoTime();
+		}
+	}
+
+	/**
+	 * A statement execution of the current thread ends
+	 *
+	 * @param sql the SQL text as executed
+	 *
+	 * @return the executions of the statement to add the rows to; <code>null</code> if not counted
+	 */
+	public Executions statementEnded(String sql) {
+		Context context = contexts.get();
+
+		if (!enabled) {
+			if (context != null && context.depth == 0) {
+				contexts.remove();
+			}
+			return null;
+		}
+		if (context == null) {
+			context = context();
+		}
+		long nanos = context.start == 0L ? 0L : System.nanoTime() - context.start;
+
+		context.start = 0L;
+		++context.statements;
+
+		String methodName = context.depth == 0 ? NO_METHOD
+				: context.methods[Math.min(context.depth, MAX_DEPTH) - 1];
+
+		if (context.depth == 0) {
+			contexts.remove();
+		}
+		String text = normalizeCached(sql);
+		String key = methodName + '\n' + text;
+		Executions statement = executions.get(key);
+
+		if (statement == null && executions.size() < maxStatements) {
+			statement = executions.computeIfAbsent(key, k -> new Executions(text, methodName));
+		}
+		if (statement == null) {
+			untracked.incrementAndGet();
+		}
+		else {
+			statement.add(nanos);
+		}
+		return statement;
+	}
+
+	/**
+	 * Gets if the current thread has state in this recorder
+	 *
+	 * @return true if a call or a statement of the thread is running
+	 */
+	boolean isThreadTracked() {
+		return contexts.get() != null;
+	}
+
+	/**
+	 * Gets the number of executions not counted because there were too many distinct statements
+	 *
+	 * @return the count
+	 */
+	public long getUntracked() {
+		return untracked.get();
+	}
+
+	/**
+	 * Gets a page of the statements per calling method, the highest total time first
+	 *
+	 * @param offset the number of statements to skip
+	 * @param count the maximum number of statements
+	 * @param methodName only statements of methods containing this text; <code>null</code> or empty for all
+	 *
+	 * @return the statements
+	 */
+	public List<StatementStatistics> statements(int offset, int count, String methodName) {
+		return page(executions.values().stream()
+				.filter(statement -> methodName == null || methodName.isEmpty()
+						|| statement.methodName.contains(methodName))
+				.map(Executions::toStatistics), offset, count);
+	}
+
+	/**
+	 * Gets a page of the statements of all methods together, the highest total time first
+	 *
+	 * @param offset the number of statements to skip
+	 * @param count the maximum number of statements
+	 *
+	 * @return the statements
+	 */
+	public List<StatementStatistics> statementsBySql(int offset, int count) {
+		Map<String, long[]> bySql = new TreeMap<>();
+
+		executions.values().forEach(statement -> {
+			long[] sum = bySql.computeIfAbsent(statement.sql, key -> new long[4]);
+			sum[0] += statement.count.sum();
+			sum[1] += statement.rows.sum();
+			sum[2] += statement.nanos.sum();
+			sum[3] = Math.max(sum[3], statement.maxNanos.get());
+		});
+
+		return page(bySql.entrySet().stream().map(entry -> new StatementStatistics(entry.getKey(), null
+				, entry.getValue()[0], entry.getValue()[1], micros(entry.getValue()[2]), micros(entry.getValue()[3])))
+				, offset, count);
+	}
+
+	private static List<StatementStatistics> page(Stream<StatementStatistics> statements, int offset, int count) {
+		return statements.sorted(Comparator.comparingLong(StatementStatistics::getTotalMicros).reversed()
+				.thenComparing(StatementStatistics::getSql))
+				.skip(Math.max(0, offset)).limit(Math.max(0, count)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Gets a page of the methods issuing statements, the most statements per call first
+	 *
+	 * @param offset the number of methods to skip
+	 * @param count the maximum number of methods
+	 * @param flaggedOnly only methods with calls above the statements per call threshold
+	 *
+	 * @return the methods
+	 */
+	public List<MethodStatementStatistics> methods(int offset, int count, boolean flaggedOnly) {
+		List<MethodStatementStatistics> list = new ArrayList<>();
+
+		methods.forEach((methodName, calls) -> {
+			MethodStatementStatistics statistics = calls.toStatistics(methodName);
+
+			if (statistics.getStatements() > 0 && (!flaggedOnly || statistics.getFlaggedCalls() > 0)) {
+				list.add(statistics);
+			}
+		});
+
+		return list.stream()
+				.sorted(Comparator.comparingLong(MethodStatementStatistics::getMaxStatementsPerCall).reversed()
+						.thenComparing(MethodStatementStatistics::getMethodName))
+				.skip(Math.max(0, offset)).limit(Math.max(0, count)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Forget all statements and calls
+	 */
+	public void clear() {
+		executions.clear();
+		methods.clear();
+		untracked.set(0);
+		normalized.clear();
+	}
+
+	private Context context() {
+		Context context = contexts.get();
+
+		if (context == null) {
+			context = new Context();
+			contexts.set(context);
+		}
+		return context;
+	}
+
+	private String normalizeCached(String sql) {
+		if (sql == null) {
+			return "";
+		}
+		String text = normalized.get(sql);
+
+		if (text == null) {
+			text = normalize(sql);
+			if (normalized.size() < MAX_NORMALIZED) {
+				normalized.put(sql, text);
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * Normalize an SQL text: literals become <code>?</code>, parameter lists one <code>?</code> and the white space
+	 * single blanks
+	 *
+	 * @param sql the SQL text
+	 *
+	 * @return the normalized text
+	 */
+	static String normalize(String sql) {
+		String text = STRING_LITERAL.matcher(sql).replaceAll("?");
+		text = NUMBER_LITERAL.matcher(text).replaceAll("?");
+		text = PARAMETER_LIST.matcher(text).replaceAll("(?)");
+
+		return WHITESPACE.matcher(text).replaceAll(" ").trim();
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+	/**
+	 * The intercepted calls and the statements of one thread
+	 */
+	private static final class Context {
+		private final String[] methods = new String[MAX_DEPTH];
+		private int depth;
+		private long statements;
+		private long start;
+	}
+
+	/**
+	 * The executions of a normalized statement by a method
+	 */
+	public static final class Executions {
+		private final String sql;
+		private final String methodName;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder rows = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private Executions(String sql, String methodName) {
+			this.sql = sql;
+			this.methodName = methodName;
+		}
+
+		private void add(long duration) {
+			count.increment();
+			nanos.add(duration);
+			maxNanos.accumulateAndGet(duration, Math::max);
+		}
+
+		/**
+		 * Add the rows read or written by an execution
+		 *
+		 * @param processed the number of rows
+		 */
+		public void addRows(long processed) {
+			rows.add(processed);
+		}
+
+		private StatementStatistics toStatistics() {
+			return new StatementStatistics(sql, methodName, count.sum(), rows.sum(), micros(nanos.sum())
+					, micros(maxNanos.get()));
+		}
+	}
+
+	/**
+	 * The calls of a method and their statements
+	 */
+	private static final class Calls {
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder statements = new LongAdder();
+		private final AtomicLong maxStatements = new AtomicLong();
+		private final LongAdder flagged = new LongAdder();
+		private volatile long lastFlaggedMillis;
+
+		private void add(long issued, int threshold) {
+			calls.increment();
+			if (issued > 0) {
+				statements.add(issued);
+				maxStatements.accumulateAndGet(issued, Math::max);
+			}
+			if (issued > threshold) {
+				flagged.increment();
+				lastFlaggedMillis = System.currentTimeMillis();
+			}
+		}
+
+		private MethodStatementStatistics toStatistics(String methodName) {
+			return new MethodStatementStatistics(methodName, calls.sum(), statements.sum(), maxStatements.get()
+					, flagged.sum(), lastFlaggedMillis);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import javax.persistence.DiscriminatorValue;
+
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+
+/**
+ * Flight Recorder event of a warehouse operation: drop, pick, assign, remove, move or capacity check.
+ * <p>
+ * The duration is given by {@link #start(String)} and {@link #end(Location, HandlingUnit)}. The event is only
+ * created if a recording runs with this event enabled and the Flight Recorder API is present; otherwise a shared
+ * instance doing nothing is returned. The ids and the location type are only read if the event is recorded, so an
+ * operation costs next to nothing while no recording runs.
+ */
+public class WarehouseOperationEvent {
+	/**
+	 * Drop a HandlingUnit to a Location
+	 */
+	public static final String DROP = "DROP";
+	/**
+	 * Pick a HandlingUnit from a Location
+	 */
+	public static final String PICK = "PICK";
+	/**
+	 * Assign a HandlingUnit to a base HandlingUnit
+	 */
+	public static final String ASSIGN = "ASSIGN";
+	/**
+	 * Remove a HandlingUnit from its base HandlingUnit
+	 */
+	public static final String REMOVE = "REMOVE";
+	/**
+	 * Move a HandlingUnit to a destination HandlingUnit
+	 */
+	public static final String MOVE = "MOVE";
+	/**
+	 * Check if a HandlingUnit fits on a Location
+	 */
+	public static final String CHECK_CAPACITY = "CHECK_CAPACITY";
+	/**
+	 * The outcome of an operation ended without exception
+	 */
+	public static final String OK = "OK";
+
+	/**
+	 * The event doing nothing
+	 */
+	static final WarehouseOperationEvent NONE = new WarehouseOperationEvent();
+
+	/**
+	 * Create the event; use {@link #start(String)}
+	 */
+	WarehouseOperationEvent() {
+		super();
+	}
+
+	/**
+	 * Create the event of an operation and start timing
+	 *
+	 * @param operation the operation, e.g. {@link #DROP}
+	 *
+	 * @return the event
+	 */
+	public static WarehouseOperationEvent start(String operation) {
+		return FlightRecorderSupport.isAvailable() ? FlightRecorderEvents.startWarehouseOperation(operation) : NONE;
+	}
+
+	/**
+	 * Set the outcome of the operation; the default is {@link #OK}
+	 *
+	 * @param outcome the outcome
+	 */
+	public void setOutcome(String outcome) {
+		// Not recorded
+	}
+
+	/**
+	 * Set the outcome of an operation ended by an exception
+	 *
+	 * @param exception the exception
+	 */
+	public void failed(Throwable exception) {
+		// Not recorded
+	}
+
+	/**
+	 * Stop timing and commit the event if recorded
+	 *
+	 * @param location the Location of the operation; the Location of the HandlingUnit if <code>null</code>
+	 * @param handlingUnit the HandlingUnit of the operation, may be <code>null</code>
+	 */
+	public void end(Location location, HandlingUnit handlingUnit) {
+		// Not recorded
+	}
+
+	/**
+	 * Gets the type of a Location as stored
+	 *
+	 * @param location the Location
+	 *
+	 * @return FIFO, LIFO, RANDOM or <code>null</code>
+	 */
+	static String locationType(Location location) {
+		if (location == null) {
+			return null;
+		}
+		DiscriminatorValue type = location.getClass().getAnnotation(DiscriminatorValue.class);
+
+		return type == null ? location.getClass().getSimpleName() : type.value();
+	}
+}
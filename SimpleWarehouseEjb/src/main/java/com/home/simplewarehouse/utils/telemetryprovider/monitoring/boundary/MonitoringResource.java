@@ -1,15 +1,18 @@
 package com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary;
 
 import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -18,7 +21,9 @@ import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import javax.ejb.ConcurrencyManagement;
 import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
 import javax.ejb.LocalBean;
+import javax.ejb.Schedule;
 import javax.ejb.SessionContext;
 import javax.ejb.Singleton;
 import javax.ejb.Startup;
@@ -31,15 +36,38 @@ import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
-
+import javax.ws.rs.core.StreamingOutput;
+
+import com.home.simplewarehouse.utils.configurator.base.Configurator;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.CallTracer;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.DiagnosticCounters;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.ExceptionRecorder;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.FlightRecording;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.LatencyHistogram;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.OpenMetricsWriter;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.SlidingWindowMetrics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.SlowCallLog;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.StatementRecorder;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Diagnostics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionFingerprint;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionRecord;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionStatistics;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Invocation;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatementStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.RecordingStatus;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.SlowCall;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.StatementStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.WindowStatistics;
 
 /**
  * The Monitoring Resource 
@@ -52,18 +80,29 @@ import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Invoca
 public class MonitoringResource implements MonitoringResourceMXBean {
 
 	private static final int MAX_RESULT_DEFAULT = 50;
+	private static final int LIVE_SECONDS_DEFAULT = 10;
 	
     private MBeanServer platformMBeanServer;
     private ObjectName objectName = null;
 
-    private ConcurrentHashMap<String, Invocation> methods = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<String, LatencyHistogram> methods = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<String, SlidingWindowMetrics> windows = new ConcurrentHashMap<>();
     private ConcurrentHashMap<String, String> diagnostics = new ConcurrentHashMap<>();
-    private CopyOnWriteArrayList<String> exceptions = new CopyOnWriteArrayList<>();
+    private ExceptionRecorder exceptions = new ExceptionRecorder();
+    private SlowCallLog slowCalls = new SlowCallLog();
+    private FlightRecording recording = new FlightRecording();
+    private StatementRecorder statements = StatementRecorder.getInstance();
+    private DiagnosticCounters counters = DiagnosticCounters.getInstance();
     private ConcurrentHashMap<String, AtomicInteger> exceptionStatistics = new ConcurrentHashMap<>();
     private AtomicLong exceptionCount;
+    private ConcurrentHashMap<String, Double> samples = new ConcurrentHashMap<>();
+    private volatile byte[] metrics = null;
 
     @Resource
     private SessionContext sc;
+
+    @EJB
+    private Configurator configurator;
     
     /**
      * Create this Monitoring Resource
@@ -77,7 +116,10 @@ public class MonitoringResource implements MonitoringResourceMXBean {
     @Path("slowestMethods/{max}")
     @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     public List<Invocation> getSlowestMethods(@PathParam("max") int maxResult) {
-    	List<Invocation> list = new ArrayList<>(methods.values());
+    	List<Invocation> list = new ArrayList<>();
+
+    	methods.forEach((methodName, histogram) -> list.add(new Invocation(methodName
+    			, TimeUnit.NANOSECONDS.toMillis(histogram.getMaxNanos()))));
 
     	Collections.sort(list);
     	Collections.reverse(list);
@@ -106,6 +148,88 @@ public class MonitoringResource implements MonitoringResourceMXBean {
 		return getSlowestMethods(MAX_RESULT_DEFAULT);
 	}
 
+	@Override
+	@GET
+	@Path("methods")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<MethodStatistics> getMethodStatistics() {
+		List<MethodStatistics> list = new ArrayList<>();
+
+		methods.forEach((methodName, histogram) -> list.add(histogram.snapshot(methodName)));
+
+		// The methods with the most time spent first
+		list.sort(Comparator.comparingDouble((MethodStatistics stat) -> stat.getCount() * stat.getMeanMicros())
+				.reversed());
+
+		return list;
+	}
+
+	@Override
+	@GET
+	@Path("methods/{max}")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<MethodStatistics> getMethodStatistics(@PathParam("max") int maxResult) {
+		List<MethodStatistics> list = getMethodStatistics();
+
+		if (maxResult <= 0) {
+			maxResult = MAX_RESULT_DEFAULT;
+		}
+		return list.size() > maxResult ? list.subList(0, maxResult) : list;
+	}
+
+	@Override
+	@DELETE
+	@Path("methods")
+	public void resetMethodStatistics() {
+		methods.values().forEach(LatencyHistogram::reset);
+	}
+
+	@Override
+	@GET
+	@Path("live")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<WindowStatistics> getLive() {
+		return getLive(LIVE_SECONDS_DEFAULT);
+	}
+
+	@Override
+	@GET
+	@Path("live/{seconds}")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<WindowStatistics> getLive(@PathParam("seconds") int seconds) {
+		int window = Math.max(1, Math.min(seconds, SlidingWindowMetrics.MAX_WINDOW_SECONDS));
+		long now = System.nanoTime();
+		List<WindowStatistics> list = new ArrayList<>();
+
+		windows.forEach((methodName, metrics) -> {
+			WindowStatistics statistics = metrics.snapshot(methodName, window, now);
+
+			if (statistics.getCount() > 0) {
+				list.add(statistics);
+			}
+		});
+
+		// The busiest methods first
+		list.sort(Comparator.comparingDouble(WindowStatistics::getCallsPerSecond).reversed());
+
+		return list;
+	}
+
+	@Override
+	public List<WindowStatistics> getLiveLast10Seconds() {
+		return getLive(10);
+	}
+
+	@Override
+	public List<WindowStatistics> getLiveLast1Minute() {
+		return getLive(60);
+	}
+
+	@Override
+	public List<WindowStatistics> getLiveLast5Minutes() {
+		return getLive(300);
+	}
+
 	@Override
 	public Map<String, String> getDiagnostics() {
 		return diagnostics;
@@ -126,14 +250,163 @@ public class MonitoringResource implements MonitoringResourceMXBean {
 	public String getExceptions() {
 		StringBuilder message = new StringBuilder();
 
-		for (int i = exceptions.size()-1; i >= 0; i--) {
-			message.append(exceptions.get(i));
+		for (ExceptionRecord exceptionRecord : exceptions.records(0, ExceptionRecorder.DEFAULT_CAPACITY, null, null)) {
+			message.append(exceptionRecord);
 			message.append("\n");
 		}
 
 		return message.toString();
 	}
 
+	@Override
+	@GET
+	@Path("exceptionRecords")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<ExceptionRecord> getExceptionRecords(@QueryParam("offset") @DefaultValue("0") int offset
+			, @QueryParam("count") @DefaultValue("" + MAX_RESULT_DEFAULT) int count
+			, @QueryParam("method") String methodName, @QueryParam("exceptionClass") String exceptionClass) {
+		return exceptions.records(offset, count > 0 ? count : MAX_RESULT_DEFAULT, methodName, exceptionClass);
+	}
+
+	@Override
+	public List<ExceptionFingerprint> getExceptionFingerprints() {
+		return getExceptionFingerprints(0, MAX_RESULT_DEFAULT);
+	}
+
+	@Override
+	@GET
+	@Path("exceptionFingerprints")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<ExceptionFingerprint> getExceptionFingerprints(@QueryParam("offset") @DefaultValue("0") int offset
+			, @QueryParam("count") @DefaultValue("" + MAX_RESULT_DEFAULT) int count) {
+		return exceptions.fingerprints(offset, count > 0 ? count : MAX_RESULT_DEFAULT);
+	}
+
+	@Override
+	public void setExceptionSampling(long sampleAfter, long sampleEvery) {
+		exceptions.setSampling(sampleAfter, sampleEvery);
+	}
+
+	@Override
+	public List<SlowCall> getSlowCalls() {
+		return getSlowCalls(0, MAX_RESULT_DEFAULT, null);
+	}
+
+	@Override
+	@GET
+	@Path("slowCalls")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<SlowCall> getSlowCalls(@QueryParam("offset") @DefaultValue("0") int offset
+			, @QueryParam("count") @DefaultValue("" + MAX_RESULT_DEFAULT) int count
+			, @QueryParam("method") String methodName) {
+		return slowCalls.latest(offset, count > 0 ? count : MAX_RESULT_DEFAULT, methodName);
+	}
+
+	@Override
+	public long getSlowCallThresholdMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(CallTracer.getSlowCallThresholdNanos());
+	}
+
+	@Override
+	public void setSlowCallThresholdMillis(long millis) {
+		CallTracer.setSlowCallThresholdNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+	/**
+	 * Keep a root call above the slow call threshold with its call tree
+	 * 
+	 * @param slowCall the slow call
+	 */
+	public void slowCallOccurred(SlowCall slowCall) {
+		slowCalls.add(slowCall);
+	}
+
+	@Override
+	public List<StatementStatistics> getStatements() {
+		return getStatements(0, MAX_RESULT_DEFAULT, null);
+	}
+
+	@Override
+	@GET
+	@Path("statements")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<StatementStatistics> getStatements(@QueryParam("offset") @DefaultValue("0") int offset
+			, @QueryParam("count") @DefaultValue("" + MAX_RESULT_DEFAULT) int count
+			, @QueryParam("method") String methodName) {
+		return statements.statements(offset, count > 0 ? count : MAX_RESULT_DEFAULT, methodName);
+	}
+
+	@Override
+	@GET
+	@Path("statements/sql")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<StatementStatistics> getStatementsBySql(@QueryParam("offset") @DefaultValue("0") int offset
+			, @QueryParam("count") @DefaultValue("" + MAX_RESULT_DEFAULT) int count) {
+		return statements.statementsBySql(offset, count > 0 ? count : MAX_RESULT_DEFAULT);
+	}
+
+	@Override
+	@GET
+	@Path("statements/methods")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<MethodStatementStatistics> getStatementsPerMethod(@QueryParam("offset") @DefaultValue("0") int offset
+			, @QueryParam("count") @DefaultValue("" + MAX_RESULT_DEFAULT) int count) {
+		return statements.methods(offset, count > 0 ? count : MAX_RESULT_DEFAULT, false);
+	}
+
+	@Override
+	@GET
+	@Path("statements/suspects")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public List<MethodStatementStatistics> getNPlusOneSuspects() {
+		return statements.methods(0, Integer.MAX_VALUE, true);
+	}
+
+	@Override
+	public int getStatementsPerCallThreshold() {
+		return statements.getStatementsPerCallThreshold();
+	}
+
+	@Override
+	public void setStatementsPerCallThreshold(int threshold) {
+		statements.setStatementsPerCallThreshold(threshold);
+	}
+
+	@Override
+	public boolean isSqlProfiling() {
+		return statements.isEnabled();
+	}
+
+	@Override
+	public void setSqlProfiling(boolean enabled) {
+		statements.setEnabled(enabled);
+	}
+
+	@Override
+	@GET
+	@Path("recording")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public RecordingStatus getRecordingStatus() {
+		return recording.getStatus();
+	}
+
+	@Override
+	@POST
+	@Path("recording")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public RecordingStatus startRecording(@QueryParam("settings") @DefaultValue(FlightRecording.DEFAULT_SETTINGS)
+			String settings) {
+		return recording.start(settings);
+	}
+
+	@Override
+	@DELETE
+	@Path("recording")
+	@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+	public RecordingStatus stopRecording() {
+		return recording.stop();
+	}
+
 	@Override
 	@GET
 	@Path("exceptionStatistics")
@@ -190,33 +463,26 @@ public class MonitoringResource implements MonitoringResourceMXBean {
 	}
 
 	/**
-	 * Add an invocation
+	 * Record an invocation in the latency histogram and the rolling windows of the method
 	 * 
-	 * @param invocation the invocation
+	 * @param methodName the method name
+	 * @param nanos the latency in nanoseconds
+	 * @param failed true if the invocation ended by an exception
 	 */
-	public void add(Invocation invocation) {
-		String methodName = invocation.getMethodName();
+	public void record(String methodName, long nanos, boolean failed) {
+		LatencyHistogram histogram = methods.get(methodName);
 
-		if (methods.containsKey(methodName)) {
-			Invocation existing = methods.get(methodName);
-			if (existing.isSlowerThan(invocation)) {
-				return;
-			}
+		if (histogram == null) {
+			histogram = methods.computeIfAbsent(methodName, name -> new LatencyHistogram());
 		}
+		histogram.record(nanos, failed);
 
-		methods.put(methodName, invocation);
-	}
-
-	/**
-	 * Adds an Invocation to this Monitor Resource
-	 * 
-	 * @param methodName the method name
-	 * @param performance the methods performance
-	 */
-	public void add(String methodName, long performance) {
-		Invocation invocation = new Invocation(methodName, performance);
+		SlidingWindowMetrics window = windows.get(methodName);
 
-		this.add(invocation);
+		if (window == null) {
+			window = windows.computeIfAbsent(methodName, name -> new SlidingWindowMetrics());
+		}
+		window.record(System.nanoTime(), nanos, failed);
 	}
 
 	/**
@@ -227,23 +493,24 @@ public class MonitoringResource implements MonitoringResourceMXBean {
 	 */
 	public void exceptionOccurred(String methodName, Exception e) {
 		exceptionCount.incrementAndGet();
-		final String exception = e.toString();
-		exceptions.add(exception + "-->" + methodName);
+		exceptions.record(methodName, e);
 
-		if (exceptionStatistics.containsKey(methodName)) {
-			exceptionStatistics.get(methodName).incrementAndGet();
-		}
-		else {
-			exceptionStatistics.put(methodName, new AtomicInteger(1));
+		AtomicInteger count = exceptionStatistics.get(methodName);
+
+		if (count == null) {
+			count = exceptionStatistics.computeIfAbsent(methodName, name -> new AtomicInteger());
 		}
+		count.incrementAndGet();
 	}
 
     /**
-     * Register the Monitoring Resource in JMX
+     * Register the Monitoring Resource in JMX; the SQL statements are recorded if the configuration entry
+     * <code>SqlProfiling</code> is <code>UP</code>
      */
     @PostConstruct
     public void registerInJMX() {
         this.exceptionCount = new AtomicLong();
+        statements.setEnabled(configurator.getEntry("SqlProfiling", "DOWN").equals("UP"));
         try {
             objectName = new ObjectName("SimpleWarehouseMonitoring:type=" + this.getClass().getName());
             platformMBeanServer = ManagementFactory.getPlatformMBeanServer();
@@ -264,26 +531,167 @@ public class MonitoringResource implements MonitoringResourceMXBean {
         Map<String, String> map = diagnostics.asMap();
 
         if (map != null) {
-            this.diagnostics.putAll(map);
+            map.forEach(this::putDiagnostic);
+        }
+    }
+
+    /**
+     * Keep a diagnostic; a new key above the bound of distinct keys is dropped
+     * 
+     * @param key the key
+     * @param value the value
+     */
+    private void putDiagnostic(String key, String value) {
+        if (diagnostics.containsKey(key) || diagnostics.size() < counters.getMaxKeys()) {
+            diagnostics.put(key, value);
         }
     }
 
+	/**
+	 * Publish the diagnostic counters as diagnostics and samples timer controlled
+	 */
+	@Schedule(hour="*", minute="*", second="*/5", persistent = false)
+	public void publishDiagnostics() {
+		counters.counters().forEach(counter -> {
+			long sum = counter.sum();
+
+			putDiagnostic(counter.getKey(), String.valueOf(sum));
+			if (counter.getSampleName() != null) {
+				samples.put(counter.getSampleName(), (double) sum);
+			}
+		});
+	}
+
+    /**
+     * Listen on new Samples and keep their latest values
+     * 
+     * @param samples the Samples
+     */
+    public void onNewSamples(@Observes Samples samples) {
+        Map<String, Double> map = samples.asMap();
+
+        if (map != null) {
+            this.samples.putAll(map);
+        }
+    }
+
+	/**
+	 * Gets all telemetry in the OpenMetrics text format.<br>
+	 * The text is the latest snapshot; a scrape never touches the recording.
+	 * 
+	 * @return the text streamed from the snapshot
+	 */
+	@GET
+	@Path("metrics")
+	@Produces(OpenMetricsWriter.CONTENT_TYPE)
+	public StreamingOutput getMetrics() {
+		byte[] snapshot = metrics;
+
+		if (snapshot == null) {
+			snapshot = buildMetrics();
+		}
+		final byte[] text = snapshot;
+
+		return output -> output.write(text);
+	}
+
+	/**
+	 * Build a new snapshot of all telemetry in the OpenMetrics text format timer controlled
+	 */
+	@Schedule(hour="*", minute="*", second="*/10", persistent = false)
+	public void refreshMetrics() {
+		buildMetrics();
+	}
+
+	private byte[] buildMetrics() {
+		OpenMetricsWriter writer = new OpenMetricsWriter();
+		List<MethodStatistics> statistics = new ArrayList<>();
+
+		methods.forEach((methodName, histogram) -> statistics.add(histogram.snapshot(methodName)));
+		statistics.sort(Comparator.comparing(MethodStatistics::getMethodName));
+
+		writer.family("simplewarehouse_method_calls", "counter", "Intercepted EJB method calls");
+		statistics.forEach(stat -> writer.sample("simplewarehouse_method_calls_total", stat.getCount()
+				, "method", stat.getMethodName()));
+		writer.family("simplewarehouse_method_errors", "counter", "Intercepted EJB method calls ended by an exception");
+		statistics.forEach(stat -> writer.sample("simplewarehouse_method_errors_total", stat.getErrors()
+				, "method", stat.getMethodName()));
+		writer.family("simplewarehouse_method_latency_seconds", "summary"
+				, "Latency of the intercepted EJB method calls since the last reset");
+		statistics.forEach(stat -> {
+			writer.sample("simplewarehouse_method_latency_seconds", stat.getP50Micros() / 1e6
+					, "method", stat.getMethodName(), "quantile", "0.5");
+			writer.sample("simplewarehouse_method_latency_seconds", stat.getP90Micros() / 1e6
+					, "method", stat.getMethodName(), "quantile", "0.9");
+			writer.sample("simplewarehouse_method_latency_seconds", stat.getP99Micros() / 1e6
+					, "method", stat.getMethodName(), "quantile", "0.99");
+			writer.sample("simplewarehouse_method_latency_seconds", stat.getP999Micros() / 1e6
+					, "method", stat.getMethodName(), "quantile", "0.999");
+			writer.sample("simplewarehouse_method_latency_seconds_sum"
+					, stat.getCount() * stat.getMeanMicros() / 1e6, "method", stat.getMethodName());
+			writer.sample("simplewarehouse_method_latency_seconds_count", stat.getCount()
+					, "method", stat.getMethodName());
+		});
+		writer.family("simplewarehouse_method_latency_max_seconds", "gauge"
+				, "Highest latency of the intercepted EJB method calls since the last reset");
+		statistics.forEach(stat -> writer.sample("simplewarehouse_method_latency_max_seconds"
+				, stat.getMaxMicros() / 1e6, "method", stat.getMethodName()));
+
+		writer.family("simplewarehouse_exceptions", "counter", "Exceptions of the intercepted EJB methods");
+		writer.sample("simplewarehouse_exceptions_total", exceptionCount.get());
+		writer.family("simplewarehouse_method_exceptions", "counter", "Exceptions per intercepted EJB method");
+		new TreeMap<>(exceptionStatistics).forEach((methodName, count) -> writer.sample(
+				"simplewarehouse_method_exceptions_total", count.get(), "method", methodName));
+
+		writer.family("simplewarehouse_slow_calls", "counter", "Root calls above the slow call threshold");
+		writer.sample("simplewarehouse_slow_calls_total", slowCalls.getCount());
+
+		List<MethodStatementStatistics> statementStatistics = statements.methods(0, Integer.MAX_VALUE, false);
+		statementStatistics.sort(Comparator.comparing(MethodStatementStatistics::getMethodName));
+		writer.family("simplewarehouse_method_sql_statements", "counter"
+				, "SQL statements issued by the intercepted EJB method calls including the nested calls");
+		statementStatistics.forEach(stat -> writer.sample("simplewarehouse_method_sql_statements_total"
+				, stat.getStatements(), "method", stat.getMethodName()));
+		writer.family("simplewarehouse_method_sql_flagged_calls", "counter"
+				, "Calls above the SQL statements per call threshold");
+		statementStatistics.forEach(stat -> writer.sample("simplewarehouse_method_sql_flagged_calls_total"
+				, stat.getFlaggedCalls(), "method", stat.getMethodName()));
+
+		writer.samples(samples);
+
+		writer.family("simplewarehouse_metrics_snapshot_timestamp_seconds", "gauge", "Creation of this snapshot");
+		writer.sample("simplewarehouse_metrics_snapshot_timestamp_seconds", System.currentTimeMillis() / 1000.0);
+
+		byte[] snapshot = writer.finish().getBytes(StandardCharsets.UTF_8);
+		metrics = snapshot;
+
+		return snapshot;
+	}
+
     @Override
     @DELETE
 	@Path("clear")
     public void clear() {
         methods.clear();
+        windows.clear();
         exceptionCount.set(0);
         exceptions.clear();
+        slowCalls.clear();
+        statements.clear();
         exceptionStatistics.clear();
         diagnostics.clear();
+        samples.clear();
+        metrics = null;
     }
 
     /**
-     * Unregister the Monitoring Resource from JMX
+     * Unregister the Monitoring Resource from JMX and stop recording the SQL statements
      */
     @PreDestroy
     public void unregisterFromJMX() {
+        recording.close();
+        statements.setEnabled(false);
+        statements.clear();
         try {
             platformMBeanServer.unregisterMBean(this.objectName);
         }
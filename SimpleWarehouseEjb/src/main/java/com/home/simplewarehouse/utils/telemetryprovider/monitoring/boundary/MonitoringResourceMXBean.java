@@ -3,15 +3,23 @@ package com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary;
 import java.util.List;
 import java.util.Map;
 
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionFingerprint;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionRecord;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionStatistics;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Invocation;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatementStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.RecordingStatus;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.SlowCall;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.StatementStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.WindowStatistics;
 
 /**
  * Definitions for the Monitoring Resource MXBean
  */
 public interface MonitoringResourceMXBean {
 	/**
-	 * Gets a list of the slowest methods
+	 * Gets a list of the slowest methods; the performance is the highest latency in milliseconds
 	 * 
 	 * @return the list
 	 */
@@ -24,6 +32,56 @@ public interface MonitoringResourceMXBean {
 	 * @return the list
 	 */
     List<Invocation> getSlowestMethods(int maxResult);
+	/**
+	 * Gets the latency statistics of all methods, the methods with the most time spent first
+	 * 
+	 * @return the snapshot of the statistics
+	 */
+	List<MethodStatistics> getMethodStatistics();
+	/**
+	 * Gets the latency statistics of the methods with the most time spent
+	 * 
+	 * @param maxResult maximum number of elements in the list
+	 * 
+	 * @return the snapshot of the statistics
+	 */
+	List<MethodStatistics> getMethodStatistics(int maxResult);
+	/**
+	 * Start a new recording of the latency statistics
+	 */
+	void resetMethodStatistics();
+	/**
+	 * Gets the throughput and latency of the methods called in the last 10 seconds, the busiest methods first
+	 * 
+	 * @return the snapshot of the statistics
+	 */
+	List<WindowStatistics> getLive();
+	/**
+	 * Gets the throughput and latency of the methods called in the last seconds, the busiest methods first
+	 * 
+	 * @param seconds the window length, limited to 1 ... 300
+	 * 
+	 * @return the snapshot of the statistics
+	 */
+	List<WindowStatistics> getLive(int seconds);
+	/**
+	 * Gets the throughput and latency of the methods called in the last 10 seconds
+	 * 
+	 * @return the snapshot of the statistics
+	 */
+	List<WindowStatistics> getLiveLast10Seconds();
+	/**
+	 * Gets the throughput and latency of the methods called in the last minute
+	 * 
+	 * @return the snapshot of the statistics
+	 */
+	List<WindowStatistics> getLiveLast1Minute();
+	/**
+	 * Gets the throughput and latency of the methods called in the last 5 minutes
+	 * 
+	 * @return the snapshot of the statistics
+	 */
+	List<WindowStatistics> getLiveLast5Minutes();
 	/**
 	 * Provide diagnostics data
 	 * 
@@ -69,11 +127,157 @@ public interface MonitoringResourceMXBean {
 	 */
 	String getNumberOfExceptions();
 	/**
-	 * Gets the exceptions
+	 * Gets the latest captured exceptions, the newest first
 	 * 
 	 * @return the exceptions
 	 */
 	String getExceptions();
+	/**
+	 * Gets a page of the latest captured exceptions, the newest first
+	 * 
+	 * @param offset the number of matching exceptions to skip
+	 * @param count the maximum number of exceptions
+	 * @param methodName only exceptions of methods containing this text; <code>null</code> or empty for all
+	 * @param exceptionClass only exceptions of classes containing this text; <code>null</code> or empty for all
+	 * 
+	 * @return the exceptions
+	 */
+	List<ExceptionRecord> getExceptionRecords(int offset, int count, String methodName, String exceptionClass);
+	/**
+	 * Gets the most frequent exception fingerprints
+	 * 
+	 * @return the fingerprints with their counts
+	 */
+	List<ExceptionFingerprint> getExceptionFingerprints();
+	/**
+	 * Gets a page of the exception fingerprints, the most frequent first
+	 * 
+	 * @param offset the number of fingerprints to skip
+	 * @param count the maximum number of fingerprints
+	 * 
+	 * @return the fingerprints with their counts
+	 */
+	List<ExceptionFingerprint> getExceptionFingerprints(int offset, int count);
+	/**
+	 * Set the sampling of the captured exceptions
+	 * 
+	 * @param sampleAfter the number of exceptions of a fingerprint all captured
+	 * @param sampleEvery capture every n-th of the further exceptions of a fingerprint; 1 captures all
+	 */
+	void setExceptionSampling(long sampleAfter, long sampleEvery);
+	/**
+	 * Gets the latest slow calls with their call trees, the newest first
+	 * 
+	 * @return the slow calls
+	 */
+	List<SlowCall> getSlowCalls();
+	/**
+	 * Gets a page of the latest slow calls with their call trees, the newest first
+	 * 
+	 * @param offset the number of matching slow calls to skip
+	 * @param count the maximum number of slow calls
+	 * @param methodName only slow calls with a call of a method containing this text; <code>null</code> or empty for
+	 *        all
+	 * 
+	 * @return the slow calls
+	 */
+	List<SlowCall> getSlowCalls(int offset, int count, String methodName);
+	/**
+	 * Gets the threshold above which a root call is kept as slow call
+	 * 
+	 * @return the threshold in milliseconds
+	 */
+	long getSlowCallThresholdMillis();
+	/**
+	 * Sets the threshold above which a root call is kept as slow call
+	 * 
+	 * @param millis the threshold in milliseconds
+	 */
+	void setSlowCallThresholdMillis(long millis);
+	/**
+	 * Gets the SQL statements per calling method, the highest total time first
+	 * 
+	 * @return the statements
+	 */
+	List<StatementStatistics> getStatements();
+	/**
+	 * Gets a page of the SQL statements per calling method, the highest total time first
+	 * 
+	 * @param offset the number of statements to skip
+	 * @param count the maximum number of statements
+	 * @param methodName only statements of methods containing this text; <code>null</code> or empty for all
+	 * 
+	 * @return the statements
+	 */
+	List<StatementStatistics> getStatements(int offset, int count, String methodName);
+	/**
+	 * Gets a page of the SQL statements of all methods together, the highest total time first
+	 * 
+	 * @param offset the number of statements to skip
+	 * @param count the maximum number of statements
+	 * 
+	 * @return the statements
+	 */
+	List<StatementStatistics> getStatementsBySql(int offset, int count);
+	/**
+	 * Gets a page of the methods issuing SQL statements, the most statements per call first
+	 * 
+	 * @param offset the number of methods to skip
+	 * @param count the maximum number of methods
+	 * 
+	 * @return the methods
+	 */
+	List<MethodStatementStatistics> getStatementsPerMethod(int offset, int count);
+	/**
+	 * Gets the methods with calls above the SQL statements per call threshold
+	 * 
+	 * @return the N+1 suspects
+	 */
+	List<MethodStatementStatistics> getNPlusOneSuspects();
+	/**
+	 * Gets the number of SQL statements per call above which a call is flagged as N+1 suspect
+	 * 
+	 * @return the threshold
+	 */
+	int getStatementsPerCallThreshold();
+	/**
+	 * Sets the number of SQL statements per call above which a call is flagged as N+1 suspect
+	 * 
+	 * @param threshold the threshold
+	 */
+	void setStatementsPerCallThreshold(int threshold);
+	/**
+	 * Gets if the SQL statements are recorded
+	 * 
+	 * @return true if recorded
+	 */
+	boolean isSqlProfiling();
+	/**
+	 * Start or stop recording the SQL statements
+	 * 
+	 * @param enabled true to start
+	 */
+	void setSqlProfiling(boolean enabled);
+	/**
+	 * Gets the status of the Flight Recorder recording
+	 * 
+	 * @return the status
+	 */
+	RecordingStatus getRecordingStatus();
+	/**
+	 * Start a Flight Recorder recording of the JVM and the SimpleWarehouse events
+	 * 
+	 * @param settings the JDK settings name, <code>default</code> or <code>profile</code>
+	 * 
+	 * @return the status; unchanged if a recording is running already
+	 */
+	RecordingStatus startRecording(String settings);
+	/**
+	 * Stop the Flight Recorder recording and dump it to a local file
+	 * 
+	 * @return the status with the dump file; unchanged if no recording is running
+	 */
+	RecordingStatus stopRecording();
 	/**
 	 * Clear the content
 	 */
@@ -0,0 +1,120 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * An intercepted call inside a slow call as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CallSpan {
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private int depth;
+	@XmlAttribute
+	private long offsetMicros;
+	@XmlAttribute
+	private long durationMicros;
+	@XmlAttribute
+	private boolean failed;
+	@XmlAttribute
+	private String arguments;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public CallSpan() { /* JAXB... */ }
+
+	/**
+	 * Create a span
+	 *
+	 * @param methodName the method name
+	 * @param depth the nesting depth, 0 for the root call
+	 * @param offsetMicros the start relative to the start of the root call
+	 * @param durationMicros the duration
+	 * @param failed true if the call ended by an exception
+	 * @param arguments the argument summary
+	 */
+	public CallSpan(String methodName, int depth, long offsetMicros, long durationMicros, boolean failed
+			, String arguments) {
+		super();
+		this.methodName = methodName;
+		this.depth = depth;
+		this.offsetMicros = offsetMicros;
+		this.durationMicros = durationMicros;
+		this.failed = failed;
+		this.arguments = arguments;
+	}
+
+	/**
+	 * Gets the method name
+	 *
+	 * @return the method name
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the nesting depth
+	 *
+	 * @return the depth, 0 for the root call
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Gets the start relative to the start of the root call
+	 *
+	 * @return the offset in microseconds
+	 */
+	public long getOffsetMicros() {
+		return offsetMicros;
+	}
+
+	/**
+	 * Gets the duration
+	 *
+	 * @return the duration in microseconds
+	 */
+	public long getDurationMicros() {
+		return durationMicros;
+	}
+
+	/**
+	 * Tells if the call ended by an exception
+	 *
+	 * @return true if failed
+	 */
+	public boolean isFailed() {
+		return failed;
+	}
+
+	/**
+	 * Gets the argument summary; entities by their id only
+	 *
+	 * @return the summary
+	 */
+	public String getArguments() {
+		return arguments;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < depth; ++i) {
+			builder.append("  ");
+		}
+		builder.append(methodName).append('(').append(arguments).append(") +").append(offsetMicros).append("us ")
+				.append(durationMicros).append("us");
+		if (failed) {
+			builder.append(" FAILED");
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,141 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The captures of the exceptions with the same stack trace fingerprint as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ExceptionFingerprint {
+	@XmlAttribute
+	private String fingerprint;
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private String exceptionClass;
+	@XmlAttribute
+	private String message;
+	@XmlAttribute
+	private String topFrame;
+	@XmlAttribute
+	private long count;
+	@XmlAttribute
+	private long firstMillis;
+	@XmlAttribute
+	private long lastMillis;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public ExceptionFingerprint() { /* JAXB... */ }
+
+	/**
+	 * Create the captures of a fingerprint
+	 *
+	 * @param fingerprint the stack trace fingerprint
+	 * @param methodName the method of the first capture
+	 * @param exceptionClass the exception class name
+	 * @param message the message of the first capture
+	 * @param topFrame the top stack frame
+	 * @param count the number of captures
+	 * @param firstMillis the time of the first capture
+	 * @param lastMillis the time of the last capture
+	 */
+	public ExceptionFingerprint(String fingerprint, String methodName, String exceptionClass, String message
+			, String topFrame, long count, long firstMillis, long lastMillis) {
+		super();
+		this.fingerprint = fingerprint;
+		this.methodName = methodName;
+		this.exceptionClass = exceptionClass;
+		this.message = message;
+		this.topFrame = topFrame;
+		this.count = count;
+		this.firstMillis = firstMillis;
+		this.lastMillis = lastMillis;
+	}
+
+	/**
+	 * Gets the stack trace fingerprint
+	 *
+	 * @return the fingerprint
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * Gets the method of the first capture
+	 *
+	 * @return the method name
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the exception class name
+	 *
+	 * @return the class name
+	 */
+	public String getExceptionClass() {
+		return exceptionClass;
+	}
+
+	/**
+	 * Gets the message of the first capture
+	 *
+	 * @return the message, may be <code>null</code>
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Gets the top stack frame
+	 *
+	 * @return the frame, empty if the exception has no stack trace
+	 */
+	public String getTopFrame() {
+		return topFrame;
+	}
+
+	/**
+	 * Gets the number of captures
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the time of the first capture
+	 *
+	 * @return the time in milliseconds since the epoch
+	 */
+	public long getFirstMillis() {
+		return firstMillis;
+	}
+
+	/**
+	 * Gets the time of the last capture
+	 *
+	 * @return the time in milliseconds since the epoch
+	 */
+	public long getLastMillis() {
+		return lastMillis;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ExceptionFingerprint [fingerprint=").append(fingerprint).append(", exceptionClass=")
+				.append(exceptionClass).append(", methodName=").append(methodName).append(", topFrame=")
+				.append(topFrame).append(", count=").append(count).append("]");
+		return builder.toString();
+	}
+}
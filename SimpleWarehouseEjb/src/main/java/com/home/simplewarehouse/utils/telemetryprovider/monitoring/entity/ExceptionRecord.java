@@ -0,0 +1,119 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import java.util.Date;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * A captured exception as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ExceptionRecord {
+	@XmlAttribute
+	private long sequence;
+	@XmlAttribute
+	private long timestampMillis;
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private String exceptionClass;
+	@XmlAttribute
+	private String message;
+	@XmlAttribute
+	private String fingerprint;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public ExceptionRecord() { /* JAXB... */ }
+
+	/**
+	 * Create a captured exception
+	 *
+	 * @param sequence the running number of the capture
+	 * @param timestampMillis the time of the capture
+	 * @param methodName the method that throws the exception
+	 * @param exceptionClass the exception class name
+	 * @param message the exception message
+	 * @param fingerprint the stack trace fingerprint
+	 */
+	public ExceptionRecord(long sequence, long timestampMillis, String methodName, String exceptionClass
+			, String message, String fingerprint) {
+		super();
+		this.sequence = sequence;
+		this.timestampMillis = timestampMillis;
+		this.methodName = methodName;
+		this.exceptionClass = exceptionClass;
+		this.message = message;
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * Gets the running number of the capture
+	 *
+	 * @return the sequence
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Gets the time of the capture
+	 *
+	 * @return the time in milliseconds since the epoch
+	 */
+	public long getTimestampMillis() {
+		return timestampMillis;
+	}
+
+	/**
+	 * Gets the method that throws the exception
+	 *
+	 * @return the method name
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the exception class name
+	 *
+	 * @return the class name
+	 */
+	public String getExceptionClass() {
+		return exceptionClass;
+	}
+
+	/**
+	 * Gets the exception message
+	 *
+	 * @return the message, may be <code>null</code>
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Gets the stack trace fingerprint
+	 *
+	 * @return the fingerprint
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(new Date(timestampMillis)).append(' ').append(exceptionClass);
+		if (message != null) {
+			builder.append(": ").append(message);
+		}
+		builder.append("-->").append(methodName).append(" [").append(fingerprint).append(']');
+		return builder.toString();
+	}
+}
@@ -0,0 +1,130 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The SQL statements issued per call of a method as XML element.
+ * <p>
+ * The statements of the nested calls are included. A call issuing more statements than the threshold is flagged as
+ * N+1 suspect.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class MethodStatementStatistics {
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private long calls;
+	@XmlAttribute
+	private long statements;
+	@XmlAttribute
+	private double meanStatementsPerCall;
+	@XmlAttribute
+	private long maxStatementsPerCall;
+	@XmlAttribute
+	private long flaggedCalls;
+	@XmlAttribute
+	private long lastFlaggedMillis;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public MethodStatementStatistics() { /* JAXB... */ }
+
+	/**
+	 * Create the statistics
+	 *
+	 * @param methodName the method name
+	 * @param calls the number of calls
+	 * @param statements the number of statements issued by all calls
+	 * @param maxStatementsPerCall the most statements issued by one call
+	 * @param flaggedCalls the number of calls above the threshold
+	 * @param lastFlaggedMillis the time of the latest call above the threshold; 0 if none
+	 */
+	public MethodStatementStatistics(String methodName, long calls, long statements, long maxStatementsPerCall
+			, long flaggedCalls, long lastFlaggedMillis) {
+		super();
+		this.methodName = methodName;
+		this.calls = calls;
+		this.statements = statements;
+		this.meanStatementsPerCall = calls > 0 ? (double) statements / calls : 0.0;
+		this.maxStatementsPerCall = maxStatementsPerCall;
+		this.flaggedCalls = flaggedCalls;
+		this.lastFlaggedMillis = lastFlaggedMillis;
+	}
+
+	/**
+	 * Gets the method name
+	 *
+	 * @return the method name
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the number of calls
+	 *
+	 * @return the count
+	 */
+	public long getCalls() {
+		return calls;
+	}
+
+	/**
+	 * Gets the number of statements issued by all calls
+	 *
+	 * @return the count
+	 */
+	public long getStatements() {
+		return statements;
+	}
+
+	/**
+	 * Gets the mean number of statements per call
+	 *
+	 * @return the mean
+	 */
+	public double getMeanStatementsPerCall() {
+		return meanStatementsPerCall;
+	}
+
+	/**
+	 * Gets the most statements issued by one call
+	 *
+	 * @return the count
+	 */
+	public long getMaxStatementsPerCall() {
+		return maxStatementsPerCall;
+	}
+
+	/**
+	 * Gets the number of calls above the statements per call threshold
+	 *
+	 * @return the count
+	 */
+	public long getFlaggedCalls() {
+		return flaggedCalls;
+	}
+
+	/**
+	 * Gets the time of the latest call above the statements per call threshold
+	 *
+	 * @return the time in milliseconds since the epoch; 0 if none
+	 */
+	public long getLastFlaggedMillis() {
+		return lastFlaggedMillis;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MethodStatementStatistics [methodName=").append(methodName).append(", calls=").append(calls)
+				.append(", statements=").append(statements).append(", maxStatementsPerCall=")
+				.append(maxStatementsPerCall).append(", flaggedCalls=").append(flaggedCalls).append("]");
+		return builder.toString();
+	}
+}
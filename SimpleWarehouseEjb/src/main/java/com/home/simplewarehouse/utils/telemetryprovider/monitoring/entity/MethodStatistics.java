@@ -0,0 +1,197 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The latency statistics of a method as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class MethodStatistics {
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private long count;
+	@XmlAttribute
+	private long errors;
+	@XmlAttribute
+	private long minMicros;
+	@XmlAttribute
+	private long maxMicros;
+	@XmlAttribute
+	private double meanMicros;
+	@XmlAttribute
+	private long p50Micros;
+	@XmlAttribute
+	private long p90Micros;
+	@XmlAttribute
+	private long p99Micros;
+	@XmlAttribute
+	private long p999Micros;
+	@XmlAttribute
+	private double callsPerSecond;
+	@XmlAttribute
+	private long sinceMillis;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public MethodStatistics() { /* JAXB... */ }
+
+	/**
+	 * Create the statistics of a method
+	 *
+	 * @param methodName the method name
+	 * @param count the number of calls
+	 * @param errors the number of calls ended by an exception
+	 * @param minMicros the lowest latency
+	 * @param maxMicros the highest latency
+	 * @param meanMicros the mean latency
+	 * @param p50Micros the median latency
+	 * @param p90Micros the 90th percentile latency
+	 * @param p99Micros the 99th percentile latency
+	 * @param p999Micros the 99.9th percentile latency
+	 * @param callsPerSecond the calls per second since the start of the recording
+	 * @param sinceMillis the start of the recording
+	 */
+	public MethodStatistics(String methodName, long count, long errors, long minMicros, long maxMicros
+			, double meanMicros, long p50Micros, long p90Micros, long p99Micros, long p999Micros
+			, double callsPerSecond, long sinceMillis) {
+		super();
+		this.methodName = methodName;
+		this.count = count;
+		this.errors = errors;
+		this.minMicros = minMicros;
+		this.maxMicros = maxMicros;
+		this.meanMicros = meanMicros;
+		this.p50Micros = p50Micros;
+		this.p90Micros = p90Micros;
+		this.p99Micros = p99Micros;
+		this.p999Micros = p999Micros;
+		this.callsPerSecond = callsPerSecond;
+		this.sinceMillis = sinceMillis;
+	}
+
+	/**
+	 * Gets the method name
+	 *
+	 * @return the method name
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the number of calls
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the number of calls ended by an exception
+	 *
+	 * @return the error count
+	 */
+	public long getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Gets the lowest latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getMinMicros() {
+		return minMicros;
+	}
+
+	/**
+	 * Gets the highest latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	/**
+	 * Gets the mean latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public double getMeanMicros() {
+		return meanMicros;
+	}
+
+	/**
+	 * Gets the median latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	/**
+	 * Gets the 90th percentile latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP90Micros() {
+		return p90Micros;
+	}
+
+	/**
+	 * Gets the 99th percentile latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	/**
+	 * Gets the 99.9th percentile latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP999Micros() {
+		return p999Micros;
+	}
+
+	/**
+	 * Gets the throughput
+	 *
+	 * @return the calls per second since the start of the recording
+	 */
+	public double getCallsPerSecond() {
+		return callsPerSecond;
+	}
+
+	/**
+	 * Gets the start of the recording
+	 *
+	 * @return the start in milliseconds since the epoch
+	 */
+	public long getSinceMillis() {
+		return sinceMillis;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MethodStatistics [methodName=").append(methodName).append(", count=").append(count)
+				.append(", errors=").append(errors).append(", min=").append(minMicros).append("us, max=")
+				.append(maxMicros).append("us, mean=").append(String.format("%.1f", meanMicros)).append("us, p50=")
+				.append(p50Micros).append("us, p90=").append(p90Micros).append("us, p99=").append(p99Micros)
+				.append("us, p999=").append(p999Micros).append("us, callsPerSecond=")
+				.append(String.format("%.2f", callsPerSecond)).append("]");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,87 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The status of the Flight Recorder recording as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class RecordingStatus {
+	@XmlAttribute
+	private boolean running;
+	@XmlAttribute
+	private String settings;
+	@XmlAttribute
+	private Long startTimeMillis;
+	@XmlAttribute
+	private String file;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public RecordingStatus() { /* JAXB... */ }
+
+	/**
+	 * Create a status
+	 *
+	 * @param running true if a recording is running
+	 * @param settings the settings of the running or latest recording
+	 * @param startTimeMillis the start of the running recording
+	 * @param file the dump file of the latest stopped recording
+	 */
+	public RecordingStatus(boolean running, String settings, Long startTimeMillis, String file) {
+		super();
+		this.running = running;
+		this.settings = settings;
+		this.startTimeMillis = startTimeMillis;
+		this.file = file;
+	}
+
+	/**
+	 * Tells if a recording is running
+	 *
+	 * @return true if running
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Gets the settings of the running or latest recording
+	 *
+	 * @return the settings name, <code>null</code> if none
+	 */
+	public String getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Gets the start of the running recording
+	 *
+	 * @return the time in milliseconds since the epoch, <code>null</code> if not running
+	 */
+	public Long getStartTimeMillis() {
+		return startTimeMillis;
+	}
+
+	/**
+	 * Gets the dump file of the latest stopped recording
+	 *
+	 * @return the absolute path, <code>null</code> if none
+	 */
+	public String getFile() {
+		return file;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("RecordingStatus [running=").append(running).append(", settings=").append(settings)
+				.append(", startTimeMillis=").append(startTimeMillis).append(", file=").append(file).append("]");
+		return builder.toString();
+	}
+}
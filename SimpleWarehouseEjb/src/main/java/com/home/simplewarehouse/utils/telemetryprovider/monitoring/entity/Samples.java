@@ -0,0 +1,123 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The Samples class.
+ * <p>
+ * Numeric metrics pushed to the monitoring by their owners. A name ending with <code>_total</code> is a counter,
+ * any other name a gauge. The names follow the OpenMetrics rules.
+ */
+public class Samples {
+	private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+	private Map<String, Double> values = null;
+
+	/**
+	 * Private only Constructor
+	 *
+	 * @param key the sample key
+	 * @param value the value
+	 */
+	private Samples(String key, Number value) {
+		this.values = new HashMap<>();
+		this.values.put(key, value.doubleValue());
+	}
+
+	/**
+	 * Create new Samples
+	 *
+	 * @param name the metric name
+	 * @param value the value
+	 *
+	 * @return the Samples
+	 *
+	 * @throws IllegalArgumentException in case of an invalid metric name
+	 */
+	public static Samples with(String name, Number value) {
+		return new Samples(key(name, null, null), value);
+	}
+
+	/**
+	 * Create new Samples with a label
+	 *
+	 * @param name the metric name
+	 * @param label the label name
+	 * @param labelValue the label value
+	 * @param value the value
+	 *
+	 * @return the Samples
+	 *
+	 * @throws IllegalArgumentException in case of an invalid metric or label name
+	 */
+	public static Samples with(String name, String label, String labelValue, Number value) {
+		return new Samples(key(name, label, labelValue), value);
+	}
+
+	/**
+	 * Add a sample
+	 *
+	 * @param name the metric name
+	 * @param value the value
+	 *
+	 * @return the Samples
+	 *
+	 * @throws IllegalArgumentException in case of an invalid metric name
+	 */
+	public Samples and(String name, Number value) {
+		this.values.put(key(name, null, null), value.doubleValue());
+		return this;
+	}
+
+	/**
+	 * Add a sample with a label
+	 *
+	 * @param name the metric name
+	 * @param label the label name
+	 * @param labelValue the label value
+	 * @param value the value
+	 *
+	 * @return the Samples
+	 *
+	 * @throws IllegalArgumentException in case of an invalid metric or label name
+	 */
+	public Samples and(String name, String label, String labelValue, Number value) {
+		this.values.put(key(name, label, labelValue), value.doubleValue());
+		return this;
+	}
+
+	/**
+	 * Deliver the Samples as Map
+	 *
+	 * @return the Map of the sample keys, like <code>name{label="value"}</code>, and their values
+	 */
+	public Map<String, Double> asMap() {
+		return this.values;
+	}
+
+	private static String key(String name, String label, String labelValue) {
+		if (name == null || !NAME.matcher(name).matches()) {
+			throw new IllegalArgumentException("Invalid metric name [" + name + "]");
+		}
+		if (label == null) {
+			return name;
+		}
+		if (!NAME.matcher(label).matches() || label.contains(":")) {
+			throw new IllegalArgumentException("Invalid label name [" + label + "]");
+		}
+		return name + "{" + label + "=\"" + escape(String.valueOf(labelValue)) + "\"}";
+	}
+
+	/**
+	 * Escape a label value
+	 *
+	 * @param labelValue the label value
+	 *
+	 * @return the value with backslash, double quote and line feed escaped
+	 */
+	public static String escape(String labelValue) {
+		return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+}
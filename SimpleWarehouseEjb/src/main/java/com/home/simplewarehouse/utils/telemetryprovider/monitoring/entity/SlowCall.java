@@ -0,0 +1,132 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * A root call above the slow call threshold with its tree of intercepted calls as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class SlowCall {
+	@XmlAttribute
+	private long sequence;
+	@XmlAttribute
+	private long timestampMillis;
+	@XmlAttribute
+	private String threadName;
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private long durationMicros;
+	@XmlAttribute
+	private int droppedSpans;
+	@XmlElement(name = "span")
+	private List<CallSpan> spans = new ArrayList<>();
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public SlowCall() { /* JAXB... */ }
+
+	/**
+	 * Create a slow call
+	 *
+	 * @param sequence the running number of the slow call
+	 * @param timestampMillis the start of the root call
+	 * @param threadName the thread of the call
+	 * @param durationMicros the duration of the root call
+	 * @param droppedSpans the number of nested calls not kept because the tree was too large
+	 * @param spans the root call and the nested calls in call order
+	 */
+	public SlowCall(long sequence, long timestampMillis, String threadName, long durationMicros, int droppedSpans
+			, List<CallSpan> spans) {
+		super();
+		this.sequence = sequence;
+		this.timestampMillis = timestampMillis;
+		this.threadName = threadName;
+		this.methodName = spans.isEmpty() ? null : spans.get(0).getMethodName();
+		this.durationMicros = durationMicros;
+		this.droppedSpans = droppedSpans;
+		this.spans = spans;
+	}
+
+	/**
+	 * Gets the running number of the slow call
+	 *
+	 * @return the sequence
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Gets the start of the root call
+	 *
+	 * @return the time in milliseconds since the epoch
+	 */
+	public long getTimestampMillis() {
+		return timestampMillis;
+	}
+
+	/**
+	 * Gets the thread of the call
+	 *
+	 * @return the thread name
+	 */
+	public String getThreadName() {
+		return threadName;
+	}
+
+	/**
+	 * Gets the root method
+	 *
+	 * @return the method name
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the duration of the root call
+	 *
+	 * @return the duration in microseconds
+	 */
+	public long getDurationMicros() {
+		return durationMicros;
+	}
+
+	/**
+	 * Gets the number of nested calls not kept because the tree was too large
+	 *
+	 * @return the count
+	 */
+	public int getDroppedSpans() {
+		return droppedSpans;
+	}
+
+	/**
+	 * Gets the root call and the nested calls in call order; the depth gives the nesting
+	 *
+	 * @return the spans
+	 */
+	public List<CallSpan> getSpans() {
+		return spans;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("SlowCall [sequence=").append(sequence).append(", threadName=").append(threadName)
+				.append(", duration=").append(durationMicros).append("us, droppedSpans=").append(droppedSpans)
+				.append("]");
+		spans.forEach(span -> builder.append("\n").append(span));
+		return builder.toString();
+	}
+}
@@ -0,0 +1,127 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The executions of a normalized SQL statement, per calling method or in total, as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class StatementStatistics {
+	@XmlAttribute
+	private String sql;
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private long count;
+	@XmlAttribute
+	private long rows;
+	@XmlAttribute
+	private long totalMicros;
+	@XmlAttribute
+	private long meanMicros;
+	@XmlAttribute
+	private long maxMicros;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public StatementStatistics() { /* JAXB... */ }
+
+	/**
+	 * Create the statistics
+	 *
+	 * @param sql the normalized SQL text
+	 * @param methodName the calling method; <code>null</code> for all methods
+	 * @param count the number of executions
+	 * @param rows the number of rows read or written
+	 * @param totalMicros the total execution time
+	 * @param maxMicros the longest execution time
+	 */
+	public StatementStatistics(String sql, String methodName, long count, long rows, long totalMicros
+			, long maxMicros) {
+		super();
+		this.sql = sql;
+		this.methodName = methodName;
+		this.count = count;
+		this.rows = rows;
+		this.totalMicros = totalMicros;
+		this.meanMicros = count > 0 ? totalMicros / count : 0;
+		this.maxMicros = maxMicros;
+	}
+
+	/**
+	 * Gets the normalized SQL text; literals are replaced by <code>?</code>
+	 *
+	 * @return the SQL
+	 */
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * Gets the calling method
+	 *
+	 * @return the method name; <code>null</code> for all methods
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the number of executions
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the number of rows read or written
+	 *
+	 * @return the rows
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * Gets the total execution time
+	 *
+	 * @return the time in microseconds
+	 */
+	public long getTotalMicros() {
+		return totalMicros;
+	}
+
+	/**
+	 * Gets the mean execution time
+	 *
+	 * @return the time in microseconds
+	 */
+	public long getMeanMicros() {
+		return meanMicros;
+	}
+
+	/**
+	 * Gets the longest execution time
+	 *
+	 * @return the time in microseconds
+	 */
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("StatementStatistics [methodName=").append(methodName).append(", count=").append(count)
+				.append(", rows=").append(rows).append(", total=").append(totalMicros).append("us, mean=")
+				.append(meanMicros).append("us, max=").append(maxMicros).append("us, sql=").append(sql).append("]");
+		return builder.toString();
+	}
+}
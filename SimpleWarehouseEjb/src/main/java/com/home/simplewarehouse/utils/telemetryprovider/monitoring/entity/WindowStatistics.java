@@ -0,0 +1,143 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The statistics of a method over the last seconds as XML element.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class WindowStatistics {
+	@XmlAttribute
+	private String methodName;
+	@XmlAttribute
+	private int windowSeconds;
+	@XmlAttribute
+	private long count;
+	@XmlAttribute
+	private long errors;
+	@XmlAttribute
+	private double callsPerSecond;
+	@XmlAttribute
+	private double meanMicros;
+	@XmlAttribute
+	private long p50Micros;
+	@XmlAttribute
+	private long p99Micros;
+
+	/**
+	 * Default constructor to keep JAXB happy
+	 */
+	public WindowStatistics() { /* JAXB... */ }
+
+	/**
+	 * Create the statistics of a method over a window
+	 *
+	 * @param methodName the method name
+	 * @param windowSeconds the window length
+	 * @param count the number of calls in the window
+	 * @param errors the number of calls ended by an exception in the window
+	 * @param callsPerSecond the calls per second in the window
+	 * @param meanMicros the mean latency
+	 * @param p50Micros the median latency
+	 * @param p99Micros the 99th percentile latency
+	 */
+	public WindowStatistics(String methodName, int windowSeconds, long count, long errors, double callsPerSecond
+			, double meanMicros, long p50Micros, long p99Micros) {
+		super();
+		this.methodName = methodName;
+		this.windowSeconds = windowSeconds;
+		this.count = count;
+		this.errors = errors;
+		this.callsPerSecond = callsPerSecond;
+		this.meanMicros = meanMicros;
+		this.p50Micros = p50Micros;
+		this.p99Micros = p99Micros;
+	}
+
+	/**
+	 * Gets the method name
+	 *
+	 * @return the method name
+	 */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/**
+	 * Gets the window length
+	 *
+	 * @return the window in seconds
+	 */
+	public int getWindowSeconds() {
+		return windowSeconds;
+	}
+
+	/**
+	 * Gets the number of calls in the window
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the number of calls ended by an exception in the window
+	 *
+	 * @return the error count
+	 */
+	public long getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Gets the throughput in the window
+	 *
+	 * @return the calls per second
+	 */
+	public double getCallsPerSecond() {
+		return callsPerSecond;
+	}
+
+	/**
+	 * Gets the mean latency in the window
+	 *
+	 * @return the latency in microseconds
+	 */
+	public double getMeanMicros() {
+		return meanMicros;
+	}
+
+	/**
+	 * Gets the median latency in the window
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	/**
+	 * Gets the 99th percentile latency in the window
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("WindowStatistics [methodName=").append(methodName).append(", windowSeconds=")
+				.append(windowSeconds).append(", count=").append(count).append(", errors=").append(errors)
+				.append(", callsPerSecond=").append(String.format("%.2f", callsPerSecond)).append(", mean=")
+				.append(String.format("%.1f", meanMicros)).append("us, p50=").append(p50Micros).append("us, p99=")
+				.append(p99Micros).append("us]");
+		return builder.toString();
+	}
+}
@@ -1,4 +1,4 @@
 /**
- * Telemetry Provider monitoring interceptor classes.
+ * Telemetry Provider monitoring interceptor, latency histogram, rolling window, exception capture, SQL statement profiling, diagnostic counters, OpenMetrics and Flight Recorder classes.
  */
 package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
\ No newline at end of file
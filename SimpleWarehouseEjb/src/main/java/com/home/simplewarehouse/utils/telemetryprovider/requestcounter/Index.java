@@ -1,27 +1,20 @@
 package com.home.simplewarehouse.utils.telemetryprovider.requestcounter;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import javax.annotation.PostConstruct;
-import javax.enterprise.event.Event;
 import javax.enterprise.inject.Model;
 import javax.inject.Inject;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Diagnostics;
-
-import org.apache.logging.log4j.Logger;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.DiagnosticCounters;
 
 /**
  * The Index as Model.
+ * <p>
+ * The requests are counted by a diagnostic counter published by the monitoring at a fixed interval.
  */
 @Model
 public class Index {
-	private static AtomicLong requestCounter = new AtomicLong(0);
-
-	@Inject
-	Event<Diagnostics> diagnostics;
+	private static final DiagnosticCounters.Counter REQUESTS = DiagnosticCounters.getInstance()
+			.register("request", "simplewarehouse_requests_total");
 
 	@Inject
 	GoodMorning gm;
@@ -38,16 +31,7 @@ public class Index {
 	 */
 	@PostConstruct
 	public void onNewRequest() {
-		final Diagnostics requests = Diagnostics.with("request", requestCounter.incrementAndGet());
-		diagnostics.fire(requests);
-
-		try {
-            Cache<String, Logger> cache = CacheBuilder.newBuilder().build();
-            cache.put("", null);
-        }
-		catch (Exception e) {
-            e.printStackTrace();
-        }
+		REQUESTS.increment();
 	}
 
 	/**
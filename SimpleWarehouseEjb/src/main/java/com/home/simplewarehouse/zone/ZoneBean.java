@@ -1,21 +1,32 @@
 package com.home.simplewarehouse.zone;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import javax.ejb.EJB;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
 import javax.interceptor.Interceptors;
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.eclipse.persistence.sessions.IdentityMapAccessor;
+import org.eclipse.persistence.sessions.UnitOfWork;
 
 import com.home.simplewarehouse.handlingunit.HandlingUnitService;
 import com.home.simplewarehouse.location.LocationBean;
@@ -23,6 +34,7 @@ import com.home.simplewarehouse.location.LocationService;
 import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.Zone;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 
 /**
@@ -46,6 +58,16 @@ public class ZoneBean implements ZoneService {
 	 * Message constant
 	 */
 	public static final String ZONE_ID_IS_EMPTY = "zone id is empty or blank";
+	
+	/**
+	 * Number of Locations fetched at once by {@link #forEachLocation(String, Consumer)}
+	 */
+	public static final int LOCATION_CHUNK_SIZE = 500;
+	
+	/**
+	 * Maximum number of Location ids in one bulk statement
+	 */
+	public static final int BULK_CHUNK_SIZE = 500;
 
 	@PersistenceContext
 	private EntityManager em;
@@ -55,6 +77,9 @@ public class ZoneBean implements ZoneService {
 	
 	@EJB
 	private HandlingUnitService handlingUnitService;
+	
+	@EJB
+	private FreeCapacityIndex freeCapacityIndex;
 
 	/**
 	 * Default constructor is mandatory
@@ -78,6 +103,8 @@ public class ZoneBean implements ZoneService {
 		}
 		else {
 			em.merge(zone);
+			// The rating ranks the Locations of the Zone
+			freeCapacityIndex.invalidate();
 		}
 		em.flush();
 
@@ -124,6 +151,7 @@ public class ZoneBean implements ZoneService {
 
 	        em.remove(em.contains(zo) ? zo : em.merge(zo)); 
 	        em.flush();
+	        freeCapacityIndex.invalidate();
 
 	        LOG.debug("deleted: {}", zo);
 	    }
@@ -220,6 +248,8 @@ public class ZoneBean implements ZoneService {
 		em.merge(location);
 		
 		em.flush();
+		
+		freeCapacityIndex.invalidate();
 	}
 
 	@Override
@@ -244,6 +274,8 @@ public class ZoneBean implements ZoneService {
 		em.merge(zone);
 		em.merge(location);
 		em.flush();
+		
+		freeCapacityIndex.invalidate();
 	}
 
 	@Override
@@ -260,6 +292,8 @@ public class ZoneBean implements ZoneService {
 		em.merge(zone);
 		
 		locations.stream().forEach(l -> em.merge(l));
+		
+		freeCapacityIndex.invalidate();
     }
 	
 	@Override
@@ -293,6 +327,7 @@ public class ZoneBean implements ZoneService {
 
 	        em.merge(zo); 
 	        em.flush();
+	        freeCapacityIndex.invalidate();
 
 	        LOG.debug("cleared: {}", zo);
 	    }
@@ -396,81 +431,380 @@ public class ZoneBean implements ZoneService {
 
 	@Override
 	public Set<Location> getAllLocations(String zoneId) {
-		if (zoneId == null) {
-			throw new IllegalArgumentException(ZONE_ID_IS_NULL);
+		checkZoneId(zoneId);
+		
+		return new HashSet<>(locationsInZone(zoneId).getResultList());
+	}
+
+	@Override
+	public Set<HandlingUnit> getAllHandlingUnits(String zoneId) {
+		checkZoneId(zoneId);
+		
+		return new HashSet<>(handlingUnitsInZone(zoneId).getResultList());
+	}
+
+	@Override
+	public Set<Location> getAllLocations(Zone zone) {
+		checkZone(zone);
+		
+		return new HashSet<>(locationsInZone(zone.getId()).getResultList());
+	}
+
+	@Override
+	public Set<HandlingUnit> getAllHandlingUnits(Zone zone) {
+		checkZone(zone);
+		
+		return new HashSet<>(handlingUnitsInZone(zone.getId()).getResultList());
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public List<Location> getAllLocations(String zoneId, int offset, int count) {
+		LOG.trace("--> getAllLocations({}, {}, {})", zoneId, offset, count);
+		
+		checkZoneId(zoneId);
+		checkPaging(offset, count);
+		
+		TypedQuery<Location> query = locationsInZone(zoneId);
+		query.setFirstResult(offset);
+		query.setMaxResults(count);
+		
+		List<Location> ret = query.getResultList();
+		
+		LOG.trace("<-- getAllLocations()");
+		
+		return ret;
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public List<HandlingUnit> getAllHandlingUnits(String zoneId, int offset, int count) {
+		LOG.trace("--> getAllHandlingUnits({}, {}, {})", zoneId, offset, count);
+		
+		checkZoneId(zoneId);
+		checkPaging(offset, count);
+		
+		TypedQuery<HandlingUnit> query = handlingUnitsInZone(zoneId);
+		query.setFirstResult(offset);
+		query.setMaxResults(count);
+		
+		List<HandlingUnit> ret = query.getResultList();
+		
+		LOG.trace("<-- getAllHandlingUnits()");
+		
+		return ret;
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void forEachLocation(String zoneId, Consumer<Location> consumer) {
+		LOG.trace("--> forEachLocation({})", zoneId);
+		
+		checkZoneId(zoneId);
+		
+		if (consumer == null) {
+			throw new IllegalArgumentException("consumer is null");
 		}
-		if (getById(zoneId) == null) {
-			throw new IllegalArgumentException(ZONE_IS_NULL);
+		
+		int total = 0;
+		
+		// Keyset paging on the Location id; each chunk starts behind the last Location seen
+		List<Location> chunk = locationsInZone(zoneId).setMaxResults(LOCATION_CHUNK_SIZE).getResultList();
+		
+		while (!chunk.isEmpty()) {
+			chunk.forEach(consumer);
+			total += chunk.size();
+			
+			if (chunk.size() < LOCATION_CHUNK_SIZE) {
+				break;
+			}
+			
+			chunk = em.createNamedQuery("findLocationsInZoneAfter", Location.class)
+					.setParameter(1, zoneId)
+					.setParameter(2, chunk.get(chunk.size() - 1).getLocationId())
+					.setMaxResults(LOCATION_CHUNK_SIZE)
+					.getResultList();
 		}
 		
-		Set<Location> ret;
+		LOG.trace("<-- forEachLocation() {}", total);
+	}
+
+	@Override
+	public int countLocations(String zoneId) {
+		checkZoneId(zoneId);
+		
+		return em.createNamedQuery("countLocationsInZone", Number.class)
+				.setParameter(1, zoneId).getSingleResult().intValue();
+	}
+
+	@Override
+	public int countHandlingUnits(String zoneId) {
+		checkZoneId(zoneId);
 		
-		ret = locationService.getAll().stream()
-				.filter(loc -> loc.getZones().stream()
-						.anyMatch(zone -> zone.getId().equals(zoneId)))
-				.collect(Collectors.toSet());
+		return em.createNamedQuery("countHandlingUnitsInZone", Number.class)
+				.setParameter(1, zoneId).getSingleResult().intValue();
+	}
+
+	@Override
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public Map<String, Integer> countLocationsPerZone() {
+		Map<String, Integer> ret = new HashMap<>();
 		
-		if (ret == null)
-			return new HashSet<>();
+		List<Object[]> rows = em.createNamedQuery("countLocationsPerZone", Object[].class).getResultList();
+		for (Object[] row : rows) {
+			ret.put((String) row[0], ((Number) row[1]).intValue());
+		}
 		
 		return ret;
 	}
-
+	
 	@Override
-	public Set<HandlingUnit> getAllHandlingUnits(String zoneId) {
-		if (zoneId == null) {
-			throw new IllegalArgumentException(ZONE_ID_IS_NULL);
+	public int bulkMoveLocations(Collection<String> locationIds, String currentZoneId, String destinationZoneId) {
+		LOG.trace("--> bulkMoveLocations({}, {}, {})", locationIds == null ? null : locationIds.size()
+				, currentZoneId, destinationZoneId);
+		
+		checkLocationIds(locationIds);
+		checkZoneId(currentZoneId);
+		checkZoneId(destinationZoneId);
+		
+		int ret = 0;
+		
+		if (!currentZoneId.equals(destinationZoneId)) {
+			em.flush();
+			
+			for (List<String> chunk : chunks(locationIds)) {
+				// Locations already in the destination Zone just leave the current Zone
+				ret += bulkUpdate("DELETE FROM LOCATION_ZONE WHERE ZONE_ID = ?1 AND LOCATION_ID IN (" + placeholders(chunk, 3)
+						+ ") AND LOCATION_ID IN (SELECT LOCATION_ID FROM LOCATION_ZONE WHERE ZONE_ID = ?2)"
+						, chunk, currentZoneId, destinationZoneId);
+				ret += bulkUpdate("UPDATE LOCATION_ZONE SET ZONE_ID = ?2 WHERE ZONE_ID = ?1 AND LOCATION_ID IN ("
+						+ placeholders(chunk, 3) + ")", chunk, currentZoneId, destinationZoneId);
+				
+				invalidate(Location.class, chunk, em::refresh);
+			}
+			
+			invalidateZones(currentZoneId, destinationZoneId);
 		}
-		if (getById(zoneId) == null) {
-			throw new IllegalArgumentException(ZONE_IS_NULL);
+		
+		LOG.trace("<-- bulkMoveLocations() {}", ret);
+		
+		return ret;
+	}
+	
+	@Override
+	public int bulkAddLocations(Collection<String> locationIds, String zoneId) {
+		LOG.trace("--> bulkAddLocations({}, {})", locationIds == null ? null : locationIds.size(), zoneId);
+		
+		checkLocationIds(locationIds);
+		checkZoneId(zoneId);
+		
+		em.flush();
+		
+		int ret = 0;
+		
+		for (List<String> chunk : chunks(locationIds)) {
+			ret += bulkUpdate("INSERT INTO LOCATION_ZONE (LOCATION_ID, ZONE_ID) SELECT l.LOCATION_ID, ?1 FROM LOCATION l"
+					+ " WHERE l.LOCATION_ID IN (" + placeholders(chunk, 3) + ") AND NOT EXISTS"
+					+ " (SELECT 1 FROM LOCATION_ZONE lz WHERE lz.LOCATION_ID = l.LOCATION_ID AND lz.ZONE_ID = ?2)"
+					, chunk, zoneId, zoneId);
+			
+			invalidate(Location.class, chunk, em::refresh);
 		}
 		
-		Set<HandlingUnit> ret;
+		invalidateZones(zoneId);
+		
+		LOG.trace("<-- bulkAddLocations() {}", ret);
+		
+		return ret;
+	}
+	
+	@Override
+	public int bulkRemoveLocations(Collection<String> locationIds, String zoneId) {
+		LOG.trace("--> bulkRemoveLocations({}, {})", locationIds == null ? null : locationIds.size(), zoneId);
+		
+		checkLocationIds(locationIds);
+		checkZoneId(zoneId);
+		
+		em.flush();
+		
+		int ret = 0;
+		
+		for (List<String> chunk : chunks(locationIds)) {
+			ret += bulkUpdate("DELETE FROM LOCATION_ZONE WHERE ZONE_ID = ?1 AND LOCATION_ID IN (" + placeholders(chunk, 2)
+					+ ")", chunk, zoneId);
+			
+			invalidate(Location.class, chunk, em::refresh);
+		}
 		
-		ret = getAllLocations(zoneId).stream()
-				 // Stream of HandlingUnits from all Locations create
-	             .flatMap(loc -> loc.getHandlingUnits().stream())
-	             // Collect the HandlingUnits in a Set	
-	             .collect(Collectors.toSet());	
+		invalidateZones(zoneId);
 		
-		if (ret == null)
-			return new HashSet<>();
+		LOG.trace("<-- bulkRemoveLocations() {}", ret);
 		
 		return ret;
 	}
-
+	
 	@Override
-	public Set<Location> getAllLocations(Zone zone) {
-		checkZone(zone);
+	public int bulkClear(String zoneId) {
+		LOG.trace("--> bulkClear({})", zoneId);
+		
+		checkZoneId(zoneId);
+		
+		em.flush();
+		
+		List<String> locationIds = nativeIds("SELECT LOCATION_ID FROM LOCATION_ZONE WHERE ZONE_ID = ?1", zoneId);
 		
-		Set<Location> ret;
+		int ret = em.createNativeQuery("DELETE FROM LOCATION_ZONE WHERE ZONE_ID = ?1").setParameter(1, zoneId)
+				.executeUpdate();
 		
-		ret = locationService.getAll().stream()
-				.filter(loc -> loc.getZones().stream()
-						.anyMatch(zo -> zo.equals(zone)))
-				.collect(Collectors.toSet());
+		invalidate(Location.class, locationIds, em::refresh);
+		invalidateZones(zoneId);
 		
-		if (ret == null)
-			return new HashSet<>();
+		LOG.trace("<-- bulkClear() {}", ret);
 		
 		return ret;
 	}
-
+	
 	@Override
-	public Set<HandlingUnit> getAllHandlingUnits(Zone zone) {
-		checkZone(zone);
+	public int bulkDeleteAll() {
+		LOG.trace("--> bulkDeleteAll()");
+		
+		em.flush();
 		
-		Set<HandlingUnit> ret;
+		List<String> locationIds = nativeIds("SELECT DISTINCT LOCATION_ID FROM LOCATION_ZONE");
+		List<String> zoneIds = nativeIds("SELECT ID FROM ZONE");
 		
-		ret = getAllLocations(zone).stream()
-				 // Stream of HandlingUnits from all Locations create
-	             .flatMap(loc -> loc.getHandlingUnits().stream())
-	             // Collect the HandlingUnits in a Set	
-	             .collect(Collectors.toSet());	
+		int ret = em.createNativeQuery("DELETE FROM LOCATION_ZONE").executeUpdate();
+		ret += em.createQuery("DELETE FROM Zone zo").executeUpdate();
 		
-		if (ret == null)
-			return new HashSet<>();
+		// The Zones are gone and can not be refreshed
+		invalidate(Zone.class, zoneIds, em::detach);
+		invalidate(Location.class, locationIds, em::refresh);
+		freeCapacityIndex.invalidate();
+		
+		LOG.trace("<-- bulkDeleteAll() {}", ret);
 		
 		return ret;
 	}
+	
+	/**
+	 * Execute a bulk statement with the fixed parameters first and the Location ids behind
+	 */
+	private int bulkUpdate(String sql, List<String> locationIds, String... params) {
+		Query query = em.createNativeQuery(sql);
+		
+		int pos = 1;
+		for (String param : params) {
+			query.setParameter(pos++, param);
+		}
+		for (String locationId : locationIds) {
+			query.setParameter(pos++, locationId);
+		}
+		
+		return query.executeUpdate();
+	}
+	
+	private static String placeholders(List<String> values, int first) {
+		StringBuilder builder = new StringBuilder();
+		
+		for (int i = 0; i < values.size(); ++i) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append('?').append(first + i);
+		}
+		
+		return builder.toString();
+	}
+	
+	private static List<List<String>> chunks(Collection<String> values) {
+		List<List<String>> ret = new ArrayList<>();
+		List<String> all = new ArrayList<>(values);
+		
+		for (int i = 0; i < all.size(); i += BULK_CHUNK_SIZE) {
+			ret.add(all.subList(i, Math.min(i + BULK_CHUNK_SIZE, all.size())));
+		}
+		
+		return ret;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<String> nativeIds(String sql, String... params) {
+		Query query = em.createNativeQuery(sql);
+		
+		for (int i = 0; i < params.length; ++i) {
+			query.setParameter(i + 1, params[i]);
+		}
+		
+		return query.getResultList();
+	}
+	
+	/**
+	 * Bulk statements bypass the persistence context and the shared cache. Evict the affected entities from the
+	 * shared cache and apply the action to those the caller already has in its persistence context. All other
+	 * entities of the caller stay managed; its changes are flushed before each bulk statement.
+	 * 
+	 * @param entityClass the entity class
+	 * @param ids the ids of the affected entities
+	 * @param action what to do with a managed instance, refresh or detach
+	 */
+	private void invalidate(Class<?> entityClass, Collection<String> ids, Consumer<Object> action) {
+		Cache cache = em.getEntityManagerFactory().getCache();
+		// After the eviction only the instances of the caller are found, nothing is read or registered
+		IdentityMapAccessor managed = em.unwrap(UnitOfWork.class).getIdentityMapAccessor();
+		
+		for (String id : ids) {
+			cache.evict(entityClass, id);
+			
+			Object entity = managed.getFromIdentityMap(id, entityClass);
+			
+			if (entity != null) {
+				action.accept(entity);
+			}
+		}
+	}
+	
+	/**
+	 * Refresh the Zones whose Locations were changed by a bulk statement. The putaway index takes the new Zone
+	 * ratings on its next rebuild.
+	 */
+	private void invalidateZones(String... zoneIds) {
+		invalidate(Zone.class, Arrays.asList(zoneIds), em::refresh);
+		
+		freeCapacityIndex.invalidate();
+	}
+	
+	private static void checkLocationIds(Collection<String> locationIds) {
+		if (locationIds == null) {
+			throw new IllegalArgumentException("locationIds is null");
+		}
+		if (locationIds.stream().anyMatch(Objects::isNull)) {
+			throw new IllegalArgumentException(LocationBean.LOCATION_ID_IS_NULL);
+		}
+	}
+	
+	private TypedQuery<Location> locationsInZone(String zoneId) {
+		return em.createNamedQuery("findLocationsInZone", Location.class).setParameter(1, zoneId);
+	}
+	
+	private TypedQuery<HandlingUnit> handlingUnitsInZone(String zoneId) {
+		return em.createNamedQuery("findHandlingUnitsInZone", HandlingUnit.class).setParameter(1, zoneId);
+	}
+	
+	private void checkZoneId(String zoneId) {
+		if (zoneId == null) {
+			throw new IllegalArgumentException(ZONE_ID_IS_NULL);
+		}
+		if (getById(zoneId) == null) {
+			throw new IllegalArgumentException(ZONE_IS_NULL);
+		}
+	}
+	
+	private static void checkPaging(int offset, int count) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset < 0");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("count < 1");
+        }
+	}
 }
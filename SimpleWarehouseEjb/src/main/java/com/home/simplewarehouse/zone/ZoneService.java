@@ -1,6 +1,10 @@
 package com.home.simplewarehouse.zone;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.Location;
@@ -89,6 +93,100 @@ public interface ZoneService {
 	 * @return the HandlingUnit list based on the zone
 	 */
 	public Set<HandlingUnit> getAllHandlingUnits(Zone zone);
+	/**
+	 * Get a list of Locations in a given zoneId ordered by Location id
+	 * 
+     * @param zoneId the Zones id
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+     *
+	 * @return the Location list based on the zoneId, offset and count
+	 */
+	public List<Location> getAllLocations(String zoneId, int offset, int count);
+	/**
+	 * Get a list of HandlingUnits in a given zoneId ordered by HandlingUnit id
+	 * 
+     * @param zoneId the Zones id
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+     *
+	 * @return the HandlingUnit list based on the zoneId, offset and count
+	 */
+	public List<HandlingUnit> getAllHandlingUnits(String zoneId, int offset, int count);
+	/**
+	 * Pass all Locations in a given zoneId ordered by Location id to the consumer.<br>
+	 * The Locations are fetched in chunks so the whole Zone is never held in memory.
+	 * 
+     * @param zoneId the Zones id
+     * @param consumer the consumer of each Location
+	 */
+	public void forEachLocation(String zoneId, Consumer<Location> consumer);
+	/**
+	 * Count the Locations in a given zoneId
+	 * 
+     * @param zoneId the Zones id
+     *
+	 * @return the number of Locations
+	 */
+	public int countLocations(String zoneId);
+	/**
+	 * Count the HandlingUnits in a given zoneId
+	 * 
+     * @param zoneId the Zones id
+     *
+	 * @return the number of HandlingUnits
+	 */
+	public int countHandlingUnits(String zoneId);
+	/**
+	 * Count the Locations of each Zone
+	 * 
+	 * @return the number of Locations per Zone id
+	 */
+	public Map<String, Integer> countLocationsPerZone();
+	/**
+	 * Move Locations from the current Zone to the destination Zone with set based updates.<br>
+	 * Locations not in the current Zone are ignored.
+	 * 
+	 * @param locationIds the ids of the Locations to move
+	 * @param currentZoneId the id of the current Zone
+	 * @param destinationZoneId the id of the destination Zone
+	 * 
+	 * @return the number of changed Zone assignments
+	 */
+	public int bulkMoveLocations(Collection<String> locationIds, String currentZoneId, String destinationZoneId);
+	/**
+	 * Add Locations to a Zone with set based updates.<br>
+	 * Unknown Locations and Locations already in the Zone are ignored.
+	 * 
+	 * @param locationIds the ids of the Locations to add
+	 * @param zoneId the id of the Zone
+	 * 
+	 * @return the number of added Zone assignments
+	 */
+	public int bulkAddLocations(Collection<String> locationIds, String zoneId);
+	/**
+	 * Remove Locations from a Zone with set based updates
+	 * 
+	 * @param locationIds the ids of the Locations to remove
+	 * @param zoneId the id of the Zone
+	 * 
+	 * @return the number of removed Zone assignments
+	 */
+	public int bulkRemoveLocations(Collection<String> locationIds, String zoneId);
+	/**
+	 * Remove all Locations from a Zone with one set based update
+	 * 
+	 * @param zoneId the id of the Zone
+	 * 
+	 * @return the number of removed Zone assignments
+	 */
+	public int bulkClear(String zoneId);
+	/**
+	 * Delete all Zones and their Location assignments with set based updates
+	 * 
+	 * @return the number of deleted Zone assignments and Zones
+	 */
+	public int bulkDeleteAll();
 	/**
 	 * Count the Zone items
 	 *
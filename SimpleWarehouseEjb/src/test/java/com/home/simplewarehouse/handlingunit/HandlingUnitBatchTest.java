@@ -0,0 +1,326 @@
+package com.home.simplewarehouse.handlingunit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ejb.EJB;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.location.CapacityExceededException;
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.model.ErrorStatus;
+import com.home.simplewarehouse.model.FifoLocation;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.zone.ZoneBean;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Test the batch execution of the Handling Unit bean.
+ */
+@RunWith(Arquillian.class)
+public class HandlingUnitBatchTest {
+	private static final Logger LOG = LogManager.getLogger(HandlingUnitBatchTest.class);
+
+	@EJB
+	HandlingUnitService handlingUnitService;
+
+	@EJB
+	LocationService locationService;
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						HandlingUnitService.class, HandlingUnitBean.class,
+						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						ZoneService.class, ZoneBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public HandlingUnitBatchTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * What to do before an individual test will be executed (each test)
+	 */
+	@Before
+	public void beforeTest() {
+		LOG.trace("--> beforeTest()");
+
+		LOG.trace("<-- beforeTest()");
+	}
+
+	/**
+	 * What to do after an individual test has been executed (each test)<br>
+	 * <br>
+	 * Cleanup the test data
+	 */
+	@After
+	public void afterTest() {
+		LOG.trace("--> afterTest()");
+
+		locationService.getAll().stream().forEach(l -> locationService.delete(l));
+
+		handlingUnitService.getAll().stream().forEach(h -> handlingUnitService.delete(h));
+
+		LOG.trace("<-- afterTest()");
+	}
+
+	/**
+	 * Empty and null batches do nothing
+	 */
+	@Test
+	@InSequence(0)
+	public void emptyBatch() {
+		LOG.info("--- Test emptyBatch");
+
+		assertTrue(handlingUnitService.executeBatch(null).isEmpty());
+		assertTrue(handlingUnitService.executeBatch(new ArrayList<>()).isEmpty());
+	}
+
+	/**
+	 * Drop many HandlingUnits in one batch; the capacity check considers the drops done before
+	 */
+	@Test
+	@InSequence(1)
+	public void dropBatchWithCapacityLimit() {
+		LOG.info("--- Test dropBatchWithCapacityLimit");
+
+		Location locA = new RandomLocation("A", "Test");
+		locA.getDimension().setMaxCapacity(2);
+		locationService.createOrUpdate(locA);
+
+		List<MoveCommand> commands = new ArrayList<>();
+		commands.add(MoveCommand.drop("A", "1"));
+		commands.add(MoveCommand.drop("A", "2"));
+		commands.add(MoveCommand.drop("A", "3"));
+		commands.add(MoveCommand.drop("UNKNOWN", "4"));
+		commands.add(MoveCommand.drop(null, "5"));
+
+		List<MoveResult> results = handlingUnitService.executeBatch(commands);
+
+		results.forEach(LOG::info);
+
+		assertEquals(commands.size(), results.size());
+		assertEquals(MoveResult.Status.OK, results.get(0).getStatus());
+		assertEquals(MoveResult.Status.OK, results.get(1).getStatus());
+		assertEquals(MoveResult.Status.DIMENSION_EXCEEDED, results.get(2).getStatus());
+		assertTrue(results.get(2).getException() instanceof CapacityExceededException);
+		assertEquals(MoveResult.Status.NOT_FOUND, results.get(3).getStatus());
+		assertEquals(MoveResult.Status.INVALID, results.get(4).getStatus());
+
+		// The failing commands did not roll back the successful ones
+		assertEquals(2, locationService.getById("A").getHandlingUnits().size());
+		assertEquals("A", handlingUnitService.getById("1").getLocation().getLocationId());
+		assertEquals("A", handlingUnitService.getById("2").getLocation().getLocationId());
+		// The rejected drop did not store the new HandlingUnit
+		assertNull(handlingUnitService.getById("3"));
+	}
+
+	/**
+	 * Drop and pick in one batch including picks from an empty Location
+	 */
+	@Test
+	@InSequence(2)
+	public void dropPickBatch() {
+		LOG.info("--- Test dropPickBatch");
+
+		locationService.createOrUpdate(new RandomLocation("A", "Test"));
+		locationService.createOrUpdate(new FifoLocation("F", "Test"));
+
+		List<MoveCommand> commands = new ArrayList<>();
+		commands.add(MoveCommand.drop("F", "1"));
+		commands.add(MoveCommand.drop("F", "2"));
+		commands.add(MoveCommand.pick("F"));
+		commands.add(MoveCommand.drop("A", "3"));
+		commands.add(MoveCommand.pick("A", "3"));
+		commands.add(MoveCommand.pick("A", "3"));
+
+		List<MoveResult> results = handlingUnitService.executeBatch(commands);
+
+		results.forEach(LOG::info);
+
+		assertEquals(MoveResult.Status.OK, results.get(0).getStatus());
+		assertEquals(MoveResult.Status.OK, results.get(1).getStatus());
+		assertEquals(MoveResult.Status.OK, results.get(2).getStatus());
+		assertEquals("1", results.get(2).getHandlingUnitId());
+		assertEquals(MoveResult.Status.OK, results.get(3).getStatus());
+		assertEquals(MoveResult.Status.OK, results.get(4).getStatus());
+		assertEquals(MoveResult.Status.LOCATION_IS_EMPTY, results.get(5).getStatus());
+		assertTrue(results.get(5).getException() instanceof LocationIsEmptyException);
+
+		assertEquals(1, locationService.getById("F").getHandlingUnits().size());
+		assertTrue(locationService.getById("A").getHandlingUnits().isEmpty());
+	}
+
+	/**
+	 * Assign, move and remove in one batch
+	 */
+	@Test
+	@InSequence(3)
+	public void composeBatch() {
+		LOG.info("--- Test composeBatch");
+
+		handlingUnitService.createOrUpdate(new HandlingUnit("1", "Test"));
+		handlingUnitService.createOrUpdate(new HandlingUnit("2", "Test"));
+		handlingUnitService.createOrUpdate(new HandlingUnit("3", "Test"));
+		handlingUnitService.createOrUpdate(new HandlingUnit("4", "Test"));
+
+		List<MoveCommand> commands = new ArrayList<>();
+		commands.add(MoveCommand.assign("2", "1"));
+		commands.add(MoveCommand.assign("3", "1"));
+		commands.add(MoveCommand.move("3", "4"));
+		commands.add(MoveCommand.remove("2", "1"));
+		commands.add(MoveCommand.assign("9", "1"));
+
+		List<MoveResult> results = handlingUnitService.executeBatch(commands);
+
+		results.forEach(LOG::info);
+
+		for (int i = 0; i < 4; ++i) {
+			assertEquals(MoveResult.Status.OK, results.get(i).getStatus());
+		}
+		assertEquals(MoveResult.Status.NOT_FOUND, results.get(4).getStatus());
+
+		assertTrue(handlingUnitService.getById("1").getContains().isEmpty());
+		assertNull(handlingUnitService.getById("2").getBaseHU());
+		assertEquals("4", handlingUnitService.getById("3").getBaseHU().getId());
+	}
+
+	/**
+	 * Remove and assign the same HandlingUnits again in one batch; nothing is flushed in between
+	 */
+	@Test
+	@InSequence(4)
+	public void reassignBatch() {
+		LOG.info("--- Test reassignBatch");
+
+		handlingUnitService.createOrUpdate(new HandlingUnit("1", "Test"));
+		handlingUnitService.createOrUpdate(new HandlingUnit("2", "Test"));
+		handlingUnitService.createOrUpdate(new HandlingUnit("3", "Test"));
+		handlingUnitService.assign("3", "2");
+
+		List<MoveCommand> commands = new ArrayList<>();
+		commands.add(MoveCommand.assign("2", "1"));
+		commands.add(MoveCommand.remove("2", "1"));
+		commands.add(MoveCommand.assign("2", "1"));
+		commands.add(MoveCommand.move("3", "1"));
+
+		List<MoveResult> results = handlingUnitService.executeBatch(commands);
+
+		results.forEach(LOG::info);
+
+		results.forEach(r -> assertEquals(MoveResult.Status.OK, r.getStatus()));
+
+		HandlingUnit base = handlingUnitService.getById("1");
+
+		assertEquals(2, base.getContains().size());
+		assertEquals(2, handlingUnitService.flatContains(base).size());
+		assertTrue(handlingUnitService.flatContains(handlingUnitService.getById("2")).isEmpty());
+		assertEquals("1", handlingUnitService.getById("3").getRootBaseHuId());
+	}
+
+	/**
+	 * Failed picks in a batch leave nothing behind; a single pick would mark the Locations in error and
+	 * correct the Location of the HandlingUnit before it fails
+	 */
+	@Test
+	@InSequence(5)
+	public void failedCommandChangesNothing() {
+		LOG.info("--- Test failedCommandChangesNothing");
+
+		locationService.createOrUpdate(new RandomLocation("A", "Test"));
+		locationService.createOrUpdate(new RandomLocation("B", "Test"));
+		locationService.createOrUpdate(new RandomLocation("C", "Test"));
+
+		List<MoveCommand> prepare = new ArrayList<>();
+		prepare.add(MoveCommand.drop("A", "1"));
+		prepare.add(MoveCommand.drop("B", "2"));
+		handlingUnitService.executeBatch(prepare);
+		handlingUnitService.createOrUpdate(new HandlingUnit("3", "Test"));
+		handlingUnitService.assign("3", "2");
+
+		List<MoveCommand> commands = new ArrayList<>();
+		commands.add(MoveCommand.drop("A", "4"));
+		commands.add(MoveCommand.pick("A", "2"));
+		commands.add(MoveCommand.pick("A", "3"));
+		commands.add(MoveCommand.pick("C", "1"));
+
+		List<MoveResult> results = handlingUnitService.executeBatch(commands);
+
+		results.forEach(LOG::info);
+
+		assertEquals(MoveResult.Status.OK, results.get(0).getStatus());
+		assertEquals(MoveResult.Status.NOT_ON_LOCATION, results.get(1).getStatus());
+		assertEquals(MoveResult.Status.NOT_ON_LOCATION, results.get(2).getStatus());
+		assertEquals(MoveResult.Status.LOCATION_IS_EMPTY, results.get(3).getStatus());
+
+		// The successful drop is stored
+		assertEquals(2, locationService.getById("A").getHandlingUnits().size());
+		assertEquals("A", handlingUnitService.getById("4").getLocation().getLocationId());
+
+		// Nothing of the failed picks
+		assertEquals(ErrorStatus.NONE, locationService.getById("A").getLocationStatus().getErrorStatus());
+		assertEquals(ErrorStatus.NONE, locationService.getById("B").getLocationStatus().getErrorStatus());
+		assertEquals(ErrorStatus.NONE, locationService.getById("C").getLocationStatus().getErrorStatus());
+		assertEquals("A", handlingUnitService.getById("1").getLocation().getLocationId());
+		assertEquals("B", handlingUnitService.getById("2").getLocation().getLocationId());
+		assertEquals("2", handlingUnitService.getById("3").getBaseHU().getId());
+		assertEquals("B", handlingUnitService.getById("3").getRootLocationId());
+		assertTrue(locationService.getById("C").getHandlingUnits().isEmpty());
+	}
+}
@@ -0,0 +1,281 @@
+package com.home.simplewarehouse.handlingunit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.ejb.EJB;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.zone.ZoneBean;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Test the containment closure of the Handling Unit bean.
+ */
+@RunWith(Arquillian.class)
+public class HandlingUnitClosureTest {
+	private static final Logger LOG = LogManager.getLogger(HandlingUnitClosureTest.class);
+
+	/**
+	 * Levels of the test tree (root level included)
+	 */
+	private static final int TREE_LEVELS = 4;
+	/**
+	 * Children per HandlingUnit of the test tree; 1 + 3 + 9 + 27 nodes
+	 */
+	private static final int TREE_CHILDREN = 3;
+
+	@EJB
+	HandlingUnitService handlingUnitService;
+
+	@EJB
+	LocationService locationService;
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						HandlingUnitService.class, HandlingUnitBean.class,
+						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						ZoneService.class, ZoneBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public HandlingUnitClosureTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * What to do before an individual test will be executed (each test)
+	 */
+	@Before
+	public void beforeTest() {
+		LOG.trace("--> beforeTest()");
+
+		LOG.trace("<-- beforeTest()");
+	}
+
+	/**
+	 * What to do after an individual test has been executed (each test)<br>
+	 * <br>
+	 * Cleanup the test data
+	 */
+	@After
+	public void afterTest() {
+		LOG.trace("--> afterTest()");
+
+		locationService.getAll().stream().forEach(l -> locationService.delete(l));
+
+		handlingUnitService.getAll().stream().forEach(h -> handlingUnitService.delete(h));
+
+		LOG.trace("<-- afterTest()");
+	}
+
+	/**
+	 * The closure follows assign, move, remove and free
+	 */
+	@Test
+	@InSequence(0)
+	public void closureFollowsComposing() {
+		LOG.info("--- Test closureFollowsComposing");
+
+		for (int i = 1; i <= 6; ++i) {
+			handlingUnitService.createOrUpdate(new HandlingUnit(String.valueOf(i)));
+		}
+
+		// 1 <- 2 <- 3 <- 4 and 1 <- 5
+		handlingUnitService.assign("2", "1");
+		handlingUnitService.assign("3", "2");
+		handlingUnitService.assign("4", "3");
+		handlingUnitService.assign("5", "1");
+
+		assertEquals(ids("2", "3", "4", "5"), flatIds("1"));
+		assertEquals(ids("3", "4"), flatIds("2"));
+		assertEquals(recursiveIds("1"), flatIds("1"));
+
+		// A loop over more than one level is refused
+		handlingUnitService.assign("1", "4");
+		assertEquals(ids("2", "3", "4", "5"), flatIds("1"));
+		assertTrue(flatIds("4").isEmpty());
+
+		// Move the sub tree 3 <- 4 to 6
+		handlingUnitService.move("3", "6");
+		assertEquals(ids("2", "5"), flatIds("1"));
+		assertEquals(ids("3", "4"), flatIds("6"));
+		assertEquals(recursiveIds("6"), flatIds("6"));
+
+		// Remove 4 from 3
+		handlingUnitService.remove("4", "3");
+		assertEquals(ids("3"), flatIds("6"));
+		assertTrue(flatIds("4").isEmpty());
+
+		// Free 1
+		handlingUnitService.free("1");
+		assertTrue(flatIds("1").isEmpty());
+		assertTrue(flatIds("2").isEmpty());
+
+		// Delete a nested HandlingUnit
+		handlingUnitService.delete("3");
+		assertTrue(flatIds("6").isEmpty());
+	}
+
+	/**
+	 * flatContains on a tree built by batches matches the recursive walk over the contains sets on every level;
+	 * the scaling is measured by the performance suite
+	 */
+	@Test
+	@InSequence(1)
+	public void flatContainsTree() {
+		LOG.info("--- Test flatContainsTree");
+
+		String root = buildTree();
+
+		Set<String> expected = recursiveIds(root);
+		assertEquals(nodeCount() - 1, expected.size());
+		assertEquals(expected, flatIds(root));
+
+		for (int c = 0; c < TREE_CHILDREN; ++c) {
+			String child = root + "_" + c;
+
+			assertEquals(recursiveIds(child), flatIds(child));
+			assertEquals((nodeCount() - 1) / TREE_CHILDREN - 1, flatIds(child).size());
+			assertTrue(flatIds(child + "_0_0").isEmpty());
+		}
+	}
+
+	/**
+	 * Build the test tree level by level using batches
+	 *
+	 * @return the root id
+	 */
+	private String buildTree() {
+		String root = "TREE";
+		handlingUnitService.createOrUpdate(new HandlingUnit(root));
+
+		List<String> level = new ArrayList<>();
+		level.add(root);
+
+		for (int depth = 1; depth < TREE_LEVELS; ++depth) {
+			List<String> next = new ArrayList<>();
+			List<MoveCommand> commands = new ArrayList<>();
+
+			for (String parent : level) {
+				for (int c = 0; c < TREE_CHILDREN; ++c) {
+					String child = parent + "_" + c;
+
+					handlingUnitService.createOrUpdate(new HandlingUnit(child));
+					commands.add(MoveCommand.assign(child, parent));
+					next.add(child);
+				}
+			}
+			handlingUnitService.executeBatch(commands).forEach(r -> assertTrue(r.toString(), r.isOk()));
+
+			level = next;
+		}
+
+		return root;
+	}
+
+	private static int nodeCount() {
+		int count = 0;
+		int onLevel = 1;
+
+		for (int depth = 0; depth < TREE_LEVELS; ++depth) {
+			count += onLevel;
+			onLevel *= TREE_CHILDREN;
+		}
+		return count;
+	}
+
+	/**
+	 * The former recursive implementation of flatContains
+	 *
+	 * @param base the base HandlingUnit
+	 *
+	 * @return all HandlingUnits on base over all levels
+	 */
+	private static Set<HandlingUnit> recursiveFlatContains(HandlingUnit base) {
+		final Set<HandlingUnit> onBase = new HashSet<>(base.getContains());
+		final Set<HandlingUnit> dummy = new HashSet<>();
+
+		for (HandlingUnit item : onBase) {
+			dummy.addAll(recursiveFlatContains(item));
+		}
+		onBase.addAll(dummy);
+
+		return onBase;
+	}
+
+	private Set<String> flatIds(String baseId) {
+		return handlingUnitService.flatContains(handlingUnitService.getById(baseId)).stream()
+				.map(HandlingUnit::getId).collect(Collectors.toSet());
+	}
+
+	private Set<String> recursiveIds(String baseId) {
+		return recursiveFlatContains(handlingUnitService.getById(baseId)).stream()
+				.map(HandlingUnit::getId).collect(Collectors.toSet());
+	}
+
+	private static Set<String> ids(String... ids) {
+		Set<String> ret = new HashSet<>();
+		for (String id : ids) {
+			ret.add(id);
+		}
+		return ret;
+	}
+}
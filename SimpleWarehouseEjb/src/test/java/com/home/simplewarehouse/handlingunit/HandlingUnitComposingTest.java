@@ -35,6 +35,8 @@ import com.home.simplewarehouse.location.LocationStatusService;
 import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -72,6 +74,7 @@ public class HandlingUnitComposingTest {
 				.addClasses(
 						HandlingUnitService.class, HandlingUnitBean.class,
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						LocationStatusService.class, LocationStatusBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
@@ -0,0 +1,252 @@
+package com.home.simplewarehouse.handlingunit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.util.Random;
+
+import javax.annotation.Resource;
+import javax.ejb.EJB;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.UserTransaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.location.DimensionException;
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.zone.ZoneBean;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Test the stored root Location and root base HandlingUnit of the Handling Unit bean.
+ */
+@RunWith(Arquillian.class)
+public class HandlingUnitRootTest {
+	private static final Logger LOG = LogManager.getLogger(HandlingUnitRootTest.class);
+
+	private static final int HU_NUM = 8;
+	private static final int LOCATION_NUM = 3;
+	private static final int OPERATION_NUM = 200;
+
+	@EJB
+	HandlingUnitService handlingUnitService;
+
+	@EJB
+	LocationService locationService;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Resource
+	UserTransaction userTransaction;
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						HandlingUnitService.class, HandlingUnitBean.class,
+						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						ZoneService.class, ZoneBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public HandlingUnitRootTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * What to do before an individual test will be executed (each test)
+	 */
+	@Before
+	public void beforeTest() {
+		LOG.trace("--> beforeTest()");
+
+		LOG.trace("<-- beforeTest()");
+	}
+
+	/**
+	 * What to do after an individual test has been executed (each test)<br>
+	 * <br>
+	 * Cleanup the test data
+	 */
+	@After
+	public void afterTest() {
+		LOG.trace("--> afterTest()");
+
+		locationService.getAll().stream().forEach(l -> locationService.delete(l));
+
+		handlingUnitService.getAll().stream().forEach(h -> handlingUnitService.delete(h));
+
+		LOG.trace("<-- afterTest()");
+	}
+
+	/**
+	 * Random sequences of drop, pick, assign, remove, move and free; after each operation the stored root values
+	 * of all HandlingUnits have to match the values found by walking up the base chain
+	 */
+	@Test
+	@InSequence(0)
+	public void rootIsConsistent() {
+		LOG.info("--- Test rootIsConsistent");
+
+		for (int l = 0; l < LOCATION_NUM; ++l) {
+			locationService.createOrUpdate(new RandomLocation("L" + l));
+		}
+		for (int h = 0; h < HU_NUM; ++h) {
+			handlingUnitService.createOrUpdate(new HandlingUnit("H" + h));
+		}
+
+		Random random = new Random(4711L);
+
+		for (int op = 0; op < OPERATION_NUM; ++op) {
+			String hu = "H" + random.nextInt(HU_NUM);
+			String other = "H" + random.nextInt(HU_NUM);
+			String location = "L" + random.nextInt(LOCATION_NUM);
+
+			try {
+				switch (random.nextInt(6)) {
+				case 0:
+					LOG.info("{}: drop {} on {}", op, hu, location);
+					handlingUnitService.dropTo(location, hu);
+					break;
+				case 1:
+					LOG.info("{}: pick {} from {}", op, hu, location);
+					handlingUnitService.pickFrom(location, hu);
+					break;
+				case 2:
+					LOG.info("{}: assign {} to {}", op, hu, other);
+					handlingUnitService.assign(hu, other);
+					break;
+				case 3:
+					LOG.info("{}: remove {} from {}", op, hu, other);
+					handlingUnitService.remove(hu, other);
+					break;
+				case 4:
+					LOG.info("{}: move {} to {}", op, hu, other);
+					handlingUnitService.move(hu, other);
+					break;
+				default:
+					LOG.info("{}: free {}", op, hu);
+					handlingUnitService.free(hu);
+					break;
+				}
+			}
+			catch (DimensionException | LocationIsEmptyException | HandlingUnitNotOnLocationException ex) {
+				LOG.info("{}: {}", op, ex.getMessage());
+			}
+
+			for (int h = 0; h < HU_NUM; ++h) {
+				checkRoot("H" + h);
+			}
+		}
+	}
+
+	/**
+	 * HandlingUnits already managed in the callers transaction see the new root values without a new read
+	 *
+	 * @throws Exception in case of a test failure
+	 */
+	@Test
+	@InSequence(1)
+	public void managedRootIsCurrent() throws Exception {
+		LOG.info("--- Test managedRootIsCurrent");
+
+		locationService.createOrUpdate(new RandomLocation("L0"));
+		handlingUnitService.createOrUpdate(new HandlingUnit("BASE"));
+		handlingUnitService.createOrUpdate(new HandlingUnit("INNER"));
+		handlingUnitService.assign("INNER", "BASE");
+
+		userTransaction.begin();
+		try {
+			HandlingUnit inner = entityManager.find(HandlingUnit.class, "INNER");
+
+			assertNull(inner.getRootLocationId());
+			assertEquals("BASE", inner.getRootBaseHuId());
+
+			handlingUnitService.dropTo("L0", "BASE");
+
+			assertSame(inner, entityManager.find(HandlingUnit.class, "INNER"));
+			assertEquals("L0", inner.getRootLocationId());
+			assertEquals("BASE", inner.getRootBaseHuId());
+
+			handlingUnitService.pickFrom("L0", "BASE");
+
+			assertNull(inner.getRootLocationId());
+		}
+		finally {
+			userTransaction.commit();
+		}
+
+		checkRoot("INNER");
+	}
+
+	/**
+	 * Compare the stored root values with the recursive result
+	 *
+	 * @param id the HandlingUnit id
+	 */
+	private void checkRoot(String id) {
+		HandlingUnit hu = handlingUnitService.getById(id);
+		HandlingUnit root = hu;
+
+		while (root.getBaseHU() != null) {
+			root = handlingUnitService.getById(root.getBaseHU().getId());
+		}
+
+		String expectedBase = root.getId().equals(hu.getId()) ? null : root.getId();
+		String expectedLocation = root.getLocation() == null ? null : root.getLocation().getLocationId();
+
+		assertEquals("Root base of " + id, expectedBase, hu.getRootBaseHuId());
+		assertEquals("Root location of " + id, expectedLocation, hu.getRootLocationId());
+	}
+}
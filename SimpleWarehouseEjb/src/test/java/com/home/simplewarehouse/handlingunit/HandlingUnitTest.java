@@ -45,6 +45,8 @@ import com.home.simplewarehouse.model.LengthCategory;
 import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.model.WidthCategory;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -84,6 +86,7 @@ public class HandlingUnitTest {
 				.addClasses(
 						HandlingUnitService.class, HandlingUnitBean.class,
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						LocationStatusService.class, LocationStatusBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
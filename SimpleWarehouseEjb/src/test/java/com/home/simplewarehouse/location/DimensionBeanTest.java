@@ -31,6 +31,8 @@ import com.home.simplewarehouse.model.LengthCategory;
 import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.model.WidthCategory;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -62,6 +64,7 @@ public class DimensionBeanTest {
 						DimensionService.class, DimensionBean.class,
 						LocationStatusService.class, LocationStatusBean.class,
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
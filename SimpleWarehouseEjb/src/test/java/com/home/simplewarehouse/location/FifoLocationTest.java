@@ -9,6 +9,7 @@ import static org.junit.Assume.assumeTrue;
 
 import java.io.File;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.ejb.EJB;
@@ -31,10 +32,13 @@ import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
 import com.home.simplewarehouse.handlingunit.HandlingUnitNotOnLocationException;
 import com.home.simplewarehouse.handlingunit.HandlingUnitService;
 import com.home.simplewarehouse.handlingunit.LocationIsEmptyException;
+import com.home.simplewarehouse.handlingunit.MoveCommand;
 import com.home.simplewarehouse.model.EntityBase;
 import com.home.simplewarehouse.model.FifoLocation;
 import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -47,6 +51,9 @@ import com.home.simplewarehouse.zone.ZoneService;
 public class FifoLocationTest {
 	private static final Logger LOG = LogManager.getLogger(FifoLocationTest.class);
 
+	private static final int LANE_DEPTH = 1000;
+	private static final int LANE_RUNS = 20;
+
 	/**
 	 * Configure the deployment.<br>
 	 * Add all needed EJB interfaces and beans for the test.
@@ -64,6 +71,7 @@ public class FifoLocationTest {
 				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
 				.addClasses(
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
@@ -470,4 +478,89 @@ public class FifoLocationTest {
 			Assert.fail("Not expected: " + ex);
 		}
 	}
+
+	/**
+	 * Drop and pick on a FIFO lane of 1000 HandlingUnits; the positions must stay in lane order
+	 */
+	@Test
+	@InSequence(7)
+	public void deepLane() {
+		LOG.info("--- Test deepLane");
+		
+		String locationId = "DEEP";
+		locationService.createOrUpdate(new FifoLocation(locationId, "Test"));
+		
+		List<MoveCommand> commands = new ArrayList<>();
+		for (int i = 0; i < LANE_DEPTH; ++i) {
+			commands.add(MoveCommand.drop(locationId, locationId + "_" + i));
+		}
+		handlingUnitService.executeBatch(commands).forEach(r -> assertTrue(r.toString(), r.isOk()));
+		
+		long total = 0;
+		
+		try {
+			for (int i = 0; i < LANE_RUNS; ++i) {
+				String id = locationId + "_NEW_" + i;
+				Location location = locationService.getById(locationId);
+				
+				long start = System.nanoTime();
+				handlingUnitService.dropTo(location, new HandlingUnit(id, "Test"));
+				HandlingUnit picked = handlingUnitService.pickFrom(locationId);
+				total += System.nanoTime() - start;
+				
+				assertEquals(locationId + "_" + i, picked.getId());
+			}
+		}
+		catch (LocationIsEmptyException | DimensionException ex) {
+			Assert.fail("Not expected: " + ex);
+		}
+		LOG.info("Average drop and pick latency on a lane of {}: {}us", LANE_DEPTH, total / LANE_RUNS / 1000);
+		
+		Location location = locationService.getById(locationId);
+		assertEquals(LANE_DEPTH, location.getHandlingUnits().size());
+		assertEquals(locationId + "_" + LANE_RUNS, location.getAvailablePicks().get(0).getId());
+		assertEquals(Integer.valueOf(1), handlingUnitService.getById(locationId + "_" + LANE_RUNS).getLocaPos());
+		assertEquals(Integer.valueOf(LANE_DEPTH), handlingUnitService.getById(locationId + "_NEW_" + (LANE_RUNS - 1)).getLocaPos());
+	}
+	
+	/**
+	 * A pick from the middle of the lane must not leave a gap at the pick face
+	 */
+	@Test
+	@InSequence(8)
+	public void middlePick() {
+		LOG.info("--- Test middlePick");
+		
+		Location locA = locationService.createOrUpdate(new FifoLocation("A", "Test"));
+		
+		try {
+			handlingUnitService.dropTo(locA, new HandlingUnit("1", "Test"));
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("2", "Test"));
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("3", "Test"));
+			locA = locationService.getById("A");
+
+			// Pick from the middle of the lane, then the pick face
+			handlingUnitService.pickFrom(locA, handlingUnitService.getById("2"));
+			assertEquals(Integer.valueOf(1), handlingUnitService.getById("1").getLocaPos());
+			assertEquals(Integer.valueOf(2), handlingUnitService.getById("3").getLocaPos());
+
+			HandlingUnit picked = handlingUnitService.pickFrom("A");
+			assertEquals("1", picked.getId());
+
+			HandlingUnit hU3 = handlingUnitService.getById("3");
+			assertEquals(Integer.valueOf(1), hU3.getLocaPos());
+
+			locA = locationService.getById("A");
+			assertEquals(1, locA.getAvailablePicks().size());
+			assertEquals(hU3, locA.getAvailablePicks().get(0));
+			assertEquals(3L, locA.getLocaSeqHead());
+
+			// Next drop goes behind the gap
+			handlingUnitService.dropTo(locA, new HandlingUnit("4", "Test"));
+			assertEquals(Integer.valueOf(2), handlingUnitService.getById("4").getLocaPos());
+		}
+		catch (LocationIsEmptyException | DimensionException | HandlingUnitNotOnLocationException ex) {
+			Assert.fail("Not expected: " + ex);
+		}
+	}
 }
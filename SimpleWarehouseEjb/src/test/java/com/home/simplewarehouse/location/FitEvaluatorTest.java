@@ -0,0 +1,132 @@
+package com.home.simplewarehouse.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.model.WidthCategory;
+
+/**
+ * Test the Fit Evaluator.
+ */
+@RunWith(JUnit4.class)
+public class FitEvaluatorTest {
+	private static final Logger LOG = LogManager.getLogger(FitEvaluatorTest.class);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public FitEvaluatorTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * The category bitmasks give the same result as the former equals chains for all combinations
+	 */
+	@Test
+	public void masksMatchCategoryRules() {
+		for (HeightCategory max : HeightCategory.values()) {
+			for (HeightCategory height : HeightCategory.values()) {
+				boolean over = max != HeightCategory.NOT_RELEVANT
+						&& (height == HeightCategory.TOO_HIGH || height == HeightCategory.UNKNOWN
+						|| (max == HeightCategory.MIDDLE && height == HeightCategory.HIGH)
+						|| (max == HeightCategory.LOW && (height == HeightCategory.HIGH || height == HeightCategory.MIDDLE)));
+
+				assertEquals(max + "/" + height, !over, FitEvaluator.heightFits(max, height));
+			}
+		}
+
+		for (LengthCategory max : LengthCategory.values()) {
+			for (LengthCategory length : LengthCategory.values()) {
+				boolean over = max != LengthCategory.NOT_RELEVANT
+						&& (length == LengthCategory.TOO_LONG || length == LengthCategory.UNKNOWN
+						|| (max == LengthCategory.MIDDLE && length == LengthCategory.LONG)
+						|| (max == LengthCategory.SHORT && (length == LengthCategory.LONG || length == LengthCategory.MIDDLE)));
+
+				assertEquals(max + "/" + length, !over, FitEvaluator.lengthFits(max, 1, length));
+				// Length is not relevant for a Location with more capacity
+				assertEquals(max + "/" + length, true, FitEvaluator.lengthFits(max, 2, length));
+			}
+		}
+
+		for (WidthCategory max : WidthCategory.values()) {
+			for (WidthCategory width : WidthCategory.values()) {
+				boolean over = max != WidthCategory.NOT_RELEVANT
+						&& (width == WidthCategory.TOO_WIDE || width == WidthCategory.UNKNOWN
+						|| (max == WidthCategory.MIDDLE && width == WidthCategory.WIDE)
+						|| (max == WidthCategory.NARROW && (width == WidthCategory.WIDE || width == WidthCategory.MIDDLE)));
+
+				assertEquals(max + "/" + width, !over, FitEvaluator.widthFits(max, width));
+			}
+		}
+	}
+
+	/**
+	 * Only the first exceeded limit is reported in the order capacity, weight, height, length, width
+	 */
+	@Test
+	public void evaluatePriority() {
+		Location location = new RandomLocation("A");
+		location.setDimension(1, 50, HeightCategory.LOW, LengthCategory.SHORT, WidthCategory.NARROW);
+
+		HandlingUnit fits = new HandlingUnit("1", 10, 1.0F, HeightCategory.LOW, LengthCategory.SHORT, WidthCategory.NARROW);
+		HandlingUnit tooBig = new HandlingUnit("2", 60, 1.0F, HeightCategory.HIGH, LengthCategory.LONG, WidthCategory.WIDE);
+
+		assertEquals(FitResult.FITS, FitEvaluator.evaluate(location, fits));
+		assertEquals(FitResult.WEIGHT_EXCEEDED, FitEvaluator.evaluate(location, tooBig));
+
+		tooBig.setWeight(10);
+		assertEquals(FitResult.OVERHEIGHT, FitEvaluator.evaluate(location, tooBig));
+
+		tooBig.setHeight(HeightCategory.LOW);
+		assertEquals(FitResult.OVERLENGTH, FitEvaluator.evaluate(location, tooBig));
+
+		tooBig.setLength(LengthCategory.SHORT);
+		assertEquals(FitResult.OVERWIDTH, FitEvaluator.evaluate(location, tooBig));
+
+		location.addHandlingUnit(fits);
+		assertEquals(FitResult.CAPACITY_EXCEEDED, FitEvaluator.evaluate(location, tooBig));
+	}
+
+	/**
+	 * One HandlingUnit against many candidates
+	 */
+	@Test
+	public void canFitCandidates() {
+		List<Location> candidates = new ArrayList<>();
+
+		for (int i = 0; i < 10_000; ++i) {
+			Location location = new RandomLocation("L" + i);
+			location.setDimension(0, 0, HeightCategory.values()[i % HeightCategory.values().length]
+					, LengthCategory.NOT_RELEVANT, WidthCategory.NOT_RELEVANT);
+			candidates.add(location);
+		}
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.MIDDLE);
+
+		long start = System.nanoTime();
+		List<Location> fitting = FitEvaluator.canFit(candidates, handlingUnit);
+		long duration = System.nanoTime() - start;
+
+		LOG.info("canFit on {} candidates: {}us", candidates.size(), duration / 1000);
+
+		// Only a maximum height LOW does not allow MIDDLE
+		long low = candidates.stream().filter(l -> l.getDimension().getMaxHeight() == HeightCategory.LOW).count();
+		assertEquals(candidates.size() - low, fitting.size());
+		fitting.forEach(l -> assertNotEquals(HeightCategory.LOW, l.getDimension().getMaxHeight()));
+	}
+}
@@ -9,6 +9,7 @@ import static org.junit.Assume.assumeTrue;
 
 import java.io.File;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.ejb.EJB;
@@ -32,10 +33,13 @@ import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
 import com.home.simplewarehouse.handlingunit.HandlingUnitNotOnLocationException;
 import com.home.simplewarehouse.handlingunit.HandlingUnitService;
 import com.home.simplewarehouse.handlingunit.LocationIsEmptyException;
+import com.home.simplewarehouse.handlingunit.MoveCommand;
 import com.home.simplewarehouse.model.EntityBase;
 import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.LifoLocation;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -48,6 +52,9 @@ import com.home.simplewarehouse.zone.ZoneService;
 public class LifoLocationTest {
 	private static final Logger LOG = LogManager.getLogger(LifoLocationTest.class);
 
+	private static final int LANE_DEPTH = 1000;
+	private static final int LANE_RUNS = 20;
+
 	/**
 	 * Configure the deployment.<br>
 	 * Add all needed EJB interfaces and beans for the test.
@@ -65,6 +72,7 @@ public class LifoLocationTest {
 				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
 				.addClasses(
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
@@ -548,4 +556,90 @@ public class LifoLocationTest {
 			assertTrue(true);
 		}		
 	}
+
+	/**
+	 * Drop and pick on a LIFO lane of 1000 HandlingUnits; the positions must stay in lane order
+	 */
+	@Test
+	@InSequence(11)
+	public void deepLane() {
+		LOG.info("--- Test deepLane");
+		
+		String locationId = "DEEP";
+		locationService.createOrUpdate(new LifoLocation(locationId, "Test"));
+		
+		List<MoveCommand> commands = new ArrayList<>();
+		for (int i = 0; i < LANE_DEPTH; ++i) {
+			commands.add(MoveCommand.drop(locationId, locationId + "_" + i));
+		}
+		handlingUnitService.executeBatch(commands).forEach(r -> assertTrue(r.toString(), r.isOk()));
+		
+		long total = 0;
+		
+		try {
+			for (int i = 0; i < LANE_RUNS; ++i) {
+				String id = locationId + "_NEW_" + i;
+				Location location = locationService.getById(locationId);
+				
+				long start = System.nanoTime();
+				handlingUnitService.dropTo(location, new HandlingUnit(id, "Test"));
+				HandlingUnit picked = handlingUnitService.pickFrom(locationId);
+				total += System.nanoTime() - start;
+				
+				assertEquals(id, picked.getId());
+			}
+		}
+		catch (LocationIsEmptyException | DimensionException ex) {
+			Assert.fail("Not expected: " + ex);
+		}
+		LOG.info("Average drop and pick latency on a lane of {}: {}us", LANE_DEPTH, total / LANE_RUNS / 1000);
+		
+		Location location = locationService.getById(locationId);
+		assertEquals(LANE_DEPTH, location.getHandlingUnits().size());
+		assertEquals(locationId + "_" + (LANE_DEPTH - 1), location.getAvailablePicks().get(0).getId());
+		assertEquals(Integer.valueOf(1), handlingUnitService.getById(locationId + "_" + (LANE_DEPTH - 1)).getLocaPos());
+		assertEquals(Integer.valueOf(LANE_DEPTH), handlingUnitService.getById(locationId + "_0").getLocaPos());
+	}
+	
+	/**
+	 * A pick from the middle of the lane must not leave a gap at the pick face
+	 */
+	@Test
+	@InSequence(12)
+	public void middlePick() {
+		LOG.info("--- Test middlePick");
+		
+		Location locA = locationService.createOrUpdate(new LifoLocation("A", "Test"));
+		
+		try {
+			handlingUnitService.dropTo(locA, new HandlingUnit("1", "Test"));
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("2", "Test"));
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("3", "Test"));
+			locA = locationService.getById("A");
+
+			// Pick from the middle of the lane, then the pick face
+			handlingUnitService.pickFrom(locA, handlingUnitService.getById("2"));
+			assertEquals(Integer.valueOf(1), handlingUnitService.getById("3").getLocaPos());
+			assertEquals(Integer.valueOf(2), handlingUnitService.getById("1").getLocaPos());
+
+			HandlingUnit picked = handlingUnitService.pickFrom("A");
+			assertEquals("3", picked.getId());
+
+			HandlingUnit hU1 = handlingUnitService.getById("1");
+			assertEquals(Integer.valueOf(1), hU1.getLocaPos());
+
+			locA = locationService.getById("A");
+			assertEquals(1, locA.getAvailablePicks().size());
+			assertEquals(hU1, locA.getAvailablePicks().get(0));
+			assertEquals(1L, locA.getLocaSeqTail());
+
+			// Next drop goes on top of the lane again
+			handlingUnitService.dropTo(locA, new HandlingUnit("4", "Test"));
+			assertEquals(Integer.valueOf(1), handlingUnitService.getById("4").getLocaPos());
+			assertEquals(Integer.valueOf(2), handlingUnitService.getById("1").getLocaPos());
+		}
+		catch (LocationIsEmptyException | DimensionException | HandlingUnitNotOnLocationException ex) {
+			Assert.fail("Not expected: " + ex);
+		}
+	}
 }
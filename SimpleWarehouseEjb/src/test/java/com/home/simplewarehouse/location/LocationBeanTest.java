@@ -11,8 +11,12 @@ import java.io.File;
 import java.sql.Timestamp;
 import java.util.List;
 
+import javax.annotation.Resource;
 import javax.ejb.EJB;
 import javax.ejb.EJBException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.UserTransaction;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,7 +33,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
+import com.home.simplewarehouse.handlingunit.HandlingUnitNotOnLocationException;
 import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.handlingunit.LocationIsEmptyException;
 import com.home.simplewarehouse.model.Dimension;
 import com.home.simplewarehouse.model.EntityBase;
 import com.home.simplewarehouse.model.ErrorStatus;
@@ -37,12 +43,15 @@ import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.model.HeightCategory;
 import com.home.simplewarehouse.model.LengthCategory;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LocationOccupancy;
 import com.home.simplewarehouse.model.LocationStatus;
 import com.home.simplewarehouse.model.LockStatus;
 import com.home.simplewarehouse.model.LogicalPosition;
 import com.home.simplewarehouse.model.LtosStatus;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.model.WidthCategory;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -72,6 +81,7 @@ public class LocationBeanTest {
 				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
 				.addClasses(
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
@@ -90,6 +100,12 @@ public class LocationBeanTest {
 	@EJB
 	HandlingUnitService handlingUnitService;
 	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Resource
+	private UserTransaction userTransaction;
+	
 	/**
 	 * Mandatory default constructor
 	 */
@@ -719,6 +735,7 @@ public class LocationBeanTest {
 		LOG.info("Locations created: {}", locationService.getAll().size());
 		
 		assertTrue(locationService.getAllFull().isEmpty());
+		assertEquals(0, locationService.countFull());
 		
 		locA.getDimension().setMaxCapacity(2);
 		
@@ -740,6 +757,104 @@ public class LocationBeanTest {
 		assertNotNull(locA);
 		assertFalse(locationService.getAllFull().isEmpty());
 		assertEquals(1, locationService.getAllFull().size());
+		assertEquals(1, locationService.countFull());
+	}
+	
+	/**
+	 * Test get all locations containing a handling unit
+	 */
+	@Test
+	@InSequence(27)
+	public void getAllContaining() {
+		LOG.info("--- Test getAllContaining");
+		
+		assertTrue(locationService.getAll().isEmpty());
+
+		Location locA = locationService.createOrUpdate(new RandomLocation("A"));
+		Location locB = locationService.createOrUpdate(new RandomLocation("B"));
+		
+		HandlingUnit hu1 = handlingUnitService.createOrUpdate(new HandlingUnit("1", "Test"));
+
+		assertTrue(locationService.getAllContaining(hu1).isEmpty());
+		assertTrue(locationService.getAllContaining(null).isEmpty());
+		
+		try {
+			handlingUnitService.dropTo(locA, hu1);
+			
+			locB = locationService.getById("B");
+			handlingUnitService.dropTo(locB, new HandlingUnit("2", "Test"));
+		}
+		catch (DimensionException dimex) {
+			Assert.fail("Not expected: " + dimex);			
+		}
+		
+		hu1 = handlingUnitService.getById("1");
+		locA = locationService.getById("A");
+		locB = locationService.getById("B");
+		
+		List<Location> containing = locationService.getAllContaining(hu1);
+		assertEquals(1, containing.size());
+		assertEquals(locA, containing.get(0));
+		
+		assertTrue(locationService.getAllContainingExceptLocation(hu1, locA).isEmpty());
+		
+		containing = locationService.getAllContainingExceptLocation(hu1, locB);
+		assertEquals(1, containing.size());
+		assertEquals(locA, containing.get(0));
+		
+		containing = locationService.getAllContainingExceptLocation(hu1, null);
+		assertEquals(1, containing.size());
+		assertEquals(locA, containing.get(0));
+	}
+	
+	/**
+	 * Drop to a growing number of locations.<br>
+	 * The location containing a handling unit is found by its indexed lookup for every location count.
+	 * The latency is logged only; its scaling is checked by the performance suite.
+	 */
+	@Test
+	@InSequence(28)
+	public void dropForGrowingLocationCount() {
+		LOG.info("--- Test dropForGrowingLocationCount");
+		
+		assertTrue(locationService.getAll().isEmpty());
+
+		final int drops = 20;
+		
+		long small = measureDropLatency(50, drops);
+		long large = measureDropLatency(500, drops);
+		
+		LOG.info("Average drop latency: {} locations={}us, {} locations={}us", 50, small / 1000, 500, large / 1000);
+		
+		assertEquals(500, locationService.count());
+	}
+	
+	private long measureDropLatency(final int locationCount, final int drops) {
+		for (int i = locationService.count(); i < locationCount; ++i) {
+			locationService.createOrUpdate(new RandomLocation("BENCH_" + i, "Test"));
+		}
+		
+		long total = 0;
+		
+		for (int i = 0; i < drops; ++i) {
+			Location location = locationService.getById("BENCH_" + (i % locationCount));
+			HandlingUnit handlingUnit = new HandlingUnit("BENCH_HU_" + locationCount + '_' + i, "Test");
+			
+			long start = System.nanoTime();
+			try {
+				handlingUnitService.dropTo(location, handlingUnit);
+			}
+			catch (DimensionException dimex) {
+				Assert.fail("Not expected: " + dimex);			
+			}
+			total += System.nanoTime() - start;
+			
+			List<Location> containing = locationService.getAllContaining(handlingUnit);
+			assertEquals(1, containing.size());
+			assertEquals(location, containing.get(0));
+		}
+		
+		return total / drops;
 	}
 	
 	/**
@@ -791,4 +906,120 @@ public class LocationBeanTest {
 			assertTrue(true);
 		}
 	}
+
+	/**
+	 * Test the incrementally maintained occupancy and its repair
+	 */
+	@Test
+	@InSequence(30)
+	public void occupancy() {
+		LOG.info("--- Test occupancy");
+		
+		assertTrue(locationService.getAll().isEmpty());
+
+		Location locA = new RandomLocation("A", "Test");
+		locA.getDimension().setMaxCapacity(3);
+		locA = locationService.createOrUpdate(locA);
+		locationService.createOrUpdate(new RandomLocation("B", "Test"));
+		
+		try {
+			// Stale locA on purpose; the occupancy must not be overwritten by the merge
+			handlingUnitService.dropTo(locA, new HandlingUnit("1", 10, 1.5F));
+			handlingUnitService.dropTo(locA, new HandlingUnit("2", 20, 2.5F));
+		}
+		catch (DimensionException dimex) {
+			Assert.fail("Not expected: " + dimex);			
+		}
+		
+		LocationOccupancy occupancy = locationService.getById("A").getOccupancy();
+		assertEquals(2, occupancy.getCurrentCapacity());
+		assertEquals(30, occupancy.getCurrentWeight());
+		assertEquals(4.0F, occupancy.getCurrentVolume(), 0.001F);
+		
+		assertTrue(locationService.getAllFull().isEmpty());
+		assertEquals(2, locationService.getAllWithFreeCapacity().size());
+		
+		try {
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("3", 30, 3.0F));
+		}
+		catch (DimensionException dimex) {
+			Assert.fail("Not expected: " + dimex);			
+		}
+		
+		assertTrue(locationService.isFull(locationService.getById("A")));
+		assertEquals(1, locationService.getAllFull().size());
+		assertEquals("A", locationService.getAllFull().get(0).getLocationId());
+		assertEquals(1, locationService.getAllWithFreeCapacity().size());
+		assertEquals("B", locationService.getAllWithFreeCapacity().get(0).getLocationId());
+		
+		try {
+			handlingUnitService.pickFrom(locationService.getById("A"), handlingUnitService.getById("2"));
+		}
+		catch (LocationIsEmptyException | HandlingUnitNotOnLocationException ex) {
+			Assert.fail("Not expected: " + ex);			
+		}
+		
+		occupancy = locationService.getById("A").getOccupancy();
+		assertEquals(2, occupancy.getCurrentCapacity());
+		assertEquals(40, occupancy.getCurrentWeight());
+		assertEquals(4.5F, occupancy.getCurrentVolume(), 0.001F);
+		assertTrue(locationService.getAllFull().isEmpty());
+		
+		// Nothing to repair if maintained correctly
+		assertEquals(0, locationService.repairOccupancy());
+	}
+
+	/**
+	 * A Location stored without occupancy, e.g. before the occupancy was introduced, gets it by the repair
+	 * 
+	 * @throws Exception in case of a failed transaction
+	 */
+	@Test
+	@InSequence(31)
+	public void occupancyMissing() throws Exception {
+		LOG.info("--- Test occupancyMissing");
+		
+		assertTrue(locationService.getAll().isEmpty());
+
+		Location locA = new RandomLocation("A", "Test");
+		locA.getDimension().setMaxCapacity(3);
+		locationService.createOrUpdate(locA);
+		
+		try {
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("1", 10, 1.5F));
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("2", 20, 2.5F));
+		}
+		catch (DimensionException dimex) {
+			Assert.fail("Not expected: " + dimex);			
+		}
+		
+		// Delete the occupancy row as on a database stored before the occupancy was introduced
+		userTransaction.begin();
+		entityManager.joinTransaction();
+		entityManager.createNativeQuery("DELETE FROM LOCATION_OCCUPANCY WHERE LOCATION_ID = 'A'").executeUpdate();
+		userTransaction.commit();
+		entityManager.getEntityManagerFactory().getCache().evictAll();
+		
+		assertNull(locationService.getById("A").getOccupancy());
+		
+		assertEquals(1, locationService.repairOccupancy());
+		
+		LocationOccupancy occupancy = locationService.getById("A").getOccupancy();
+		assertNotNull(occupancy);
+		assertEquals(2, occupancy.getCurrentCapacity());
+		assertEquals(30, occupancy.getCurrentWeight());
+		assertEquals(4.0F, occupancy.getCurrentVolume(), 0.001F);
+		
+		// The capacity checks work again
+		assertFalse(locationService.isFull(locationService.getById("A")));
+		try {
+			handlingUnitService.dropTo(locationService.getById("A"), new HandlingUnit("3", 30, 3.0F));
+		}
+		catch (DimensionException dimex) {
+			Assert.fail("Not expected: " + dimex);			
+		}
+		assertTrue(locationService.isFull(locationService.getById("A")));
+		
+		assertEquals(0, locationService.repairOccupancy());
+	}
 }
@@ -36,6 +36,8 @@ import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.LogicalPosition;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.model.RelativPosition;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -65,6 +67,7 @@ public class LocationPositionTest {
 				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
 				.addClasses(
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
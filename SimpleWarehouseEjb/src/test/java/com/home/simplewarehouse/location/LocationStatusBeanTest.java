@@ -9,6 +9,7 @@ import java.io.File;
 import java.util.List;
 
 import javax.ejb.EJB;
+import javax.ejb.EJBException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -19,6 +20,7 @@ import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.EmptyAsset;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +33,8 @@ import com.home.simplewarehouse.model.LocationStatus;
 import com.home.simplewarehouse.model.LockStatus;
 import com.home.simplewarehouse.model.LtosStatus;
 import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -61,6 +65,7 @@ public class LocationStatusBeanTest {
 				.addClasses(
 						LocationStatusService.class, LocationStatusBean.class,
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						ZoneService.class, ZoneBean.class,
 						PerformanceAuditor.class,
@@ -234,6 +239,68 @@ public class LocationStatusBeanTest {
 		assertEquals(LockStatus.UNLOCKED, expLocation.getLocationStatus().getLockStatus());
 	}
 	
+	/**
+	 * Test the status queries
+	 */
+	@Test
+	@InSequence(6)
+	public void statusQueries() {
+		LOG.info("--- Test statusQueries");
+
+		assertTrue(locationService.getAll().isEmpty());
+		
+		Location location = new RandomLocation("A");
+		location.setLocationStatus(ErrorStatus.ERROR, LtosStatus.NO, LockStatus.UNLOCKED);
+		locationService.createOrUpdate(location);
+		
+		location = new RandomLocation("B");
+		location.setLocationStatus(ErrorStatus.ERROR, LtosStatus.YES, LockStatus.LOCKED);
+		locationService.createOrUpdate(location);
+		
+		location = new RandomLocation("C");
+		location.setLocationStatus(ErrorStatus.NONE, LtosStatus.YES, LockStatus.LOCKED);
+		locationService.createOrUpdate(location);
+		
+		locationService.createOrUpdate(new RandomLocation("D"));
+
+		assertEquals(2, locationService.getAllInErrorStatus(ErrorStatus.ERROR).size());
+		assertEquals(2, locationService.countInErrorStatus(ErrorStatus.ERROR));
+		assertEquals(2, locationService.countInErrorStatus(ErrorStatus.NONE));
+		assertEquals(2, locationService.getAllInLtosStatus(LtosStatus.YES).size());
+		assertEquals(2, locationService.countInLtosStatus(LtosStatus.YES));
+		assertEquals(2, locationService.getAllInLockStatus(LockStatus.LOCKED).size());
+		assertEquals(2, locationService.countInLockStatus(LockStatus.LOCKED));
+		assertEquals(0, locationService.countInLockStatus(LockStatus.PICK_LOCKED));
+		
+		// Paged and ordered by Location id
+		List<Location> page = locationService.getAllInErrorStatus(ErrorStatus.ERROR, 1, 5);
+		assertEquals(1, page.size());
+		assertEquals("B", page.get(0).getLocationId());
+		assertEquals("C", locationService.getAllInLtosStatus(LtosStatus.YES, 1, 1).get(0).getLocationId());
+		assertEquals("B", locationService.getAllInLockStatus(LockStatus.LOCKED, 0, 1).get(0).getLocationId());
+		
+		// Combinations; null matches any
+		assertEquals(1, locationService.countInStatus(ErrorStatus.ERROR, LtosStatus.YES, null));
+		assertEquals(2, locationService.countInStatus(null, LtosStatus.YES, LockStatus.LOCKED));
+		assertEquals(4, locationService.countInStatus(null, null, null));
+		page = locationService.getAllInStatus(ErrorStatus.NONE, null, null, 0, 10);
+		assertEquals(2, page.size());
+		assertEquals("C", page.get(0).getLocationId());
+		assertEquals("D", page.get(1).getLocationId());
+		
+// -- Special cases
+		assertTrue(locationService.getAllInErrorStatus(null).isEmpty());
+		assertEquals(0, locationService.countInLtosStatus(null));
+		
+		try {
+			locationService.getAllInStatus(null, null, null, -1, 10);
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+	}
+	
 	/**
 	 * Test equals
 	 */
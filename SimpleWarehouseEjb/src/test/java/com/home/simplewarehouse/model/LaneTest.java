@@ -0,0 +1,110 @@
+package com.home.simplewarehouse.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test the positions on the lane of FIFO and LIFO Locations.
+ */
+@RunWith(JUnit4.class)
+public class LaneTest {
+	private static final Logger LOG = LogManager.getLogger(LaneTest.class);
+
+	private static final int LANE_DEPTH = 1000;
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public LaneTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Check the position of every HandlingUnit against its rank by sequence number
+	 *
+	 * @param location the Location
+	 * @param head true if the pick face is the lowest sequence number (FIFO), false for the highest (LIFO)
+	 */
+	private static void assertPositions(Location location, boolean head) {
+		List<HandlingUnit> lane = location.getHandlingUnits().stream()
+				.sorted(Comparator.comparing(HandlingUnit::getLocaSeq))
+				.collect(Collectors.toList());
+
+		for (int i = 0; i < lane.size(); ++i) {
+			Integer expected = head ? i + 1 : lane.size() - i;
+
+			assertEquals(lane.get(i).getId(), expected, lane.get(i).getLocaPos());
+		}
+
+		if (!lane.isEmpty()) {
+			assertEquals(Integer.valueOf(1), location.getAvailablePicks().get(0).getLocaPos());
+		}
+	}
+
+	/**
+	 * Fill a deep lane, pick from the pick face and from the middle and drop again; every position is checked
+	 * after each step
+	 *
+	 * @param location the empty Location
+	 * @param head true if the pick face is the lowest sequence number (FIFO), false for the highest (LIFO)
+	 */
+	private static void deepLane(Location location, boolean head) {
+		for (int i = 0; i < LANE_DEPTH; ++i) {
+			location.addHandlingUnit(new HandlingUnit(String.valueOf(i)));
+		}
+		assertPositions(location, head);
+
+		// Pick face only; the lane stays without gaps
+		for (int i = 0; i < 10; ++i) {
+			location.removeHandlingUnit(location.getAvailablePicks().get(0));
+		}
+		assertPositions(location, head);
+
+		// Every third from the middle of the lane
+		List<HandlingUnit> middle = location.getHandlingUnits().stream()
+				.sorted(Comparator.comparing(HandlingUnit::getLocaSeq))
+				.collect(Collectors.toList());
+
+		for (int i = 1; i < middle.size() - 1; i += 3) {
+			HandlingUnit picked = middle.get(i);
+
+			location.removeHandlingUnit(picked);
+			assertNull(picked.getLocaPos());
+		}
+		assertPositions(location, head);
+
+		for (int i = 0; i < 10; ++i) {
+			location.addHandlingUnit(new HandlingUnit("NEW_" + i));
+			assertPositions(location, head);
+		}
+
+		LOG.info("{} positions checked on a lane of {}", location.getAccessLimit(), location.getHandlingUnits().size());
+	}
+
+	/**
+	 * Every position on a deep FIFO lane
+	 */
+	@Test
+	public void deepFifoLane() {
+		deepLane(new FifoLocation("FIFO"), true);
+	}
+
+	/**
+	 * Every position on a deep LIFO lane
+	 */
+	@Test
+	public void deepLifoLane() {
+		deepLane(new LifoLocation("LIFO"), false);
+	}
+}
@@ -0,0 +1,84 @@
+package com.home.simplewarehouse.performance;
+
+/**
+ * Throughput and latency of one service method.
+ */
+public class MethodResult {
+	private final long count;
+	private final double opsPerSecond;
+	private final long p50Micros;
+	private final long p95Micros;
+	private final long p99Micros;
+
+	/**
+	 * Create the result
+	 *
+	 * @param count the number of calls
+	 * @param opsPerSecond the calls per second spent in the method
+	 * @param p50Micros the median latency
+	 * @param p95Micros the 95th percentile latency
+	 * @param p99Micros the 99th percentile latency
+	 */
+	public MethodResult(long count, double opsPerSecond, long p50Micros, long p95Micros, long p99Micros) {
+		super();
+		this.count = count;
+		this.opsPerSecond = opsPerSecond;
+		this.p50Micros = p50Micros;
+		this.p95Micros = p95Micros;
+		this.p99Micros = p99Micros;
+	}
+
+	/**
+	 * Gets the number of calls
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the throughput
+	 *
+	 * @return the calls per second spent in the method
+	 */
+	public double getOpsPerSecond() {
+		return opsPerSecond;
+	}
+
+	/**
+	 * Gets the median latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	/**
+	 * Gets the 95th percentile latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP95Micros() {
+		return p95Micros;
+	}
+
+	/**
+	 * Gets the 99th percentile latency
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("count=").append(count).append(", opsPerSecond=").append(String.format("%.1f", opsPerSecond))
+				.append(", p50=").append(p50Micros).append("us, p95=").append(p95Micros).append("us, p99=")
+				.append(p99Micros).append("us");
+		return builder.toString();
+	}
+}
@@ -0,0 +1,183 @@
+package com.home.simplewarehouse.performance;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.json.Json;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * Stored method results per scale.
+ * <p>
+ * The file is a JSON object with one member per scale, each holding the results by method name:<br>
+ * <code>{"1000": {"FIFO HandlingUnitService.pickFrom": {"count": 300, "opsPerSecond": 812.5, "p50Micros": 1100, ...}}}</code>
+ */
+public class PerformanceBaseline {
+	private static final String COUNT = "count";
+	private static final String OPS_PER_SECOND = "opsPerSecond";
+	private static final String P50 = "p50Micros";
+	private static final String P95 = "p95Micros";
+	private static final String P99 = "p99Micros";
+
+	private final Map<String, Map<String, MethodResult>> scales = new TreeMap<>();
+
+	/**
+	 * Create an empty baseline
+	 */
+	public PerformanceBaseline() {
+		super();
+	}
+
+	/**
+	 * Load a baseline
+	 *
+	 * @param file the baseline file
+	 *
+	 * @return the baseline; empty if the file does not exist
+	 *
+	 * @throws IOException in case of a read error
+	 */
+	public static PerformanceBaseline load(final File file) throws IOException {
+		PerformanceBaseline ret = new PerformanceBaseline();
+
+		if (!file.exists()) {
+			return ret;
+		}
+
+		try (InputStream in = new FileInputStream(file); JsonReader reader = Json.createReader(in)) {
+			JsonObject root = reader.readObject();
+
+			for (Map.Entry<String, JsonValue> scale : root.entrySet()) {
+				Map<String, MethodResult> methods = new TreeMap<>();
+
+				for (Map.Entry<String, JsonValue> method : scale.getValue().asJsonObject().entrySet()) {
+					JsonObject result = method.getValue().asJsonObject();
+
+					methods.put(method.getKey(), new MethodResult(result.getJsonNumber(COUNT).longValue()
+							, result.getJsonNumber(OPS_PER_SECOND).doubleValue(), number(result, P50)
+							, number(result, P95), number(result, P99)));
+				}
+				ret.scales.put(scale.getKey(), methods);
+			}
+		}
+		return ret;
+	}
+
+	private static long number(JsonObject object, String name) {
+		JsonNumber number = object.getJsonNumber(name);
+
+		return number == null ? 0L : number.longValue();
+	}
+
+	/**
+	 * Store the baseline
+	 *
+	 * @param file the baseline file; missing directories are created
+	 *
+	 * @throws IOException in case of a write error
+	 */
+	public void store(final File file) throws IOException {
+		JsonObjectBuilder root = Json.createObjectBuilder();
+
+		scales.forEach((scale, methods) -> {
+			JsonObjectBuilder scaleBuilder = Json.createObjectBuilder();
+
+			methods.forEach((method, result) -> scaleBuilder.add(method, Json.createObjectBuilder()
+					.add(COUNT, result.getCount())
+					.add(OPS_PER_SECOND, Math.round(result.getOpsPerSecond() * 10.0) / 10.0)
+					.add(P50, result.getP50Micros())
+					.add(P95, result.getP95Micros())
+					.add(P99, result.getP99Micros())));
+			root.add(scale, scaleBuilder);
+		});
+
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (dir != null && !dir.exists() && !dir.mkdirs()) {
+			throw new IOException("Can not create " + dir);
+		}
+
+		try (OutputStream out = new FileOutputStream(file); JsonWriter writer = Json
+				.createWriterFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true))
+				.createWriter(out)) {
+			writer.writeObject(root.build());
+		}
+	}
+
+	/**
+	 * Gets the results of a scale
+	 *
+	 * @param scale the scale
+	 *
+	 * @return the results by method name or <code>null</code> if there is no baseline for the scale
+	 */
+	public Map<String, MethodResult> get(final int scale) {
+		return scales.get(String.valueOf(scale));
+	}
+
+	/**
+	 * Sets the results of a scale
+	 *
+	 * @param scale the scale
+	 * @param results the results by method name
+	 */
+	public void put(final int scale, final Map<String, MethodResult> results) {
+		scales.put(String.valueOf(scale), new TreeMap<>(results));
+	}
+
+	/**
+	 * Compare results with their baseline.<br>
+	 * A method regresses if its 95th percentile latency or its throughput is worse than the baseline by more than the
+	 * tolerance. Latency differences up to the noise limit are never counted, since a few microseconds are easily
+	 * lost to the machine. Methods without a baseline are not compared.
+	 *
+	 * @param baseline the baseline results by method name
+	 * @param current the current results by method name
+	 * @param tolerancePercent the tolerance in percent
+	 * @param noiseMicros the latency difference ignored in any case
+	 *
+	 * @return the descriptions of all regressions; empty if there is none
+	 */
+	public static List<String> compare(final Map<String, MethodResult> baseline, final Map<String, MethodResult> current
+			, final double tolerancePercent, final long noiseMicros) {
+		List<String> ret = new ArrayList<>();
+		double factor = tolerancePercent / 100.0;
+
+		current.forEach((method, result) -> {
+			MethodResult base = baseline.get(method);
+
+			if (base == null) {
+				return;
+			}
+			if (result.getP95Micros() > base.getP95Micros() * (1.0 + factor)
+					&& result.getP95Micros() - base.getP95Micros() > noiseMicros) {
+				ret.add(String.format("%s: p95 %dus > baseline %dus", method, result.getP95Micros()
+						, base.getP95Micros()));
+			}
+			if (result.getOpsPerSecond() < base.getOpsPerSecond() * (1.0 - factor)
+					&& meanMicros(result) - meanMicros(base) > noiseMicros) {
+				ret.add(String.format("%s: %.1f ops/s < baseline %.1f ops/s", method, result.getOpsPerSecond()
+						, base.getOpsPerSecond()));
+			}
+		});
+		return ret;
+	}
+
+	private static double meanMicros(MethodResult result) {
+		return result.getOpsPerSecond() > 0.0 ? 1_000_000.0 / result.getOpsPerSecond() : 0.0;
+	}
+}
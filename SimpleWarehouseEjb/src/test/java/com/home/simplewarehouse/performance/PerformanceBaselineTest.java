@@ -0,0 +1,104 @@
+package com.home.simplewarehouse.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test storing and comparing the performance baseline.
+ */
+@RunWith(JUnit4.class)
+public class PerformanceBaselineTest {
+	private static final Logger LOG = LogManager.getLogger(PerformanceBaselineTest.class);
+
+	private static final String PICK = "FIFO HandlingUnitService.pickFrom";
+	private static final String DROP = "FIFO HandlingUnitService.dropTo";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public PerformanceBaselineTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	private static Map<String, MethodResult> results(double opsPerSecond, long p95Micros) {
+		Map<String, MethodResult> ret = new TreeMap<>();
+
+		ret.put(PICK, new MethodResult(300, opsPerSecond, p95Micros / 2, p95Micros, p95Micros * 2));
+		ret.put(DROP, new MethodResult(300, 1000.0, 500, 1000, 2000));
+
+		return ret;
+	}
+
+	/**
+	 * Store and load a baseline with two scales
+	 *
+	 * @throws IOException in case of an IO error
+	 */
+	@Test
+	public void storeAndLoad() throws IOException {
+		File file = new File(folder.getRoot(), "dir/baseline.json");
+
+		assertNull(PerformanceBaseline.load(file).get(1000));
+
+		PerformanceBaseline baseline = new PerformanceBaseline();
+		baseline.put(1000, results(500.0, 3000));
+		baseline.put(10000, results(250.0, 6000));
+		baseline.store(file);
+
+		PerformanceBaseline loaded = PerformanceBaseline.load(file);
+		LOG.info("Loaded {}", loaded.get(10000));
+
+		assertEquals(2, loaded.get(1000).size());
+		assertEquals(500.0, loaded.get(1000).get(PICK).getOpsPerSecond(), 0.0);
+		assertEquals(6000, loaded.get(10000).get(PICK).getP95Micros());
+		assertEquals(12000, loaded.get(10000).get(PICK).getP99Micros());
+		assertEquals(300, loaded.get(10000).get(DROP).getCount());
+	}
+
+	/**
+	 * Only regressions beyond the tolerance and the noise are reported
+	 */
+	@Test
+	public void compare() {
+		Map<String, MethodResult> baseline = results(500.0, 3000);
+
+		assertTrue(PerformanceBaseline.compare(baseline, results(500.0, 3000), 25.0, 200).isEmpty());
+		// Within the tolerance or better
+		assertTrue(PerformanceBaseline.compare(baseline, results(400.0, 3700), 25.0, 200).isEmpty());
+		assertTrue(PerformanceBaseline.compare(baseline, results(5000.0, 300), 25.0, 200).isEmpty());
+
+		List<String> regressions = PerformanceBaseline.compare(baseline, results(300.0, 4000), 25.0, 200);
+		LOG.info(regressions);
+		assertEquals(2, regressions.size());
+		assertTrue(regressions.get(0).startsWith(PICK));
+
+		// -- Special cases
+		// Beyond the tolerance but within the noise
+		Map<String, MethodResult> fast = results(20000.0, 100);
+		assertTrue(PerformanceBaseline.compare(fast, results(10000.0, 250), 25.0, 200).isEmpty());
+
+		// No baseline for the method
+		Map<String, MethodResult> partial = results(500.0, 3000);
+		partial.remove(PICK);
+		assertTrue(PerformanceBaseline.compare(partial, results(100.0, 9000), 25.0, 200).isEmpty());
+	}
+}
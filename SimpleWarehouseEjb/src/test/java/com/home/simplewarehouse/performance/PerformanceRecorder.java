@@ -0,0 +1,82 @@
+package com.home.simplewarehouse.performance;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import com.home.simplewarehouse.timed.scenarios.OperationStatistics;
+
+/**
+ * Records the latency of service method calls.
+ * <p>
+ * The throughput of a method is the number of calls per second spent in the method, so it does not depend on the
+ * work done between the calls.
+ */
+public class PerformanceRecorder {
+	private final Map<String, OperationStatistics> statistics = new TreeMap<>();
+	private final Map<String, Long> totalNanos = new TreeMap<>();
+
+	private boolean recording = true;
+
+	/**
+	 * Create an empty recorder
+	 */
+	public PerformanceRecorder() {
+		super();
+	}
+
+	/**
+	 * Switch the recording on or off, e.g. off during the warm up
+	 *
+	 * @param recording true to record
+	 */
+	public void setRecording(boolean recording) {
+		this.recording = recording;
+	}
+
+	/**
+	 * Call the method and record its latency
+	 *
+	 * @param <T> the result type
+	 * @param method the method name used in the baseline
+	 * @param call the call
+	 *
+	 * @return the result of the call
+	 *
+	 * @throws Exception the exception of the call
+	 */
+	public <T> T measure(final String method, final Callable<T> call) throws Exception {
+		long start = System.nanoTime();
+
+		T ret = call.call();
+
+		long nanos = System.nanoTime() - start;
+
+		if (recording) {
+			statistics.computeIfAbsent(method, m -> new OperationStatistics())
+					.success(TimeUnit.NANOSECONDS.toMicros(nanos));
+			totalNanos.merge(method, nanos, Long::sum);
+		}
+		return ret;
+	}
+
+	/**
+	 * Gets the results of all recorded methods
+	 *
+	 * @return the results by method name
+	 */
+	public Map<String, MethodResult> getResults() {
+		Map<String, MethodResult> ret = new TreeMap<>();
+
+		statistics.forEach((method, stat) -> {
+			long[] percentiles = stat.percentiles(50.0, 95.0, 99.0);
+			long nanos = totalNanos.get(method);
+
+			ret.put(method, new MethodResult(stat.getCount()
+					, nanos > 0 ? stat.getCount() * (double) TimeUnit.SECONDS.toNanos(1) / nanos : 0.0
+					, percentiles[0], percentiles[1], percentiles[2]));
+		});
+		return ret;
+	}
+}
@@ -0,0 +1,396 @@
+package com.home.simplewarehouse.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.ejb.EJB;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
+import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.handlingunit.MoveCommand;
+import com.home.simplewarehouse.location.DimensionBean;
+import com.home.simplewarehouse.location.DimensionService;
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.model.AccessLimit;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
+import com.home.simplewarehouse.topology.DimensionProfile;
+import com.home.simplewarehouse.topology.SampleWarehouseBean;
+import com.home.simplewarehouse.topology.SampleWarehouseService;
+import com.home.simplewarehouse.topology.TopologyGeneratorBean;
+import com.home.simplewarehouse.topology.TopologyGeneratorService;
+import com.home.simplewarehouse.topology.TopologyResult;
+import com.home.simplewarehouse.topology.TopologySpec;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.zone.ZoneBean;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Performance regression suite for the pick use cases of RANDOM, FIFO and LIFO access locations and for the flat
+ * contains of a deep HandlingUnit tree.
+ * <p>
+ * Only runs with the Maven profile <code>performance</code>. The suite generates a warehouse of the given scale,
+ * measures every service method called by the use cases and compares the results with the baseline of the scale. It
+ * fails if a method got slower than the tolerance allows. Without a baseline for the scale the comparison is skipped
+ * and reported as such; a baseline is only committed from a measured run on a named reference machine. The results
+ * of every run are written to <code>target/performance/current.json</code>; only
+ * <code>performance.updateBaseline</code> writes them into the baseline.
+ * <p>
+ * System properties:
+ * <ul>
+ * <li><code>performance.scale</code> number of entities, half Locations and half HandlingUnits (1000)</li>
+ * <li><code>performance.operations</code> measured use cases per access limit (300)</li>
+ * <li><code>performance.warmup</code> use cases per access limit run before measuring (50)</li>
+ * <li><code>performance.tolerance</code> allowed regression in percent (25)</li>
+ * <li><code>performance.noiseMicros</code> latency difference ignored in any case (200)</li>
+ * <li><code>performance.baseline</code> the baseline file (src/test/resources/performance/baseline.json)</li>
+ * <li><code>performance.updateBaseline</code> store the results as new baseline for the scale (false)</li>
+ * </ul>
+ */
+@RunWith(Arquillian.class)
+public class PerformanceSuiteTest {
+	private static final Logger LOG = LogManager.getLogger(PerformanceSuiteTest.class);
+
+	private static final int SCALE = Integer.getInteger("performance.scale", 1000);
+	private static final int OPERATIONS = Integer.getInteger("performance.operations", 300);
+	private static final int WARMUP = Integer.getInteger("performance.warmup", 50);
+	private static final double TOLERANCE = Double.parseDouble(System.getProperty("performance.tolerance", "25"));
+	private static final long NOISE_MICROS = Long.getLong("performance.noiseMicros", 200L);
+	private static final File BASELINE = new File(System.getProperty("performance.baseline"
+			, "src/test/resources/performance/baseline.json"));
+	private static final boolean UPDATE_BASELINE = Boolean.getBoolean("performance.updateBaseline");
+
+	private static final File CURRENT = new File("target/performance/current.json");
+
+	private static final String PREFIX = "P";
+	private static final int LEVELS = 10;
+	private static final int BINS = 50;
+	private static final int FIFO_PERCENT = 30;
+	private static final int LIFO_PERCENT = 20;
+	private static final String TREE_ROOT = "PTREE";
+	/**
+	 * Levels of the HandlingUnit tree (root level included)
+	 */
+	private static final int TREE_LEVELS = 5;
+	/**
+	 * Children per HandlingUnit of the tree; 1 + 10 + 100 + 1000 + 10000 nodes
+	 */
+	private static final int TREE_CHILDREN = 10;
+
+	private static final PerformanceRecorder RECORDER = new PerformanceRecorder();
+	private static final Random RANDOM = new Random(4711L);
+
+	private static TopologySpec spec;
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						TopologyGeneratorService.class, TopologyGeneratorBean.class,
+						SampleWarehouseService.class, SampleWarehouseBean.class,
+						DimensionService.class, DimensionBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						ZoneService.class, ZoneBean.class,
+						HandlingUnitService.class, HandlingUnitBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	@EJB
+	private TopologyGeneratorService topologyGeneratorService;
+
+	@EJB
+	private SampleWarehouseService sampleWarehouseService;
+
+	@EJB
+	private LocationService locationService;
+
+	@EJB
+	private HandlingUnitService unitLocal;
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public PerformanceSuiteTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Generate the warehouse; every Location holds one HandlingUnit
+	 */
+	@Test
+	@InSequence(0)
+	public void generate() {
+		LOG.info("--- Test generate scale={}", SCALE);
+
+		sampleWarehouseService.cleanup();
+
+		spec = new TopologySpec(Math.max(1, SCALE / 2 / (LEVELS * BINS)), LEVELS, BINS);
+		spec.setIdPrefix(PREFIX);
+		spec.setFifoPercent(FIFO_PERCENT);
+		spec.setLifoPercent(LIFO_PERCENT);
+		spec.setProfiles(Arrays.asList(DimensionProfile.UNLIMITED));
+		spec.setZones(1);
+		spec.setFillPercent(100);
+		spec.setHandlingUnitsPerLocation(1);
+		spec.setTreeDepth(0);
+
+		TopologyResult result = topologyGeneratorService.generate(spec);
+		LOG.info(result);
+
+		assertEquals(spec.getLocationCount(), result.getLocations());
+		assertEquals(spec.getLocationCount(), result.getHandlingUnits());
+	}
+
+	/**
+	 * Pick a given HandlingUnit from a RANDOM access Location and drop it back
+	 *
+	 * @throws Exception in case of a failed use case
+	 */
+	@Test
+	@InSequence(1)
+	public void randomAccessPick() throws Exception {
+		LOG.info("--- Test randomAccessPick");
+
+		for (int i = 0; i < WARMUP + OPERATIONS; ++i) {
+			RECORDER.setRecording(i >= WARMUP);
+
+			String locationId = nextLocationId(AccessLimit.RANDOM);
+			String unitId = locationId + "/1";
+
+			Location location = RECORDER.measure("RANDOM LocationService.getById"
+					, () -> locationService.getById(locationId));
+			assertEquals(AccessLimit.RANDOM, location.getAccessLimit());
+
+			RECORDER.measure("RANDOM HandlingUnitService.pickFrom", () -> {
+				unitLocal.pickFrom(locationId, unitId);
+				return null;
+			});
+			RECORDER.measure("RANDOM HandlingUnitService.dropTo", () -> {
+				unitLocal.dropTo(locationId, unitId);
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Pick the head of a FIFO access Location and drop it back to the tail
+	 *
+	 * @throws Exception in case of a failed use case
+	 */
+	@Test
+	@InSequence(2)
+	public void fifoAccessPick() throws Exception {
+		LOG.info("--- Test fifoAccessPick");
+
+		pickAndDropBack(AccessLimit.FIFO);
+	}
+
+	/**
+	 * Pick the top of a LIFO access Location and drop it back
+	 *
+	 * @throws Exception in case of a failed use case
+	 */
+	@Test
+	@InSequence(3)
+	public void lifoAccessPick() throws Exception {
+		LOG.info("--- Test lifoAccessPick");
+
+		pickAndDropBack(AccessLimit.LIFO);
+	}
+
+	/**
+	 * Read all HandlingUnits of a tree with 5 levels and more than 10k nodes by the containment closure
+	 *
+	 * @throws Exception in case of a failed use case
+	 */
+	@Test
+	@InSequence(4)
+	public void flatContainsTree() throws Exception {
+		LOG.info("--- Test flatContainsTree");
+
+		int nodes = buildTree();
+
+		for (int i = 0; i < WARMUP + OPERATIONS; ++i) {
+			RECORDER.setRecording(i >= WARMUP);
+
+			HandlingUnit root = RECORDER.measure("TREE HandlingUnitService.getById", () -> unitLocal.getById(TREE_ROOT));
+
+			int size = RECORDER.measure("TREE HandlingUnitService.flatContains", () -> unitLocal.flatContains(root).size());
+			assertEquals(nodes - 1, size);
+		}
+	}
+
+	/**
+	 * Compare the results with the baseline and delete the warehouse
+	 *
+	 * @throws Exception in case of an IO error
+	 */
+	@Test
+	@InSequence(5)
+	public void compareWithBaseline() throws Exception {
+		LOG.info("--- Test compareWithBaseline");
+
+		try {
+			Map<String, MethodResult> results = RECORDER.getResults();
+			results.forEach((method, result) -> LOG.info("{}: {}", method, result));
+
+			PerformanceBaseline current = new PerformanceBaseline();
+			current.put(SCALE, results);
+			current.store(CURRENT);
+
+			LOG.info("Results for scale {} stored in {}", SCALE, CURRENT.getAbsolutePath());
+
+			PerformanceBaseline baseline = PerformanceBaseline.load(BASELINE);
+			Map<String, MethodResult> expected = baseline.get(SCALE);
+
+			if (UPDATE_BASELINE) {
+				baseline.put(SCALE, results);
+				baseline.store(BASELINE);
+				LOG.warn("Baseline for scale {} stored in {}", SCALE, BASELINE.getAbsolutePath());
+			}
+			else if (expected == null) {
+				LOG.warn("No baseline for scale {} in {}; the comparison is skipped", SCALE, BASELINE.getAbsolutePath());
+			}
+			assumeTrue("No baseline for scale " + SCALE + " in " + BASELINE.getAbsolutePath()
+					+ "; record one with -Dperformance.updateBaseline=true", expected != null);
+
+			List<String> regressions = PerformanceBaseline.compare(expected, results, TOLERANCE, NOISE_MICROS);
+			regressions.forEach(LOG::warn);
+
+			assertTrue("Regressions beyond " + TOLERANCE + "%: " + regressions, regressions.isEmpty());
+		}
+		finally {
+			sampleWarehouseService.cleanup();
+		}
+	}
+
+	private void pickAndDropBack(final AccessLimit accessLimit) throws Exception {
+		for (int i = 0; i < WARMUP + OPERATIONS; ++i) {
+			RECORDER.setRecording(i >= WARMUP);
+
+			String locationId = nextLocationId(accessLimit);
+
+			Location location = RECORDER.measure(accessLimit + " LocationService.getById"
+					, () -> locationService.getById(locationId));
+			assertEquals(accessLimit, location.getAccessLimit());
+
+			HandlingUnit unit = RECORDER.measure(accessLimit + " HandlingUnitService.pickFrom"
+					, () -> unitLocal.pickFrom(locationId));
+			assertNotNull(unit);
+
+			RECORDER.measure(accessLimit + " HandlingUnitService.dropTo", () -> {
+				unitLocal.dropTo(locationId, unit.getId());
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Build the HandlingUnit tree level by level using batches
+	 *
+	 * @return the number of nodes
+	 */
+	private int buildTree() {
+		unitLocal.createOrUpdate(new HandlingUnit(TREE_ROOT));
+
+		int nodes = 1;
+		List<String> level = Arrays.asList(TREE_ROOT);
+
+		for (int depth = 1; depth < TREE_LEVELS; ++depth) {
+			List<String> next = new ArrayList<>();
+			List<MoveCommand> commands = new ArrayList<>();
+
+			for (String parent : level) {
+				for (int c = 0; c < TREE_CHILDREN; ++c) {
+					String child = parent + "_" + c;
+
+					unitLocal.createOrUpdate(new HandlingUnit(child));
+					commands.add(MoveCommand.assign(child, parent));
+					next.add(child);
+				}
+			}
+			unitLocal.executeBatch(commands).forEach(r -> assertTrue(r.toString(), r.isOk()));
+
+			nodes += next.size();
+			level = next;
+		}
+		return nodes;
+	}
+
+	/**
+	 * Draw a Location of the access limit; the generator decides the access limit by the Location index modulo 100
+	 */
+	private static String nextLocationId(final AccessLimit accessLimit) {
+		int first;
+		int range;
+
+		switch (accessLimit) {
+		case FIFO:
+			first = 0;
+			range = FIFO_PERCENT;
+			break;
+		case LIFO:
+			first = FIFO_PERCENT;
+			range = LIFO_PERCENT;
+			break;
+		default:
+			first = FIFO_PERCENT + LIFO_PERCENT;
+			range = 100 - first;
+			break;
+		}
+
+		int index = RANDOM.nextInt((int) spec.getLocationCount() / 100) * 100 + first + RANDOM.nextInt(range);
+
+		return spec.locationId(index / BINS / LEVELS, index / BINS % LEVELS, index % BINS);
+	}
+}
@@ -0,0 +1,12 @@
+/**
+ * Performance regression suite.
+ * <p>
+ * Runs the pick use cases of RANDOM, FIFO and LIFO access locations at a configurable scale with the Maven profile
+ * <code>performance</code>:<br>
+ * <code>mvn test -P performance -Dperformance.scale=10000</code><br>
+ * The latency percentiles and the throughput of every called service method are compared with the JSON baseline in
+ * <code>src/test/resources/performance</code>. The suite fails if a method regresses beyond the tolerance. A scale
+ * without a baseline skips the comparison. A baseline is recorded with <code>-Dperformance.updateBaseline=true</code>
+ * and committed together with the name of the machine it was measured on.
+ */
+package com.home.simplewarehouse.performance;
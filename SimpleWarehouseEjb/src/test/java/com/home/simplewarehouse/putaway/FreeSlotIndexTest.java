@@ -0,0 +1,192 @@
+package com.home.simplewarehouse.putaway;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.location.FitEvaluator;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.LengthCategory;
+import com.home.simplewarehouse.model.WidthCategory;
+
+/**
+ * Test the in memory Free Slot Index.
+ */
+@RunWith(JUnit4.class)
+public class FreeSlotIndexTest {
+	private static final Logger LOG = LogManager.getLogger(FreeSlotIndexTest.class);
+
+	private static final int BENCH_LOCATIONS = 100_000;
+	private static final int BENCH_ZONES = 100;
+	private static final int BENCH_RUNS = 1000;
+	private static final int CHECKED_RUNS = 10;
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public FreeSlotIndexTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	private static FreeSlot slot(String id, int maxCapacity, int currentCapacity, HeightCategory maxHeight
+			, Map<String, Integer> zoneRatings) {
+		return new FreeSlot(id, maxCapacity, 0, maxHeight, LengthCategory.NOT_RELEVANT, WidthCategory.NOT_RELEVANT
+				, currentCapacity, 0, zoneRatings);
+	}
+
+	/**
+	 * Ranking by Zone rating and free capacity; the preferred Zone comes first
+	 */
+	@Test
+	public void ranking() {
+		FreeSlotIndex index = new FreeSlotIndex();
+
+		index.put("A", slot("A", 0, 0, HeightCategory.NOT_RELEVANT, null));
+		index.put("B", slot("B", 5, 1, HeightCategory.NOT_RELEVANT, Collections.singletonMap("Z1", 10)));
+		index.put("C", slot("C", 5, 4, HeightCategory.NOT_RELEVANT, Collections.singletonMap("Z1", 10)));
+		index.put("D", slot("D", 5, 0, HeightCategory.LOW, Collections.singletonMap("Z2", 1)));
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.LOW);
+
+		// Rating first, then the tightest free capacity; unlimited capacity last
+		assertEquals(Arrays.asList("C", "B", "D", "A"), index.suggest(handlingUnit, null, 10));
+		assertEquals(Arrays.asList("C", "B"), index.suggest(handlingUnit, null, 2));
+		assertEquals(Arrays.asList("D", "C", "B", "A"), index.suggest(handlingUnit, "Z2", 10));
+
+		// D does not allow HIGH
+		handlingUnit.setHeight(HeightCategory.HIGH);
+		assertEquals(Arrays.asList("C", "B", "A"), index.suggest(handlingUnit, "Z2", 10));
+
+		// C becomes full, B is removed
+		index.put("C", null);
+		index.put("B", null);
+		assertEquals(Arrays.asList("A"), index.suggest(handlingUnit, "Z1", 10));
+		assertEquals(2, index.size());
+	}
+
+	/**
+	 * Updates made while a rebuild reads are not overwritten by the rebuilt slots
+	 */
+	@Test
+	public void rebuildKeepsUpdates() {
+		FreeSlotIndex index = new FreeSlotIndex();
+		HandlingUnit handlingUnit = new HandlingUnit("1");
+
+		index.put("A", slot("A", 5, 0, HeightCategory.NOT_RELEVANT, null));
+
+		index.startRebuild();
+		// Committed after the rebuild has read A and B
+		index.put("A", null);
+		index.put("C", slot("C", 5, 4, HeightCategory.NOT_RELEVANT, null));
+		index.replaceAll(Arrays.asList(slot("A", 5, 0, HeightCategory.NOT_RELEVANT, null)
+				, slot("B", 5, 0, HeightCategory.NOT_RELEVANT, null)));
+		index.endRebuild();
+
+		assertEquals(Arrays.asList("C", "B"), index.suggest(handlingUnit, null, 10));
+
+		// Without a running rebuild nothing is journaled
+		index.put("D", slot("D", 5, 0, HeightCategory.NOT_RELEVANT, null));
+		index.replaceAll(Arrays.asList(slot("B", 5, 0, HeightCategory.NOT_RELEVANT, null)));
+
+		assertEquals(Arrays.asList("B"), index.suggest(handlingUnit, null, 10));
+
+		// -- Special cases
+		// Overlapping rebuilds keep the journal until the last one ends
+		index.startRebuild();
+		index.startRebuild();
+		index.put("E", slot("E", 5, 0, HeightCategory.NOT_RELEVANT, null));
+		index.replaceAll(Collections.emptyList());
+		index.endRebuild();
+		index.replaceAll(Collections.emptyList());
+		index.endRebuild();
+		index.endRebuild();
+
+		assertEquals(Arrays.asList("E"), index.suggest(handlingUnit, null, 10));
+	}
+
+	/**
+	 * Suggestions on 100k Locations give the same result as a full scan; the latency is logged only, its scaling is
+	 * measured by the JMH FreeSlotIndexBenchmark
+	 */
+	@Test
+	public void suggestOnLargeIndex() {
+		FreeSlotIndex index = new FreeSlotIndex();
+		List<FreeSlot> all = new ArrayList<>(BENCH_LOCATIONS);
+
+		for (int i = 0; i < BENCH_LOCATIONS; ++i) {
+			Map<String, Integer> zoneRatings = new HashMap<>();
+			zoneRatings.put("Z" + (i % BENCH_ZONES), i % BENCH_ZONES);
+
+			all.add(slot("L" + i, 1 + i % 10, 0, HeightCategory.values()[i % HeightCategory.values().length]
+					, zoneRatings));
+		}
+		index.replaceAll(all);
+
+		assertEquals(BENCH_LOCATIONS, index.size());
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.HIGH);
+
+		long best = Long.MAX_VALUE;
+
+		for (int run = 0; run < BENCH_RUNS; ++run) {
+			String zoneId = "Z" + (run % BENCH_ZONES);
+
+			long start = System.nanoTime();
+			List<String> suggested = index.suggest(handlingUnit, zoneId, 10);
+			best = Math.min(best, System.nanoTime() - start);
+
+			assertEquals(10, suggested.size());
+
+			if (run % (BENCH_RUNS / CHECKED_RUNS) == 0) {
+				assertEquals(scan(all, handlingUnit, zoneId, 10), suggested);
+			}
+		}
+
+		long updates = System.nanoTime();
+		for (int i = 0; i < BENCH_RUNS; ++i) {
+			index.put("L" + i, slot("L" + i, 10, 9, HeightCategory.NOT_RELEVANT
+					, Collections.singletonMap("Z" + (i % BENCH_ZONES), i % BENCH_ZONES)));
+		}
+		updates = System.nanoTime() - updates;
+
+		LOG.info("suggest on {} Locations: best={}us; update={}us", BENCH_LOCATIONS, best / 1000
+				, updates / BENCH_RUNS / 1000);
+
+		assertEquals(BENCH_LOCATIONS, index.size());
+		// L1 has the tightest free capacity in Z1 now
+		assertEquals("L1", index.suggest(new HandlingUnit("2"), "Z1", 1).get(0));
+	}
+
+	/**
+	 * The expected suggestion by sorting all fitting slots: the preferred Zone first, then the ranking
+	 */
+	private static List<String> scan(List<FreeSlot> all, HandlingUnit handlingUnit, String preferredZoneId
+			, int maxResults) {
+		int heightBit = FitEvaluator.categoryBit(handlingUnit.getHeight());
+		int lengthBit = FitEvaluator.categoryBit(handlingUnit.getLength());
+		int widthBit = FitEvaluator.categoryBit(handlingUnit.getWidth());
+
+		return all.stream()
+				.filter(s -> s.fits(handlingUnit.getWeight(), heightBit, lengthBit, widthBit))
+				.sorted(Comparator.comparing((FreeSlot s) -> !s.getZoneIds().contains(preferredZoneId))
+						.thenComparing(FreeSlot.RANKING))
+				.limit(maxResults)
+				.map(FreeSlot::getLocationId)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,361 @@
+package com.home.simplewarehouse.putaway;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Resource;
+import javax.ejb.EJB;
+import javax.ejb.EJBException;
+import javax.transaction.UserTransaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
+import com.home.simplewarehouse.handlingunit.HandlingUnitNotOnLocationException;
+import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.handlingunit.LocationIsEmptyException;
+import com.home.simplewarehouse.location.CapacityExceededException;
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.location.OverheightException;
+import com.home.simplewarehouse.location.OverlengthException;
+import com.home.simplewarehouse.location.OverwidthException;
+import com.home.simplewarehouse.location.WeightExceededException;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.HeightCategory;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LockStatus;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.model.Zone;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.zone.ZoneBean;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Test the Putaway bean.
+ */
+@RunWith(Arquillian.class)
+public class PutawayBeanTest {
+	private static final Logger LOG = LogManager.getLogger(PutawayBeanTest.class);
+
+	@EJB
+	PutawayService putawayService;
+
+	@EJB
+	FreeCapacityIndex freeCapacityIndex;
+
+	@EJB
+	HandlingUnitService handlingUnitService;
+
+	@EJB
+	LocationService locationService;
+
+	@EJB
+	ZoneService zoneService;
+
+	@Resource
+	UserTransaction userTransaction;
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						PutawayService.class, PutawayBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						HandlingUnitService.class, HandlingUnitBean.class,
+						LocationService.class, LocationBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						ZoneService.class, ZoneBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public PutawayBeanTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * What to do before an individual test will be executed (each test)<br>
+	 * <br>
+	 * LOCA capacity 2 in Zone Cooler, LOCB capacity 1 in Zone Freezer, LOCC height LOW, LOCD locked
+	 */
+	@Before
+	public void beforeTest() {
+		LOG.trace("--> beforeTest()");
+
+		Location locA = new RandomLocation("LOCA", "Test");
+		locA.getDimension().setMaxCapacity(2);
+		locationService.createOrUpdate(locA);
+
+		Location locB = new RandomLocation("LOCB", "Test");
+		locB.getDimension().setMaxCapacity(1);
+		locationService.createOrUpdate(locB);
+
+		Location locC = new RandomLocation("LOCC", "Test");
+		locC.getDimension().setMaxHeight(HeightCategory.LOW);
+		locationService.createOrUpdate(locC);
+
+		Location locD = new RandomLocation("LOCD", "Test");
+		locD.getLocationStatus().setLockStatus(LockStatus.LOCKED);
+		locationService.createOrUpdate(locD);
+
+		zoneService.createOrUpdate(new Zone("Cooler", 5));
+		zoneService.createOrUpdate(new Zone("Freezer", 10));
+		zoneService.addLocationTo("LOCA", "Cooler");
+		zoneService.addLocationTo("LOCB", "Freezer");
+
+		LOG.trace("<-- beforeTest()");
+	}
+
+	/**
+	 * What to do after an individual test has been executed (each test)<br>
+	 * <br>
+	 * Cleanup the test data
+	 */
+	@After
+	public void afterTest() {
+		LOG.trace("--> afterTest()");
+
+		locationService.getAll().stream().forEach(l -> locationService.delete(l));
+
+		handlingUnitService.getAll().stream().forEach(h -> handlingUnitService.delete(h));
+
+		zoneService.deleteAll();
+
+		LOG.trace("<-- afterTest()");
+	}
+
+	private List<String> suggestedIds(HandlingUnit handlingUnit, String preferredZoneId) {
+		return putawayService.suggest(handlingUnit, preferredZoneId, PutawayBean.DEFAULT_MAX_RESULTS).stream()
+				.map(Location::getLocationId).collect(Collectors.toList());
+	}
+
+	/**
+	 * Ranking by Zone rating and free capacity, status and Dimension limits
+	 */
+	@Test
+	@InSequence(0)
+	public void suggest() {
+		LOG.info("--- Test suggest");
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.MIDDLE);
+
+		// LOCC is too low, LOCD is locked
+		List<String> suggested = suggestedIds(handlingUnit, null);
+		LOG.info("Suggested: {}", suggested);
+		assertEquals(2, suggested.size());
+		assertEquals("LOCB", suggested.get(0));
+		assertEquals("LOCA", suggested.get(1));
+
+		// The preferred Zone first
+		suggested = suggestedIds(handlingUnit, "Cooler");
+		assertEquals("LOCA", suggested.get(0));
+
+		handlingUnit.setHeight(HeightCategory.LOW);
+		suggested = suggestedIds(handlingUnit, null);
+		assertEquals(3, suggested.size());
+		assertEquals("LOCC", suggested.get(2));
+
+		assertEquals(1, putawayService.suggest(handlingUnit, null, 1).size());
+		assertEquals(3, putawayService.suggest(handlingUnit).size());
+
+// -- Special cases
+		try {
+			putawayService.suggest(null);
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			putawayService.suggest(handlingUnit, null, 0);
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * The index follows drops and picks
+	 * 
+	 * @throws CapacityExceededException in case of an error
+	 * @throws WeightExceededException in case of an error
+	 * @throws OverheightException in case of an error
+	 * @throws OverlengthException in case of an error
+	 * @throws OverwidthException in case of an error
+	 * @throws LocationIsEmptyException in case of an error
+	 * @throws HandlingUnitNotOnLocationException in case of an error
+	 */
+	@Test
+	@InSequence(1)
+	public void followDropPick() throws CapacityExceededException, WeightExceededException, OverheightException
+			, OverlengthException, OverwidthException, LocationIsEmptyException, HandlingUnitNotOnLocationException {
+		LOG.info("--- Test followDropPick");
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.MIDDLE);
+
+		assertEquals("LOCB", suggestedIds(handlingUnit, null).get(0));
+
+		// LOCB becomes full
+		handlingUnitService.dropTo("LOCB", "2");
+		List<String> suggested = suggestedIds(handlingUnit, null);
+		assertEquals(1, suggested.size());
+		assertEquals("LOCA", suggested.get(0));
+
+		// LOCA keeps one free slot
+		handlingUnitService.dropTo("LOCA", "3");
+		assertTrue(suggestedIds(handlingUnit, null).contains("LOCA"));
+
+		handlingUnitService.dropTo("LOCA", "4");
+		assertTrue(suggestedIds(handlingUnit, null).isEmpty());
+
+		// LOCB is free again
+		handlingUnitService.pickFrom("LOCB", "2");
+		assertEquals("LOCB", suggestedIds(handlingUnit, null).get(0));
+
+		// Status changes reach the index by the Location update
+		Location locB = locationService.getById("LOCB");
+		locB.getLocationStatus().setLockStatus(LockStatus.DROP_LOCKED);
+		locationService.createOrUpdate(locB);
+		assertTrue(suggestedIds(handlingUnit, null).isEmpty());
+	}
+
+	/**
+	 * A rebuild started by a suggestion reads the committed state only; a rolled back Location never reaches the index
+	 *
+	 * @throws Exception in case of an error
+	 */
+	@Test
+	@InSequence(2)
+	public void rebuildOutsideCallerTransaction() throws Exception {
+		LOG.info("--- Test rebuildOutsideCallerTransaction");
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.MIDDLE);
+
+		freeCapacityIndex.invalidate();
+
+		userTransaction.begin();
+		try {
+			locationService.createOrUpdate(new RandomLocation("LOCE", "Test"));
+
+			assertFalse(suggestedIds(handlingUnit, null).contains("LOCE"));
+		}
+		finally {
+			userTransaction.rollback();
+		}
+
+		List<String> suggested = suggestedIds(handlingUnit, null);
+		LOG.info("Suggested: {}", suggested);
+		assertFalse(suggested.contains("LOCE"));
+		assertEquals(2, suggested.size());
+	}
+
+	/**
+	 * A stale candidate does not shorten the suggestion; the next candidates are verified instead
+	 *
+	 * @throws Exception in case of an error
+	 */
+	@Test
+	@InSequence(3)
+	public void skipStaleCandidates() throws Exception {
+		LOG.info("--- Test skipStaleCandidates");
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.MIDDLE);
+
+		assertEquals("LOCB", suggestedIds(handlingUnit, null).get(0));
+
+		userTransaction.begin();
+		try {
+			// The index sees the lock after commit only
+			Location locB = locationService.getById("LOCB");
+			locB.getLocationStatus().setLockStatus(LockStatus.DROP_LOCKED);
+			locationService.createOrUpdate(locB);
+
+			List<Location> suggested = putawayService.suggest(handlingUnit, null, 1);
+			assertEquals(1, suggested.size());
+			assertEquals("LOCA", suggested.get(0).getLocationId());
+		}
+		finally {
+			userTransaction.rollback();
+		}
+	}
+
+	/**
+	 * Zone changes reach the index
+	 */
+	@Test
+	@InSequence(4)
+	public void followZoneChanges() {
+		LOG.info("--- Test followZoneChanges");
+
+		HandlingUnit handlingUnit = new HandlingUnit("1", 10, 1.0F, HeightCategory.LOW);
+
+		assertEquals("LOCB", suggestedIds(handlingUnit, null).get(0));
+
+		// The better rating ranks the Cooler first
+		Zone cooler = zoneService.getById("Cooler");
+		cooler.setRating(20);
+		zoneService.createOrUpdate(cooler);
+		assertEquals("LOCA", suggestedIds(handlingUnit, null).get(0));
+
+		zoneService.addLocationTo("LOCC", "Cooler");
+		assertEquals(Arrays.asList("LOCA", "LOCC", "LOCB"), suggestedIds(handlingUnit, null));
+
+		zoneService.clear("Cooler");
+		assertEquals("LOCB", suggestedIds(handlingUnit, null).get(0));
+
+		zoneService.delete("Freezer");
+		List<String> suggested = suggestedIds(handlingUnit, null);
+		LOG.info("Suggested: {}", suggested);
+		assertEquals(3, suggested.size());
+		// Without Zones the tightest free capacity first
+		assertEquals("LOCB", suggested.get(0));
+		assertEquals("LOCA", suggested.get(1));
+	}
+}
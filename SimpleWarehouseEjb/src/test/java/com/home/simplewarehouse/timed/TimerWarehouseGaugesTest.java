@@ -0,0 +1,71 @@
+package com.home.simplewarehouse.timed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+
+/**
+ * Test the Zone series of the warehouse gauges.
+ */
+@RunWith(JUnit4.class)
+public class TimerWarehouseGaugesTest {
+	private static final Logger LOG = LogManager.getLogger(TimerWarehouseGaugesTest.class);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public TimerWarehouseGaugesTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	private static String series(String zoneId) {
+		return "simplewarehouse_zone_locations{zone=\"" + zoneId + "\"}";
+	}
+
+	/**
+	 * Only the largest Zones get a series of their own; the others are summed up
+	 */
+	@Test
+	public void zoneLocations() {
+		Map<String, Integer> perZone = new HashMap<>();
+		perZone.put("A", 5);
+		perZone.put("B", 50);
+		perZone.put("C", 7);
+		perZone.put("D", 7);
+		perZone.put("E", 1);
+
+		Map<String, Double> gauges = TimerWarehouseGaugesBean.addZoneLocations(Samples.with("simplewarehouse_zones"
+				, perZone.size()), perZone, 2).asMap();
+		LOG.info(gauges);
+
+		// The largest Zones, equal counts by Zone id
+		assertEquals(4, gauges.size());
+		assertEquals(50.0, gauges.get(series("B")), 0.0);
+		assertEquals(7.0, gauges.get(series("C")), 0.0);
+		assertEquals(13.0, gauges.get(series(TimerWarehouseGaugesBean.OTHER_ZONES)), 0.0);
+
+		// -- Special cases
+		// Below the limit there is no sum
+		gauges = TimerWarehouseGaugesBean.addZoneLocations(Samples.with("simplewarehouse_zones", perZone.size())
+				, perZone, TimerWarehouseGaugesBean.DEFAULT_MAX_ZONES).asMap();
+		assertEquals(6, gauges.size());
+		assertFalse(gauges.containsKey(series(TimerWarehouseGaugesBean.OTHER_ZONES)));
+
+		// No series per Zone at all
+		gauges = TimerWarehouseGaugesBean.addZoneLocations(Samples.with("simplewarehouse_zones", perZone.size())
+				, perZone, 0).asMap();
+		assertEquals(2, gauges.size());
+		assertEquals(70.0, gauges.get(series(TimerWarehouseGaugesBean.OTHER_ZONES)), 0.0);
+	}
+}
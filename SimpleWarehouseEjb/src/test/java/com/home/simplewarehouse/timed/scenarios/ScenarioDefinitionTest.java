@@ -0,0 +1,121 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test the scenario definition, the key sampler and the operation statistics.
+ */
+@RunWith(JUnit4.class)
+public class ScenarioDefinitionTest {
+	private static final Logger LOG = LogManager.getLogger(ScenarioDefinitionTest.class);
+
+	private static final int DRAWS = 100_000;
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public ScenarioDefinitionTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Parse a textual definition
+	 */
+	@Test
+	public void parse() {
+		ScenarioDefinition definition = ScenarioDefinition.parse(
+				"name=S1; mix=DROP:3,PICK:1; ops=0; threads=4; duration=500; keys=ZIPF:1.5; locations=7;"
+				+ " handlingUnits=30; fill=10; keep=true");
+		LOG.info(definition);
+
+		assertEquals("S1", definition.getName());
+		assertEquals("S1-", definition.getNamespace());
+		assertEquals("S1-L3", definition.locationId(3));
+		assertEquals("S1-H12", definition.handlingUnitId(12));
+		assertEquals(2, definition.getMix().size());
+		assertEquals(Integer.valueOf(3), definition.getMix().get(ScenarioOperation.DROP));
+		assertEquals(0, definition.getTargetOpsPerSecond());
+		assertEquals(4, definition.getConcurrency());
+		assertEquals(500L, definition.getDurationMillis());
+		assertEquals(KeyDistribution.ZIPF, definition.getKeyDistribution());
+		assertEquals(1.5, definition.getZipfExponent(), 0.0);
+		assertEquals(7, definition.getLocations());
+		assertEquals(30, definition.getHandlingUnits());
+		assertEquals(10, definition.getFillPercent());
+		assertTrue(definition.isKeepData());
+
+		// Defaults
+		assertEquals(4, ScenarioDefinition.parse("").getMix().size());
+
+		// -- Special cases
+		for (String text : new String[] { null, "name=S-1", "mix=JUMP:1", "mix=DROP:0", "threads=0", "ops=x"
+				, "color=red", "fill" }) {
+			try {
+				ScenarioDefinition.parse(text);
+				fail("Exception expected for " + text);
+			}
+			catch (IllegalArgumentException ex) {
+				LOG.info("{} : {}", ex, ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * A Zipf distribution puts most draws on the first keys, a uniform one does not
+	 */
+	@Test
+	public void keySampler() {
+		Random random = new Random(4711L);
+
+		int[] uniform = new int[100];
+		int[] zipf = new int[100];
+
+		KeySampler uniformSampler = new KeySampler(100, KeyDistribution.UNIFORM, 1.0);
+		KeySampler zipfSampler = new KeySampler(100, KeyDistribution.ZIPF, 1.2);
+
+		for (int i = 0; i < DRAWS; ++i) {
+			++uniform[uniformSampler.next(random)];
+			++zipf[zipfSampler.next(random)];
+		}
+		LOG.info("Key 0: uniform={}, zipf={}", uniform[0], zipf[0]);
+
+		assertTrue(uniform[0] < DRAWS / 50);
+		assertTrue(zipf[0] > DRAWS / 5);
+		assertTrue(zipf[0] > zipf[1] && zipf[1] > zipf[10] && zipf[10] > zipf[99]);
+
+		assertEquals(0, new KeySampler(1, KeyDistribution.ZIPF, 1.0).next(random));
+	}
+
+	/**
+	 * Counts are exact; percentiles come from the recorded latencies
+	 */
+	@Test
+	public void operationStatistics() {
+		OperationStatistics statistics = new OperationStatistics();
+
+		assertArrayEquals(new long[] { 0, 0 }, statistics.percentiles(50.0, 99.0));
+
+		for (int i = 1; i <= 100; ++i) {
+			statistics.success(i);
+		}
+		statistics.rejected(1000);
+		statistics.error(2000);
+
+		assertEquals(102, statistics.getCount());
+		assertEquals(1, statistics.getRejected());
+		assertEquals(1, statistics.getErrors());
+		assertArrayEquals(new long[] { 51, 100, 2000 }, statistics.percentiles(50.0, 98.0, 100.0));
+	}
+}
@@ -0,0 +1,229 @@
+package com.home.simplewarehouse.timed.scenarios;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.ejb.EJB;
+import javax.ejb.EJBException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
+import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.location.DimensionBean;
+import com.home.simplewarehouse.location.DimensionService;
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
+import com.home.simplewarehouse.topology.SampleWarehouseBean;
+import com.home.simplewarehouse.topology.SampleWarehouseService;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.zone.ZoneBean;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Test the Scenario Engine bean.
+ */
+@RunWith(Arquillian.class)
+public class ScenarioEngineTest {
+	private static final Logger LOG = LogManager.getLogger(ScenarioEngineTest.class);
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						ScenarioEngine.class, ScenarioEngineBean.class,
+						SampleWarehouseService.class, SampleWarehouseBean.class,
+						DimensionService.class, DimensionBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						ZoneService.class, ZoneBean.class,
+						HandlingUnitService.class, HandlingUnitBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	@EJB
+	private ScenarioEngine scenarioEngine;
+
+	@EJB
+	private SampleWarehouseService sampleWarehouseService;
+
+	@EJB
+	private LocationService locationService;
+
+	@EJB
+	private HandlingUnitService handlingUnitService;
+
+	@EJB
+	private MonitoringResource monitoringResource;
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public ScenarioEngineTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * All that is needed to be done before any test
+	 */
+	@Before
+	public void beforeTest() {
+		LOG.trace("--> beforeTest()");
+
+		LOG.trace("<-- beforeTest()");
+	}
+
+	/**
+	 * All that is needed to be done after any test
+	 */
+	@After
+	public void afterTest() {
+		LOG.trace("--> afterTest()");
+
+		sampleWarehouseService.cleanup();
+
+		LOG.trace("<-- afterTest()");
+	}
+
+	/**
+	 * Run a short scenario and check the result, the diagnostics and the released namespace
+	 */
+	@Test
+	@InSequence(0)
+	public void run() {
+		LOG.info("--- Test run");
+
+		ScenarioResult result = scenarioEngine.run(ScenarioDefinition.parse(
+				"name=Run;mix=DROP:40,PICK:40,ASSIGN:10,MOVE:10;ops=200;threads=2;duration=1000;locations=5;handlingUnits=20"));
+		LOG.info(result);
+
+		assertEquals("Run", result.getName());
+		assertEquals(4, result.getOperations().size());
+		assertTrue(result.getTotalCount() > 0);
+		assertTrue(result.getElapsedMillis() >= 1000);
+		assertTrue(monitoringResource.getDiagnostics().containsKey("scenario.Run"));
+		assertTrue(monitoringResource.getDiagnostics().containsKey("scenario.Run.DROP"));
+
+		// Namespace released
+		assertEquals(0, locationService.count());
+		assertEquals(0, handlingUnitService.count());
+
+		// -- Special cases
+		try {
+			scenarioEngine.run(null);
+			fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			assertTrue(ejbex.getCause() instanceof IllegalArgumentException);
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			ScenarioDefinition definition = new ScenarioDefinition("Invalid");
+			definition.setConcurrency(0);
+
+			scenarioEngine.run(definition);
+			fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			assertTrue(ejbex.getCause() instanceof IllegalArgumentException);
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Keep the data of a scenario and release it afterwards
+	 */
+	@Test
+	@InSequence(1)
+	public void keepAndRelease() {
+		LOG.info("--- Test keepAndRelease");
+
+		ScenarioDefinition definition = ScenarioDefinition.parse(
+				"name=Keep;mix=PICK:1;ops=0;threads=1;duration=200;locations=4;handlingUnits=8;fill=100;keep=true");
+
+		ScenarioResult result = scenarioEngine.run(definition);
+		LOG.info(result);
+
+		assertEquals(4, locationService.count());
+		assertEquals(8, handlingUnitService.count());
+		assertTrue(result.getOperations().get(ScenarioOperation.PICK).getRejected() > 0);
+
+		assertEquals(4, scenarioEngine.release(definition));
+		assertEquals(0, locationService.count());
+		assertEquals(0, handlingUnitService.count());
+	}
+
+	/**
+	 * Two scenarios at the same time in their own namespaces
+	 *
+	 * @throws ExecutionException in case of a failed scenario
+	 * @throws InterruptedException in case of an interruption
+	 */
+	@Test
+	@InSequence(2)
+	public void runConcurrently() throws InterruptedException, ExecutionException {
+		LOG.info("--- Test runConcurrently");
+
+		Future<ScenarioResult> first = scenarioEngine.runAsync(ScenarioDefinition.parse(
+				"name=First;mix=DROP:50,PICK:50;ops=100;duration=1000;locations=5;handlingUnits=20"));
+		Future<ScenarioResult> second = scenarioEngine.runAsync(ScenarioDefinition.parse(
+				"name=Second;keys=ZIPF:1.2;ops=100;duration=1000;locations=5;handlingUnits=20"));
+
+		ScenarioResult firstResult = first.get();
+		ScenarioResult secondResult = second.get();
+		LOG.info(firstResult);
+		LOG.info(secondResult);
+
+		assertTrue(firstResult.getTotalCount() > 0);
+		assertTrue(secondResult.getTotalCount() > 0);
+		assertTrue(monitoringResource.getDiagnostics().containsKey("scenario.First"));
+		assertTrue(monitoringResource.getDiagnostics().containsKey("scenario.Second"));
+
+		assertEquals(0, locationService.count());
+		assertEquals(0, handlingUnitService.count());
+	}
+}
@@ -3,11 +3,15 @@ package com.home.simplewarehouse.topology;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.util.Arrays;
 
 import javax.ejb.EJB;
+import javax.ejb.EJBException;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -30,6 +34,8 @@ import com.home.simplewarehouse.location.LocationBean;
 import com.home.simplewarehouse.location.LocationService;
 import com.home.simplewarehouse.location.LocationStatusBean;
 import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.zone.ZoneBean;
@@ -63,6 +69,7 @@ public class SampleWarehouseBeanTest {
 						DimensionService.class, DimensionBean.class,
 						LocationStatusService.class, LocationStatusBean.class,
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						ZoneService.class, ZoneBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						PerformanceAuditor.class,
@@ -247,4 +254,67 @@ public class SampleWarehouseBeanTest {
 		assertNotNull(zoneService.getAll());
 		assertTrue(zoneService.getAll().isEmpty());
 	}
+	
+	/**
+	 * Cleanup by Zone, by id prefix and of the Locations only
+	 * 
+	 * @throws Exception in case of an unexpected drop or assign failure
+	 */
+	@Test
+	@InSequence(4)
+	public void selectiveCleanupTest() throws Exception {
+		LOG.info("--- Test selectiveCleanupTest");
+
+		sampleWarehouseService.initialize();
+		
+		// Trees on Locations: 2 on 1 on A, 4 on 3 on FIFO_A
+		handlingUnitService.dropTo("A", "1");
+		handlingUnitService.assign("2", "1");
+		handlingUnitService.dropTo("FIFO_A", "3");
+		handlingUnitService.assign("4", "3");
+		zoneService.bulkAddLocations(Arrays.asList("A", "B"), "Cooler");
+		
+		int zones = zoneService.count();
+		
+		assertEquals(2, sampleWarehouseService.cleanupZone("Cooler"));
+		assertEquals(SampleWarehouseBean.LOCATION_NUM * 3 - 2, locationService.count());
+		assertEquals(SampleWarehouseBean.HANDLING_UNIT_NUM - 2, handlingUnitService.count());
+		assertNull(locationService.getById("A"));
+		assertNull(handlingUnitService.getById("2"));
+		assertNull(zoneService.getById("Cooler"));
+		assertEquals(zones - 1, zoneService.count());
+		
+		assertEquals(SampleWarehouseBean.LOCATION_NUM, sampleWarehouseService.cleanupPrefix("FIFO_"));
+		assertEquals(SampleWarehouseBean.LOCATION_NUM * 2 - 2, locationService.count());
+		assertEquals(SampleWarehouseBean.HANDLING_UNIT_NUM - 4, handlingUnitService.count());
+		assertNull(handlingUnitService.getById("4"));
+		assertNotNull(locationService.getById("LIFO_A"));
+		
+		assertEquals(SampleWarehouseBean.LOCATION_NUM * 2 - 2, sampleWarehouseService.cleanupLocations());
+		assertEquals(0, locationService.count());
+		assertEquals(0, handlingUnitService.count());
+		assertEquals(zones - 1, zoneService.count());
+		
+		// -- Special cases
+		try {
+			sampleWarehouseService.cleanupZone(null);
+			fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			assertTrue(ejbex.getCause() instanceof IllegalArgumentException);
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			sampleWarehouseService.cleanupPrefix("");
+			fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			assertTrue(ejbex.getCause() instanceof IllegalArgumentException);
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		assertEquals(0, sampleWarehouseService.cleanupZone("Unknown"));
+		
+		sampleWarehouseService.cleanup();
+		assertEquals(0, zoneService.count());
+	}
 }
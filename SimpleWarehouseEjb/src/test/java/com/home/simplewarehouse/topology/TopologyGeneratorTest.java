@@ -0,0 +1,239 @@
+package com.home.simplewarehouse.topology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.Arrays;
+
+import javax.ejb.EJB;
+import javax.ejb.EJBException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
+import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.location.DimensionBean;
+import com.home.simplewarehouse.location.DimensionService;
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.model.AbsolutPosition;
+import com.home.simplewarehouse.model.FifoLocation;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.zone.ZoneBean;
+import com.home.simplewarehouse.zone.ZoneService;
+
+/**
+ * Test the Topology Generator bean.
+ */
+@RunWith(Arquillian.class)
+public class TopologyGeneratorTest {
+	private static final Logger LOG = LogManager.getLogger(TopologyGeneratorTest.class);
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						TopologyGeneratorService.class, TopologyGeneratorBean.class,
+						SampleWarehouseService.class, SampleWarehouseBean.class,
+						DimensionService.class, DimensionBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						ZoneService.class, ZoneBean.class,
+						HandlingUnitService.class, HandlingUnitBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	@EJB
+	private TopologyGeneratorService topologyGeneratorService;
+
+	@EJB
+	private SampleWarehouseService sampleWarehouseService;
+
+	@EJB
+	private LocationService locationService;
+
+	@EJB
+	private HandlingUnitService handlingUnitService;
+
+	@EJB
+	private ZoneService zoneService;
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public TopologyGeneratorTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * All that is needed to be done before any test
+	 */
+	@Before
+	public void beforeTest() {
+		LOG.trace("--> beforeTest()");
+
+		LOG.trace("<-- beforeTest()");
+	}
+
+	/**
+	 * All that is needed to be done after any test
+	 */
+	@After
+	public void afterTest() {
+		LOG.trace("--> afterTest()");
+
+		sampleWarehouseService.cleanup();
+
+		LOG.trace("<-- afterTest()");
+	}
+
+	private static TopologySpec smallSpec() {
+		TopologySpec spec = new TopologySpec(2, 2, 5);
+
+		spec.setIdPrefix("T");
+		spec.setZones(2);
+		spec.setProfiles(Arrays.asList(DimensionProfile.UNLIMITED));
+		spec.setFillPercent(100);
+		spec.setHandlingUnitsPerLocation(2);
+		spec.setTreeDepth(2);
+		spec.setTreeFanout(2);
+		// Chunks not aligned to aisles or levels
+		spec.setChunkSize(7);
+
+		return spec;
+	}
+
+	/**
+	 * Generate a small topology and check Locations, Zones and HandlingUnit trees
+	 */
+	@Test
+	@InSequence(0)
+	public void generate() {
+		LOG.info("--- Test generate");
+
+		TopologySpec spec = smallSpec();
+
+		TopologyResult result = topologyGeneratorService.generate(spec);
+		LOG.info(result);
+
+		assertEquals(2, result.getZones());
+		assertEquals(20, result.getLocations());
+		assertEquals(20 * 2 * 7, result.getHandlingUnits());
+
+		assertEquals(20, locationService.count());
+		assertEquals(20 * 2 * 7, handlingUnitService.count());
+		assertEquals(10, zoneService.countLocations("T-Z1"));
+		assertEquals(10, zoneService.countLocations("T-Z2"));
+
+		Location location = locationService.getById("T-A2-L1-B3");
+		assertTrue(location.getPosition() instanceof AbsolutPosition);
+		assertEquals(2, location.getHandlingUnits().size());
+		assertEquals(2, location.getOccupancy().getCurrentCapacity());
+		assertTrue(locationService.getById("T-A1-L1-B1") instanceof FifoLocation);
+
+		HandlingUnit root = handlingUnitService.getById("T-A2-L1-B3/2");
+		assertEquals("T-A2-L1-B3", root.getRootLocationId());
+		assertNull(root.getRootBaseHuId());
+		assertEquals(6, handlingUnitService.flatContains(root).size());
+
+		HandlingUnit leaf = handlingUnitService.getById("T-A2-L1-B3/2.1.2");
+		assertNull(leaf.getLocation());
+		assertEquals("T-A2-L1-B3/2.1", leaf.getBaseHU().getId());
+		assertEquals("T-A2-L1-B3", leaf.getRootLocationId());
+		assertEquals("T-A2-L1-B3/2", leaf.getRootBaseHuId());
+
+		// -- Special cases
+		try {
+			topologyGeneratorService.generate(spec);
+			fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			assertTrue(ejbex.getCause() instanceof IllegalArgumentException);
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			topologyGeneratorService.generate(null);
+			fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			assertTrue(ejbex.getCause() instanceof IllegalArgumentException);
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			spec.setIdPrefix("U");
+			spec.setLifoPercent(90);
+			topologyGeneratorService.generate(spec);
+			fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			assertTrue(ejbex.getCause() instanceof IllegalArgumentException);
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		assertEquals(20, locationService.count());
+	}
+
+	/**
+	 * Generation rate for a medium sized topology
+	 */
+	@Test
+	@InSequence(1)
+	public void generateBenchmark() {
+		LOG.info("--- Test generateBenchmark");
+
+		TopologySpec spec = new TopologySpec(10, 5, 40);
+		spec.setIdPrefix("B");
+		spec.setFillPercent(80);
+		spec.setHandlingUnitsPerLocation(2);
+		spec.setTreeDepth(1);
+
+		TopologyResult result = topologyGeneratorService.generate(spec);
+
+		LOG.info("{}: {} Locations/s", result, result.getLocations() * 1000 / Math.max(1, result.getMillis()));
+
+		assertEquals(2000, locationService.count());
+	}
+}
@@ -47,6 +47,8 @@ import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.LocationStatus;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.patterns.singleton.simplecache.model.ApplConfig;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionStatistics;
@@ -81,6 +83,7 @@ public class MarshallerTest {
 						DimensionService.class, DimensionBean.class,
 						LocationStatusService.class, LocationStatusBean.class,
 						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						ZoneService.class, ZoneBean.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						PerformanceAuditor.class,
@@ -1,8 +1,14 @@
 package com.home.simplewarehouse.utils.telemetryprovider;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import javax.ejb.EJB;
 import javax.ejb.EJBException;
@@ -20,6 +26,13 @@ import org.junit.runner.RunWith;
 
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionFingerprint;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionRecord;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.RecordingStatus;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.SlowCall;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.WindowStatistics;
 import com.home.simplewarehouse.utils.telemetryprovider.requestcounter.GoodMorning;
 import com.home.simplewarehouse.utils.telemetryprovider.requestcounter.InnerClasses;
 
@@ -57,6 +70,9 @@ public class TelemetryProviderTest {
 
 	@EJB
 	GoodMorning goodMorning;
+
+	@EJB
+	MonitoringResource monitoringResource;
 	
 	/**
 	 * Mandatory default constructor
@@ -105,4 +121,177 @@ public class TelemetryProviderTest {
 
 		LOG.info("<-- testInnerClassesInnerBoom()");
 	}
+
+	/**
+	 * Every call is counted in the latency statistics of its method
+	 */
+	@Test
+	public void testMethodStatistics() {
+		LOG.info("--> testMethodStatistics()");
+
+		monitoringResource.resetMethodStatistics();
+
+		for (int i = 0; i < 10; ++i) {
+			goodMorning.say();
+		}
+		try {
+			goodMorning.tooEarly();
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+
+		List<MethodStatistics> statistics = monitoringResource.getMethodStatistics();
+		statistics.forEach(LOG::info);
+
+		MethodStatistics say = find(statistics, "GoodMorning.say()");
+		assertEquals(10, say.getCount());
+		assertEquals(0, say.getErrors());
+		assertTrue(say.getMinMicros() <= say.getP50Micros());
+		assertTrue(say.getP50Micros() <= say.getP99Micros());
+		assertTrue(say.getP99Micros() <= say.getMaxMicros());
+
+		MethodStatistics tooEarly = find(statistics, "GoodMorning.tooEarly()");
+		assertEquals(1, tooEarly.getCount());
+		assertEquals(1, tooEarly.getErrors());
+
+		assertEquals(1, monitoringResource.getMethodStatistics(1).size());
+
+		// The rolling windows are not reset with the statistics
+		WindowStatistics live = monitoringResource.getLiveLast1Minute().stream()
+				.filter(stat -> stat.getMethodName().contains("GoodMorning.say()")).findFirst()
+				.orElseThrow(() -> new AssertionError("GoodMorning.say() not live"));
+		assertTrue(live.getCount() >= 10);
+		assertTrue(live.getCallsPerSecond() > 0.0);
+
+		monitoringResource.resetMethodStatistics();
+		assertEquals(0, find(monitoringResource.getMethodStatistics(), "GoodMorning.say()").getCount());
+
+		LOG.info("<-- testMethodStatistics()");
+	}
+
+	/**
+	 * Test the OpenMetrics text
+	 * 
+	 * @throws IOException in case of a failed stream
+	 */
+	@Test
+	public void testMetrics() throws IOException {
+		LOG.info("--> testMetrics()");
+
+		goodMorning.say();
+		try {
+			goodMorning.tooEarly();
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		monitoringResource.onNewSamples(Samples.with("simplewarehouse_test_total", 3)
+				.and("simplewarehouse_test_gauge", "kind", "unit", 1.5));
+		monitoringResource.refreshMetrics();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		monitoringResource.getMetrics().write(output);
+		String text = new String(output.toByteArray(), StandardCharsets.UTF_8);
+		LOG.info(text);
+
+		assertTrue(text.contains("# TYPE simplewarehouse_method_calls counter\n"));
+		assertTrue(text.matches("(?s).*simplewarehouse_method_calls_total"
+				+ "\\{method=\"[^\"]*GoodMorning\\.say\\(\\)\"\\} \\d+\n.*"));
+		assertTrue(text.contains("quantile=\"0.99\"}"));
+		assertTrue(text.contains("# TYPE simplewarehouse_exceptions counter\n"));
+		assertTrue(text.contains("# TYPE simplewarehouse_test counter\nsimplewarehouse_test_total 3\n"));
+		assertTrue(text.contains("simplewarehouse_test_gauge{kind=\"unit\"} 1.5\n"));
+		assertTrue(text.endsWith("# EOF\n"));
+
+		LOG.info("<-- testMetrics()");
+	}
+
+	/**
+	 * Test the captured exceptions
+	 */
+	@Test
+	public void testExceptionRecords() {
+		LOG.info("--> testExceptionRecords()");
+
+		monitoringResource.clear();
+
+		for (int i = 0; i < 3; ++i) {
+			try {
+				goodMorning.tooEarly();
+			}
+			catch (EJBException ejbex) {
+				LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+			}
+		}
+
+		List<ExceptionRecord> records = monitoringResource.getExceptionRecords(0, 10, "tooEarly", null);
+		records.forEach(LOG::info);
+		assertEquals(3, records.size());
+		assertTrue(records.get(0).getSequence() > records.get(1).getSequence());
+		assertEquals(records.get(0).getFingerprint(), records.get(2).getFingerprint());
+		assertEquals(1, monitoringResource.getExceptionRecords(2, 10, "tooEarly", null).size());
+		assertTrue(monitoringResource.getExceptionRecords(0, 10, "say", null).isEmpty());
+
+		List<ExceptionFingerprint> fingerprints = monitoringResource.getExceptionFingerprints();
+		fingerprints.forEach(LOG::info);
+		assertEquals(1, fingerprints.size());
+		assertEquals(3, fingerprints.get(0).getCount());
+		assertTrue(monitoringResource.getExceptions().contains("tooEarly"));
+
+		LOG.info("<-- testExceptionRecords()");
+	}
+
+	/**
+	 * Test the slow call capture
+	 */
+	@Test
+	public void testSlowCalls() {
+		LOG.info("--> testSlowCalls()");
+
+		long threshold = monitoringResource.getSlowCallThresholdMillis();
+
+		try {
+			monitoringResource.setSlowCallThresholdMillis(0);
+			goodMorning.say();
+		}
+		finally {
+			monitoringResource.setSlowCallThresholdMillis(threshold);
+		}
+
+		List<SlowCall> slowCalls = monitoringResource.getSlowCalls(0, 1, "GoodMorning.say()");
+		slowCalls.forEach(LOG::info);
+		assertEquals(1, slowCalls.size());
+		assertTrue(slowCalls.get(0).getMethodName().contains("GoodMorning.say()"));
+		assertEquals(0, slowCalls.get(0).getSpans().get(0).getDepth());
+
+		LOG.info("<-- testSlowCalls()");
+	}
+
+	/**
+	 * Test the Flight Recorder recording control
+	 */
+	@Test
+	public void testRecording() {
+		LOG.info("--> testRecording()");
+
+		RecordingStatus status = monitoringResource.startRecording("default");
+		LOG.info(status);
+		assertTrue(status.isRunning());
+
+		goodMorning.say();
+
+		status = monitoringResource.stopRecording();
+		LOG.info(status);
+		assertFalse(status.isRunning());
+		assertTrue(new File(status.getFile()).length() > 0);
+		assertFalse(monitoringResource.getRecordingStatus().isRunning());
+
+		LOG.info("<-- testRecording()");
+	}
+
+	private static MethodStatistics find(List<MethodStatistics> statistics, String method) {
+		return statistics.stream().filter(stat -> stat.getMethodName().contains(method)).findFirst()
+				.orElseThrow(() -> new AssertionError(method + " not found"));
+	}
 }
@@ -0,0 +1,128 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.CallSpan;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.SlowCall;
+
+/**
+ * Test the call tracer and the slow call log.
+ */
+@RunWith(JUnit4.class)
+public class CallTracerTest {
+	private static final Logger LOG = LogManager.getLogger(CallTracerTest.class);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public CallTracerTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Nested calls form a tree in call order
+	 */
+	@Test
+	public void tree() {
+		CallTracer tracer = new CallTracer();
+		HandlingUnit handlingUnit = new HandlingUnit("HU1", "Test");
+		RandomLocation location = new RandomLocation("A");
+
+		int dropTo = tracer.enter("HandlingUnitBean.dropTo", new Object[] { location, handlingUnit }, 1_000_000L);
+		int pickFrom = tracer.enter("HandlingUnitBean.pickFrom", new Object[] { location, null }, 2_000_000L);
+		int getAll = tracer.enter("LocationBean.getAll", new Object[0], 3_000_000L);
+		assertFalse(tracer.exit(getAll, 1_000_000L, false));
+		assertFalse(tracer.exit(pickFrom, 3_000_000L, true));
+		int count = tracer.enter("LocationBean.count", null, 6_000_000L);
+		assertFalse(tracer.exit(count, 500_000L, false));
+		assertTrue(tracer.exit(dropTo, 6_000_000L, false));
+
+		SlowCall slowCall = tracer.toSlowCall("main");
+		LOG.info(slowCall);
+
+		assertEquals("HandlingUnitBean.dropTo", slowCall.getMethodName());
+		assertEquals(6000, slowCall.getDurationMicros());
+		assertEquals(0, slowCall.getDroppedSpans());
+
+		List<CallSpan> spans = slowCall.getSpans();
+		assertEquals(4, spans.size());
+		assertEquals(Arrays.asList(0, 1, 2, 1), Arrays.asList(spans.get(0).getDepth(), spans.get(1).getDepth()
+				, spans.get(2).getDepth(), spans.get(3).getDepth()));
+		assertEquals("RandomLocation(A), HandlingUnit(HU1)", spans.get(0).getArguments());
+		assertEquals("RandomLocation(A), null", spans.get(1).getArguments());
+		assertTrue(spans.get(1).isFailed());
+		assertEquals(2000, spans.get(2).getOffsetMicros());
+		assertEquals(1000, spans.get(2).getDurationMicros());
+		assertEquals("", spans.get(3).getArguments());
+
+		// A new root call starts a new tree
+		tracer.clear();
+		int say = tracer.enter("GoodMorning.say", new Object[] { "x", 3, Arrays.asList(1, 2), new int[5] }, 0L);
+		assertTrue(tracer.exit(say, 10L, false));
+		slowCall = tracer.toSlowCall("main");
+		assertEquals(1, slowCall.getSpans().size());
+		assertEquals("x, 3, " + Arrays.asList(1, 2).getClass().getSimpleName() + "[2], int[5]"
+				, slowCall.getSpans().get(0).getArguments());
+	}
+
+	/**
+	 * Spans above the maximum are counted as dropped
+	 */
+	@Test
+	public void droppedSpans() {
+		CallTracer tracer = new CallTracer();
+
+		int root = tracer.enter("root", null, 0L);
+		for (int i = 0; i < CallTracer.MAX_SPANS + 10; ++i) {
+			tracer.exit(tracer.enter("nested", null, i), 1L, false);
+		}
+		assertTrue(tracer.exit(root, 1000L, false));
+
+		SlowCall slowCall = tracer.toSlowCall("main");
+		assertEquals(CallTracer.MAX_SPANS, slowCall.getSpans().size());
+		assertEquals(11, slowCall.getDroppedSpans());
+		assertEquals(1L, slowCall.getDurationMicros());
+	}
+
+	/**
+	 * The log keeps the latest slow calls only
+	 */
+	@Test
+	public void log() {
+		SlowCallLog log = new SlowCallLog(4);
+		CallTracer tracer = new CallTracer();
+
+		for (int i = 0; i < 6; ++i) {
+			int span = tracer.enter(i % 2 == 0 ? "even" : "odd", null, 0L);
+			tracer.exit(span, 1_000_000L, false);
+			log.add(tracer.toSlowCall("main"));
+		}
+
+		List<SlowCall> latest = log.latest(0, 10, null);
+		assertEquals(4, latest.size());
+		assertEquals(5L, latest.get(0).getSequence());
+		assertEquals(2L, latest.get(3).getSequence());
+		assertEquals(6, log.getCount());
+		assertEquals(2, log.latest(0, 10, "even").size());
+		assertEquals(1, log.latest(1, 10, "odd").size());
+		assertSame(latest.get(1), log.latest(1, 1, null).get(0));
+
+		log.clear();
+		assertTrue(log.latest(0, 10, null).isEmpty());
+	}
+}
@@ -0,0 +1,107 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Test the diagnostic counters.
+ */
+@RunWith(JUnit4.class)
+public class DiagnosticCountersTest {
+	private static final Logger LOG = LogManager.getLogger(DiagnosticCountersTest.class);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public DiagnosticCountersTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Counting from several threads
+	 *
+	 * @throws InterruptedException in case of interruption
+	 */
+	@Test
+	public void count() throws InterruptedException {
+		DiagnosticCounters counters = new DiagnosticCounters(10);
+		DiagnosticCounters.Counter requests = counters.register("request", "simplewarehouse_requests_total");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		for (int i = 0; i < 4; ++i) {
+			executor.execute(() -> {
+				for (int n = 0; n < 10_000; ++n) {
+					requests.increment();
+				}
+			});
+		}
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+		requests.add(5);
+
+		LOG.info(requests);
+		assertEquals(40_005L, requests.sum());
+		assertSame(requests, counters.register("request"));
+		assertEquals("simplewarehouse_requests_total", requests.getSampleName());
+		assertNull(counters.register("other").getSampleName());
+		assertEquals(2, counters.counters().size());
+	}
+
+	/**
+	 * Keys above the bound share the overflow counter
+	 */
+	@Test
+	public void bound() {
+		DiagnosticCounters counters = new DiagnosticCounters(2);
+
+		counters.register("a").increment();
+		counters.register("b").increment();
+		counters.register("c").increment();
+		counters.register("d").add(2);
+
+		List<DiagnosticCounters.Counter> list = counters.counters();
+		assertEquals(3, list.size());
+		assertEquals(2L, counters.getRejectedKeys());
+
+		DiagnosticCounters.Counter overflow = counters.register("e");
+		assertEquals(DiagnosticCounters.OVERFLOW_KEY, overflow.getKey());
+		assertEquals(3L, overflow.sum());
+	}
+
+// -- Special cases
+
+	/**
+	 * Invalid arguments
+	 */
+	@Test
+	public void invalid() {
+		try {
+			new DiagnosticCounters(0);
+			fail("IllegalArgumentException expected");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+		try {
+			new DiagnosticCounters(1).register("");
+			fail("IllegalArgumentException expected");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionFingerprint;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.ExceptionRecord;
+
+/**
+ * Test the exception capture.
+ */
+@RunWith(JUnit4.class)
+public class ExceptionRecorderTest {
+	private static final Logger LOG = LogManager.getLogger(ExceptionRecorderTest.class);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public ExceptionRecorderTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	private static IllegalStateException empty(String id) {
+		return new IllegalStateException("Location " + id + " is empty");
+	}
+
+	private static IllegalArgumentException invalid() {
+		return new IllegalArgumentException("invalid");
+	}
+
+	/**
+	 * Same stack traces share a fingerprint whatever the message
+	 */
+	@Test
+	public void fingerprint() {
+		List<String> fingerprints = new ArrayList<>();
+
+		for (int i = 0; i < 2; ++i) {
+			fingerprints.add(ExceptionRecorder.fingerprint(empty(String.valueOf(i))));
+		}
+		assertEquals(fingerprints.get(0), fingerprints.get(1));
+		assertEquals(16, fingerprints.get(0).length());
+		assertNotEquals(fingerprints.get(0), ExceptionRecorder.fingerprint(invalid()));
+		assertNotEquals(ExceptionRecorder.fingerprint(new IllegalStateException("x", invalid()))
+				, ExceptionRecorder.fingerprint(new IllegalStateException("x")));
+	}
+
+	/**
+	 * Captures are counted per fingerprint and sampled into the ring
+	 */
+	@Test
+	public void deduplicateAndSample() {
+		ExceptionRecorder recorder = new ExceptionRecorder(64, 10);
+
+		for (int i = 1; i <= 1000; ++i) {
+			recorder.record(i, "LocationBean.pick()", empty(String.valueOf(i)));
+		}
+		recorder.record(2000L, "ZoneBean.create()", invalid());
+
+		List<ExceptionFingerprint> fingerprints = recorder.fingerprints(0, 10);
+		fingerprints.forEach(LOG::info);
+		assertEquals(2, fingerprints.size());
+		assertEquals(1000, fingerprints.get(0).getCount());
+		assertEquals(1L, fingerprints.get(0).getFirstMillis());
+		assertEquals(1000L, fingerprints.get(0).getLastMillis());
+		assertEquals("Location 1 is empty", fingerprints.get(0).getMessage());
+		assertTrue(fingerprints.get(0).getTopFrame().contains("empty"));
+		assertEquals(1, fingerprints.get(1).getCount());
+		assertEquals(1, recorder.fingerprints(1, 10).size());
+
+		// The first 10 and every 100th of the flood, the rare one is not pushed out
+		List<ExceptionRecord> records = recorder.records(0, 100, null, null);
+		records.forEach(LOG::info);
+		assertEquals(10 + 10 + 1, records.size());
+		assertEquals("ZoneBean.create()", records.get(0).getMethodName());
+		assertEquals("Location 1000 is empty", records.get(1).getMessage());
+
+		assertEquals(20, recorder.records(0, 100, "pick", null).size());
+		assertEquals(1, recorder.records(0, 100, null, "IllegalArgument").size());
+		assertEquals(4, recorder.records(16, 100, "pick", "IllegalState").size());
+
+		recorder.setSampling(0, 1);
+		for (int i = 0; i < 100; ++i) {
+			recorder.record(3000L, "LocationBean.pick()", empty("A"));
+		}
+		// The ring keeps the newest only
+		assertEquals(64, recorder.records(0, 100, null, null).size());
+		assertEquals(0, recorder.records(0, 100, "create", null).size());
+
+		recorder.clear();
+		assertTrue(recorder.records(0, 100, null, null).isEmpty());
+		assertTrue(recorder.fingerprints(0, 100).isEmpty());
+
+		// -- Special cases
+		try {
+			recorder.setSampling(0, 0);
+			fail("Sampling of every 0th accepted");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+		try {
+			new ExceptionRecorder(0, 10);
+			fail("Capacity 0 accepted");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+	}
+
+	/**
+	 * Fingerprints above the maximum are counted together
+	 */
+	@Test
+	public void maxFingerprints() {
+		ExceptionRecorder recorder = new ExceptionRecorder(16, 1);
+
+		recorder.record(1L, "a", empty("A"));
+		recorder.record(2L, "b", invalid());
+		recorder.record(3L, "c", new UnsupportedOperationException());
+
+		assertEquals(1, recorder.fingerprints(0, 10).size());
+		assertEquals(2, recorder.getUntracked());
+		assertEquals(3, recorder.records(0, 10, null, null).size());
+	}
+
+	/**
+	 * No capture gets lost when many threads capture at the same time
+	 *
+	 * @throws Exception in case of a failed thread
+	 */
+	@Test
+	public void concurrentRecording() throws Exception {
+		ExceptionRecorder recorder = new ExceptionRecorder();
+		IllegalStateException exception = empty("A");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; ++t) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; ++i) {
+						recorder.record("LocationBean.pick()", exception);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertEquals(40_000, recorder.fingerprints(0, 1).get(0).getCount());
+		assertEquals(10 + 400, recorder.records(0, 1000, null, null).size());
+	}
+}
@@ -0,0 +1,156 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.handlingunit.LocationIsEmptyException;
+import com.home.simplewarehouse.model.FifoLocation;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.LifoLocation;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.RecordingStatus;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test the Flight Recorder events and the recording control.
+ */
+@RunWith(JUnit4.class)
+public class FlightRecordingTest {
+	private static final Logger LOG = LogManager.getLogger(FlightRecordingTest.class);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public FlightRecordingTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * The events emitted while recording are in the dump
+	 *
+	 * @throws IOException in case of a dump read error
+	 */
+	@Test
+	public void recordAndDump() throws IOException {
+		FlightRecording recording = new FlightRecording(folder.getRoot().toPath().resolve("jfr"));
+
+		assertFalse(recording.getStatus().isRunning());
+		assertNull(recording.stop().getFile());
+
+		RecordingStatus status = recording.start(null);
+		LOG.info(status);
+		assertTrue(status.isRunning());
+		assertEquals(FlightRecording.DEFAULT_SETTINGS, status.getSettings());
+		assertNotNull(status.getStartTimeMillis());
+		// Starting twice keeps the running recording
+		assertEquals(status.getStartTimeMillis(), recording.start("profile").getStartTimeMillis());
+
+		HandlingUnit handlingUnit = new HandlingUnit("HU1", "Test");
+		RandomLocation location = new RandomLocation("A");
+
+		WarehouseOperationEvent drop = WarehouseOperationEvent.start(WarehouseOperationEvent.DROP);
+		drop.end(location, handlingUnit);
+
+		WarehouseOperationEvent pick = WarehouseOperationEvent.start(WarehouseOperationEvent.PICK);
+		pick.failed(new LocationIsEmptyException("Location [B] is EMPTY"));
+		pick.end(new FifoLocation("B"), null);
+
+		InvocationEvent invocation = InvocationEvent.start();
+		invocation.end("HandlingUnitBean.dropTo", null);
+
+		ConfigCacheRefreshEvent refresh = ConfigCacheRefreshEvent.start();
+		refresh.setEntries(7);
+		refresh.end();
+
+		status = recording.stop();
+
+		// Without a recording no event is created
+		assertSame(InvocationEvent.NONE, InvocationEvent.start());
+		assertSame(WarehouseOperationEvent.NONE, WarehouseOperationEvent.start(WarehouseOperationEvent.DROP));
+		LOG.info(status);
+		assertFalse(status.isRunning());
+		assertNotNull(status.getFile());
+
+		Path file = Paths.get(status.getFile());
+		assertTrue(Files.size(file) > 0);
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().startsWith("com.home.simplewarehouse."))
+				.collect(Collectors.toList());
+		events.forEach(event -> LOG.info(event));
+
+		List<RecordedEvent> operations = events.stream()
+				.filter(event -> event.getEventType().getName().equals("com.home.simplewarehouse.WarehouseOperation"))
+				.collect(Collectors.toList());
+		assertEquals(2, operations.size());
+		assertEquals("DROP", operations.get(0).getString("operation"));
+		assertEquals("A", operations.get(0).getString("locationId"));
+		assertEquals("HU1", operations.get(0).getString("handlingUnitId"));
+		assertEquals("RANDOM", operations.get(0).getString("locationType"));
+		assertEquals(WarehouseOperationEvent.OK, operations.get(0).getString("outcome"));
+		assertEquals("FIFO", operations.get(1).getString("locationType"));
+		assertNull(operations.get(1).getString("handlingUnitId"));
+		assertEquals("LocationIsEmptyException", operations.get(1).getString("outcome"));
+
+		assertTrue(events.stream().anyMatch(event -> event.getEventType().getName()
+				.equals("com.home.simplewarehouse.Invocation")
+				&& "HandlingUnitBean.dropTo".equals(event.getString("methodName"))));
+		assertTrue(events.stream().anyMatch(event -> event.getEventType().getName()
+				.equals("com.home.simplewarehouse.ConfigCacheRefresh") && event.getInt("entries") == 7));
+	}
+
+	/**
+	 * The location type is taken from the stored discriminator
+	 */
+	@Test
+	public void locationType() {
+		assertEquals("FIFO", WarehouseOperationEvent.locationType(new FifoLocation("A")));
+		assertEquals("LIFO", WarehouseOperationEvent.locationType(new LifoLocation("A")));
+		assertEquals("RANDOM", WarehouseOperationEvent.locationType(new RandomLocation("A")));
+		assertNull(WarehouseOperationEvent.locationType(null));
+	}
+
+	// -- Special cases
+
+	/**
+	 * Unknown settings are rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownSettings() {
+		FlightRecording recording = new FlightRecording(folder.getRoot().toPath());
+
+		try {
+			recording.start("unknown");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+			assertFalse(recording.getStatus().isRunning());
+			throw iaex;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatistics;
+
+/**
+ * Test the latency histogram.
+ */
+@RunWith(JUnit4.class)
+public class LatencyHistogramTest {
+	private static final Logger LOG = LogManager.getLogger(LatencyHistogramTest.class);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public LatencyHistogramTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Every value falls into a bucket whose highest equivalent value is at most 1/32 above it
+	 */
+	@Test
+	public void buckets() {
+		int last = -1;
+
+		for (long value = 0; value < 1_000_000L; value += 1 + value / 50) {
+			int index = LatencyHistogram.bucketIndex(value);
+			long highest = LatencyHistogram.highestEquivalentValue(index);
+
+			assertTrue(index >= last);
+			assertTrue(value <= highest);
+			assertTrue(highest - value <= value / 32);
+			last = index;
+		}
+		assertEquals(63, LatencyHistogram.bucketIndex(63));
+		assertEquals(64, LatencyHistogram.bucketIndex(64));
+		assertEquals(65, LatencyHistogram.highestEquivalentValue(64));
+		assertEquals(LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE_NANOS)
+				, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE_NANOS - 1));
+	}
+
+	/**
+	 * Percentiles, counts and extremes
+	 */
+	@Test
+	public void percentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertArrayEquals(new long[] { 0, 0 }, histogram.percentiles(50.0, 99.0));
+
+		for (long micros = 1; micros <= 1000; ++micros) {
+			histogram.record(TimeUnit.MICROSECONDS.toNanos(micros), micros % 100 == 0);
+		}
+
+		long[] percentiles = histogram.percentiles(0.0, 50.0, 99.0, 100.0);
+		assertEquals(1000L, percentiles[0]);
+		assertEquals(500_000.0, percentiles[1], 500_000.0 / 32);
+		assertEquals(990_000.0, percentiles[2], 990_000.0 / 32);
+		// Never above the highest recorded value
+		assertEquals(1_000_000L, percentiles[3]);
+
+		MethodStatistics statistics = histogram.snapshot("test");
+		LOG.info(statistics);
+
+		assertEquals(1000, statistics.getCount());
+		assertEquals(10, statistics.getErrors());
+		assertEquals(1, statistics.getMinMicros());
+		assertEquals(1000, statistics.getMaxMicros());
+		assertEquals(500.5, statistics.getMeanMicros(), 0.001);
+		assertTrue(statistics.getP50Micros() <= statistics.getP90Micros());
+		assertTrue(statistics.getP99Micros() <= statistics.getP999Micros());
+
+		// -- Special cases
+		histogram.record(-5L, false);
+		histogram.record(Long.MAX_VALUE, false);
+		assertEquals(0L, histogram.percentiles(0.0)[0]);
+		assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, histogram.getMaxNanos());
+
+		histogram.reset();
+		assertEquals(0, histogram.snapshot("test").getCount());
+		assertEquals(0, histogram.snapshot("test").getMinMicros());
+	}
+
+	/**
+	 * No recording gets lost when many threads record at the same time
+	 *
+	 * @throws Exception in case of a failed thread
+	 */
+	@Test
+	public void concurrentRecording() throws Exception {
+		LatencyHistogram histogram = new LatencyHistogram();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; ++t) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 100_000; ++i) {
+						histogram.record(i, false);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertEquals(400_000, histogram.getCount());
+		assertEquals(0L, histogram.percentiles(0.0)[0]);
+		assertEquals(99_999L, histogram.getMaxNanos());
+	}
+}
@@ -0,0 +1,98 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.Samples;
+
+/**
+ * Test the OpenMetrics text building.
+ */
+@RunWith(JUnit4.class)
+public class OpenMetricsWriterTest {
+	private static final Logger LOG = LogManager.getLogger(OpenMetricsWriterTest.class);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public OpenMetricsWriterTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Families, samples, labels and the end marker
+	 */
+	@Test
+	public void write() {
+		String text = new OpenMetricsWriter()
+				.family("calls", "counter", "The calls")
+				.sample("calls_total", 42, "method", "Bean.say()")
+				.sample("calls_total", 1, "method", "Say \"hello\"\\\n")
+				.family("latency_seconds", "summary", null)
+				.sample("latency_seconds", 0.25, "method", "Bean.say()", "quantile", "0.99")
+				.finish();
+		LOG.info(text);
+
+		assertEquals("# TYPE calls counter\n"
+				+ "# HELP calls The calls\n"
+				+ "calls_total{method=\"Bean.say()\"} 42\n"
+				+ "calls_total{method=\"Say \\\"hello\\\"\\\\\\n\"} 1\n"
+				+ "# TYPE latency_seconds summary\n"
+				+ "latency_seconds{method=\"Bean.say()\",quantile=\"0.99\"} 0.25\n"
+				+ "# EOF\n", text);
+
+		assertEquals("NaN", OpenMetricsWriter.format(Double.NaN));
+		assertEquals("+Inf", OpenMetricsWriter.format(Double.POSITIVE_INFINITY));
+		assertEquals("-3", OpenMetricsWriter.format(-3.0));
+		assertEquals("1.5E20", OpenMetricsWriter.format(1.5e20));
+	}
+
+	/**
+	 * Pushed samples are grouped into counter and gauge families by name
+	 */
+	@Test
+	public void samples() {
+		Map<String, Double> samples = new HashMap<>();
+		samples.putAll(Samples.with("zone_locations", "zone", "B", 2).and("zone_locations", "zone", "A", 3).asMap());
+		samples.putAll(Samples.with("requests_total", 7).asMap());
+		samples.putAll(Samples.with("zones", 2).asMap());
+
+		String text = new OpenMetricsWriter().samples(samples).finish();
+		LOG.info(text);
+
+		assertEquals("# TYPE requests counter\n"
+				+ "requests_total 7\n"
+				+ "# TYPE zone_locations gauge\n"
+				+ "zone_locations{zone=\"A\"} 3\n"
+				+ "zone_locations{zone=\"B\"} 2\n"
+				+ "# TYPE zones gauge\n"
+				+ "zones 2\n"
+				+ "# EOF\n", text);
+
+		// -- Special cases
+		try {
+			Samples.with("1invalid", 1);
+			fail("Invalid metric name accepted");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+		try {
+			Samples.with("valid", "in:valid", "x", 1);
+			fail("Invalid label name accepted");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.WindowStatistics;
+
+/**
+ * Test the rolling window metrics.
+ */
+@RunWith(JUnit4.class)
+public class SlidingWindowMetricsTest {
+	private static final Logger LOG = LogManager.getLogger(SlidingWindowMetricsTest.class);
+
+	private static final long START = TimeUnit.HOURS.toNanos(1);
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public SlidingWindowMetricsTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	private static long at(double seconds) {
+		return START + (long) (seconds * 1e9);
+	}
+
+	/**
+	 * Calls counted in the windows of 10 seconds, 1 minute and 5 minutes
+	 */
+	@Test
+	public void windows() {
+		SlidingWindowMetrics metrics = new SlidingWindowMetrics();
+
+		// 100 calls per second over 2 minutes, every tenth call with an error
+		for (int i = 0; i < 12_000; ++i) {
+			metrics.record(at(i / 100.0), TimeUnit.MICROSECONDS.toNanos(100 + i % 100), i % 10 == 0);
+		}
+		long now = at(119.995);
+
+		WindowStatistics last10 = metrics.snapshot("test", 10, now);
+		LOG.info(last10);
+		assertEquals(1000, last10.getCount());
+		assertEquals(100, last10.getErrors());
+		assertEquals(100.0, last10.getCallsPerSecond(), 1.0);
+		assertEquals(149.5, last10.getMeanMicros(), 0.001);
+		assertTrue(last10.getP50Micros() >= 149 && last10.getP50Micros() <= 149 * 9 / 8);
+		assertTrue(last10.getP99Micros() >= 198 && last10.getP99Micros() <= 198 * 9 / 8);
+
+		WindowStatistics last60 = metrics.snapshot("test", 60, now);
+		LOG.info(last60);
+		assertEquals(6000, last60.getCount());
+		assertEquals(100.0, last60.getCallsPerSecond(), 1.0);
+
+		WindowStatistics last300 = metrics.snapshot("test", 300, now);
+		LOG.info(last300);
+		assertEquals(12_000, last300.getCount());
+		// Only 2 minutes of calls in the 5 minutes
+		assertEquals(40.0, last300.getCallsPerSecond(), 1.0);
+	}
+
+	/**
+	 * Old slots are reused and drop out of the windows
+	 */
+	@Test
+	public void rotation() {
+		SlidingWindowMetrics metrics = new SlidingWindowMetrics();
+
+		metrics.record(at(0.5), 1000L, false);
+		metrics.record(at(1.5), 1000L, true);
+		assertEquals(2, metrics.snapshot("test", 10, at(1.5)).getCount());
+
+		// The first slot is reused 10 seconds later
+		metrics.record(at(10.5), 1000L, false);
+		WindowStatistics statistics = metrics.snapshot("test", 10, at(10.5));
+		assertEquals(2, statistics.getCount());
+		assertEquals(1, statistics.getErrors());
+
+		assertEquals(1, metrics.snapshot("test", 2, at(11.5)).getCount());
+		assertEquals(0, metrics.snapshot("test", 10, at(30.0)).getCount());
+		assertEquals(3, metrics.snapshot("test", 60, at(30.0)).getCount());
+		assertEquals(0, metrics.snapshot("test", 300, at(400.0)).getCount());
+
+		// -- Special cases
+		// A late recording for a slot already reused gets dropped
+		metrics.record(at(0.5), 1000L, false);
+		assertEquals(1, metrics.snapshot("test", 1, at(10.5)).getCount());
+
+		WindowStatistics empty = new SlidingWindowMetrics().snapshot("test", 10, at(0.0));
+		assertEquals(0, empty.getCount());
+		assertEquals(0.0, empty.getCallsPerSecond(), 0.0);
+		assertEquals(0, empty.getP99Micros());
+
+		try {
+			metrics.snapshot("test", 0, at(0.0));
+			fail("Window of 0 seconds accepted");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+		try {
+			metrics.snapshot("test", SlidingWindowMetrics.MAX_WINDOW_SECONDS + 1, at(0.0));
+			fail("Window above the maximum accepted");
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.home.simplewarehouse.utils.telemetryprovider.monitoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.MethodStatementStatistics;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.StatementStatistics;
+
+/**
+ * Test the SQL statement recorder.
+ */
+@RunWith(JUnit4.class)
+public class StatementRecorderTest {
+	private static final Logger LOG = LogManager.getLogger(StatementRecorderTest.class);
+
+	private static final String SELECT_LOCATION = "SELECT LOCATIONID FROM LOCATION WHERE (LOCATIONID = ?)";
+	private static final String SELECT_HU = "SELECT ID FROM HANDLINGUNIT WHERE (LOCATION_LOCATIONID = ?)";
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public StatementRecorderTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * Literals, parameter lists and white space are normalized
+	 */
+	@Test
+	public void normalize() {
+		assertEquals("SELECT * FROM LOCATION WHERE LOCATIONID = ? AND HEIGHT > ?"
+				, StatementRecorder.normalize("SELECT *  FROM LOCATION\n WHERE LOCATIONID = 'A''1' AND HEIGHT > 12.5"));
+		assertEquals("SELECT * FROM T1 WHERE ID IN (?) AND X2 = ?"
+				, StatementRecorder.normalize("SELECT * FROM T1 WHERE ID IN (?, ?,?) AND X2 = -3"));
+		assertEquals(SELECT_LOCATION, StatementRecorder.normalize(SELECT_LOCATION));
+	}
+
+	/**
+	 * Statements are attributed to the innermost call and counted per call including nested calls
+	 */
+	@Test
+	public void attribution() {
+		StatementRecorder recorder = new StatementRecorder(100, 3);
+		recorder.setEnabled(true);
+
+		long dropTo = recorder.enter("HandlingUnitBean.dropTo");
+		execute(recorder, "SELECT LOCATIONID FROM LOCATION WHERE (LOCATIONID = 'A')").addRows(1);
+		long check = recorder.enter("LocationBean.checkDimensionLimitExceeds");
+		execute(recorder, SELECT_LOCATION).addRows(1);
+		recorder.exit("LocationBean.checkDimensionLimitExceeds", check);
+		for (int i = 0; i < 3; ++i) {
+			execute(recorder, SELECT_HU).addRows(2);
+		}
+		recorder.exit("HandlingUnitBean.dropTo", dropTo);
+		assertFalse(recorder.isThreadTracked());
+
+		// Outside of intercepted calls
+		execute(recorder, SELECT_HU);
+		assertFalse(recorder.isThreadTracked());
+
+		List<StatementStatistics> statements = recorder.statements(0, 10, null);
+		statements.forEach(LOG::info);
+		assertEquals(4, statements.size());
+
+		StatementStatistics dropToLocation = find(recorder.statements(0, 10, "dropTo"), SELECT_LOCATION);
+		assertEquals(1, dropToLocation.getCount());
+		StatementStatistics dropToHu = find(recorder.statements(0, 10, "dropTo"), SELECT_HU);
+		assertEquals(3, dropToHu.getCount());
+		assertEquals(6, dropToHu.getRows());
+		assertEquals(1, find(recorder.statements(0, 10, StatementRecorder.NO_METHOD), SELECT_HU).getCount());
+
+		List<StatementStatistics> bySql = recorder.statementsBySql(0, 10);
+		bySql.forEach(LOG::info);
+		assertEquals(2, bySql.size());
+		assertEquals(2, find(bySql, SELECT_LOCATION).getCount());
+		assertEquals(4, find(bySql, SELECT_HU).getCount());
+		assertNull(bySql.get(0).getMethodName());
+
+		List<MethodStatementStatistics> methods = recorder.methods(0, 10, false);
+		methods.forEach(LOG::info);
+		assertEquals(2, methods.size());
+		assertEquals("HandlingUnitBean.dropTo", methods.get(0).getMethodName());
+		assertEquals(5, methods.get(0).getStatements());
+		assertEquals(1, methods.get(1).getMaxStatementsPerCall());
+
+		// dropTo issued 5 statements > 3
+		List<MethodStatementStatistics> suspects = recorder.methods(0, 10, true);
+		assertEquals(1, suspects.size());
+		assertEquals(1, suspects.get(0).getFlaggedCalls());
+		assertTrue(suspects.get(0).getLastFlaggedMillis() > 0);
+
+		recorder.setStatementsPerCallThreshold(5);
+		long again = recorder.enter("HandlingUnitBean.dropTo");
+		for (int i = 0; i < 5; ++i) {
+			execute(recorder, SELECT_HU);
+		}
+		recorder.exit("HandlingUnitBean.dropTo", again);
+		assertEquals(1, recorder.methods(0, 10, true).get(0).getFlaggedCalls());
+		assertEquals(2, recorder.methods(0, 10, true).get(0).getCalls());
+
+		recorder.clear();
+		assertTrue(recorder.statements(0, 10, null).isEmpty());
+		assertTrue(recorder.methods(0, 10, false).isEmpty());
+	}
+
+	// -- Special cases
+
+	/**
+	 * Statements above the maximum are counted as untracked
+	 */
+	@Test
+	public void untracked() {
+		StatementRecorder recorder = new StatementRecorder(2, 20);
+		recorder.setEnabled(true);
+
+		execute(recorder, "SELECT A FROM T1");
+		execute(recorder, "SELECT B FROM T1");
+		assertNull(execute(recorder, "SELECT C FROM T1"));
+		execute(recorder, "SELECT A FROM T1");
+
+		assertEquals(2, recorder.statements(0, 10, null).size());
+		assertEquals(1, recorder.getUntracked());
+		assertEquals(1, recorder.statements(1, 10, null).size());
+	}
+
+	/**
+	 * Nothing is recorded while disabled and a call running when disabled is completed
+	 */
+	@Test
+	public void disabled() {
+		StatementRecorder recorder = new StatementRecorder(100, 20);
+
+		assertFalse(recorder.isEnabled());
+		long ignored = recorder.enter("HandlingUnitBean.dropTo");
+		assertEquals(StatementRecorder.NOT_RECORDED, ignored);
+		assertNull(execute(recorder, SELECT_HU));
+		recorder.exit("HandlingUnitBean.dropTo", ignored);
+		assertFalse(recorder.isThreadTracked());
+		assertTrue(recorder.statements(0, 10, null).isEmpty());
+		assertTrue(recorder.methods(0, 10, false).isEmpty());
+
+		recorder.setEnabled(true);
+		long dropTo = recorder.enter("HandlingUnitBean.dropTo");
+		execute(recorder, SELECT_HU);
+		assertTrue(recorder.isThreadTracked());
+		recorder.setEnabled(false);
+		assertNull(execute(recorder, SELECT_HU));
+		recorder.exit("HandlingUnitBean.dropTo", dropTo);
+		assertFalse(recorder.isThreadTracked());
+
+		assertEquals(1, find(recorder.statements(0, 10, "dropTo"), SELECT_HU).getCount());
+		assertEquals(1, recorder.methods(0, 10, false).get(0).getCalls());
+	}
+
+	/**
+	 * A threshold less than 1 is rejected
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidThreshold() {
+		try {
+			new StatementRecorder(10, 0);
+		}
+		catch (IllegalArgumentException iaex) {
+			LOG.info("{} : {}", iaex, iaex.getMessage());
+			throw iaex;
+		}
+	}
+
+	private static StatementRecorder.Executions execute(StatementRecorder recorder, String sql) {
+		recorder.statementStarted();
+		return recorder.statementEnded(sql);
+	}
+
+	private static StatementStatistics find(List<StatementStatistics> statements, String sql) {
+		return statements.stream().filter(stat -> stat.getSql().equals(sql)).findFirst()
+				.orElseThrow(() -> new AssertionError(sql + " not found"));
+	}
+}
@@ -44,6 +44,8 @@ import com.home.simplewarehouse.model.Location;
 import com.home.simplewarehouse.model.LocationStatus;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.model.Zone;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
 import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
 
@@ -73,6 +75,7 @@ public class ZoneLocationsTest {
 						ZoneService.class, ZoneBean.class, Zone.class,
 						HandlingUnitService.class, HandlingUnitBean.class,
 						LocationService.class, LocationBean.class, Location.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
 						LifoLocation.class, FifoLocation.class, RandomLocation.class,
 						LocationStatusService.class, LocationStatusBean.class, LocationStatus.class,
 						PerformanceAuditor.class,
@@ -0,0 +1,408 @@
+package com.home.simplewarehouse.zone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Resource;
+import javax.ejb.EJB;
+import javax.ejb.EJBException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.transaction.UserTransaction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.junit.InSequence;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.EmptyAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.home.simplewarehouse.handlingunit.HandlingUnitBean;
+import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.location.LocationBean;
+import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.location.LocationStatusBean;
+import com.home.simplewarehouse.location.LocationStatusService;
+import com.home.simplewarehouse.model.HandlingUnit;
+import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.RandomLocation;
+import com.home.simplewarehouse.model.Zone;
+import com.home.simplewarehouse.putaway.FreeCapacityIndex;
+import com.home.simplewarehouse.putaway.FreeCapacityIndexBean;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.PerformanceAuditor;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.StatementRecorder;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.boundary.MonitoringResource;
+import com.home.simplewarehouse.utils.telemetryprovider.monitoring.entity.StatementStatistics;
+
+/**
+ * Test the Zone queries.
+ */
+@RunWith(Arquillian.class)
+public class ZoneQueryTest {
+	private static final Logger LOG = LogManager.getLogger(ZoneQueryTest.class);
+
+	private static final int ZONE_SIZE = 20;
+	private static final int QUERY_RUNS = 10;
+
+	@EJB
+	ZoneService zoneService;
+
+	@EJB
+	LocationService locationService;
+
+	@EJB
+	HandlingUnitService handlingUnitService;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Resource
+	UserTransaction userTransaction;
+
+	/**
+	 * Configure the deployment.<br>
+	 * Add all needed EJB interfaces and beans for the test.
+	 *
+	 * @return the archive
+	 */
+	@Deployment
+	public static JavaArchive createTestArchive() {
+		LOG.trace("--> createTestArchive()");
+
+		JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "test.jar")
+				/* Put the test-*.xml in JARs META-INF folder as *.xml */
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-persistence.xml"), "persistence.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-ejb-jar.xml"), "ejb-jar.xml")
+				.addAsManifestResource(new File("src/test/resources/META-INF/test-glassfish-ejb-jar.xml"), "glassfish-ejb-jar.xml")
+				.addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
+				.addClasses(
+						ZoneService.class, ZoneBean.class,
+						HandlingUnitService.class, HandlingUnitBean.class,
+						LocationService.class, LocationBean.class,
+						FreeCapacityIndex.class, FreeCapacityIndexBean.class,
+						LocationStatusService.class, LocationStatusBean.class,
+						PerformanceAuditor.class,
+						MonitoringResource.class
+						);
+
+		LOG.debug(archive.toString(true));
+
+		LOG.trace("<-- createTestArchive()");
+
+		return archive;
+	}
+
+	/**
+	 * Mandatory default constructor
+	 */
+	public ZoneQueryTest() {
+		super();
+		// DO NOTHING HERE!
+	}
+
+	/**
+	 * What to do before an individual test will be executed (each test)<br>
+	 * <br>
+	 * Zone Small with {@value #ZONE_SIZE} Locations, Zone Empty without Locations
+	 */
+	@Before
+	public void beforeTest() {
+		LOG.trace("--> beforeTest()");
+
+		zoneService.createOrUpdate(new Zone("Small", 5));
+		zoneService.createOrUpdate(new Zone("Empty"));
+
+		createLocations("S", ZONE_SIZE, "Small");
+
+		LOG.trace("<-- beforeTest()");
+	}
+
+	/**
+	 * What to do after an individual test has been executed (each test)<br>
+	 * <br>
+	 * Cleanup the test data
+	 */
+	@After
+	public void afterTest() {
+		LOG.trace("--> afterTest()");
+
+		zoneService.deleteAll();
+
+		locationService.getAll().stream().forEach(l -> locationService.delete(l));
+
+		handlingUnitService.getAll().stream().forEach(h -> handlingUnitService.delete(h));
+
+		LOG.trace("<-- afterTest()");
+	}
+
+	private void createLocations(String prefix, int number, String zoneId) {
+		for (int i = 0; i < number; ++i) {
+			String id = String.format("%s%05d", prefix, i);
+
+			locationService.createOrUpdate(new RandomLocation(id, "Test"));
+
+			if (zoneId != null) {
+				zoneService.addLocationTo(id, zoneId);
+			}
+		}
+	}
+
+	/**
+	 * Locations, HandlingUnits and counts of a Zone
+	 *
+	 * @throws Exception in case of an error
+	 */
+	@Test
+	@InSequence(0)
+	public void zoneQueries() throws Exception {
+		LOG.info("--- Test zoneQueries");
+
+		createLocations("X", 5, null);
+
+		handlingUnitService.dropTo("S00001", "1");
+		handlingUnitService.dropTo("S00001", "2");
+		handlingUnitService.dropTo("X00001", "3");
+
+		assertEquals(ZONE_SIZE, zoneService.getAllLocations("Small").size());
+		assertEquals(ZONE_SIZE, zoneService.getAllLocations(zoneService.getById("Small")).size());
+		assertEquals(ZONE_SIZE, zoneService.countLocations("Small"));
+		assertEquals(0, zoneService.countLocations("Empty"));
+		assertTrue(zoneService.getAllLocations("Empty").isEmpty());
+
+		// Paged and ordered by id
+		List<Location> page = zoneService.getAllLocations("Small", 5, 3);
+		assertEquals(3, page.size());
+		assertEquals("S00005", page.get(0).getLocationId());
+		assertEquals("S00007", page.get(2).getLocationId());
+
+		// Only the HandlingUnits in the Zone
+		assertEquals(2, zoneService.countHandlingUnits("Small"));
+		assertEquals(2, zoneService.getAllHandlingUnits("Small").size());
+		List<HandlingUnit> hus = zoneService.getAllHandlingUnits("Small", 1, 10);
+		assertEquals(1, hus.size());
+		assertEquals("2", hus.get(0).getId());
+
+		Map<String, Integer> perZone = zoneService.countLocationsPerZone();
+		assertEquals(Integer.valueOf(ZONE_SIZE), perZone.get("Small"));
+		assertEquals(Integer.valueOf(0), perZone.get("Empty"));
+
+		// Streaming in chunks gives all Locations in order
+		List<String> streamed = new ArrayList<>();
+		zoneService.forEachLocation("Small", l -> streamed.add(l.getLocationId()));
+		assertEquals(ZONE_SIZE, streamed.size());
+		assertEquals("S00000", streamed.get(0));
+		assertEquals(String.format("S%05d", ZONE_SIZE - 1), streamed.get(ZONE_SIZE - 1));
+
+// -- Special cases
+		try {
+			zoneService.getAllLocations("DUMMY", 0, 10);
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			zoneService.getAllHandlingUnits("Small", 0, 0);
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			zoneService.forEachLocation("Small", null);
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Zone queries depend on the Zone size, not on the warehouse size: growing the warehouse outside the Zone adds
+	 * neither statements nor rows read to them
+	 */
+	@Test
+	@InSequence(1)
+	public void zoneQueryScaling() {
+		LOG.info("--- Test zoneQueryScaling");
+
+		long[] small = statementsAndRows();
+
+		// Grow the warehouse by factor 20 outside the Zone
+		createLocations("W", ZONE_SIZE * 20, null);
+
+		long[] large = statementsAndRows();
+
+		LOG.info("Zone of {} Locations per call: warehouse {} Locations {} statements {} rows, warehouse {} Locations {} statements {} rows"
+				, ZONE_SIZE, ZONE_SIZE, small[0], small[1], locationService.count(), large[0], large[1]);
+
+		assertTrue(small[0] > 0);
+		assertTrue(small[1] >= ZONE_SIZE);
+		assertTrue("Statements grew with the warehouse", large[0] <= small[0]);
+		assertTrue("Rows read grew with the warehouse", large[1] <= small[1]);
+	}
+
+	/**
+	 * Set based Zone operations report the changed rows and are visible by the next read
+	 */
+	@Test
+	@InSequence(2)
+	public void bulkOperations() {
+		LOG.info("--- Test bulkOperations");
+
+		createLocations("X", 3, null);
+		zoneService.addLocationTo("S00002", "Empty");
+
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 5; ++i) {
+			ids.add(String.format("S%05d", i));
+		}
+
+		// S00002 is already in Empty and just leaves Small
+		assertEquals(5, zoneService.bulkMoveLocations(ids, "Small", "Empty"));
+		assertEquals(ZONE_SIZE - 5, zoneService.countLocations("Small"));
+		assertEquals(5, zoneService.countLocations("Empty"));
+		assertTrue(locationService.getById("S00001").getZones().contains(zoneService.getById("Empty")));
+		assertEquals(0, zoneService.bulkMoveLocations(ids, "Small", "Empty"));
+
+		// Unknown Locations and Locations already in the Zone are ignored
+		assertEquals(2, zoneService.bulkAddLocations(Arrays.asList("X00000", "X00001", "S00001", "UNKNOWN"), "Empty"));
+		assertEquals(7, zoneService.countLocations("Empty"));
+
+		assertEquals(2, zoneService.bulkRemoveLocations(Arrays.asList("X00000", "X00001", "X00002"), "Empty"));
+		assertEquals(5, zoneService.countLocations("Empty"));
+
+		assertEquals(ZONE_SIZE - 5, zoneService.bulkClear("Small"));
+		assertEquals(0, zoneService.countLocations("Small"));
+		assertTrue(locationService.getById("S00010").getZones().isEmpty());
+
+		// 5 assignments and 2 Zones
+		assertEquals(7, zoneService.bulkDeleteAll());
+		assertEquals(0, zoneService.count());
+		assertTrue(locationService.getById("S00001").getZones().isEmpty());
+
+// -- Special cases
+		try {
+			zoneService.bulkAddLocations(null, "Small");
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+		try {
+			zoneService.bulkClear("DUMMY");
+			Assert.fail("Exception expected");
+		}
+		catch (EJBException ejbex) {
+			LOG.info("{} : {}", ejbex.getCause(), ejbex.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Set based Zone operations refresh the affected entities of the caller and keep its other entities and changes
+	 *
+	 * @throws Exception in case of an error
+	 */
+	@Test
+	@InSequence(3)
+	public void bulkOperationsKeepCallerContext() throws Exception {
+		LOG.info("--- Test bulkOperationsKeepCallerContext");
+
+		zoneService.createOrUpdate(new Zone("Other", 1));
+
+		userTransaction.begin();
+		try {
+			Location moved = entityManager.find(Location.class, "S00001");
+			Location kept = entityManager.find(Location.class, "S00002");
+			Zone empty = entityManager.find(Zone.class, "Empty");
+			Zone other = entityManager.find(Zone.class, "Other");
+
+			other.setRating(9);
+
+			assertEquals(1, zoneService.bulkMoveLocations(Arrays.asList("S00001"), "Small", "Empty"));
+
+			// Same instances, the affected ones read again
+			assertSame(moved, entityManager.find(Location.class, "S00001"));
+			assertTrue(moved.getZones().contains(empty));
+			assertTrue(empty.getLocations().contains(moved));
+			assertTrue(entityManager.contains(kept));
+			assertTrue(entityManager.contains(other));
+
+			assertEquals(ZONE_SIZE - 1, zoneService.bulkClear("Small"));
+			assertTrue(kept.getZones().isEmpty());
+		}
+		finally {
+			userTransaction.commit();
+		}
+
+		// The change made before the bulk operations is not lost
+		assertEquals(9, zoneService.getById("Other").getRating());
+
+		userTransaction.begin();
+		try {
+			Location moved = entityManager.find(Location.class, "S00001");
+			Zone empty = entityManager.find(Zone.class, "Empty");
+
+			assertEquals(4, zoneService.bulkDeleteAll());
+			assertFalse(entityManager.contains(empty));
+			assertTrue(moved.getZones().isEmpty());
+		}
+		finally {
+			userTransaction.commit();
+		}
+
+		assertEquals(0, zoneService.count());
+	}
+
+	/**
+	 * Run the Zone queries and read their SQL statements from the recorder
+	 *
+	 * @return the statements and the rows read per run
+	 */
+	private long[] statementsAndRows() {
+		StatementRecorder recorder = StatementRecorder.getInstance();
+		boolean enabled = recorder.isEnabled();
+
+		// Warm up
+		zoneService.getAllLocations("Small");
+		recorder.clear();
+		recorder.setEnabled(true);
+
+		try {
+			for (int i = 0; i < QUERY_RUNS; ++i) {
+				assertEquals(ZONE_SIZE, zoneService.getAllLocations("Small").size());
+				assertEquals(ZONE_SIZE, zoneService.countLocations("Small"));
+			}
+		}
+		finally {
+			recorder.setEnabled(enabled);
+		}
+
+		long statements = 0;
+		long rows = 0;
+
+		for (String method : Arrays.asList("getAllLocations(java.lang.String)", "countLocations(java.lang.String)")) {
+			for (StatementStatistics statement : recorder.statements(0, Integer.MAX_VALUE, method)) {
+				statements += statement.getCount();
+				rows += statement.getRows();
+			}
+		}
+
+		return new long[] { statements / QUERY_RUNS, rows / QUERY_RUNS };
+	}
+}
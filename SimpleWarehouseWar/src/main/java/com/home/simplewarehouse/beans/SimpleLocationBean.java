@@ -17,9 +17,12 @@ import org.apache.logging.log4j.Logger;
 
 import com.home.simplewarehouse.jsfutils.FacesMessageProxy;
 import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.model.ErrorStatus;
 import com.home.simplewarehouse.model.FifoLocation;
 import com.home.simplewarehouse.model.LifoLocation;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LockStatus;
+import com.home.simplewarehouse.model.LtosStatus;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.model.Zone;
 import com.home.simplewarehouse.views.SimpleLocation;
@@ -112,6 +115,33 @@ public class SimpleLocationBean implements Serializable {
 	}
 	
 	
+	/**
+	 * Gets the number of locations in error
+	 * 
+	 * @return the number of locations
+	 */
+	public int getErrorCount() {
+		return locationService.countInErrorStatus(ErrorStatus.ERROR);
+	}
+	
+	/**
+	 * Gets the number of locations long time out of service
+	 * 
+	 * @return the number of locations
+	 */
+	public int getLtosCount() {
+		return locationService.countInLtosStatus(LtosStatus.YES);
+	}
+	
+	/**
+	 * Gets the number of locked locations
+	 * 
+	 * @return the number of locations
+	 */
+	public int getLockedCount() {
+		return locationService.countInLockStatus(LockStatus.LOCKED);
+	}
+	
 	/**
 	 * Gets the selected type
 	 * 
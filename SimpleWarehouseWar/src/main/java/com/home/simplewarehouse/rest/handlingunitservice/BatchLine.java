@@ -0,0 +1,165 @@
+package com.home.simplewarehouse.rest.handlingunitservice;
+
+import java.io.StringReader;
+import java.util.Locale;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import com.home.simplewarehouse.handlingunit.MoveCommand;
+import com.home.simplewarehouse.handlingunit.MoveResult;
+
+/**
+ * A single line of a batch request body.<br>
+ * <p>
+ * A line is either a JSON object (NDJSON) or a comma separated value line (CSV):<br>
+ * <br>
+ * - {"op":"DROP","locationId":"A","handlingUnitId":"HU1"} or DROP,A,HU1<br>
+ * - {"op":"PICK","locationId":"A","handlingUnitId":"HU1"} or PICK,A,HU1<br>
+ * - {"op":"PICK","locationId":"A"} or PICK,A (FIFO / LIFO Location)<br>
+ * - {"op":"ASSIGN","handlingUnitId":"HU1","baseId":"HU2"} or ASSIGN,HU1,HU2<br>
+ * - {"op":"REMOVE","handlingUnitId":"HU1","baseId":"HU2"} or REMOVE,HU1,HU2<br>
+ * - {"op":"MOVE","handlingUnitId":"HU1","baseId":"HU2"} or MOVE,HU1,HU2<br>
+ * <br>
+ * The result is written in the same format as the line has been read.
+ */
+final class BatchLine {
+	private final long lineNo;
+	private final boolean json;
+	private final MoveCommand command;
+	private final String error;
+
+	private BatchLine(long lineNo, boolean json, MoveCommand command, String error) {
+		this.lineNo = lineNo;
+		this.json = json;
+		this.command = command;
+		this.error = error;
+	}
+
+	/**
+	 * Parse a line of the request body
+	 *
+	 * @param lineNo the line number starting with 1
+	 * @param text the line text, not blank
+	 *
+	 * @return the parsed line; if the line can not be parsed it has no command but an error
+	 */
+	static BatchLine parse(long lineNo, String text) {
+		String trimmed = text.trim();
+
+		if (trimmed.startsWith("{")) {
+			try (JsonReader reader = Json.createReader(new StringReader(trimmed))) {
+				JsonObject obj = reader.readObject();
+
+				return new BatchLine(lineNo, true,
+						toCommand(string(obj, "op"), string(obj, "locationId"), string(obj, "handlingUnitId"), string(obj, "baseId")), null);
+			}
+			catch (RuntimeException ex) {
+				return new BatchLine(lineNo, true, null, ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage());
+			}
+		}
+
+		try {
+			String[] fields = trimmed.split(",", -1);
+			for (int i = 0; i < fields.length; ++i) {
+				fields[i] = fields[i].trim();
+			}
+
+			String op = fields[0].toUpperCase(Locale.ROOT);
+			String first = fields.length > 1 ? emptyToNull(fields[1]) : null;
+			String second = fields.length > 2 ? emptyToNull(fields[2]) : null;
+
+			if ("DROP".equals(op) || "PICK".equals(op)) {
+				return new BatchLine(lineNo, false, toCommand(op, first, second, null), null);
+			}
+			return new BatchLine(lineNo, false, toCommand(op, null, first, second), null);
+		}
+		catch (RuntimeException ex) {
+			return new BatchLine(lineNo, false, null, ex.getMessage());
+		}
+	}
+
+	private static MoveCommand toCommand(String op, String locationId, String handlingUnitId, String baseId) {
+		if (op == null) {
+			throw new IllegalArgumentException("Operation is missing");
+		}
+
+		switch (MoveCommand.Operation.valueOf(op.toUpperCase(Locale.ROOT))) {
+		case DROP:
+			return MoveCommand.drop(locationId, handlingUnitId);
+		case PICK:
+			return handlingUnitId == null ? MoveCommand.pick(locationId) : MoveCommand.pick(locationId, handlingUnitId);
+		case ASSIGN:
+			return MoveCommand.assign(handlingUnitId, baseId);
+		case REMOVE:
+			return MoveCommand.remove(handlingUnitId, baseId);
+		case MOVE:
+			return MoveCommand.move(handlingUnitId, baseId);
+		default:
+			throw new IllegalArgumentException("Operation " + op + " is not supported");
+		}
+	}
+
+	private static String string(JsonObject obj, String key) {
+		JsonValue value = obj.get(key);
+
+		if (value == null || value.getValueType() == JsonValue.ValueType.NULL) {
+			return null;
+		}
+		if (value instanceof JsonString) {
+			return emptyToNull(((JsonString) value).getString());
+		}
+		return emptyToNull(value.toString());
+	}
+
+	private static String emptyToNull(String val) {
+		return val == null || val.isEmpty() ? null : val;
+	}
+
+	/**
+	 * Gets the command
+	 *
+	 * @return the command or <code>null</code> if the line could not be parsed
+	 */
+	MoveCommand getCommand() {
+		return command;
+	}
+
+	/**
+	 * Format the result of this line
+	 *
+	 * @param result the command result, <code>null</code> if the line could not be parsed
+	 *
+	 * @return the formatted result line without line separator
+	 */
+	String format(MoveResult result) {
+		String status = result == null ? MoveResult.Status.INVALID.name() : result.getStatus().name();
+		String handlingUnitId = result == null ? null : result.getHandlingUnitId();
+		String message = result == null ? error : result.getMessage();
+
+		if (json) {
+			JsonObjectBuilder builder = Json.createObjectBuilder()
+					.add("line", lineNo)
+					.add("status", status);
+			if (handlingUnitId != null) {
+				builder.add("handlingUnitId", handlingUnitId);
+			}
+			if (message != null && !message.isEmpty()) {
+				builder.add("message", message);
+			}
+			return builder.build().toString();
+		}
+
+		StringBuilder builder = new StringBuilder();
+		builder.append(lineNo).append(',')
+		    .append(status).append(',')
+		    .append(handlingUnitId == null ? "" : handlingUnitId).append(',')
+		    .append(message == null ? "" : message.replace(',', ';').replace('\n', ' ').replace('\r', ' '));
+
+		return builder.toString();
+	}
+}
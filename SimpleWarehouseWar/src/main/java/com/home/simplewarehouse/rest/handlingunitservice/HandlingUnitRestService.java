@@ -1,13 +1,26 @@
 package com.home.simplewarehouse.rest.handlingunitservice;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.HashSet;
 
 import javax.ejb.EJB;
+import javax.ejb.EJBException;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.OPTIONS;
 import javax.ws.rs.POST;
@@ -15,11 +28,18 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import com.home.simplewarehouse.handlingunit.HandlingUnitService;
+import com.home.simplewarehouse.handlingunit.MoveCommand;
+import com.home.simplewarehouse.handlingunit.MoveResult;
 import com.home.simplewarehouse.model.HandlingUnit;
 import com.home.simplewarehouse.rest.standardservices.StandardRestServices;
 
@@ -29,6 +49,17 @@ import com.home.simplewarehouse.rest.standardservices.StandardRestServices;
 @Path("/HandlingUnitRestService")
 @Stateless
 public class HandlingUnitRestService extends StandardRestServices {
+	private static final Logger LOG = LogManager.getLogger(HandlingUnitRestService.class);
+
+	/**
+	 * The default number of commands executed in one transaction by a batch
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 500;
+	/**
+	 * The maximum number of commands executed in one transaction by a batch
+	 */
+	public static final int MAX_CHUNK_SIZE = 10000;
+
 	@EJB
 	HandlingUnitService handlingUnitService;
 	
@@ -356,6 +387,103 @@ public class HandlingUnitRestService extends StandardRestServices {
     	}
     }
 
+    /**
+     * Execute a batch of drop, pick, assign, remove and move commands.<br>
+     * <p>
+     * The body is read line by line; each line is either NDJSON or CSV (see {@link BatchLine}).
+     * Blank lines and lines starting with # are skipped. The commands are executed in chunks of
+     * <code>chunkSize</code> commands per transaction and the result lines are streamed back as
+     * soon as a chunk is done. A failing command does not affect the other commands.
+     *
+     * @param chunkSize the number of commands per transaction
+     * @param body the command lines
+     *
+     * @return the streamed result lines, one per command line, or in case of an exception the message
+     */
+    @POST
+    @Path("/Batch")
+    @Consumes({MediaType.TEXT_PLAIN, "text/csv", "application/x-ndjson", MediaType.APPLICATION_JSON, MediaType.APPLICATION_OCTET_STREAM})
+    @Produces({MediaType.TEXT_PLAIN})
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public Response batch(@QueryParam("chunkSize") @DefaultValue("" + DEFAULT_CHUNK_SIZE) int chunkSize, InputStream body) {
+    	if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+    		return Response.ok().entity("Chunk size must be between 1 and " + MAX_CHUNK_SIZE).build();
+    	}
+
+    	StreamingOutput stream = output -> {
+    		try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    			 Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+    			List<BatchLine> lines = new ArrayList<>();
+    			List<MoveCommand> commands = new ArrayList<>();
+    			long lineNo = 0;
+    			String text;
+
+    			while ((text = reader.readLine()) != null) {
+    				++lineNo;
+
+    				if (text.trim().isEmpty() || text.trim().startsWith("#")) {
+    					continue;
+    				}
+
+    				BatchLine line = BatchLine.parse(lineNo, text);
+    				lines.add(line);
+    				if (line.getCommand() != null) {
+    					commands.add(line.getCommand());
+    				}
+
+    				if (commands.size() >= chunkSize) {
+    					executeChunk(lines, commands, writer);
+    				}
+    			}
+    			executeChunk(lines, commands, writer);
+    		}
+    	};
+
+    	return Response.ok(stream).build();
+    }
+
+    /**
+     * Execute the collected commands in one transaction and write the results in line order
+     *
+     * @param lines the collected lines, cleared afterwards
+     * @param commands the collected commands, cleared afterwards
+     * @param writer the result writer
+     *
+     * @throws IOException in case of a write problem
+     */
+    private void executeChunk(List<BatchLine> lines, List<MoveCommand> commands, Writer writer) throws IOException {
+    	if (lines.isEmpty()) {
+    		return;
+    	}
+
+    	List<MoveResult> results;
+
+    	try {
+    		results = commands.isEmpty() ? new ArrayList<>() : handlingUnitService.executeBatch(new ArrayList<>(commands));
+    	}
+    	catch (EJBException ex) {
+    		// The whole chunk has been rolled back
+    		LOG.error("Batch chunk failed: {}", ex.getMessage());
+
+    		results = new ArrayList<>();
+    		for (MoveCommand command : commands) {
+    			results.add(MoveResult.failed(command, MoveResult.Status.INVALID, ex));
+    		}
+    	}
+
+    	int idx = 0;
+    	for (BatchLine line : lines) {
+    		MoveResult result = line.getCommand() == null ? null : results.get(idx++);
+
+    		writer.write(line.format(result));
+    		writer.write('\n');
+    	}
+    	writer.flush();
+
+    	lines.clear();
+    	commands.clear();
+    }
+
     /**
      * Give a list of all supported service operations.
      *
@@ -14,4 +14,5 @@
  * - exists (GET http://localhost:8080/war/resources/HandlingUnitRestService/Exists/HU1)<br>
  * - delete (DELETE http://localhost:8080/war/resources/HandlingUnitRestService/Entry/HU1)<br>
  * - count (GET http://localhost:8080/war/resources/HandlingUnitRestService/Count)<br>
+ * - batch (POST http://localhost:8080/war/resources/HandlingUnitRestService/Batch?chunkSize=500 with NDJSON or CSV lines as body)<br>
  */package com.home.simplewarehouse.rest.handlingunitservice;
\ No newline at end of file
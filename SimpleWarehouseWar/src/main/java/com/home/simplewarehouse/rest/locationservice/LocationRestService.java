@@ -17,7 +17,10 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import com.home.simplewarehouse.location.LocationService;
+import com.home.simplewarehouse.model.ErrorStatus;
 import com.home.simplewarehouse.model.Location;
+import com.home.simplewarehouse.model.LockStatus;
+import com.home.simplewarehouse.model.LtosStatus;
 import com.home.simplewarehouse.model.RandomLocation;
 import com.home.simplewarehouse.rest.standardservices.StandardRestServices;
 
@@ -27,6 +30,11 @@ import com.home.simplewarehouse.rest.standardservices.StandardRestServices;
 @Path("/LocationRestService")
 @Stateless
 public class LocationRestService extends StandardRestServices {
+	/**
+	 * Path value matching any status
+	 */
+	public static final String ANY_STATUS = "ANY";
+
 	@EJB
 	LocationService locationService;
 
@@ -196,6 +204,207 @@ public class LocationRestService extends StandardRestServices {
     	}
     }
 
+    /**
+     * Get a list of Locations with the given error status.
+     *
+     * @param status the error status
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+     *
+     * @return the Location list based on offset and count
+     */
+    @GET
+    @Path("/ErrorStatus/{status}/{offset}/{count}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response getInErrorStatus(@PathParam("status") String status, @PathParam("offset") String offset
+    		, @PathParam("count") String count) {
+    	try {
+            return content(locationService.getAllInErrorStatus(ErrorStatus.valueOf(status)
+            		, Integer.parseInt(offset), Integer.parseInt(count)));
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    /**
+     * Count the number of Locations with the given error status.
+     *
+     * @param status the error status
+     *
+     * @return the number of Locations
+     */
+    @GET
+    @Path("/ErrorStatus/{status}/Count")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response countInErrorStatus(@PathParam("status") String status) {
+    	try {
+            int val = locationService.countInErrorStatus(ErrorStatus.valueOf(status));
+
+            return Response.ok().entity(String.valueOf(val)).build();
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    /**
+     * Get a list of Locations with the given LTOS status.
+     *
+     * @param status the LTOS status
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+     *
+     * @return the Location list based on offset and count
+     */
+    @GET
+    @Path("/LtosStatus/{status}/{offset}/{count}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response getInLtosStatus(@PathParam("status") String status, @PathParam("offset") String offset
+    		, @PathParam("count") String count) {
+    	try {
+            return content(locationService.getAllInLtosStatus(LtosStatus.valueOf(status)
+            		, Integer.parseInt(offset), Integer.parseInt(count)));
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    /**
+     * Count the number of Locations with the given LTOS status.
+     *
+     * @param status the LTOS status
+     *
+     * @return the number of Locations
+     */
+    @GET
+    @Path("/LtosStatus/{status}/Count")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response countInLtosStatus(@PathParam("status") String status) {
+    	try {
+            int val = locationService.countInLtosStatus(LtosStatus.valueOf(status));
+
+            return Response.ok().entity(String.valueOf(val)).build();
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    /**
+     * Get a list of Locations with the given lock status.
+     *
+     * @param status the lock status
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+     *
+     * @return the Location list based on offset and count
+     */
+    @GET
+    @Path("/LockStatus/{status}/{offset}/{count}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response getInLockStatus(@PathParam("status") String status, @PathParam("offset") String offset
+    		, @PathParam("count") String count) {
+    	try {
+            return content(locationService.getAllInLockStatus(LockStatus.valueOf(status)
+            		, Integer.parseInt(offset), Integer.parseInt(count)));
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    /**
+     * Count the number of Locations with the given lock status.
+     *
+     * @param status the lock status
+     *
+     * @return the number of Locations
+     */
+    @GET
+    @Path("/LockStatus/{status}/Count")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response countInLockStatus(@PathParam("status") String status) {
+    	try {
+            int val = locationService.countInLockStatus(LockStatus.valueOf(status));
+
+            return Response.ok().entity(String.valueOf(val)).build();
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    /**
+     * Get a list of Locations matching a combination of statuses; {@value #ANY_STATUS} matches any value.
+     *
+     * @param error the error status
+     * @param ltos the LTOS status
+     * @param lock the lock status
+     * @param offset the position to start fetching
+     * @param count  the number of fetches to do
+     *
+     * @return the Location list based on offset and count
+     */
+    @GET
+    @Path("/Status/{error}/{ltos}/{lock}/{offset}/{count}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response getInStatus(@PathParam("error") String error, @PathParam("ltos") String ltos
+    		, @PathParam("lock") String lock, @PathParam("offset") String offset, @PathParam("count") String count) {
+    	try {
+            return content(locationService.getAllInStatus(errorStatus(error), ltosStatus(ltos), lockStatus(lock)
+            		, Integer.parseInt(offset), Integer.parseInt(count)));
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    /**
+     * Count the number of Locations matching a combination of statuses; {@value #ANY_STATUS} matches any value.
+     *
+     * @param error the error status
+     * @param ltos the LTOS status
+     * @param lock the lock status
+     *
+     * @return the number of Locations
+     */
+    @GET
+    @Path("/Status/{error}/{ltos}/{lock}/Count")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response countInStatus(@PathParam("error") String error, @PathParam("ltos") String ltos
+    		, @PathParam("lock") String lock) {
+    	try {
+            int val = locationService.countInStatus(errorStatus(error), ltosStatus(ltos), lockStatus(lock));
+
+            return Response.ok().entity(String.valueOf(val)).build();
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+
+    private static Response content(List<Location> locationList) {
+        GenericEntity<List<Location>> content
+                = new GenericEntity<List<Location>>(new ArrayList<>(locationList)) {
+        };
+
+        return Response.ok(content).build();
+    }
+
+    private static ErrorStatus errorStatus(String value) {
+    	return ANY_STATUS.equals(value) ? null : ErrorStatus.valueOf(value);
+    }
+
+    private static LtosStatus ltosStatus(String value) {
+    	return ANY_STATUS.equals(value) ? null : LtosStatus.valueOf(value);
+    }
+
+    private static LockStatus lockStatus(String value) {
+    	return ANY_STATUS.equals(value) ? null : LockStatus.valueOf(value);
+    }
+
     /**
      * Give a list of all supported service operations.
      *
@@ -6,12 +6,16 @@ import javax.ws.rs.DELETE;
 import javax.ws.rs.OPTIONS;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import com.home.simplewarehouse.rest.standardservices.StandardRestServices;
 import com.home.simplewarehouse.topology.SampleWarehouseService;
+import com.home.simplewarehouse.topology.TopologyGeneratorService;
+import com.home.simplewarehouse.topology.TopologyResult;
+import com.home.simplewarehouse.topology.TopologySpec;
 
 /**
  * RESTful Topology data service.
@@ -22,6 +26,9 @@ public class TopologyRestService extends StandardRestServices {
 	@EJB
 	SampleWarehouseService sampleWarehouseService;
 	
+	@EJB
+	TopologyGeneratorService topologyGeneratorService;
+	
 	/**
 	 * Mandatory default constructor
 	 */
@@ -67,6 +74,114 @@ public class TopologyRestService extends StandardRestServices {
     	return Response.ok().build();
     }
 
+    /**
+     * Delete a Zone with its Locations and the HandlingUnits on them.
+     * 
+     * @param zoneId the Zone id
+     * 
+     * @return the response containing the number of deleted Locations
+     */
+    @DELETE
+    @Path("/SampleData/Zone/{zoneId}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response cleanupZone(@PathParam("zoneId") String zoneId) {
+    	try {
+    		int val = sampleWarehouseService.cleanupZone(zoneId);
+    		
+    		return Response.ok().entity(String.valueOf(val)).build();
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+    
+    /**
+     * Delete all Locations, Zones and HandlingUnit trees with ids starting with the prefix.
+     * 
+     * @param idPrefix the id prefix
+     * 
+     * @return the response containing the number of deleted Locations
+     */
+    @DELETE
+    @Path("/SampleData/Prefix/{idPrefix}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response cleanupPrefix(@PathParam("idPrefix") String idPrefix) {
+    	try {
+    		int val = sampleWarehouseService.cleanupPrefix(idPrefix);
+    		
+    		return Response.ok().entity(String.valueOf(val)).build();
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+    
+    /**
+     * Generate a warehouse topology with default fill values.
+     * 
+     * @param aisles the number of aisles
+     * @param levels the number of levels per aisle
+     * @param bins the number of bins per level
+     * 
+     * @return the response containing the generation result
+     */
+    @POST
+    @Path("/Generate/{aisles}/{levels}/{bins}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response generate(@PathParam("aisles") String aisles, @PathParam("levels") String levels
+    		, @PathParam("bins") String bins) {
+    	try {
+    		TopologySpec spec = new TopologySpec(Integer.parseInt(aisles), Integer.parseInt(levels)
+    				, Integer.parseInt(bins));
+    		
+    		return generate(spec);
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+    
+    /**
+     * Generate a warehouse topology filled with HandlingUnit trees.
+     * 
+     * @param aisles the number of aisles
+     * @param levels the number of levels per aisle
+     * @param bins the number of bins per level
+     * @param fill the percentage of filled Locations
+     * @param handlingUnits the number of HandlingUnit trees per filled Location
+     * @param depth the depth of the HandlingUnit trees
+     * @param fanout the number of HandlingUnits nested on each base
+     * 
+     * @return the response containing the generation result
+     */
+    @POST
+    @Path("/Generate/{aisles}/{levels}/{bins}/{fill}/{handlingUnits}/{depth}/{fanout}")
+    @Produces({MediaType.APPLICATION_XML})
+    public Response generate(@PathParam("aisles") String aisles, @PathParam("levels") String levels
+    		, @PathParam("bins") String bins, @PathParam("fill") String fill
+    		, @PathParam("handlingUnits") String handlingUnits, @PathParam("depth") String depth
+    		, @PathParam("fanout") String fanout) {
+    	try {
+    		TopologySpec spec = new TopologySpec(Integer.parseInt(aisles), Integer.parseInt(levels)
+    				, Integer.parseInt(bins));
+    		spec.setFillPercent(Integer.parseInt(fill));
+    		spec.setHandlingUnitsPerLocation(Integer.parseInt(handlingUnits));
+    		spec.setTreeDepth(Integer.parseInt(depth));
+    		spec.setTreeFanout(Integer.parseInt(fanout));
+    		
+    		return generate(spec);
+    	}
+    	catch (Exception ex) {
+    		return Response.ok().entity(ex.getMessage()).build();
+    	}
+    }
+    
+    private Response generate(TopologySpec spec) {
+    	TopologyResult result = topologyGeneratorService.generate(spec);
+    	
+    	return Response.ok().entity(result.toString()).build();
+    }
+
     /**
      * Give a list of all supported service operations.
      *
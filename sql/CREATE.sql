@@ -1,6 +1,15 @@
-CREATE TABLE HANDLING_UNIT (ID VARCHAR(100) NOT NULL, HEIGHT VARCHAR(100) NOT NULL, LENGTH VARCHAR(100) NOT NULL, LOCAPOS INTEGER, UPDATE_TS TIMESTAMP NOT NULL, UPDATE_USER VARCHAR(100) NOT NULL, VERSION INTEGER, VOLUME DOUBLE NOT NULL, WEIGHT INTEGER NOT NULL, WIDTH VARCHAR(100) NOT NULL, BASE_HU VARCHAR(100), LOCATION_ID VARCHAR(100), PRIMARY KEY (ID));
-CREATE TABLE LOCATION (LOCATION_ID VARCHAR(100) NOT NULL, ACCESS_LIMIT VARCHAR(20), UPDATE_TS TIMESTAMP NOT NULL, UPDATE_USER VARCHAR(100) NOT NULL, VERSION INTEGER, PRIMARY KEY (LOCATION_ID));
+CREATE TABLE HANDLING_UNIT (ID VARCHAR(100) NOT NULL, HEIGHT VARCHAR(100) NOT NULL, LENGTH VARCHAR(100) NOT NULL, LOCA_SEQ BIGINT, UPDATE_TS TIMESTAMP NOT NULL, UPDATE_USER VARCHAR(100) NOT NULL, VERSION INTEGER, VOLUME DOUBLE NOT NULL, WEIGHT INTEGER NOT NULL, WIDTH VARCHAR(100) NOT NULL, BASE_HU VARCHAR(100), LOCATION_ID VARCHAR(100), ROOT_BASE_HU VARCHAR(100), ROOT_LOCATION_ID VARCHAR(100), PRIMARY KEY (ID));
+CREATE TABLE LOCATION (LOCATION_ID VARCHAR(100) NOT NULL, ACCESS_LIMIT VARCHAR(20), LOCA_SEQ_HEAD BIGINT NOT NULL, LOCA_SEQ_TAIL BIGINT NOT NULL, UPDATE_TS TIMESTAMP NOT NULL, UPDATE_USER VARCHAR(100) NOT NULL, VERSION INTEGER, PRIMARY KEY (LOCATION_ID));
 CREATE TABLE LOCATION_STATUS (ERROR_STATUS VARCHAR(100), LOCATION_ID VARCHAR(100) NOT NULL, LOCK_STATUS VARCHAR(100), LTOS_STATUS VARCHAR(100), UPDATE_TS TIMESTAMP NOT NULL, UPDATE_USER VARCHAR(100) NOT NULL, VERSION INTEGER, PRIMARY KEY (LOCATION_ID));
 CREATE TABLE DIMENSION (LOCATION_ID VARCHAR(100) NOT NULL, MAX_CAPACITY INTEGER NOT NULL, MAX_HEIGHT VARCHAR(100) NOT NULL, MAX_LENGTH VARCHAR(100) NOT NULL, MAX_WEIGHT INTEGER NOT NULL, MAX_WIDTH VARCHAR(100) NOT NULL, UPDATE_TS TIMESTAMP NOT NULL, UPDATE_USER VARCHAR(100) NOT NULL, VERSION INTEGER, PRIMARY KEY (LOCATION_ID));
+CREATE TABLE LOCATION_OCCUPANCY (LOCATION_ID VARCHAR(100) NOT NULL, CURRENT_CAPACITY INTEGER NOT NULL, CURRENT_VOLUME FLOAT NOT NULL, CURRENT_WEIGHT INTEGER NOT NULL, VERSION INTEGER, PRIMARY KEY (LOCATION_ID));
 CREATE TABLE APPL_CONFIG (KEY_VAL VARCHAR(100) NOT NULL, PARAM_VAL VARCHAR(100) NOT NULL, VERSION INTEGER, PRIMARY KEY (KEY_VAL));
 CREATE TABLE HU_CONTAINS (ID VARCHAR(100) NOT NULL, CONTAINS VARCHAR(100) NOT NULL, PRIMARY KEY (ID, CONTAINS));
+CREATE INDEX IX_LOCATION_STATUS_ERROR ON LOCATION_STATUS (ERROR_STATUS, LTOS_STATUS, LOCK_STATUS);
+CREATE INDEX IX_LOCATION_STATUS_LTOS ON LOCATION_STATUS (LTOS_STATUS);
+CREATE INDEX IX_LOCATION_STATUS_LOCK ON LOCATION_STATUS (LOCK_STATUS);
+CREATE INDEX IX_LOCATION_OCCUPANCY_CAPACITY ON LOCATION_OCCUPANCY (CURRENT_CAPACITY);
+CREATE INDEX IX_HANDLING_UNIT_LOCATION_SEQ ON HANDLING_UNIT (LOCATION_ID, LOCA_SEQ);
+CREATE INDEX IX_HANDLING_UNIT_ROOT_LOCATION_ID ON HANDLING_UNIT (ROOT_LOCATION_ID);
+CREATE TABLE HU_CLOSURE (ANCESTOR VARCHAR(100) NOT NULL, DESCENDANT VARCHAR(100) NOT NULL, DEPTH INTEGER NOT NULL, PRIMARY KEY (ANCESTOR, DESCENDANT));
+CREATE INDEX IX_HU_CLOSURE_DESCENDANT ON HU_CLOSURE (DESCENDANT);
@@ -0,0 +1 @@
+INSERT INTO LOCATION_OCCUPANCY (LOCATION_ID, CURRENT_CAPACITY, CURRENT_VOLUME, CURRENT_WEIGHT, VERSION) SELECT L.LOCATION_ID, COUNT(H.ID), COALESCE(SUM(H.VOLUME), 0), COALESCE(SUM(H.WEIGHT), 0), 1 FROM LOCATION L LEFT OUTER JOIN HANDLING_UNIT H ON H.LOCATION_ID = L.LOCATION_ID WHERE NOT EXISTS (SELECT 1 FROM LOCATION_OCCUPANCY O WHERE O.LOCATION_ID = L.LOCATION_ID) GROUP BY L.LOCATION_ID;